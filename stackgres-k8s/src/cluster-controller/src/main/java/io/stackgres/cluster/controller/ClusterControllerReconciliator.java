@@ -18,8 +18,7 @@ import io.stackgres.common.ClusterControllerProperty;
 import io.stackgres.common.crd.sgcluster.StackGresCluster;
 import io.stackgres.common.crd.sgcluster.StackGresClusterPodStatus;
 import io.stackgres.common.crd.sgcluster.StackGresClusterStatus;
-import io.stackgres.common.kubernetesclient.KubernetesClientUtil;
-import io.stackgres.common.resource.CustomResourceScheduler;
+import io.stackgres.common.resource.CustomResourceFinder;
 import io.stackgres.operatorframework.reconciliation.ReconciliationResult;
 import io.stackgres.operatorframework.reconciliation.Reconciliator;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -31,7 +30,8 @@ import org.jooq.lambda.tuple.Tuple;
 public class ClusterControllerReconciliator
     extends Reconciliator<StackGresClusterContext> {
 
-  private final CustomResourceScheduler<StackGresCluster> clusterScheduler;
+  private final CustomResourceFinder<StackGresCluster> clusterFinder;
+  private final ClusterStatusPublisher statusPublisher;
   private final ClusterControllerPostgresBootstrapReconciliator postgresBootstrapReconciliator;
   private final ClusterExtensionReconciliator extensionReconciliator;
   private final PgBouncerReconciliator pgbouncerReconciliator;
@@ -48,7 +48,8 @@ public class ClusterControllerReconciliator
 
   @Inject
   public ClusterControllerReconciliator(Parameters parameters) {
-    this.clusterScheduler = parameters.clusterScheduler;
+    this.clusterFinder = parameters.clusterFinder;
+    this.statusPublisher = parameters.statusPublisher;
     this.postgresBootstrapReconciliator = parameters.postgresBootstrapReconciliator;
     this.extensionReconciliator = parameters.extensionReconciliator;
     this.pgbouncerReconciliator = parameters.pgbouncerReconciliator;
@@ -68,7 +69,8 @@ public class ClusterControllerReconciliator
   public ClusterControllerReconciliator() {
     super();
     CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
-    this.clusterScheduler = null;
+    this.clusterFinder = null;
+    this.statusPublisher = null;
     this.postgresBootstrapReconciliator = null;
     this.extensionReconciliator = null;
     this.pgbouncerReconciliator = null;
@@ -135,26 +137,14 @@ public class ClusterControllerReconciliator
         || postgresBootstrapReconciliatorResult.result().orElse(false)
         || extensionReconciliationResult.result().orElse(false)
         || patroniReconciliationResult.result().orElse(false)) {
-      clusterScheduler.update(cluster,
-          (currentCluster) -> updateClusterPodStatus(currentCluster, cluster));
+      statusPublisher.publishPodStatus(cluster, podStatusMissing);
     }
 
     if (extensionReconciliationResult.result().orElse(false)) {
-      KubernetesClientUtil.retryOnConflict(() -> clusterScheduler.update(cluster,
-          (currentCluster) -> {
-            cluster.getSpec().getToInstallPostgresExtensions().stream()
-                .filter(toInstallExtension -> currentCluster.getSpec()
-                    .getToInstallPostgresExtensions()
-                    .stream().noneMatch(toInstallExtension::equals))
-                .map(toInstallExtension -> Tuple.tuple(toInstallExtension,
-                    currentCluster.getSpec().getToInstallPostgresExtensions().stream()
-                    .filter(targetToInstallExtension -> toInstallExtension.getName()
-                        .equals(targetToInstallExtension.getName()))
-                    .findFirst()))
-                .filter(t -> t.v2.isPresent())
-                .map(t -> t.map2(Optional::get))
-                .forEach(t -> t.v1.setBuild(t.v2.getBuild()));
-          }));
+      clusterFinder.findByNameAndNamespace(
+          cluster.getMetadata().getName(), cluster.getMetadata().getNamespace())
+          .ifPresent(currentCluster -> updateToInstallPostgresExtensionsBuild(
+              currentCluster, cluster));
     }
 
     var pvcSizeReconciliatorResult = pvcSizeReconciliator.reconcile(client, propertyContext);
@@ -172,41 +162,26 @@ public class ClusterControllerReconciliator
         .join(pvcSizeReconciliatorResult);
   }
 
-  private void updateClusterPodStatus(StackGresCluster currentCluster,
+  private void updateToInstallPostgresExtensionsBuild(StackGresCluster currentCluster,
       StackGresCluster cluster) {
-    var podStatus = Optional.ofNullable(cluster.getStatus())
-        .map(StackGresClusterStatus::getPodStatuses)
-        .flatMap(podStatuses -> findPodStatus(podStatuses, podName))
-        .orElseThrow();
-    if (currentCluster.getStatus() == null) {
-      currentCluster.setStatus(new StackGresClusterStatus());
-    }
-    currentCluster.getStatus().setArch(cluster.getStatus().getArch());
-    currentCluster.getStatus().setOs(cluster.getStatus().getOs());
-    if (currentCluster.getStatus().getPodStatuses() == null) {
-      currentCluster.getStatus().setPodStatuses(new ArrayList<>());
-    }
-    findPodStatus(currentCluster.getStatus().getPodStatuses(), podName)
-        .ifPresentOrElse(
-            targetPodStatus -> {
-              currentCluster.getStatus().getPodStatuses().set(
-                  currentCluster.getStatus().getPodStatuses().indexOf(targetPodStatus),
-                  podStatus);
-            },
-            () -> currentCluster.getStatus().getPodStatuses().add(podStatus));
-  }
-
-  private Optional<StackGresClusterPodStatus> findPodStatus(
-      List<StackGresClusterPodStatus> podStatuses,
-      String podName) {
-    return podStatuses.stream()
-        .filter(podStatus -> podStatus.getName().equals(podName))
-        .findFirst();
+    cluster.getSpec().getToInstallPostgresExtensions().stream()
+        .filter(toInstallExtension -> currentCluster.getSpec()
+            .getToInstallPostgresExtensions()
+            .stream().noneMatch(toInstallExtension::equals))
+        .map(toInstallExtension -> Tuple.tuple(toInstallExtension,
+            currentCluster.getSpec().getToInstallPostgresExtensions().stream()
+            .filter(targetToInstallExtension -> toInstallExtension.getName()
+                .equals(targetToInstallExtension.getName()))
+            .findFirst()))
+        .filter(t -> t.v2.isPresent())
+        .map(t -> t.map2(Optional::get))
+        .forEach(t -> t.v1.setBuild(t.v2.getBuild()));
   }
 
   @Dependent
   public static class Parameters {
-    @Inject CustomResourceScheduler<StackGresCluster> clusterScheduler;
+    @Inject CustomResourceFinder<StackGresCluster> clusterFinder;
+    @Inject ClusterStatusPublisher statusPublisher;
     @Inject ClusterControllerPostgresBootstrapReconciliator postgresBootstrapReconciliator;
     @Inject ClusterExtensionReconciliator extensionReconciliator;
     @Inject PgBouncerReconciliator pgbouncerReconciliator;
@@ -5,22 +5,42 @@
 
 package io.stackgres.cluster.controller;
 
+import java.nio.file.Paths;
+
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.stackgres.common.ClusterControllerProperty;
 import io.stackgres.common.FileSystemHandler;
 import io.stackgres.common.WebClientFactory;
 import io.stackgres.common.extension.ExtensionManager;
 import io.stackgres.common.extension.ExtensionMetadataManager;
+import io.stackgres.common.extension.ExtensionPackageCache;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 
 @ApplicationScoped
 public class ClusterExtensionManager extends ExtensionManager {
 
+  private static final String DEFAULT_CACHE_MAX_SIZE = "4Gi";
+
   @Inject
   public ClusterExtensionManager(
-      ExtensionMetadataManager extensionMetadataManager) {
+      ExtensionMetadataManager extensionMetadataManager,
+      Instance<MeterRegistry> meterRegistry) {
     super(
         extensionMetadataManager,
-        new WebClientFactory(), new FileSystemHandler());
+        new WebClientFactory(), new FileSystemHandler(),
+        ClusterControllerProperty.CLUSTER_CONTROLLER_EXTENSIONS_CACHE_PATH.get()
+        .map(cachePath -> new ExtensionPackageCache(
+            Paths.get(cachePath),
+            Quantity.getAmountInBytes(new Quantity(
+                ClusterControllerProperty.CLUSTER_CONTROLLER_EXTENSIONS_CACHE_MAX_SIZE.get()
+                .orElse(DEFAULT_CACHE_MAX_SIZE)))
+                .longValue(),
+            meterRegistry.isResolvable() ? meterRegistry.get() : Metrics.globalRegistry))
+        .orElse(null));
   }
 
 }
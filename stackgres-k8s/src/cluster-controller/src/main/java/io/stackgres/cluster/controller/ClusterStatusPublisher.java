@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.cluster.controller;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.base.PatchContext;
+import io.fabric8.kubernetes.client.dsl.base.PatchType;
+import io.stackgres.cluster.configuration.ClusterControllerPropertyContext;
+import io.stackgres.common.CdiUtil;
+import io.stackgres.common.ClusterControllerProperty;
+import io.stackgres.common.crd.sgcluster.StackGresCluster;
+import io.stackgres.common.crd.sgcluster.StackGresClusterList;
+import io.stackgres.common.crd.sgcluster.StackGresClusterManagedSqlStatus;
+import io.stackgres.common.crd.sgcluster.StackGresClusterPodStatus;
+import io.stackgres.common.crd.sgcluster.StackGresClusterStatus;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publish the parts of the SGCluster status owned by the cluster controller using server side
+ *  apply. Each Pod apply its own entry of {@code status.podStatuses} (a list map keyed by name)
+ *  with its own field manager, so that writers from different Pods never conflict on the
+ *  resource version and only the changed entry is sent.
+ *
+ * <p>An apply is skipped when the content is the same that was last applied. An apply that
+ *  follows the previous one of the same field manager within the debounce interval is delayed
+ *  until the interval ends and replaced by any newer content published in the meantime, so that
+ *  a burst of changes results in a single apply with the latest content. Only the last apply of
+ *  each field manager is kept, so the state does not grow with the SGClusters or Pods that come
+ *  and go.
+ */
+@ApplicationScoped
+public class ClusterStatusPublisher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ClusterStatusPublisher.class);
+
+  static final String FIELD_MANAGER_PREFIX = "stackgres-cluster-controller-";
+  static final String MANAGED_SQL_FIELD_MANAGER = FIELD_MANAGER_PREFIX + "managed-sql";
+  static final Duration DEFAULT_DEBOUNCE = Duration.ofSeconds(2);
+
+  private final KubernetesClient client;
+  private final ObjectMapper objectMapper;
+  private final String podName;
+  private final Duration debounce;
+  private final Clock clock;
+  private final ScheduledExecutorService executor;
+  private final Map<String, LastApply> lastApplied = new HashMap<>();
+  private final Map<String, PendingApply> pendingApplies = new HashMap<>();
+
+  @Inject
+  public ClusterStatusPublisher(KubernetesClient client, ObjectMapper objectMapper,
+      ClusterControllerPropertyContext propertyContext) {
+    this(client, objectMapper,
+        propertyContext.getString(ClusterControllerProperty.CLUSTER_CONTROLLER_POD_NAME),
+        ClusterControllerProperty.CLUSTER_CONTROLLER_STATUS_DEBOUNCE.get()
+        .map(Long::parseLong)
+        .map(Duration::ofMillis)
+        .orElse(DEFAULT_DEBOUNCE),
+        Clock.systemUTC(),
+        Executors.newSingleThreadScheduledExecutor(r -> {
+          Thread thread = new Thread(r, "ClusterStatusPublisher");
+          thread.setDaemon(true);
+          return thread;
+        }));
+  }
+
+  ClusterStatusPublisher(KubernetesClient client, ObjectMapper objectMapper, String podName,
+      Duration debounce, Clock clock, ScheduledExecutorService executor) {
+    this.client = client;
+    this.objectMapper = objectMapper;
+    this.podName = podName;
+    this.debounce = debounce;
+    this.clock = clock;
+    this.executor = executor;
+  }
+
+  public ClusterStatusPublisher() {
+    CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
+    this.client = null;
+    this.objectMapper = null;
+    this.podName = null;
+    this.debounce = null;
+    this.clock = null;
+    this.executor = null;
+  }
+
+  @PreDestroy
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Apply the status entry of this Pod together with the architecture and OS found in the
+   *  status of the specified SGCluster. When {@code force} is {@code true} the apply is sent
+   *  immediately even if the content did not change since the last apply (e.g. when the entry
+   *  was found missing in the SGCluster).
+   */
+  public void publishPodStatus(StackGresCluster cluster, boolean force) {
+    final StackGresClusterStatus status = Optional.ofNullable(cluster.getStatus())
+        .orElseGet(StackGresClusterStatus::new);
+    final StackGresClusterPodStatus podStatus = Optional.ofNullable(status.getPodStatuses())
+        .stream()
+        .flatMap(List::stream)
+        .filter(aPodStatus -> podName.equals(aPodStatus.getName()))
+        .findFirst()
+        .orElseThrow();
+    final ObjectNode applyStatus = objectMapper.createObjectNode();
+    if (status.getArch() != null) {
+      applyStatus.put("arch", status.getArch());
+    }
+    if (status.getOs() != null) {
+      applyStatus.put("os", status.getOs());
+    }
+    applyStatus.putArray("podStatuses").add(objectMapper.valueToTree(podStatus));
+    publish(cluster, FIELD_MANAGER_PREFIX + podName, applyStatus, force);
+  }
+
+  /**
+   * Apply the managed SQL status. All Pods share the same field manager since only the
+   *  primary Pod updates it.
+   */
+  public void publishManagedSqlStatus(StackGresCluster cluster,
+      StackGresClusterManagedSqlStatus managedSqlStatus) {
+    final ObjectNode applyStatus = objectMapper.createObjectNode();
+    applyStatus.set("managedSql", objectMapper.valueToTree(managedSqlStatus));
+    publish(cluster, MANAGED_SQL_FIELD_MANAGER, applyStatus, false);
+  }
+
+  private synchronized void publish(StackGresCluster cluster, String fieldManager,
+      ObjectNode applyStatus, boolean force) {
+    final LastApply lastApply = lastApplied.get(fieldManager);
+    final boolean sameCluster = lastApply != null
+        && Objects.equals(lastApply.uid(), cluster.getMetadata().getUid());
+    if (!force && sameCluster && applyStatus.equals(lastApply.status())) {
+      LOGGER.trace("Skipping apply of unchanged status with field manager {}", fieldManager);
+      pendingApplies.remove(fieldManager);
+      return;
+    }
+    final Instant now = clock.instant();
+    if (!force && sameCluster && now.isBefore(lastApply.appliedAt().plus(debounce))) {
+      LOGGER.trace("Delaying apply of status with field manager {}", fieldManager);
+      if (pendingApplies.put(fieldManager, new PendingApply(cluster, applyStatus)) == null) {
+        schedulePendingApply(fieldManager,
+            Duration.between(now, lastApply.appliedAt().plus(debounce)));
+      }
+      return;
+    }
+    pendingApplies.remove(fieldManager);
+    apply(cluster, fieldManager, applyStatus);
+  }
+
+  private void schedulePendingApply(String fieldManager, Duration delay) {
+    executor.schedule(() -> applyPending(fieldManager), delay.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  private synchronized void applyPending(String fieldManager) {
+    final PendingApply pendingApply = pendingApplies.get(fieldManager);
+    if (pendingApply == null) {
+      return;
+    }
+    try {
+      apply(pendingApply.cluster(), fieldManager, pendingApply.status());
+      pendingApplies.remove(fieldManager);
+    } catch (RuntimeException ex) {
+      LOGGER.warn("Error while applying status with field manager {}, will retry in {}",
+          fieldManager, debounce, ex);
+      schedulePendingApply(fieldManager, debounce);
+    }
+  }
+
+  private void apply(StackGresCluster cluster, String fieldManager, ObjectNode applyStatus) {
+    final ObjectNode applyCluster = objectMapper.createObjectNode();
+    applyCluster.put("apiVersion", cluster.getApiVersion());
+    applyCluster.put("kind", cluster.getKind());
+    applyCluster.putObject("metadata")
+        .put("name", cluster.getMetadata().getName())
+        .put("namespace", cluster.getMetadata().getNamespace());
+    applyCluster.set("status", applyStatus);
+    try {
+      client.resources(StackGresCluster.class, StackGresClusterList.class)
+          .inNamespace(cluster.getMetadata().getNamespace())
+          .withName(cluster.getMetadata().getName())
+          .patch(new PatchContext.Builder()
+              .withPatchType(PatchType.SERVER_SIDE_APPLY)
+              .withFieldManager(fieldManager)
+              .withForce(true)
+              .build(),
+              objectMapper.writeValueAsString(applyCluster));
+    } catch (JsonProcessingException ex) {
+      throw new RuntimeException(ex);
+    }
+    lastApplied.put(fieldManager,
+        new LastApply(cluster.getMetadata().getUid(), applyStatus, clock.instant()));
+  }
+
+  record LastApply(String uid, ObjectNode status, Instant appliedAt) {
+  }
+
+  record PendingApply(StackGresCluster cluster, ObjectNode status) {
+  }
+
+}
@@ -34,7 +34,6 @@ import io.stackgres.common.crd.sgscript.StackGresScriptSpec;
 import io.stackgres.common.crd.sgscript.StackGresScriptStatus;
 import io.stackgres.common.patroni.PatroniCtl;
 import io.stackgres.common.resource.CustomResourceFinder;
-import io.stackgres.common.resource.CustomResourceScheduler;
 import io.stackgres.common.resource.ResourceFinder;
 import io.stackgres.operatorframework.reconciliation.ReconciliationResult;
 import io.stackgres.operatorframework.reconciliation.SafeReconciliator;
@@ -57,7 +56,7 @@ public class ManagedSqlReconciliator extends SafeReconciliator<StackGresClusterC
   private final CustomResourceFinder<StackGresScript> scriptFinder;
   private final ResourceFinder<Secret> secretFinder;
   private final ResourceFinder<ConfigMap> configMapFinder;
-  private final CustomResourceScheduler<StackGresCluster> clusterScheduler;
+  private final ClusterStatusPublisher statusPublisher;
   private final String podName;
   private final EventController eventController;
 
@@ -69,7 +68,7 @@ public class ManagedSqlReconciliator extends SafeReconciliator<StackGresClusterC
     @Inject CustomResourceFinder<StackGresScript> scriptFinder;
     @Inject ResourceFinder<Secret> secretFinder;
     @Inject ResourceFinder<ConfigMap> configMapFinder;
-    @Inject CustomResourceScheduler<StackGresCluster> clusterScheduler;
+    @Inject ClusterStatusPublisher statusPublisher;
     @Inject EventController eventController;
   }
 
@@ -82,7 +81,7 @@ public class ManagedSqlReconciliator extends SafeReconciliator<StackGresClusterC
     this.scriptFinder = parameters.scriptFinder;
     this.secretFinder = parameters.secretFinder;
     this.configMapFinder = parameters.configMapFinder;
-    this.clusterScheduler = parameters.clusterScheduler;
+    this.statusPublisher = parameters.statusPublisher;
     this.podName = parameters.propertyContext
         .getString(ClusterControllerProperty.CLUSTER_CONTROLLER_POD_NAME);
     this.eventController = parameters.eventController;
@@ -281,8 +280,7 @@ public class ManagedSqlReconciliator extends SafeReconciliator<StackGresClusterC
 
   protected void updateManagedSqlStatus(StackGresClusterContext context,
       StackGresClusterManagedSqlStatus managedSqlStatus) {
-    clusterScheduler.update(context.getCluster(),
-        (currentCluster) -> currentCluster.getStatus().setManagedSql(managedSqlStatus));
+    statusPublisher.publishManagedSqlStatus(context.getCluster(), managedSqlStatus);
   }
 
   protected void sendEvent(KubernetesClient client, StackGresClusterContext context,
@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.cluster.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.dsl.base.PatchContext;
+import io.fabric8.kubernetes.client.dsl.base.PatchType;
+import io.stackgres.common.crd.sgcluster.StackGresCluster;
+import io.stackgres.common.crd.sgcluster.StackGresClusterList;
+import io.stackgres.common.crd.sgcluster.StackGresClusterManagedSqlStatus;
+import io.stackgres.common.crd.sgcluster.StackGresClusterPodStatus;
+import io.stackgres.common.crd.sgcluster.StackGresClusterStatus;
+import io.stackgres.common.fixture.Fixtures;
+import io.stackgres.testutil.JsonUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterStatusPublisherTest {
+
+  private static final Duration DEBOUNCE = Duration.ofSeconds(2);
+  private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+  @Mock
+  KubernetesClient client;
+  @Mock
+  MixedOperation<StackGresCluster, StackGresClusterList, Resource<StackGresCluster>> clusters;
+  @Mock
+  NonNamespaceOperation<StackGresCluster, StackGresClusterList, Resource<StackGresCluster>>
+      namespacedClusters;
+  @Mock
+  Resource<StackGresCluster> clusterResource;
+  @Mock
+  Clock clock;
+  @Mock
+  ScheduledExecutorService executor;
+
+  private StackGresCluster cluster;
+
+  @BeforeEach
+  void setUp() {
+    cluster = Fixtures.cluster().loadDefault().get();
+    cluster.getMetadata().setUid("test-uid");
+    cluster.setStatus(new StackGresClusterStatus());
+    cluster.getStatus().setArch("x86_64");
+    cluster.getStatus().setOs("linux");
+    cluster.getStatus().setPodStatuses(List.of(
+        podStatus("test-0", true),
+        podStatus("test-1", false)));
+    when(client.resources(StackGresCluster.class, StackGresClusterList.class))
+        .thenReturn(clusters);
+    when(clusters.inNamespace(cluster.getMetadata().getNamespace()))
+        .thenReturn(namespacedClusters);
+    when(namespacedClusters.withName(cluster.getMetadata().getName()))
+        .thenReturn(clusterResource);
+    when(clock.instant()).thenReturn(NOW);
+  }
+
+  private StackGresClusterPodStatus podStatus(String name, boolean primary) {
+    StackGresClusterPodStatus podStatus = new StackGresClusterPodStatus();
+    podStatus.setName(name);
+    podStatus.setPrimary(primary);
+    podStatus.setPendingRestart(false);
+    return podStatus;
+  }
+
+  private JsonNode expectedStatus(StackGresClusterPodStatus podStatus) {
+    StackGresClusterStatus status = new StackGresClusterStatus();
+    status.setArch("x86_64");
+    status.setOs("linux");
+    status.setPodStatuses(List.of(podStatus));
+    return JsonUtil.toJson(status);
+  }
+
+  private ClusterStatusPublisher publisher(String podName) {
+    return new ClusterStatusPublisher(client, JsonUtil.jsonMapper(), podName,
+        DEBOUNCE, clock, executor);
+  }
+
+  private List<JsonNode> appliedStatuses(ArgumentCaptor<String> applyCaptor) {
+    return applyCaptor.getAllValues().stream()
+        .map(apply -> JsonUtil.fromJson(apply, JsonNode.class))
+        .peek(apply -> assertEquals(cluster.getMetadata().getName(),
+            apply.get("metadata").get("name").asText()))
+        .peek(apply -> assertFalse(apply.has("spec")))
+        .map(apply -> apply.get("status"))
+        .toList();
+  }
+
+  @Test
+  void givenPodsOfTheSameCluster_shouldApplyOnlyTheirOwnEntryWithTheirOwnFieldManager() {
+    publisher("test-0").publishPodStatus(cluster, false);
+    publisher("test-1").publishPodStatus(cluster, false);
+
+    ArgumentCaptor<PatchContext> contextCaptor = ArgumentCaptor.forClass(PatchContext.class);
+    ArgumentCaptor<String> applyCaptor = ArgumentCaptor.forClass(String.class);
+    verify(clusterResource, times(2)).patch(contextCaptor.capture(), applyCaptor.capture());
+    assertEquals(
+        List.of(ClusterStatusPublisher.FIELD_MANAGER_PREFIX + "test-0",
+            ClusterStatusPublisher.FIELD_MANAGER_PREFIX + "test-1"),
+        contextCaptor.getAllValues().stream().map(PatchContext::getFieldManager).toList());
+    contextCaptor.getAllValues().forEach(context -> {
+      assertEquals(PatchType.SERVER_SIDE_APPLY, context.getPatchType());
+      assertEquals(true, context.getForce());
+    });
+    List<JsonNode> statuses = appliedStatuses(applyCaptor);
+    JsonUtil.assertJsonEquals(expectedStatus(podStatus("test-0", true)), statuses.get(0));
+    JsonUtil.assertJsonEquals(expectedStatus(podStatus("test-1", false)), statuses.get(1));
+  }
+
+  @Test
+  void givenUnchangedPodStatus_shouldSkipTheApplyUnlessForced() {
+    ClusterStatusPublisher publisher = publisher("test-0");
+    publisher.publishPodStatus(cluster, false);
+    when(clock.instant()).thenReturn(NOW.plus(DEBOUNCE.multipliedBy(2)));
+    publisher.publishPodStatus(cluster, false);
+
+    verify(clusterResource, times(1)).patch(any(PatchContext.class), anyString());
+
+    publisher.publishPodStatus(cluster, true);
+
+    verify(clusterResource, times(2)).patch(any(PatchContext.class), anyString());
+    verify(executor, never()).schedule(any(Runnable.class), anyLong(), any());
+  }
+
+  @Test
+  void givenChangesWithinTheDebounceInterval_shouldApplyOnlyTheLatestWhenTheIntervalEnds() {
+    ClusterStatusPublisher publisher = publisher("test-0");
+    publisher.publishPodStatus(cluster, false);
+    when(clock.instant()).thenReturn(NOW.plusMillis(500));
+    cluster.getStatus().getPodStatuses().get(0).setPendingRestart(true);
+    publisher.publishPodStatus(cluster, false);
+    cluster.getStatus().getPodStatuses().get(0).setPrimary(false);
+    publisher.publishPodStatus(cluster, false);
+
+    verify(clusterResource, times(1)).patch(any(PatchContext.class), anyString());
+    ArgumentCaptor<Runnable> pendingApplyCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(executor, times(1)).schedule(pendingApplyCaptor.capture(),
+        eq(DEBOUNCE.minusMillis(500).toMillis()), eq(TimeUnit.MILLISECONDS));
+
+    when(clock.instant()).thenReturn(NOW.plus(DEBOUNCE));
+    pendingApplyCaptor.getValue().run();
+
+    ArgumentCaptor<String> applyCaptor = ArgumentCaptor.forClass(String.class);
+    verify(clusterResource, times(2)).patch(any(PatchContext.class), applyCaptor.capture());
+    JsonNode podStatus = appliedStatuses(applyCaptor).get(1).get("podStatuses").get(0);
+    assertEquals("test-0", podStatus.get("name").asText());
+    assertEquals(false, podStatus.get("primary").asBoolean());
+    assertEquals(true, podStatus.get("pendingRestart").asBoolean());
+
+    pendingApplyCaptor.getValue().run();
+
+    verify(clusterResource, times(2)).patch(any(PatchContext.class), anyString());
+  }
+
+  @Test
+  void givenAChangeRevertedWithinTheDebounceInterval_shouldNotApplyIt() {
+    ClusterStatusPublisher publisher = publisher("test-0");
+    publisher.publishPodStatus(cluster, false);
+    when(clock.instant()).thenReturn(NOW.plusMillis(500));
+    cluster.getStatus().getPodStatuses().get(0).setPendingRestart(true);
+    publisher.publishPodStatus(cluster, false);
+    cluster.getStatus().getPodStatuses().get(0).setPendingRestart(false);
+    publisher.publishPodStatus(cluster, false);
+
+    ArgumentCaptor<Runnable> pendingApplyCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(executor, times(1)).schedule(pendingApplyCaptor.capture(),
+        anyLong(), eq(TimeUnit.MILLISECONDS));
+    pendingApplyCaptor.getValue().run();
+
+    verify(clusterResource, times(1)).patch(any(PatchContext.class), anyString());
+  }
+
+  @Test
+  void givenARecreatedCluster_shouldApplyTheSameStatusAgain() {
+    ClusterStatusPublisher publisher = publisher("test-0");
+    publisher.publishPodStatus(cluster, false);
+    cluster.getMetadata().setUid("other-uid");
+    publisher.publishPodStatus(cluster, false);
+
+    verify(clusterResource, times(2)).patch(any(PatchContext.class), anyString());
+    verify(executor, never()).schedule(any(Runnable.class), anyLong(), any());
+  }
+
+  @Test
+  void givenManagedSqlStatus_shouldApplyOnlyItWithTheSharedFieldManager() {
+    StackGresClusterManagedSqlStatus managedSqlStatus = new StackGresClusterManagedSqlStatus();
+    managedSqlStatus.setScripts(List.of());
+    publisher("test-0").publishManagedSqlStatus(cluster, managedSqlStatus);
+    publisher("test-1").publishPodStatus(cluster, false);
+
+    ArgumentCaptor<PatchContext> contextCaptor = ArgumentCaptor.forClass(PatchContext.class);
+    ArgumentCaptor<String> applyCaptor = ArgumentCaptor.forClass(String.class);
+    verify(clusterResource, times(2)).patch(contextCaptor.capture(), applyCaptor.capture());
+    assertEquals(ClusterStatusPublisher.MANAGED_SQL_FIELD_MANAGER,
+        contextCaptor.getAllValues().get(0).getFieldManager());
+    StackGresClusterStatus expectedStatus = new StackGresClusterStatus();
+    expectedStatus.setManagedSql(managedSqlStatus);
+    JsonUtil.assertJsonEquals(JsonUtil.toJson(expectedStatus),
+        appliedStatuses(applyCaptor).get(0));
+  }
+
+}
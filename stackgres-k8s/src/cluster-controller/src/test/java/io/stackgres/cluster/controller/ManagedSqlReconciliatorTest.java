@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
@@ -22,7 +23,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Consumer;
 
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
@@ -44,7 +44,6 @@ import io.stackgres.common.patroni.PatroniCtl;
 import io.stackgres.common.patroni.PatroniMember;
 import io.stackgres.common.patroni.StandbyCluster;
 import io.stackgres.common.resource.CustomResourceFinder;
-import io.stackgres.common.resource.CustomResourceScheduler;
 import io.stackgres.common.resource.ResourceFinder;
 import io.stackgres.operatorframework.resource.ResourceUtil;
 import io.stackgres.testutil.JsonUtil;
@@ -76,7 +75,7 @@ public class ManagedSqlReconciliatorTest {
   @Mock
   ResourceFinder<ConfigMap> configMapFinder;
   @Mock
-  CustomResourceScheduler<StackGresCluster> clusterScheduler;
+  ClusterStatusPublisher statusPublisher;
   @Mock
   EventController eventController;
   @Mock
@@ -137,7 +136,7 @@ public class ManagedSqlReconciliatorTest {
     parameters.scriptFinder = scriptFinder;
     parameters.secretFinder = secretFinder;
     parameters.configMapFinder = configMapFinder;
-    parameters.clusterScheduler = clusterScheduler;
+    parameters.statusPublisher = statusPublisher;
     parameters.eventController = eventController;
 
     reconciliator = new ManagedSqlReconciliator(parameters);
@@ -159,7 +158,7 @@ public class ManagedSqlReconciliatorTest {
     verify(scriptFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(secretFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(configMapFinder, times(0)).findByNameAndNamespace(any(), any());
-    verify(clusterScheduler, times(0)).update(any(), any());
+    verify(statusPublisher, times(0)).publishManagedSqlStatus(any(), any());
     verify(eventController, times(0)).sendEvent(any(), any(), any(), any());
   }
 
@@ -180,7 +179,7 @@ public class ManagedSqlReconciliatorTest {
     verify(scriptFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(secretFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(configMapFinder, times(0)).findByNameAndNamespace(any(), any());
-    verify(clusterScheduler, times(0)).update(any(), any());
+    verify(statusPublisher, times(0)).publishManagedSqlStatus(any(), any());
     verify(eventController, times(0)).sendEvent(any(), any(), any(), any());
   }
 
@@ -207,7 +206,7 @@ public class ManagedSqlReconciliatorTest {
     verify(scriptFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(secretFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(configMapFinder, times(0)).findByNameAndNamespace(any(), any());
-    verify(clusterScheduler, times(0)).update(any(), any());
+    verify(statusPublisher, times(0)).publishManagedSqlStatus(any(), any());
     verify(eventController, times(0)).sendEvent(any(), any(), any(), any());
   }
 
@@ -228,7 +227,7 @@ public class ManagedSqlReconciliatorTest {
     verify(scriptFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(secretFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(configMapFinder, times(0)).findByNameAndNamespace(any(), any());
-    verify(clusterScheduler, times(0)).update(any(), any());
+    verify(statusPublisher, times(0)).publishManagedSqlStatus(any(), any());
     verify(eventController, times(0)).sendEvent(any(), any(), any(), any());
   }
 
@@ -244,7 +243,7 @@ public class ManagedSqlReconciliatorTest {
     verify(scriptFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(secretFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(configMapFinder, times(0)).findByNameAndNamespace(any(), any());
-    verify(clusterScheduler, times(0)).update(any(), any());
+    verify(statusPublisher, times(0)).publishManagedSqlStatus(any(), any());
     verify(eventController, times(0)).sendEvent(any(), any(), any(), any());
   }
 
@@ -261,10 +260,10 @@ public class ManagedSqlReconciliatorTest {
     when(secretFinder.findByNameAndNamespace(any(), any())).thenReturn(Optional.of(secret));
     when(configMapFinder.findByNameAndNamespace(any(), any())).thenReturn(Optional.of(configMap));
     var actualUpdatedManagedSqlStatusList = new ArrayList<StackGresClusterManagedSqlStatus>();
-    when(clusterScheduler.update(any(), any())).then(invocation -> {
+    doAnswer(invocation -> {
       addUpdatedManagedSqlStatus(invocation, cluster, actualUpdatedManagedSqlStatusList);
       return null;
-    });
+    }).when(statusPublisher).publishManagedSqlStatus(any(), any());
 
     reconciliator.reconcile(client, context);
 
@@ -274,7 +273,7 @@ public class ManagedSqlReconciliatorTest {
     verify(secretFinder, times(1)).findByNameAndNamespace(any(), any());
     verify(configMapFinder, times(1)).findByNameAndNamespace(any(), any());
     verify(managedSqlScriptEntryExecutor, times(3)).executeScriptEntry(any(), any());
-    verify(clusterScheduler, times(6)).update(any(), any());
+    verify(statusPublisher, times(6)).publishManagedSqlStatus(any(), any());
     var expectedUpdatedManagedSqlStatus = originalCluster.getStatus().getManagedSql();
     var expectedUpdatedManagedSqlEntryStatus = expectedUpdatedManagedSqlStatus.getScripts().get(0);
     expectedUpdatedManagedSqlEntryStatus.setScripts(new ArrayList<>());
@@ -392,10 +391,10 @@ public class ManagedSqlReconciliatorTest {
     when(secretFinder.findByNameAndNamespace(any(), any())).thenReturn(Optional.of(secret));
     when(configMapFinder.findByNameAndNamespace(any(), any())).thenReturn(Optional.of(configMap));
     var actualUpdatedManagedSqlStatusList = new ArrayList<StackGresClusterManagedSqlStatus>();
-    when(clusterScheduler.update(any(), any())).then(invocation -> {
+    doAnswer(invocation -> {
       addUpdatedManagedSqlStatus(invocation, cluster, actualUpdatedManagedSqlStatusList);
       return null;
-    });
+    }).when(statusPublisher).publishManagedSqlStatus(any(), any());
 
     reconciliator.reconcile(client, context);
 
@@ -405,7 +404,7 @@ public class ManagedSqlReconciliatorTest {
     verify(secretFinder, times(1)).findByNameAndNamespace(any(), any());
     verify(configMapFinder, times(1)).findByNameAndNamespace(any(), any());
     verify(managedSqlScriptEntryExecutor, times(2)).executeScriptEntry(any(), any());
-    verify(clusterScheduler, times(4)).update(any(), any());
+    verify(statusPublisher, times(4)).publishManagedSqlStatus(any(), any());
     var expectedUpdatedManagedSqlStatus = originalCluster.getStatus().getManagedSql();
     var expectedUpdatedManagedSqlEntryStatus = expectedUpdatedManagedSqlStatus.getScripts().get(0);
 
@@ -496,10 +495,10 @@ public class ManagedSqlReconciliatorTest {
     when(secretFinder.findByNameAndNamespace(any(), any())).thenReturn(Optional.of(secret));
     when(configMapFinder.findByNameAndNamespace(any(), any())).thenReturn(Optional.of(configMap));
     var actualUpdatedManagedSqlStatusList = new ArrayList<StackGresClusterManagedSqlStatus>();
-    when(clusterScheduler.update(any(), any())).then(invocation -> {
+    doAnswer(invocation -> {
       addUpdatedManagedSqlStatus(invocation, cluster, actualUpdatedManagedSqlStatusList);
       return null;
-    });
+    }).when(statusPublisher).publishManagedSqlStatus(any(), any());
 
     reconciliator.reconcile(client, context);
 
@@ -509,7 +508,7 @@ public class ManagedSqlReconciliatorTest {
     verify(secretFinder, times(1)).findByNameAndNamespace(any(), any());
     verify(configMapFinder, times(1)).findByNameAndNamespace(any(), any());
     verify(managedSqlScriptEntryExecutor, times(3)).executeScriptEntry(any(), any());
-    verify(clusterScheduler, times(6)).update(any(), any());
+    verify(statusPublisher, times(6)).publishManagedSqlStatus(any(), any());
     var expectedUpdatedManagedSqlStatus = originalCluster.getStatus().getManagedSql();
     var expectedUpdatedManagedSqlEntryStatus = expectedUpdatedManagedSqlStatus.getScripts().get(0);
     expectedUpdatedManagedSqlEntryStatus.setScripts(new ArrayList<>());
@@ -623,10 +622,10 @@ public class ManagedSqlReconciliatorTest {
     doNothing().doThrow(new RuntimeException("test"))
         .when(managedSqlScriptEntryExecutor).executeScriptEntry(any(), any());
     var actualUpdatedManagedSqlStatusList = new ArrayList<StackGresClusterManagedSqlStatus>();
-    when(clusterScheduler.update(any(), any())).then(invocation -> {
+    doAnswer(invocation -> {
       addUpdatedManagedSqlStatus(invocation, cluster, actualUpdatedManagedSqlStatusList);
       return null;
-    });
+    }).when(statusPublisher).publishManagedSqlStatus(any(), any());
 
     reconciliator.reconcile(client, context);
 
@@ -708,7 +707,7 @@ public class ManagedSqlReconciliatorTest {
     verify(secretFinder, times(1)).findByNameAndNamespace(any(), any());
     verify(configMapFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(managedSqlScriptEntryExecutor, times(2)).executeScriptEntry(any(), any());
-    verify(clusterScheduler, times(4)).update(any(), any());
+    verify(statusPublisher, times(4)).publishManagedSqlStatus(any(), any());
   }
 
   @Test
@@ -731,7 +730,7 @@ public class ManagedSqlReconciliatorTest {
     verify(secretFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(configMapFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(managedSqlScriptEntryExecutor, times(0)).executeScriptEntry(any(), any());
-    verify(clusterScheduler, times(0)).update(any(), any());
+    verify(statusPublisher, times(0)).publishManagedSqlStatus(any(), any());
     verify(eventController, times(0)).sendEvent(any(), any(), any(), any());
   }
 
@@ -753,10 +752,10 @@ public class ManagedSqlReconciliatorTest {
     doNothing().doThrow(new RuntimeException("test")).doNothing()
         .when(managedSqlScriptEntryExecutor).executeScriptEntry(any(), any());
     var actualUpdatedManagedSqlStatusList = new ArrayList<StackGresClusterManagedSqlStatus>();
-    when(clusterScheduler.update(any(), any())).then(invocation -> {
+    doAnswer(invocation -> {
       addUpdatedManagedSqlStatus(invocation, cluster, actualUpdatedManagedSqlStatusList);
       return null;
-    });
+    }).when(statusPublisher).publishManagedSqlStatus(any(), any());
 
     reconciliator.reconcile(client, context);
 
@@ -766,7 +765,7 @@ public class ManagedSqlReconciliatorTest {
     verify(secretFinder, times(1)).findByNameAndNamespace(any(), any());
     verify(configMapFinder, times(1)).findByNameAndNamespace(any(), any());
     verify(managedSqlScriptEntryExecutor, times(3)).executeScriptEntry(any(), any());
-    verify(clusterScheduler, times(6)).update(any(), any());
+    verify(statusPublisher, times(6)).publishManagedSqlStatus(any(), any());
     var expectedUpdatedManagedSqlStatus = originalCluster.getStatus().getManagedSql();
     var expectedUpdatedManagedSqlEntryStatus = expectedUpdatedManagedSqlStatus.getScripts().get(0);
     expectedUpdatedManagedSqlEntryStatus.setScripts(new ArrayList<>());
@@ -901,7 +900,7 @@ public class ManagedSqlReconciliatorTest {
     verify(secretFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(configMapFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(managedSqlScriptEntryExecutor, times(0)).executeScriptEntry(any(), any());
-    verify(clusterScheduler, times(0)).update(any(), any());
+    verify(statusPublisher, times(0)).publishManagedSqlStatus(any(), any());
     verify(eventController, times(0)).sendEvent(any(), any(), any(), any());
   }
 
@@ -935,7 +934,7 @@ public class ManagedSqlReconciliatorTest {
     verify(secretFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(configMapFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(managedSqlScriptEntryExecutor, times(0)).executeScriptEntry(any(), any());
-    verify(clusterScheduler, times(0)).update(any(), any());
+    verify(statusPublisher, times(0)).publishManagedSqlStatus(any(), any());
     verify(eventController, times(0)).sendEvent(any(), any(), any(), any());
   }
 
@@ -968,10 +967,10 @@ public class ManagedSqlReconciliatorTest {
     when(secretFinder.findByNameAndNamespace(any(), any())).thenReturn(Optional.of(secret));
     when(configMapFinder.findByNameAndNamespace(any(), any())).thenReturn(Optional.of(configMap));
     var actualUpdatedManagedSqlStatusList = new ArrayList<StackGresClusterManagedSqlStatus>();
-    when(clusterScheduler.update(any(), any())).then(invocation -> {
+    doAnswer(invocation -> {
       addUpdatedManagedSqlStatus(invocation, cluster, actualUpdatedManagedSqlStatusList);
       return null;
-    });
+    }).when(statusPublisher).publishManagedSqlStatus(any(), any());
 
     reconciliator.reconcile(client, context);
 
@@ -981,7 +980,7 @@ public class ManagedSqlReconciliatorTest {
     verify(secretFinder, times(1)).findByNameAndNamespace(any(), any());
     verify(configMapFinder, times(1)).findByNameAndNamespace(any(), any());
     verify(managedSqlScriptEntryExecutor, times(3)).executeScriptEntry(any(), any());
-    verify(clusterScheduler, times(6)).update(any(), any());
+    verify(statusPublisher, times(6)).publishManagedSqlStatus(any(), any());
     var expectedUpdatedManagedSqlStatus = originalCluster.getStatus().getManagedSql();
     var expectedUpdatedManagedSqlEntryStatus = expectedUpdatedManagedSqlStatus.getScripts().get(0);
     expectedUpdatedManagedSqlEntryStatus.setScripts(new ArrayList<>());
@@ -1111,10 +1110,10 @@ public class ManagedSqlReconciliatorTest {
     doThrow(new RuntimeException("test"))
         .when(managedSqlScriptEntryExecutor).executeScriptEntry(any(), any());
     var actualUpdatedManagedSqlStatusList = new ArrayList<StackGresClusterManagedSqlStatus>();
-    when(clusterScheduler.update(any(), any())).then(invocation -> {
+    doAnswer(invocation -> {
       addUpdatedManagedSqlStatus(invocation, cluster, actualUpdatedManagedSqlStatusList);
       return null;
-    });
+    }).when(statusPublisher).publishManagedSqlStatus(any(), any());
 
     reconciliator.reconcile(client, context);
 
@@ -1124,7 +1123,7 @@ public class ManagedSqlReconciliatorTest {
     verify(secretFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(configMapFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(managedSqlScriptEntryExecutor, times(1)).executeScriptEntry(any(), any());
-    verify(clusterScheduler, times(2)).update(any(), any());
+    verify(statusPublisher, times(2)).publishManagedSqlStatus(any(), any());
     var expectedUpdatedManagedSqlStatus = originalCluster.getStatus().getManagedSql();
     var expectedUpdatedManagedSqlEntryStatus = expectedUpdatedManagedSqlStatus.getScripts().get(0);
     expectedUpdatedManagedSqlEntryStatus.setScripts(new ArrayList<>());
@@ -1198,10 +1197,10 @@ public class ManagedSqlReconciliatorTest {
     when(secretFinder.findByNameAndNamespace(any(), any())).thenReturn(Optional.of(secret));
     when(configMapFinder.findByNameAndNamespace(any(), any())).thenReturn(Optional.of(configMap));
     var actualUpdatedManagedSqlStatusList = new ArrayList<StackGresClusterManagedSqlStatus>();
-    when(clusterScheduler.update(any(), any())).then(invocation -> {
+    doAnswer(invocation -> {
       addUpdatedManagedSqlStatus(invocation, cluster, actualUpdatedManagedSqlStatusList);
       return null;
-    });
+    }).when(statusPublisher).publishManagedSqlStatus(any(), any());
 
     reconciliator.reconcile(client, context);
 
@@ -1211,7 +1210,7 @@ public class ManagedSqlReconciliatorTest {
     verify(secretFinder, times(1)).findByNameAndNamespace(any(), any());
     verify(configMapFinder, times(1)).findByNameAndNamespace(any(), any());
     verify(managedSqlScriptEntryExecutor, times(3)).executeScriptEntry(any(), any());
-    verify(clusterScheduler, times(6)).update(any(), any());
+    verify(statusPublisher, times(6)).publishManagedSqlStatus(any(), any());
     var expectedUpdatedManagedSqlStatus = originalCluster.getStatus().getManagedSql();
     var expectedUpdatedManagedSqlEntryStatus = expectedUpdatedManagedSqlStatus.getScripts().get(0);
     expectedUpdatedManagedSqlEntryStatus.setScripts(new ArrayList<>());
@@ -1333,10 +1332,10 @@ public class ManagedSqlReconciliatorTest {
     doThrow(new RuntimeException("test"))
         .when(managedSqlScriptEntryExecutor).executeScriptEntry(any(), any());
     var actualUpdatedManagedSqlStatusList = new ArrayList<StackGresClusterManagedSqlStatus>();
-    when(clusterScheduler.update(any(), any())).then(invocation -> {
+    doAnswer(invocation -> {
       addUpdatedManagedSqlStatus(invocation, cluster, actualUpdatedManagedSqlStatusList);
       return null;
-    });
+    }).when(statusPublisher).publishManagedSqlStatus(any(), any());
 
     reconciliator.reconcile(client, context);
 
@@ -1346,7 +1345,7 @@ public class ManagedSqlReconciliatorTest {
     verify(secretFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(configMapFinder, times(0)).findByNameAndNamespace(any(), any());
     verify(managedSqlScriptEntryExecutor, times(2)).executeScriptEntry(any(), any());
-    verify(clusterScheduler, times(4)).update(any(), any());
+    verify(statusPublisher, times(4)).publishManagedSqlStatus(any(), any());
     var expectedUpdatedManagedSqlStatus = originalCluster.getStatus().getManagedSql();
     var expectedUpdatedManagedSqlEntryStatus0 = expectedUpdatedManagedSqlStatus.getScripts().get(0);
     expectedUpdatedManagedSqlEntryStatus0.setScripts(new ArrayList<>());
@@ -1431,14 +1430,9 @@ public class ManagedSqlReconciliatorTest {
         eventReasonArgumentCaptor.getAllValues());
   }
 
-  @SuppressWarnings("unchecked")
   private void addUpdatedManagedSqlStatus(InvocationOnMock invocation, StackGresCluster cluster,
       ArrayList<StackGresClusterManagedSqlStatus> actualUpdatedManagedSqlStatusList) {
-    var updater = (Consumer<StackGresCluster>)
-        invocation.getArgument(1);
-    var updatedCluster = Fixtures.cluster().loadManagedSql().get();
-    updater.accept(updatedCluster);
-    actualUpdatedManagedSqlStatusList.add(
-        JsonUtil.copy(updatedCluster.getStatus().getManagedSql()));
+    StackGresClusterManagedSqlStatus managedSqlStatus = invocation.getArgument(1);
+    actualUpdatedManagedSqlStatusList.add(JsonUtil.copy(managedSqlStatus));
   }
 }
@@ -15,6 +15,12 @@ public enum ClusterControllerProperty implements StackGresPropertyReader {
   CLUSTER_CONTROLLER_POD_IP("stackgres.clusterControllerPodIp"),
   CLUSTER_CONTROLLER_EXTENSIONS_REPOSITORY_URLS(
       "stackgres.clusterControllerExtensionsRepositoryUrls"),
+  CLUSTER_CONTROLLER_EXTENSIONS_CACHE_PATH(
+      "stackgres.clusterControllerExtensionsCachePath"),
+  CLUSTER_CONTROLLER_EXTENSIONS_CACHE_MAX_SIZE(
+      "stackgres.clusterControllerExtensionsCacheMaxSize"),
+  CLUSTER_CONTROLLER_STATUS_DEBOUNCE(
+      "stackgres.clusterControllerStatusDebounce"),
   CLUSTER_CONTROLLER_SKIP_OVERWRITE_SHARED_LIBRARIES(
       "stackgres.clusterSkipOverwriteSharedLibraries"),
   CLUSTER_CONTROLLER_RECONCILE_PGBOUNCER(
@@ -15,7 +15,13 @@ public enum DistributedLogsControllerProperty implements StackGresPropertyReader
   DISTRIBUTEDLOGS_CONTROLLER_EXTENSIONS_REPOSITORY_URLS(
       "stackgres.distributedlogsControllerExtensionsRepositoryUrls"),
   DISTRIBUTEDLOGS_CONTROLLER_SKIP_OVERWRITE_SHARED_LIBRARIES(
-      "stackgres.distributedlogsSkipOverwriteSharedLibraries");
+      "stackgres.distributedlogsSkipOverwriteSharedLibraries"),
+  DISTRIBUTEDLOGS_INGESTION_BATCH_SIZE("stackgres.distributedlogsIngestionBatchSize"),
+  DISTRIBUTEDLOGS_INGESTION_FLUSH_INTERVAL("stackgres.distributedlogsIngestionFlushInterval"),
+  DISTRIBUTEDLOGS_INGESTION_QUEUE_SIZE("stackgres.distributedlogsIngestionQueueSize"),
+  DISTRIBUTEDLOGS_INGESTION_MAX_REPLAY_ATTEMPTS(
+      "stackgres.distributedlogsIngestionMaxReplayAttempts"),
+  DISTRIBUTEDLOGS_INGESTION_SPOOL_MAX_SIZE("stackgres.distributedlogsIngestionSpoolMaxSize");
 
   private static final Properties APPLICATION_PROPERTIES =
       StackGresPropertyReader.readApplicationProperties(DistributedLogsControllerProperty.class);
@@ -5,8 +5,10 @@
 
 package io.stackgres.common;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -15,6 +17,7 @@ import java.nio.file.attribute.PosixFilePermission;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Stream;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -70,6 +73,27 @@ public class FileSystemHandler {
         StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
   }
 
+  /**
+   * Return an {@code OutputStream} that write to a temporary file that replace the target file
+   *  when the stream is closed.
+   */
+  public OutputStream newReplacingOutputStream(Path target) throws IOException {
+    final Path temporaryPath = getTemporaryPath(target);
+    return new FilterOutputStream(Files.newOutputStream(temporaryPath)) {
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+      }
+
+      @Override
+      public void close() throws IOException {
+        super.close();
+        Files.move(temporaryPath, target,
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      }
+    };
+  }
+
   public Path setPosixFilePermissions(Path path, Set<PosixFilePermission> perms)
       throws IOException {
     return Files.setPosixFilePermissions(path, perms);
@@ -93,6 +117,7 @@ public class FileSystemHandler {
         .resolve(Optional.ofNullable(path.getFileName())
             .map(Object::toString).orElse("")
             + Long.toHexString(System.currentTimeMillis())
+            + Long.toHexString(ThreadLocalRandom.current().nextLong())
             + ".tmp");
   }
 
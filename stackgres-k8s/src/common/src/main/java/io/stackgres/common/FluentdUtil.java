@@ -18,6 +18,9 @@ public class FluentdUtil {
   public static final String PATRONI_LOG_TYPE = "patroni";
   public static final int FORWARD_PORT = 12225;
   public static final String FORWARD_PORT_NAME = "fluentd-forward";
+  public static final int INGESTION_PORT = 8080;
+  public static final String INGESTION_PATH = "/stackgres/distributedlogs/ingestion";
+  public static final int INGESTION_RETRYABLE_STATUS_CODE = 503;
 
   private static final String SUFFIX = "-fluentd";
   public static final String CONFIG = "fluentd-config";
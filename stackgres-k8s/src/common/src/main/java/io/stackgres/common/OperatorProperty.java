@@ -24,11 +24,20 @@ public enum OperatorProperty implements StackGresPropertyReader {
   GRAFANA_EMBEDDED("stackgres.prometheus.grafanaEmbedded"),
   USE_ARBITRARY_USER("stackgres.useArbitraryUser"),
   EXTENSIONS_REPOSITORY_URLS("stackgres.extensionsRepositoryUrls"),
+  EXTENSIONS_NODE_CACHE_HOST_PATH("stackgres.extensionsNodeCacheHostPath"),
+  EXTENSIONS_NODE_CACHE_MAX_SIZE("stackgres.extensionsNodeCacheMaxSize"),
   CONFLICT_SLEEP_SECONDS("stackgres.conflictSleepSeconds"),
   LOCK_POLL_INTERVAL("stackgres.lockPollInterval"),
   LOCK_DURATION("stackgres.lockDuration"),
   RECONCILIATION_CACHE_EXPIRATION("stackgres.reconciliationCacheExpitarion"),
   RECONCILIATION_CACHE_SIZE("stackgres.reconciliationCacheSize"),
+  RECONCILIATION_USE_INFORMERS("stackgres.reconciliationUseInformers"),
+  RECONCILIATION_INFORMERS_RESYNC_PERIOD("stackgres.reconciliationInformersResyncPeriod"),
+  RECONCILIATION_INFORMERS_SYNC_TIMEOUT("stackgres.reconciliationInformersSyncTimeout"),
+  RECONCILIATION_WORKERS("stackgres.reconciliationWorkers"),
+  RECONCILIATION_RATE_LIMIT("stackgres.reconciliationRateLimit"),
+  RECONCILIATION_RATE_LIMIT_BURST("stackgres.reconciliationRateLimitBurst"),
+  VALIDATION_WORKERS("stackgres.validationWorkers"),
   SGCONFIG("stackgres.sgconfig"),
   SGCONFIG_NAMESPACE("stackgres.sgconfigNamespace"),
   INSTALL_CONFIG("stackgres.installConfig"),
@@ -41,6 +50,7 @@ public enum OperatorProperty implements StackGresPropertyReader {
   OPERATOR_CERT_SECRET_NAME("stackgres.operatorCertSecretName"),
   DISABLE_RESTAPI_SERVICE_ACCOUNT_IF_NOT_EXISTS("stackgres.disableRestapiServiceAccountIfNotExists"),
   PATRONI_CTL_TIMEOUT("stackgres.patroniCtlTimeout"),
+  PATRONI_CTL_CACHE_DURATION("stackgres.patroniCtlCacheDuration"),
   ALLOWED_NAMESPACES("stackgres.allowedNamespaces"),
   CLUSTER_ROLE_DISABLED("stackgres.clusterRoleDisabled"),
   FORCE_UNLOCK_OPERATOR("stackgres.forceUnlockOperator"),
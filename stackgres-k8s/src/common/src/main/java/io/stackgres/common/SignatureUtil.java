@@ -22,6 +22,26 @@ public interface SignatureUtil {
 
   static boolean verify(String publicKeyPem, InputStream signatureInputStream,
       InputStream contentInputStream) throws Exception {
+    Signature signature = initVerify(publicKeyPem);
+    try (BufferedInputStream bufferedInputStream = new BufferedInputStream(contentInputStream)) {
+      while (true) {
+        byte[] buffer = bufferedInputStream.readNBytes(8192);
+        if (buffer.length == 0) {
+          break;
+        }
+        signature.update(buffer);
+      }
+    }
+    try (BufferedInputStream bufferedInputStream = new BufferedInputStream(signatureInputStream)) {
+      return signature.verify(bufferedInputStream.readAllBytes());
+    }
+  }
+
+  /**
+   * Return a {@code SHA256withRSA} signature initialized for verification with the provided
+   *  public key in PEM format. The content has to be fed with {@code update} while it is read.
+   */
+  static Signature initVerify(String publicKeyPem) throws Exception {
     final List<String> publicKeyPemLines = publicKeyPem.lines()
         .toList();
     Seq.seq(publicKeyPemLines)
@@ -45,18 +65,7 @@ public interface SignatureUtil {
     PublicKey publicKey = keyFactory.generatePublic(publicKeySpec);
     Signature signature = Signature.getInstance("SHA256withRSA");
     signature.initVerify(publicKey);
-    try (BufferedInputStream bufferedInputStream = new BufferedInputStream(contentInputStream)) {
-      while (true) {
-        byte[] buffer = bufferedInputStream.readNBytes(8192);
-        if (buffer.length == 0) {
-          break;
-        }
-        signature.update(buffer);
-      }
-    }
-    try (BufferedInputStream bufferedInputStream = new BufferedInputStream(signatureInputStream)) {
-      return signature.verify(bufferedInputStream.readAllBytes());
-    }
+    return signature;
   }
 
 }
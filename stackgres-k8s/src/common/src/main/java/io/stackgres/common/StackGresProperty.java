@@ -30,7 +30,12 @@ public enum StackGresProperty implements StackGresPropertyReader {
   SG_IMAGE_BABELFISH_COMPASS("stackgres.imageBabelfishCompass"),
   SG_IMAGE_JOBS("stackgres.imageJobs"),
   SG_IMAGE_STREAM("stackgres.imageStream"),
-  SG_IMAGE_PGLAMBDA("stackgres.imagePglambda");
+  SG_IMAGE_PGLAMBDA("stackgres.imagePglambda"),
+  POSTGRES_CONNECTION_POOLING("stackgres.postgresConnectionPooling"),
+  POSTGRES_CONNECTION_POOL_MAX_SIZE("stackgres.postgresConnectionPoolMaxSize"),
+  POSTGRES_CONNECTION_POOL_IDLE_TIMEOUT("stackgres.postgresConnectionPoolIdleTimeout"),
+  POSTGRES_CONNECTION_POOL_MAX_LIFETIME("stackgres.postgresConnectionPoolMaxLifetime"),
+  EXTENSIONS_METADATA_SNAPSHOT_PATH("stackgres.extensionsMetadataSnapshotPath");
 
   private static final Properties APPLICATION_PROPERTIES =
       StackGresPropertyReader.readApplicationProperties(StackGresProperty.class);
@@ -43,6 +43,7 @@ public enum StackGresVolume implements StackGresNamedObject {
   FLUENTD("fluentd"),
   FLUENTD_BUFFER("fluentd-buffer"),
   FLUENTD_LOG("fluentd-log"),
+  EXTENSIONS_CACHE("extensions-cache"),
   CUSTOM("custom-%s");
 
   private final String name;
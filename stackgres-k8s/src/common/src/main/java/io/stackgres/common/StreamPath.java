@@ -22,6 +22,7 @@ public enum StreamPath implements EnvVarPathSource<StackGresCluster> {
   LOCAL_BIN_PATH("/usr/local/bin"),
   DEBEZIUM_BASE_PATH("/var/lib/debezium"),
   DEBEZIUM_OFFSET_STORAGE_PATH(DEBEZIUM_BASE_PATH, "offsets.dat"),
+  DEBEZIUM_OFFSET_SEGMENTS_PATH(DEBEZIUM_BASE_PATH, "offsets"),
   DEBEZIUM_DATABASE_HISTORY_PATH(DEBEZIUM_BASE_PATH, "dbhistory.dat");
 
   private final String path;
@@ -29,10 +29,13 @@ import com.google.common.net.HttpHeaders;
 import io.stackgres.common.WebUtil.InsecureHostnameVerifier;
 import jakarta.enterprise.context.Dependent;
 import jakarta.validation.constraints.NotNull;
+import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.ClientBuilder;
 import jakarta.ws.rs.client.Invocation.Builder;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
 import jakarta.ws.rs.core.UriBuilder;
 import org.jboss.resteasy.plugins.interceptors.AcceptEncodingGZIPFilter;
 import org.jboss.resteasy.plugins.interceptors.GZIPDecodingInterceptor;
@@ -138,6 +141,41 @@ public class WebClientFactory {
       });
     }
 
+    /**
+     * Perform a conditional GET sending the provided entity tag and last modified values as
+     *  {@code If-None-Match} and {@code If-Modified-Since} headers. When the server respond with
+     *  {@code 304 Not Modified} the returned response will have a {@code null} entity.
+     */
+    public <T> ConditionalResponse<T> getJsonIfModified(URI uri, Class<T> clazz,
+        String entityTag, String lastModified) {
+      return doWithRetry(() -> {
+        final Builder request = client.target(targetUri(uri))
+            .request(MediaType.APPLICATION_JSON);
+        Seq.seq(extraHeaders).forEach(
+            extraHeader -> request.header(extraHeader.v1, extraHeader.v2));
+        if (entityTag != null) {
+          request.header(HttpHeaders.IF_NONE_MATCH, entityTag);
+        }
+        if (lastModified != null) {
+          request.header(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+        try (Response response = request.get()) {
+          if (response.getStatus() == Status.NOT_MODIFIED.getStatusCode()) {
+            return new ConditionalResponse<>(null, entityTag, lastModified);
+          }
+          if (response.getStatusInfo().getFamily() != Status.Family.SUCCESSFUL) {
+            throw new WebApplicationException(
+                "GET " + uri + " responded with status " + response.getStatus(),
+                response.getStatus());
+          }
+          return new ConditionalResponse<>(
+              response.readEntity(clazz),
+              response.getHeaderString(HttpHeaders.ETAG),
+              response.getHeaderString(HttpHeaders.LAST_MODIFIED));
+        }
+      });
+    }
+
     public InputStream getInputStream(URI uri) {
       return doWithRetry(() -> {
         final Builder request = client.target(targetUri(uri))
@@ -189,6 +227,12 @@ public class WebClientFactory {
     }
   }
 
+  public record ConditionalResponse<T>(T entity, String entityTag, String lastModified) {
+    public boolean isModified() {
+      return entity != null;
+    }
+  }
+
   public static Optional<String> getUriQueryParameter(URI uri, String parameter) {
     return Optional.ofNullable(uri.getRawQuery())
         .stream()
@@ -14,6 +14,7 @@ import io.quarkus.runtime.annotations.RegisterForReflection;
 import io.stackgres.common.StackGresUtil;
 import io.stackgres.common.validation.ValidEnum;
 import io.sundr.builder.annotations.Buildable;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 
 @RegisterForReflection
@@ -31,6 +32,9 @@ public class StackGresDbOpsMinorVersionUpgrade {
       message = "method must be InPlace or ReducedImpact")
   private String method;
 
+  @Min(value = 1, message = "maxUnavailable must be greather or equals to 1.")
+  private Integer maxUnavailable;
+
   @JsonIgnore
   public boolean isMethodReducedImpact() {
     return Objects.equals(method, DbOpsMethodType.REDUCED_IMPACT.toString());
@@ -52,9 +56,17 @@ public class StackGresDbOpsMinorVersionUpgrade {
     this.method = method;
   }
 
+  public Integer getMaxUnavailable() {
+    return maxUnavailable;
+  }
+
+  public void setMaxUnavailable(Integer maxUnavailable) {
+    this.maxUnavailable = maxUnavailable;
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(method, postgresVersion);
+    return Objects.hash(maxUnavailable, method, postgresVersion);
   }
 
   @Override
@@ -66,7 +78,8 @@ public class StackGresDbOpsMinorVersionUpgrade {
       return false;
     }
     StackGresDbOpsMinorVersionUpgrade other = (StackGresDbOpsMinorVersionUpgrade) obj;
-    return Objects.equals(method, other.method)
+    return Objects.equals(maxUnavailable, other.maxUnavailable)
+        && Objects.equals(method, other.method)
         && Objects.equals(postgresVersion, other.postgresVersion);
   }
 
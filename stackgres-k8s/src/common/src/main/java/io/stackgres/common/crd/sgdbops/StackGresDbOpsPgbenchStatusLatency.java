@@ -5,6 +5,7 @@
 
 package io.stackgres.common.crd.sgdbops;
 
+import java.util.List;
 import java.util.Objects;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -25,6 +26,12 @@ public class StackGresDbOpsPgbenchStatusLatency {
 
   private StackGresDbOpsPgbenchStatusMeasure standardDeviation;
 
+  private StackGresDbOpsPgbenchStatusLatencyPercentiles percentiles;
+
+  private StackGresDbOpsPgbenchStatusLatencyOverTime overTime;
+
+  private List<StackGresDbOpsPgbenchStatusScriptLatency> scripts;
+
   public StackGresDbOpsPgbenchStatusMeasure getAverage() {
     return average;
   }
@@ -41,9 +48,33 @@ public class StackGresDbOpsPgbenchStatusLatency {
     this.standardDeviation = standardDeviation;
   }
 
+  public StackGresDbOpsPgbenchStatusLatencyPercentiles getPercentiles() {
+    return percentiles;
+  }
+
+  public void setPercentiles(StackGresDbOpsPgbenchStatusLatencyPercentiles percentiles) {
+    this.percentiles = percentiles;
+  }
+
+  public StackGresDbOpsPgbenchStatusLatencyOverTime getOverTime() {
+    return overTime;
+  }
+
+  public void setOverTime(StackGresDbOpsPgbenchStatusLatencyOverTime overTime) {
+    this.overTime = overTime;
+  }
+
+  public List<StackGresDbOpsPgbenchStatusScriptLatency> getScripts() {
+    return scripts;
+  }
+
+  public void setScripts(List<StackGresDbOpsPgbenchStatusScriptLatency> scripts) {
+    this.scripts = scripts;
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(average, standardDeviation);
+    return Objects.hash(average, overTime, percentiles, scripts, standardDeviation);
   }
 
   @Override
@@ -56,6 +87,9 @@ public class StackGresDbOpsPgbenchStatusLatency {
     }
     StackGresDbOpsPgbenchStatusLatency other = (StackGresDbOpsPgbenchStatusLatency) obj;
     return Objects.equals(average, other.average)
+        && Objects.equals(overTime, other.overTime)
+        && Objects.equals(percentiles, other.percentiles)
+        && Objects.equals(scripts, other.scripts)
         && Objects.equals(standardDeviation, other.standardDeviation);
   }
 
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.crd.sgdbops;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.stackgres.common.StackGresUtil;
+import io.sundr.builder.annotations.Buildable;
+
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Buildable(editableEnabled = false, validationEnabled = false, generateBuilderPackage = false,
+    lazyCollectionInitEnabled = false, lazyMapInitEnabled = false,
+    builderPackage = "io.fabric8.kubernetes.api.builder")
+public class StackGresDbOpsPgbenchStatusLatencyOverTime {
+
+  private List<BigDecimal> p50;
+
+  private List<BigDecimal> p90;
+
+  private List<BigDecimal> p99;
+
+  private List<BigDecimal> p999;
+
+  private List<BigDecimal> max;
+
+  private String valuesUnit;
+
+  private Integer intervalDuration;
+
+  private String intervalDurationUnit;
+
+  public List<BigDecimal> getP50() {
+    return p50;
+  }
+
+  public void setP50(List<BigDecimal> p50) {
+    this.p50 = p50;
+  }
+
+  public List<BigDecimal> getP90() {
+    return p90;
+  }
+
+  public void setP90(List<BigDecimal> p90) {
+    this.p90 = p90;
+  }
+
+  public List<BigDecimal> getP99() {
+    return p99;
+  }
+
+  public void setP99(List<BigDecimal> p99) {
+    this.p99 = p99;
+  }
+
+  public List<BigDecimal> getP999() {
+    return p999;
+  }
+
+  public void setP999(List<BigDecimal> p999) {
+    this.p999 = p999;
+  }
+
+  public List<BigDecimal> getMax() {
+    return max;
+  }
+
+  public void setMax(List<BigDecimal> max) {
+    this.max = max;
+  }
+
+  public String getValuesUnit() {
+    return valuesUnit;
+  }
+
+  public void setValuesUnit(String valuesUnit) {
+    this.valuesUnit = valuesUnit;
+  }
+
+  public Integer getIntervalDuration() {
+    return intervalDuration;
+  }
+
+  public void setIntervalDuration(Integer intervalDuration) {
+    this.intervalDuration = intervalDuration;
+  }
+
+  public String getIntervalDurationUnit() {
+    return intervalDurationUnit;
+  }
+
+  public void setIntervalDurationUnit(String intervalDurationUnit) {
+    this.intervalDurationUnit = intervalDurationUnit;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(intervalDuration, intervalDurationUnit, max, p50, p90, p99, p999,
+        valuesUnit);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof StackGresDbOpsPgbenchStatusLatencyOverTime)) {
+      return false;
+    }
+    StackGresDbOpsPgbenchStatusLatencyOverTime other =
+        (StackGresDbOpsPgbenchStatusLatencyOverTime) obj;
+    return Objects.equals(intervalDuration, other.intervalDuration)
+        && Objects.equals(intervalDurationUnit, other.intervalDurationUnit)
+        && Objects.equals(max, other.max) && Objects.equals(p50, other.p50)
+        && Objects.equals(p90, other.p90) && Objects.equals(p99, other.p99)
+        && Objects.equals(p999, other.p999) && Objects.equals(valuesUnit, other.valuesUnit);
+  }
+
+  @Override
+  public String toString() {
+    return StackGresUtil.toPrettyYaml(this);
+  }
+
+}
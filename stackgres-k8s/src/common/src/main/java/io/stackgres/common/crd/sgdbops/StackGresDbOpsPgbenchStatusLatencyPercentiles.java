@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.crd.sgdbops;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.stackgres.common.StackGresUtil;
+import io.sundr.builder.annotations.Buildable;
+
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Buildable(editableEnabled = false, validationEnabled = false, generateBuilderPackage = false,
+    lazyCollectionInitEnabled = false, lazyMapInitEnabled = false,
+    builderPackage = "io.fabric8.kubernetes.api.builder")
+public class StackGresDbOpsPgbenchStatusLatencyPercentiles {
+
+  private BigDecimal p50;
+
+  private BigDecimal p90;
+
+  private BigDecimal p99;
+
+  private BigDecimal p999;
+
+  private BigDecimal max;
+
+  private String unit;
+
+  public BigDecimal getP50() {
+    return p50;
+  }
+
+  public void setP50(BigDecimal p50) {
+    this.p50 = p50;
+  }
+
+  public BigDecimal getP90() {
+    return p90;
+  }
+
+  public void setP90(BigDecimal p90) {
+    this.p90 = p90;
+  }
+
+  public BigDecimal getP99() {
+    return p99;
+  }
+
+  public void setP99(BigDecimal p99) {
+    this.p99 = p99;
+  }
+
+  public BigDecimal getP999() {
+    return p999;
+  }
+
+  public void setP999(BigDecimal p999) {
+    this.p999 = p999;
+  }
+
+  public BigDecimal getMax() {
+    return max;
+  }
+
+  public void setMax(BigDecimal max) {
+    this.max = max;
+  }
+
+  public String getUnit() {
+    return unit;
+  }
+
+  public void setUnit(String unit) {
+    this.unit = unit;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(max, p50, p90, p99, p999, unit);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof StackGresDbOpsPgbenchStatusLatencyPercentiles)) {
+      return false;
+    }
+    StackGresDbOpsPgbenchStatusLatencyPercentiles other =
+        (StackGresDbOpsPgbenchStatusLatencyPercentiles) obj;
+    return Objects.equals(max, other.max) && Objects.equals(p50, other.p50)
+        && Objects.equals(p90, other.p90) && Objects.equals(p99, other.p99)
+        && Objects.equals(p999, other.p999) && Objects.equals(unit, other.unit);
+  }
+
+  @Override
+  public String toString() {
+    return StackGresUtil.toPrettyYaml(this);
+  }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.crd.sgdbops;
+
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.stackgres.common.StackGresUtil;
+import io.sundr.builder.annotations.Buildable;
+
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Buildable(editableEnabled = false, validationEnabled = false, generateBuilderPackage = false,
+    lazyCollectionInitEnabled = false, lazyMapInitEnabled = false,
+    builderPackage = "io.fabric8.kubernetes.api.builder")
+public class StackGresDbOpsPgbenchStatusScriptLatency {
+
+  private Integer script;
+
+  private StackGresDbOpsPgbenchStatusLatencyPercentiles percentiles;
+
+  private String hdrHistogram;
+
+  public Integer getScript() {
+    return script;
+  }
+
+  public void setScript(Integer script) {
+    this.script = script;
+  }
+
+  public StackGresDbOpsPgbenchStatusLatencyPercentiles getPercentiles() {
+    return percentiles;
+  }
+
+  public void setPercentiles(StackGresDbOpsPgbenchStatusLatencyPercentiles percentiles) {
+    this.percentiles = percentiles;
+  }
+
+  public String getHdrHistogram() {
+    return hdrHistogram;
+  }
+
+  public void setHdrHistogram(String hdrHistogram) {
+    this.hdrHistogram = hdrHistogram;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(hdrHistogram, percentiles, script);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof StackGresDbOpsPgbenchStatusScriptLatency)) {
+      return false;
+    }
+    StackGresDbOpsPgbenchStatusScriptLatency other =
+        (StackGresDbOpsPgbenchStatusScriptLatency) obj;
+    return Objects.equals(hdrHistogram, other.hdrHistogram)
+        && Objects.equals(percentiles, other.percentiles)
+        && Objects.equals(script, other.script);
+  }
+
+  @Override
+  public String toString() {
+    return StackGresUtil.toPrettyYaml(this);
+  }
+
+}
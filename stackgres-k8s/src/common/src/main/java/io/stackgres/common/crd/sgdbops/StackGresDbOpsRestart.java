@@ -14,6 +14,7 @@ import io.quarkus.runtime.annotations.RegisterForReflection;
 import io.stackgres.common.StackGresUtil;
 import io.stackgres.common.validation.ValidEnum;
 import io.sundr.builder.annotations.Buildable;
+import jakarta.validation.constraints.Min;
 
 @RegisterForReflection
 @JsonInclude(JsonInclude.Include.NON_DEFAULT)
@@ -31,6 +32,9 @@ public class StackGresDbOpsRestart {
 
   private Boolean onlyPendingRestart;
 
+  @Min(value = 1, message = "maxUnavailable must be greather or equals to 1.")
+  private Integer maxUnavailable;
+
   @JsonIgnore
   public boolean isMethodReducedImpact() {
     return Objects.equals(method, DbOpsMethodType.REDUCED_IMPACT.toString());
@@ -60,9 +64,17 @@ public class StackGresDbOpsRestart {
     this.onlyPendingRestart = onlyPendingRestart;
   }
 
+  public Integer getMaxUnavailable() {
+    return maxUnavailable;
+  }
+
+  public void setMaxUnavailable(Integer maxUnavailable) {
+    this.maxUnavailable = maxUnavailable;
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(method, restartPrimaryFirst);
+    return Objects.hash(maxUnavailable, method, restartPrimaryFirst);
   }
 
   @Override
@@ -74,7 +86,8 @@ public class StackGresDbOpsRestart {
       return false;
     }
     StackGresDbOpsRestart other = (StackGresDbOpsRestart) obj;
-    return Objects.equals(method, other.method)
+    return Objects.equals(maxUnavailable, other.maxUnavailable)
+        && Objects.equals(method, other.method)
         && Objects.equals(restartPrimaryFirst, other.restartPrimaryFirst);
   }
 
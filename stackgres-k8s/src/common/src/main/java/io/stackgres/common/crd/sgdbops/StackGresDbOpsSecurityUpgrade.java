@@ -14,6 +14,7 @@ import io.quarkus.runtime.annotations.RegisterForReflection;
 import io.stackgres.common.StackGresUtil;
 import io.stackgres.common.validation.ValidEnum;
 import io.sundr.builder.annotations.Buildable;
+import jakarta.validation.constraints.Min;
 
 @RegisterForReflection
 @JsonInclude(JsonInclude.Include.NON_DEFAULT)
@@ -27,6 +28,9 @@ public class StackGresDbOpsSecurityUpgrade {
       message = "method must be InPlace or ReducedImpact")
   private String method;
 
+  @Min(value = 1, message = "maxUnavailable must be greather or equals to 1.")
+  private Integer maxUnavailable;
+
   @JsonIgnore
   public boolean isMethodReducedImpact() {
     return Objects.equals(method, DbOpsMethodType.REDUCED_IMPACT.toString());
@@ -40,9 +44,17 @@ public class StackGresDbOpsSecurityUpgrade {
     this.method = method;
   }
 
+  public Integer getMaxUnavailable() {
+    return maxUnavailable;
+  }
+
+  public void setMaxUnavailable(Integer maxUnavailable) {
+    this.maxUnavailable = maxUnavailable;
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(method);
+    return Objects.hash(maxUnavailable, method);
   }
 
   @Override
@@ -54,7 +66,8 @@ public class StackGresDbOpsSecurityUpgrade {
       return false;
     }
     StackGresDbOpsSecurityUpgrade other = (StackGresDbOpsSecurityUpgrade) obj;
-    return Objects.equals(method, other.method);
+    return Objects.equals(maxUnavailable, other.maxUnavailable)
+        && Objects.equals(method, other.method);
   }
 
   @Override
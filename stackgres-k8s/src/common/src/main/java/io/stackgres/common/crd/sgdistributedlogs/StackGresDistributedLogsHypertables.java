@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.crd.sgdistributedlogs;
+
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.stackgres.common.StackGresUtil;
+import io.sundr.builder.annotations.Buildable;
+import jakarta.validation.constraints.Pattern;
+
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Buildable(editableEnabled = false, validationEnabled = false, generateBuilderPackage = false,
+    lazyCollectionInitEnabled = false, lazyMapInitEnabled = false,
+    builderPackage = "io.fabric8.kubernetes.api.builder")
+public class StackGresDistributedLogsHypertables {
+
+  @Pattern(regexp = "^[0-9]+(\\.[0-9]+)?(Mi|Gi)$",
+      message = "Target chunk size must be specified in Mi or Gi")
+  private String targetChunkSize;
+
+  @Pattern(regexp = "^[0-9]+ (minutes?|hours?|days?|months?)$",
+      message = "Compress after must be specified as <integer> (minutes|hours|days|months)")
+  private String compressAfter;
+
+  public String getTargetChunkSize() {
+    return targetChunkSize;
+  }
+
+  public void setTargetChunkSize(String targetChunkSize) {
+    this.targetChunkSize = targetChunkSize;
+  }
+
+  public String getCompressAfter() {
+    return compressAfter;
+  }
+
+  public void setCompressAfter(String compressAfter) {
+    this.compressAfter = compressAfter;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(compressAfter, targetChunkSize);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof StackGresDistributedLogsHypertables)) {
+      return false;
+    }
+    StackGresDistributedLogsHypertables other = (StackGresDistributedLogsHypertables) obj;
+    return Objects.equals(compressAfter, other.compressAfter)
+        && Objects.equals(targetChunkSize, other.targetChunkSize);
+  }
+
+  @Override
+  public String toString() {
+    return StackGresUtil.toPrettyYaml(this);
+  }
+
+}
@@ -42,6 +42,9 @@ public class StackGresDistributedLogsSpec {
   @Valid
   private StackGresDistributedLogsNonProduction nonProductionOptions;
 
+  @Valid
+  private StackGresDistributedLogsHypertables hypertables;
+
   @Valid
   private StackGresClusterResources resources;
 
@@ -86,6 +89,14 @@ public class StackGresDistributedLogsSpec {
     this.nonProductionOptions = nonProductionOptions;
   }
 
+  public StackGresDistributedLogsHypertables getHypertables() {
+    return hypertables;
+  }
+
+  public void setHypertables(StackGresDistributedLogsHypertables hypertables) {
+    this.hypertables = hypertables;
+  }
+
   public StackGresClusterResources getResources() {
     return resources;
   }
@@ -145,8 +156,8 @@ public class StackGresDistributedLogsSpec {
 
   @Override
   public int hashCode() {
-    return Objects.hash(configurations, metadata, nonProductionOptions, persistentVolume,
-        postgresServices, profile, resources, scheduling, sgInstanceProfile,
+    return Objects.hash(configurations, hypertables, metadata, nonProductionOptions,
+        persistentVolume, postgresServices, profile, resources, scheduling, sgInstanceProfile,
         toInstallPostgresExtensions);
   }
 
@@ -160,6 +171,7 @@ public class StackGresDistributedLogsSpec {
     }
     StackGresDistributedLogsSpec other = (StackGresDistributedLogsSpec) obj;
     return Objects.equals(configurations, other.configurations)
+        && Objects.equals(hypertables, other.hypertables)
         && Objects.equals(metadata, other.metadata)
         && Objects.equals(nonProductionOptions, other.nonProductionOptions)
         && Objects.equals(persistentVolume, other.persistentVolume)
@@ -5,6 +5,7 @@
 
 package io.stackgres.common.crd.sgdistributedlogs;
 
+import java.util.List;
 import java.util.Objects;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -12,6 +13,7 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import io.stackgres.common.StackGresUtil;
 import io.sundr.builder.annotations.Buildable;
+import jakarta.validation.Valid;
 
 @RegisterForReflection
 @JsonInclude(JsonInclude.Include.NON_DEFAULT)
@@ -25,6 +27,9 @@ public class StackGresDistributedLogsStatusDatabase {
 
   private String retention;
 
+  @Valid
+  private List<StackGresDistributedLogsStatusHypertable> hypertables;
+
   public String getName() {
     return name;
   }
@@ -41,9 +46,17 @@ public class StackGresDistributedLogsStatusDatabase {
     this.retention = retention;
   }
 
+  public List<StackGresDistributedLogsStatusHypertable> getHypertables() {
+    return hypertables;
+  }
+
+  public void setHypertables(List<StackGresDistributedLogsStatusHypertable> hypertables) {
+    this.hypertables = hypertables;
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(name, retention);
+    return Objects.hash(hypertables, name, retention);
   }
 
   @Override
@@ -55,7 +68,8 @@ public class StackGresDistributedLogsStatusDatabase {
       return false;
     }
     StackGresDistributedLogsStatusDatabase other = (StackGresDistributedLogsStatusDatabase) obj;
-    return Objects.equals(name, other.name)
+    return Objects.equals(hypertables, other.hypertables)
+        && Objects.equals(name, other.name)
         && Objects.equals(retention, other.retention);
   }
 
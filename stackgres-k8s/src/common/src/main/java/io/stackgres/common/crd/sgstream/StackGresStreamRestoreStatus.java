@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.crd.sgstream;
+
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.stackgres.common.StackGresUtil;
+import io.sundr.builder.annotations.Buildable;
+
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Buildable(editableEnabled = false, validationEnabled = false, generateBuilderPackage = false,
+    lazyCollectionInitEnabled = false, lazyMapInitEnabled = false,
+    builderPackage = "io.fabric8.kubernetes.api.builder")
+public class StackGresStreamRestoreStatus {
+
+  private Integer totalIndexes;
+
+  private Integer restoredIndexes;
+
+  private Integer totalConstraints;
+
+  private Integer restoredConstraints;
+
+  private Long totalBytes;
+
+  private Long restoredBytes;
+
+  private Integer retries;
+
+  public Integer getTotalIndexes() {
+    return totalIndexes;
+  }
+
+  public void setTotalIndexes(Integer totalIndexes) {
+    this.totalIndexes = totalIndexes;
+  }
+
+  public Integer getRestoredIndexes() {
+    return restoredIndexes;
+  }
+
+  public void setRestoredIndexes(Integer restoredIndexes) {
+    this.restoredIndexes = restoredIndexes;
+  }
+
+  public Integer getTotalConstraints() {
+    return totalConstraints;
+  }
+
+  public void setTotalConstraints(Integer totalConstraints) {
+    this.totalConstraints = totalConstraints;
+  }
+
+  public Integer getRestoredConstraints() {
+    return restoredConstraints;
+  }
+
+  public void setRestoredConstraints(Integer restoredConstraints) {
+    this.restoredConstraints = restoredConstraints;
+  }
+
+  public Long getTotalBytes() {
+    return totalBytes;
+  }
+
+  public void setTotalBytes(Long totalBytes) {
+    this.totalBytes = totalBytes;
+  }
+
+  public Long getRestoredBytes() {
+    return restoredBytes;
+  }
+
+  public void setRestoredBytes(Long restoredBytes) {
+    this.restoredBytes = restoredBytes;
+  }
+
+  public Integer getRetries() {
+    return retries;
+  }
+
+  public void setRetries(Integer retries) {
+    this.retries = retries;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(restoredBytes, restoredConstraints, restoredIndexes, retries, totalBytes,
+        totalConstraints, totalIndexes);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof StackGresStreamRestoreStatus)) {
+      return false;
+    }
+    StackGresStreamRestoreStatus other = (StackGresStreamRestoreStatus) obj;
+    return Objects.equals(restoredBytes, other.restoredBytes)
+        && Objects.equals(restoredConstraints, other.restoredConstraints)
+        && Objects.equals(restoredIndexes, other.restoredIndexes)
+        && Objects.equals(retries, other.retries)
+        && Objects.equals(totalBytes, other.totalBytes)
+        && Objects.equals(totalConstraints, other.totalConstraints)
+        && Objects.equals(totalIndexes, other.totalIndexes);
+  }
+
+  @Override
+  public String toString() {
+    return StackGresUtil.toPrettyYaml(this);
+  }
+
+}
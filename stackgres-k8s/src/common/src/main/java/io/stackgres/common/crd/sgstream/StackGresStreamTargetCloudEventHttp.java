@@ -19,6 +19,7 @@ import io.stackgres.common.validation.FieldReference;
 import io.stackgres.common.validation.FieldReference.ReferencedField;
 import io.sundr.builder.annotations.Buildable;
 import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 @RegisterForReflection
@@ -44,6 +45,12 @@ public class StackGresStreamTargetCloudEventHttp {
 
   private Integer retryBackoffDelay;
 
+  @Min(value = 1, message = "batchSize must be greater than 0")
+  private Integer batchSize;
+
+  @Min(value = 1, message = "maxInFlightRequests must be greater than 0")
+  private Integer maxInFlightRequests;
+
   @ReferencedField("connectTimeout")
   interface ConnectTimeout extends FieldReference {
   }
@@ -138,10 +145,26 @@ public class StackGresStreamTargetCloudEventHttp {
     this.retryBackoffDelay = retryBackoffDelay;
   }
 
+  public Integer getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(Integer batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public Integer getMaxInFlightRequests() {
+    return maxInFlightRequests;
+  }
+
+  public void setMaxInFlightRequests(Integer maxInFlightRequests) {
+    this.maxInFlightRequests = maxInFlightRequests;
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(connectTimeout, headers, readTimeout, retryBackoffDelay, retryLimit,
-        skipHostnameVerification, url);
+    return Objects.hash(batchSize, connectTimeout, headers, maxInFlightRequests, readTimeout,
+        retryBackoffDelay, retryLimit, skipHostnameVerification, url);
   }
 
   @Override
@@ -153,8 +176,11 @@ public class StackGresStreamTargetCloudEventHttp {
       return false;
     }
     StackGresStreamTargetCloudEventHttp other = (StackGresStreamTargetCloudEventHttp) obj;
-    return Objects.equals(connectTimeout, other.connectTimeout)
-        && Objects.equals(headers, other.headers) && Objects.equals(readTimeout, other.readTimeout)
+    return Objects.equals(batchSize, other.batchSize)
+        && Objects.equals(connectTimeout, other.connectTimeout)
+        && Objects.equals(headers, other.headers)
+        && Objects.equals(maxInFlightRequests, other.maxInFlightRequests)
+        && Objects.equals(readTimeout, other.readTimeout)
         && Objects.equals(retryBackoffDelay, other.retryBackoffDelay)
         && Objects.equals(retryLimit, other.retryLimit)
         && Objects.equals(skipHostnameVerification, other.skipHostnameVerification)
@@ -14,6 +14,7 @@ import io.stackgres.common.StackGresUtil;
 import io.stackgres.common.crd.SecretKeySelector;
 import io.sundr.builder.annotations.Buildable;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 @RegisterForReflection
@@ -39,6 +40,12 @@ public class StackGresStreamTargetSgCluster {
 
   private String ddlImportRoleSkipFilter;
 
+  @Min(value = 1, message = "snapshotParallelism must be greater than 0")
+  private Integer snapshotParallelism;
+
+  @Min(value = 1, message = "restoreParallelism must be greater than 0")
+  private Integer restoreParallelism;
+
   @Valid
   private StackGresStreamTargetJdbcSinkDebeziumProperties debeziumProperties;
 
@@ -90,6 +97,22 @@ public class StackGresStreamTargetSgCluster {
     this.ddlImportRoleSkipFilter = ddlImportRoleSkipFilter;
   }
 
+  public Integer getSnapshotParallelism() {
+    return snapshotParallelism;
+  }
+
+  public void setSnapshotParallelism(Integer snapshotParallelism) {
+    this.snapshotParallelism = snapshotParallelism;
+  }
+
+  public Integer getRestoreParallelism() {
+    return restoreParallelism;
+  }
+
+  public void setRestoreParallelism(Integer restoreParallelism) {
+    this.restoreParallelism = restoreParallelism;
+  }
+
   public StackGresStreamTargetJdbcSinkDebeziumProperties getDebeziumProperties() {
     return debeziumProperties;
   }
@@ -102,7 +125,7 @@ public class StackGresStreamTargetSgCluster {
   @Override
   public int hashCode() {
     return Objects.hash(database, ddlImportRoleSkipFilter, debeziumProperties, name, password,
-        skipDdlImport, username);
+        restoreParallelism, skipDdlImport, snapshotParallelism, username);
   }
 
   @Override
@@ -119,6 +142,8 @@ public class StackGresStreamTargetSgCluster {
         && Objects.equals(debeziumProperties, other.debeziumProperties)
         && Objects.equals(name, other.name) && Objects.equals(password, other.password)
         && Objects.equals(skipDdlImport, other.skipDdlImport)
+        && Objects.equals(restoreParallelism, other.restoreParallelism)
+        && Objects.equals(snapshotParallelism, other.snapshotParallelism)
         && Objects.equals(username, other.username);
   }
 
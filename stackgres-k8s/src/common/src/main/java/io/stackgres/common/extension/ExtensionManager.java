@@ -5,19 +5,26 @@
 
 package io.stackgres.common.extension;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.PosixFilePermission;
+import java.security.Signature;
 import java.security.SignatureException;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.zip.GZIPInputStream;
 
+import javax.annotation.Nullable;
+
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.stackgres.common.CdiUtil;
 import io.stackgres.common.ClusterContext;
@@ -27,6 +34,7 @@ import io.stackgres.common.SignatureUtil;
 import io.stackgres.common.WebClientFactory;
 import io.stackgres.common.WebClientFactory.WebClient;
 import io.stackgres.common.crd.sgcluster.StackGresClusterInstalledExtension;
+import io.stackgres.common.extension.ExtensionPackageCache.CacheOutputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.jooq.lambda.Unchecked;
@@ -44,17 +52,27 @@ public abstract class ExtensionManager {
   public static final String INSTALLED_SUFFIX = ".installed";
   public static final String LINKS_CREATED_SUFFIX = ".links-created";
   public static final String PENDING_SUFFIX = ".pending";
+  public static final String MANIFEST_SUFFIX = ".manifest.json";
 
   private final ExtensionMetadataManager extensionMetadataManager;
   private final WebClientFactory webClientFactory;
   private final FileSystemHandler fileSystemHandler;
+  private final ExtensionPackageCache extensionPackageCache;
 
   protected ExtensionManager(ExtensionMetadataManager extensionMetadataManager,
       WebClientFactory webClientFactory,
       FileSystemHandler fileSystemHandler) {
+    this(extensionMetadataManager, webClientFactory, fileSystemHandler, null);
+  }
+
+  protected ExtensionManager(ExtensionMetadataManager extensionMetadataManager,
+      WebClientFactory webClientFactory,
+      FileSystemHandler fileSystemHandler,
+      @Nullable ExtensionPackageCache extensionPackageCache) {
     this.extensionMetadataManager = extensionMetadataManager;
     this.webClientFactory = webClientFactory;
     this.fileSystemHandler = fileSystemHandler;
+    this.extensionPackageCache = extensionPackageCache;
   }
 
   public ExtensionManager() {
@@ -62,6 +80,7 @@ public abstract class ExtensionManager {
     this.extensionMetadataManager = null;
     this.webClientFactory = null;
     this.fileSystemHandler = null;
+    this.extensionPackageCache = null;
   }
 
   public ExtensionMetadataManager getMetadataManager() {
@@ -90,6 +109,10 @@ public abstract class ExtensionManager {
     private final String packageName;
     private final URI extensionsRepositoryUri;
     private final URI extensionUri;
+    private ExtensionPackageManifest packageManifest;
+    private Signature packageSignature;
+    private byte[] packageSignatureContent;
+    private Boolean packageSignatureVerified;
 
     private ExtensionInstaller(ClusterContext context,
         StackGresClusterInstalledExtension installedExtension,
@@ -125,20 +148,128 @@ public abstract class ExtensionManager {
         "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE" },
         justification = "False positive")
     public void downloadAndExtract() throws Exception {
+      if (extensionPackageCache != null) {
+        Optional<InputStream> cachedInputStream =
+            extensionPackageCache.newInputStream(packageName);
+        if (cachedInputStream.isPresent()) {
+          LOGGER.info("Extracting {} from the extensions cache",
+              ExtensionUtil.getDescription(context.getCluster(), installedExtension, true));
+          try (InputStream inputStream = cachedInputStream.get()) {
+            extract(inputStream);
+            return;
+          } catch (IOException | IllegalStateException ex) {
+            LOGGER.warn("Can not extract {} from the extensions cache, it will be downloaded",
+                packageName, ex);
+            extensionPackageCache.evict(packageName);
+          }
+        }
+      }
       LOGGER.info("Downloading {} from {}",
           ExtensionUtil.getDescription(context.getCluster(), installedExtension, true),
           extensionUri);
-      try (WebClient client = webClientFactory.create(extensionsRepositoryUri)) {
-        try (InputStream inputStream = client.getInputStream(extensionUri)) {
-          extractTar(inputStream);
+      try (WebClient client = webClientFactory.create(extensionsRepositoryUri);
+          InputStream inputStream = client.getInputStream(extensionUri)) {
+        if (extensionPackageCache == null) {
+          extract(inputStream);
+          return;
+        }
+        try (CacheOutputStream cacheOutputStream =
+            extensionPackageCache.newOutputStream(packageName)) {
+          extract(new CachingInputStream(inputStream, cacheOutputStream));
+          // Only packages with a valid signature are stored in the cache
+          if (verifyExtractedPackageSignature()) {
+            cacheOutputStream.commit();
+          }
         }
       }
     }
 
+    /**
+     * Extract the downloaded tar reading it completely. The stream is not closed.
+     */
+    private void extract(InputStream inputStream) throws Exception {
+      final Path extensionsPath = Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context));
+      final Signature signature = SignatureUtil.initVerify(extensionPublisher.getPublicKey());
+      this.packageManifest = null;
+      this.packageSignature = null;
+      this.packageSignatureContent = null;
+      this.packageSignatureVerified = null;
+      try {
+        final TarArchiveInputStream tarEntryInputStream = new TarArchiveInputStream(inputStream);
+        TarArchiveEntry tarArchiveEntry = tarEntryInputStream.getNextEntry();
+        if (tarArchiveEntry == null) {
+          throw new IllegalStateException("Can not find any entry in the output");
+        }
+        for (; tarArchiveEntry != null; tarArchiveEntry = tarEntryInputStream.getNextEntry()) {
+          final Path targetPath = getTargetPath(extensionsPath, tarArchiveEntry.getName());
+          final boolean isRegularFile = tarArchiveEntry.isFile()
+              && !tarArchiveEntry.isSymbolicLink();
+          if (isRegularFile && tarArchiveEntry.getName().endsWith(TGZ_SUFFIX)) {
+            this.packageManifest = downloadPackage(
+                tarEntryInputStream, tarArchiveEntry, targetPath, signature);
+            this.packageSignature = signature;
+          } else if (isRegularFile && tarArchiveEntry.getName().endsWith(SHA256_SUFFIX)) {
+            this.packageSignatureContent = tarEntryInputStream.readAllBytes();
+            extractFile(tarArchiveEntry,
+                new ByteArrayInputStream(packageSignatureContent), targetPath);
+          } else {
+            extractFile(tarArchiveEntry, tarEntryInputStream, targetPath);
+          }
+        }
+        inputStream.transferTo(OutputStream.nullOutputStream());
+      } catch (UncheckedIOException ex) {
+        throw ex.getCause();
+      }
+      if (packageManifest != null) {
+        fileSystemHandler.copyOrReplace(
+            new ByteArrayInputStream(packageManifest.toJson()),
+            extensionsPath.resolve(packageName + MANIFEST_SUFFIX));
+      }
+    }
+
+    /**
+     * Store the package while it is downloaded, feeding at the same time the signature and
+     *  the decompressor that build the manifest so that the package is read only once.
+     */
+    private ExtensionPackageManifest downloadPackage(InputStream inputStream,
+        TarArchiveEntry tarEntry, Path targetPath, Signature signature) throws IOException {
+      Path targetParent = targetPath.getParent();
+      if (targetParent != null) {
+        fileSystemHandler.createDirectories(targetParent);
+      }
+      ExtensionPackageManifest manifest;
+      try (
+          OutputStream outputStream = fileSystemHandler.newReplacingOutputStream(targetPath);
+          InputStream packageInputStream = new PackageInputStream(
+              inputStream, outputStream, signature)) {
+        try (InputStream packageInputStreamUncompressed = new GZIPInputStream(
+            packageInputStream)) {
+          manifest = ExtensionPackageManifest.read(packageInputStreamUncompressed);
+        } catch (IOException | IllegalStateException ex) {
+          LOGGER.warn("Can not build manifest of {}, the stored package will be used instead",
+              targetPath, ex);
+          manifest = null;
+        }
+        packageInputStream.transferTo(OutputStream.nullOutputStream());
+      }
+      fileSystemHandler.setPosixFilePermissions(targetPath, parseMode(tarEntry.getMode()));
+      return manifest;
+    }
+
     @SuppressFBWarnings(value = { "UPM_UNCALLED_PRIVATE_METHOD",
         "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE" },
         justification = "False positive")
     public void verify() throws Exception {
+      verifyExtractedPackageSignature();
+      if (packageSignatureVerified != null) {
+        final boolean verified = packageSignatureVerified;
+        this.packageSignatureVerified = null;
+        if (!verified) {
+          evictFromCache();
+          throw new SignatureException("Signature verification failed");
+        }
+        return;
+      }
       try (InputStream signatureInputStream = fileSystemHandler.newInputStream(
           Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context))
           .resolve(packageName + SHA256_SUFFIX));
@@ -147,15 +278,48 @@ public abstract class ExtensionManager {
               .resolve(packageName + TGZ_SUFFIX))) {
         if (!SignatureUtil.verify(extensionPublisher.getPublicKey(),
             signatureInputStream, extensionPackageInputStream)) {
+          evictFromCache();
           throw new SignatureException("Signature verification failed");
         }
       }
     }
 
+    /**
+     * Verify the signature computed while the package was extracted, if any. The result is kept
+     *  since a {@link Signature} can be verified only once.
+     */
+    private boolean verifyExtractedPackageSignature() throws SignatureException {
+      if (packageSignature != null && packageSignatureContent != null) {
+        final Signature signature = packageSignature;
+        this.packageSignature = null;
+        this.packageSignatureVerified = signature.verify(packageSignatureContent);
+      }
+      return Boolean.TRUE.equals(packageSignatureVerified);
+    }
+
+    private void evictFromCache() {
+      if (extensionPackageCache != null) {
+        extensionPackageCache.evict(packageName);
+      }
+    }
+
     @SuppressFBWarnings(value = { "UPM_UNCALLED_PRIVATE_METHOD",
         "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE" },
         justification = "False positive")
     public boolean doesInstallOverwriteAnySharedFile() throws Exception {
+      if (packageManifest == null) {
+        packageManifest = readPackageManifest(context, packageName);
+      }
+      if (packageManifest != null) {
+        final Path extensionsPath = Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context));
+        boolean isSharedFileOverwritten = false;
+        for (ExtensionPackageManifest.Entry entry : packageManifest.entries()) {
+          isSharedFileOverwritten = isSharedFileOverwritten(
+              entry, getTargetPath(extensionsPath, entry.name()))
+              || isSharedFileOverwritten;
+        }
+        return isSharedFileOverwritten;
+      }
       try (
           InputStream extensionPackageInputStream = fileSystemHandler.newInputStream(
               Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context))
@@ -267,14 +431,22 @@ public abstract class ExtensionManager {
       fileSystemHandler.deleteIfExists(
           Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context))
           .resolve(packageName + PENDING_SUFFIX));
-      try (
-          InputStream extensionPackageInputStream = fileSystemHandler
-              .newInputStream(
-                  Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context))
-                  .resolve(packageName + TGZ_SUFFIX));
-          InputStream extensionPackageInputStreamUncompressed = new GZIPInputStream(
-              extensionPackageInputStream)) {
-        removeTarFiles(extensionPackageInputStreamUncompressed);
+      final ExtensionPackageManifest packageManifest = readPackageManifest(context, packageName);
+      if (packageManifest != null) {
+        final Path extensionsPath = Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context));
+        for (ExtensionPackageManifest.Entry entry : packageManifest.entries()) {
+          removeFileIfExists(entry.isFile(), getTargetPath(extensionsPath, entry.name()));
+        }
+      } else {
+        try (
+            InputStream extensionPackageInputStream = fileSystemHandler
+                .newInputStream(
+                    Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context))
+                    .resolve(packageName + TGZ_SUFFIX));
+            InputStream extensionPackageInputStreamUncompressed = new GZIPInputStream(
+                extensionPackageInputStream)) {
+          removeTarFiles(extensionPackageInputStreamUncompressed);
+        }
       }
       fileSystemHandler.deleteIfExists(
           Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context))
@@ -282,6 +454,9 @@ public abstract class ExtensionManager {
       fileSystemHandler.deleteIfExists(
           Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context))
           .resolve(packageName + SHA256_SUFFIX));
+      fileSystemHandler.deleteIfExists(
+          Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context))
+          .resolve(packageName + MANIFEST_SUFFIX));
     }
 
     private void removeTarFiles(InputStream inputStream) throws Exception {
@@ -303,13 +478,7 @@ public abstract class ExtensionManager {
         throw new IllegalStateException("Can not find any entry in the output");
       }
       for (; tarArchiveEntry != null; tarArchiveEntry = tarEntryInputStream.getNextEntry()) {
-        final Path entryPath = Paths.get(tarArchiveEntry.getName());
-        final Path targetPath;
-        if (entryPath.isAbsolute()) {
-          targetPath = entryPath;
-        } else {
-          targetPath = extensionsPath.resolve(entryPath);
-        }
+        final Path targetPath = getTargetPath(extensionsPath, tarArchiveEntry.getName());
         initialValue = accumulator.apply(initialValue,
             visitor.apply(tarEntryInputStream, targetPath));
       }
@@ -319,6 +488,29 @@ public abstract class ExtensionManager {
     return initialValue;
   }
 
+  private Path getTargetPath(Path extensionsPath, String entryName) {
+    final Path entryPath = Paths.get(entryName);
+    if (entryPath.isAbsolute()) {
+      return entryPath;
+    }
+    return extensionsPath.resolve(entryPath);
+  }
+
+  private ExtensionPackageManifest readPackageManifest(ClusterContext context,
+      String packageName) {
+    final Path manifestPath = Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context))
+        .resolve(packageName + MANIFEST_SUFFIX);
+    if (!fileSystemHandler.exists(manifestPath)) {
+      return null;
+    }
+    try (InputStream inputStream = fileSystemHandler.newInputStream(manifestPath)) {
+      return ExtensionPackageManifest.fromJson(inputStream);
+    } catch (Exception ex) {
+      LOGGER.warn("Can not read manifest {}", manifestPath, ex);
+      return null;
+    }
+  }
+
   @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
       justification = "False positive")
   private boolean isSharedFileOverwritten(TarArchiveInputStream tarEntryInputStream,
@@ -353,13 +545,40 @@ public abstract class ExtensionManager {
     return false;
   }
 
+  private boolean isSharedFileOverwritten(ExtensionPackageManifest.Entry entry,
+      Path targetPath) throws IOException {
+    if (isScriptOrControlFile(targetPath)) {
+      return false;
+    }
+    if (entry.isFile() && fileSystemHandler.exists(targetPath)) {
+      final boolean isSharedFileOverwritten;
+      if (entry.type() == ExtensionPackageManifest.EntryType.SYMBOLIC_LINK) {
+        isSharedFileOverwritten = !fileSystemHandler.identicalLink(
+            targetPath, Paths.get(entry.linkName()));
+      } else {
+        try (InputStream inputStream = fileSystemHandler.newInputStream(targetPath)) {
+          isSharedFileOverwritten = !entry.sha256().equals(
+              ExtensionPackageManifest.digest(inputStream));
+        }
+      }
+      if (isSharedFileOverwritten) {
+        LOGGER.info("{} will be overwritten", targetPath);
+      }
+      return isSharedFileOverwritten;
+    }
+    return false;
+  }
+
   @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
       justification = "False positive")
   private Void extractFile(TarArchiveInputStream tarEntryInputStream, Path targetPath)
       throws UncheckedIOException {
-    try {
-      final TarArchiveEntry tarEntry = tarEntryInputStream.getCurrentEntry();
+    return extractFile(tarEntryInputStream.getCurrentEntry(), tarEntryInputStream, targetPath);
+  }
 
+  private Void extractFile(TarArchiveEntry tarEntry, InputStream tarEntryInputStream,
+      Path targetPath) throws UncheckedIOException {
+    try {
       if (tarEntry.isFile()) {
         Path targetParent = targetPath.getParent();
         if (targetParent != null) {
@@ -436,7 +655,12 @@ public abstract class ExtensionManager {
       justification = "False positive")
   private Void removeFileIfExists(TarArchiveInputStream tarEntryInputStream, Path targetPath)
       throws UncheckedIOException {
-    if (!tarEntryInputStream.getCurrentEntry().isFile()) {
+    return removeFileIfExists(tarEntryInputStream.getCurrentEntry().isFile(), targetPath);
+  }
+
+  private Void removeFileIfExists(boolean isFile, Path targetPath)
+      throws UncheckedIOException {
+    if (!isFile) {
       return null;
     }
     if (!isScriptOrControlFile(targetPath)) {
@@ -456,4 +680,107 @@ public abstract class ExtensionManager {
         || targetPath.toString().endsWith(".control");
   }
 
+  /**
+   * Copy the bytes that are read to the extension package cache.
+   */
+  private static class CachingInputStream extends FilterInputStream {
+    private final CacheOutputStream cacheOutputStream;
+
+    CachingInputStream(InputStream inputStream, CacheOutputStream cacheOutputStream) {
+      super(inputStream);
+      this.cacheOutputStream = cacheOutputStream;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int value = super.read();
+      if (value != -1) {
+        cacheOutputStream.write(value);
+      }
+      return value;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      final int length = super.read(b, off, len);
+      if (length > 0) {
+        cacheOutputStream.write(b, off, length);
+      }
+      return length;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      final byte[] buffer = new byte[(int) Math.min(n, 8192)];
+      final int length = read(buffer, 0, buffer.length);
+      return Math.max(length, 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+  }
+
+  /**
+   * Copy the bytes that are read to an output stream and feed them to a signature. Closing this
+   *  stream does not close the wrapped stream.
+   */
+  private static class PackageInputStream extends FilterInputStream {
+    private final OutputStream outputStream;
+    private final Signature signature;
+
+    PackageInputStream(InputStream inputStream, OutputStream outputStream,
+        Signature signature) {
+      super(inputStream);
+      this.outputStream = outputStream;
+      this.signature = signature;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int value = super.read();
+      if (value != -1) {
+        outputStream.write(value);
+        update(new byte[] { (byte) value }, 0, 1);
+      }
+      return value;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      final int length = super.read(b, off, len);
+      if (length > 0) {
+        outputStream.write(b, off, length);
+        update(b, off, length);
+      }
+      return length;
+    }
+
+    private void update(byte[] b, int off, int len) throws IOException {
+      try {
+        signature.update(b, off, len);
+      } catch (SignatureException ex) {
+        throw new IOException(ex);
+      }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      final byte[] buffer = new byte[(int) Math.min(n, 8192)];
+      final int length = read(buffer, 0, buffer.length);
+      return Math.max(length, 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+
+    @Override
+    public void close() {
+      // The wrapped stream is owned by the caller
+    }
+  }
+
 }
@@ -8,24 +8,42 @@ package io.stackgres.common.extension;
 import static io.stackgres.common.WebClientFactory.getUriQueryParameter;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import io.stackgres.common.CdiUtil;
+import io.stackgres.common.StackGresProperty;
 import io.stackgres.common.WebClientFactory;
+import io.stackgres.common.WebClientFactory.ConditionalResponse;
 import io.stackgres.common.WebClientFactory.WebClient;
 import io.stackgres.common.crd.sgcluster.StackGresCluster;
 import io.stackgres.common.crd.sgcluster.StackGresClusterExtension;
 import jakarta.ws.rs.core.UriBuilder;
 import org.jooq.lambda.Seq;
+import org.jooq.lambda.Unchecked;
 import org.jooq.lambda.tuple.Tuple;
 import org.jooq.lambda.tuple.Tuple3;
 import org.slf4j.Logger;
@@ -36,26 +54,56 @@ public abstract class ExtensionMetadataManager {
   private static final Logger LOGGER =
       LoggerFactory.getLogger(ExtensionMetadataManager.class);
 
-  private static final URI LATEST_MERGED_CACHE_URI = URI.create("cache://merged-cache");
-
   private static final String CACHE_TIMEOUT_PARAMETER = "cacheTimeout";
 
-  private final Map<URI, ExtensionMetadataCache> uriCache =
-      new HashMap<>();
+  private static final Duration RETRY_AFTER_FAILURE = Duration.ofMinutes(1);
+
+  private static final JsonMapper SNAPSHOT_MAPPER = JsonMapper.builder()
+      .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+      .build();
+
+  private final Map<URI, RepositoryIndex> repositoryIndexes = new ConcurrentHashMap<>();
+
+  private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+  private volatile Snapshot snapshot;
 
   private final WebClientFactory webClientFactory;
   private final List<URI> extensionsRepositoryUris;
+  private final Optional<Path> snapshotPath;
+  private final ExecutorService refreshExecutor;
 
   protected ExtensionMetadataManager(WebClientFactory webClientFactory,
                                   List<URI> extensionsRepositoryUrls) {
     this.webClientFactory = webClientFactory;
     this.extensionsRepositoryUris = extensionsRepositoryUrls;
+    this.snapshotPath = StackGresProperty.EXTENSIONS_METADATA_SNAPSHOT_PATH.get()
+        .map(Paths::get);
+    this.refreshExecutor = createRefreshExecutor();
   }
 
   public ExtensionMetadataManager() {
     CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
     this.webClientFactory = null;
     this.extensionsRepositoryUris = null;
+    this.snapshotPath = null;
+    this.refreshExecutor = null;
+  }
+
+  /**
+   * A single daemon thread runs the background refreshes so that they do not block the common
+   *  pool while downloading. The thread terminates when idle.
+   */
+  private static ExecutorService createRefreshExecutor() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1,
+        1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
+        runnable -> {
+          Thread thread = new Thread(runnable, "ExtensionMetadataRefresh");
+          thread.setDaemon(true);
+          return thread;
+        });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
   }
 
   public URI getExtensionRepositoryUri(URI extensionsRepositoryUri) {
@@ -126,56 +174,168 @@ public abstract class ExtensionMetadataManager {
     return getExtensionsMetadata().index.values();
   }
 
-  @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE",
-      justification = "False positive")
-  synchronized ExtensionMetadataCache getExtensionsMetadata() {
-    boolean updated = false;
+  /**
+   * Return the latest snapshot of the extensions metadata index without locking. The first
+   *  call load the index from the disk snapshot (if configured and present) or download it.
+   *  When the snapshot is stale a single background refresh is triggered and the stale
+   *  snapshot is returned until the refreshed one is published.
+   */
+  ExtensionMetadataCache getExtensionsMetadata() {
+    final Snapshot current = snapshot;
+    if (current == null) {
+      return loadSnapshot().metadata();
+    }
+    if (current.staleAt().isBefore(Instant.now())
+        && refreshing.compareAndSet(false, true)) {
+      refreshExecutor.execute(this::refreshInBackground);
+    }
+    return current.metadata();
+  }
+
+  private synchronized Snapshot loadSnapshot() {
+    if (snapshot != null) {
+      return snapshot;
+    }
+    snapshotPath.ifPresent(this::readRepositoryIndexes);
+    refresh(true);
+    return snapshot;
+  }
+
+  private void refreshInBackground() {
+    try {
+      synchronized (this) {
+        refresh(false);
+      }
+    } catch (Exception ex) {
+      LOGGER.warn("Can not refresh extensions metadata", ex);
+    } finally {
+      refreshing.set(false);
+    }
+  }
+
+  private void refresh(boolean onlyMissing) {
+    boolean updated = snapshot == null;
     for (URI extensionsRepositoryUri : extensionsRepositoryUris) {
+      final RepositoryIndex repositoryIndex = repositoryIndexes.get(extensionsRepositoryUri);
+      if (repositoryIndex != null
+          && (onlyMissing || !repositoryIndex.staleAt().isBefore(Instant.now()))) {
+        continue;
+      }
       try {
-        final Duration cacheTimeout =
-            getUriQueryParameter(
-                extensionsRepositoryUri, CACHE_TIMEOUT_PARAMETER)
-                .map(Duration::parse)
-                .orElse(Duration.of(1, ChronoUnit.HOURS));
-        if (Optional.ofNullable(uriCache.get(extensionsRepositoryUri))
-            .map(ExtensionMetadataCache::getCreated)
-            .orElse(Instant.MIN)
-            .plus(cacheTimeout)
-            .isBefore(Instant.now())) {
-          try (WebClient client = webClientFactory.create(extensionsRepositoryUri)) {
-            LOGGER.info("Downloading extensions metadata from {}",
-                WebClientFactory.obfuscateUri(extensionsRepositoryUri));
-            final URI indexUri = ExtensionUtil.getIndexUri(extensionsRepositoryUri);
-            StackGresExtensions repositoryExtensions = client.getJson(
-                indexUri, StackGresExtensions.class);
-            ExtensionMetadataCache current = ExtensionMetadataCache.from(
-                extensionsRepositoryUri, repositoryExtensions);
-            uriCache.put(extensionsRepositoryUri, current);
-            updated = true;
-          }
-        }
+        updated = downloadRepositoryIndex(extensionsRepositoryUri, repositoryIndex)
+            || updated;
       } catch (Exception ex) {
         String message = "Can not download extensions metadata from "
             + WebClientFactory.obfuscateUri(extensionsRepositoryUri);
-        if (uriCache.get(extensionsRepositoryUri) != null) {
+        if (repositoryIndex != null) {
           LOGGER.warn(message, ex);
+          repositoryIndexes.put(extensionsRepositoryUri, new RepositoryIndex(
+              repositoryIndex.metadata(), repositoryIndex.entityTag(),
+              repositoryIndex.lastModified(), Instant.now().plus(RETRY_AFTER_FAILURE)));
         } else {
           throw new RuntimeException(message, ex);
         }
       }
     }
 
-    if (updated || extensionsRepositoryUris.isEmpty()) {
-      final ExtensionMetadataCache mergedCache = new ExtensionMetadataCache(
-          new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>());
-      for (URI extensionsRepositoryUri : extensionsRepositoryUris) {
-        mergedCache.merge(uriCache.get(extensionsRepositoryUri));
+    final ExtensionMetadataCache metadata;
+    if (updated) {
+      metadata = ExtensionMetadataCache.merged(Seq.seq(extensionsRepositoryUris)
+          .map(repositoryIndexes::get)
+          .map(RepositoryIndex::metadata)
+          .toList());
+    } else {
+      metadata = snapshot.metadata();
+    }
+    snapshot = new Snapshot(metadata, Seq.seq(extensionsRepositoryUris)
+        .map(repositoryIndexes::get)
+        .map(RepositoryIndex::staleAt)
+        .min()
+        .orElse(Instant.MAX));
+  }
+
+  private boolean downloadRepositoryIndex(URI extensionsRepositoryUri,
+      RepositoryIndex repositoryIndex) throws Exception {
+    final Instant staleAt = Instant.now().plus(getCacheTimeout(extensionsRepositoryUri));
+    try (WebClient client = webClientFactory.create(extensionsRepositoryUri)) {
+      LOGGER.info("Downloading extensions metadata from {}",
+          WebClientFactory.obfuscateUri(extensionsRepositoryUri));
+      final URI indexUri = ExtensionUtil.getIndexUri(extensionsRepositoryUri);
+      ConditionalResponse<StackGresExtensions> response = client.getJsonIfModified(
+          indexUri, StackGresExtensions.class,
+          Optional.ofNullable(repositoryIndex).map(RepositoryIndex::entityTag).orElse(null),
+          Optional.ofNullable(repositoryIndex).map(RepositoryIndex::lastModified).orElse(null));
+      if (!response.isModified()) {
+        if (repositoryIndex == null) {
+          throw new IllegalStateException("Repository responded with not modified"
+              + " but no extensions metadata was previously downloaded");
+        }
+        LOGGER.debug("Extensions metadata from {} was not modified",
+            WebClientFactory.obfuscateUri(extensionsRepositoryUri));
+        repositoryIndexes.put(extensionsRepositoryUri, new RepositoryIndex(
+            repositoryIndex.metadata(), repositoryIndex.entityTag(),
+            repositoryIndex.lastModified(), staleAt));
+        return false;
       }
-      uriCache.put(LATEST_MERGED_CACHE_URI, mergedCache);
-      return mergedCache;
+      repositoryIndexes.put(extensionsRepositoryUri, new RepositoryIndex(
+          ExtensionMetadataCache.from(extensionsRepositoryUri, response.entity()),
+          response.entityTag(), response.lastModified(), staleAt));
+      snapshotPath.ifPresent(path -> writeRepositoryIndex(
+          path, extensionsRepositoryUri, response));
+      return true;
     }
+  }
+
+  private Duration getCacheTimeout(URI extensionsRepositoryUri) {
+    return getUriQueryParameter(extensionsRepositoryUri, CACHE_TIMEOUT_PARAMETER)
+        .map(Duration::parse)
+        .orElse(Duration.of(1, ChronoUnit.HOURS));
+  }
 
-    return uriCache.get(LATEST_MERGED_CACHE_URI);
+  private void readRepositoryIndexes(Path path) {
+    for (URI extensionsRepositoryUri : extensionsRepositoryUris) {
+      Path repositorySnapshotPath = getRepositorySnapshotPath(path, extensionsRepositoryUri);
+      if (!Files.exists(repositorySnapshotPath)) {
+        continue;
+      }
+      try {
+        RepositorySnapshot repositorySnapshot = SNAPSHOT_MAPPER.readValue(
+            repositorySnapshotPath.toFile(), RepositorySnapshot.class);
+        LOGGER.info("Loaded extensions metadata snapshot of {} from {}",
+            WebClientFactory.obfuscateUri(extensionsRepositoryUri), repositorySnapshotPath);
+        // The snapshot is considered stale so that it is revalidated as soon as possible
+        repositoryIndexes.put(extensionsRepositoryUri, new RepositoryIndex(
+            ExtensionMetadataCache.from(extensionsRepositoryUri, repositorySnapshot.extensions()),
+            repositorySnapshot.entityTag(), repositorySnapshot.lastModified(), Instant.MIN));
+      } catch (Exception ex) {
+        LOGGER.warn("Can not read extensions metadata snapshot from {}",
+            repositorySnapshotPath, ex);
+      }
+    }
+  }
+
+  private void writeRepositoryIndex(Path path, URI extensionsRepositoryUri,
+      ConditionalResponse<StackGresExtensions> response) {
+    Path repositorySnapshotPath = getRepositorySnapshotPath(path, extensionsRepositoryUri);
+    try {
+      Files.createDirectories(path);
+      Path tempPath = Files.createTempFile(path, repositorySnapshotPath.getFileName().toString(),
+          ".tmp");
+      SNAPSHOT_MAPPER.writeValue(tempPath.toFile(), new RepositorySnapshot(
+          response.entityTag(), response.lastModified(), response.entity()));
+      Files.move(tempPath, repositorySnapshotPath,
+          StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (Exception ex) {
+      LOGGER.warn("Can not write extensions metadata snapshot to {}",
+          repositorySnapshotPath, ex);
+    }
+  }
+
+  static Path getRepositorySnapshotPath(Path path, URI extensionsRepositoryUri) {
+    MessageDigest messageDigest = Unchecked
+        .supplier(() -> MessageDigest.getInstance("MD5")).get();
+    return path.resolve(HexFormat.of().formatHex(messageDigest.digest(
+        extensionsRepositoryUri.toString().getBytes(StandardCharsets.UTF_8))) + ".json");
   }
 
   public StackGresExtensionPublisher getPublisher(String publisher) {
@@ -183,6 +343,17 @@ public abstract class ExtensionMetadataManager {
         .orElseThrow(() -> new RuntimeException("Publisher " + publisher + " was not found"));
   }
 
+  record Snapshot(ExtensionMetadataCache metadata, Instant staleAt) {
+  }
+
+  record RepositoryIndex(ExtensionMetadataCache metadata, String entityTag,
+      String lastModified, Instant staleAt) {
+  }
+
+  record RepositorySnapshot(String entityTag, String lastModified,
+      StackGresExtensions extensions) {
+  }
+
   static class ExtensionMetadataCache {
     final Instant created;
     final Map<StackGresExtensionIndex, StackGresExtensionMetadata> index;
@@ -219,11 +390,24 @@ public abstract class ExtensionMetadataManager {
       return created;
     }
 
-    void merge(ExtensionMetadataCache other) {
-      index.putAll(other.index);
-      indexSameMajorBuilds.putAll(other.indexSameMajorBuilds);
-      indexAnyVersions.putAll(other.indexAnyVersions);
-      publishers.putAll(other.publishers);
+    static ExtensionMetadataCache merged(List<ExtensionMetadataCache> caches) {
+      final Map<StackGresExtensionIndex, StackGresExtensionMetadata> index = new HashMap<>();
+      final Map<StackGresExtensionIndexSameMajorBuild, List<StackGresExtensionMetadata>>
+          indexSameMajorBuilds = new HashMap<>();
+      final Map<StackGresExtensionIndexAnyVersion, List<StackGresExtensionMetadata>>
+          indexAnyVersions = new HashMap<>();
+      final Map<String, StackGresExtensionPublisher> publishers = new HashMap<>();
+      for (ExtensionMetadataCache cache : caches) {
+        index.putAll(cache.index);
+        indexSameMajorBuilds.putAll(cache.indexSameMajorBuilds);
+        indexAnyVersions.putAll(cache.indexAnyVersions);
+        publishers.putAll(cache.publishers);
+      }
+      return new ExtensionMetadataCache(
+          Collections.unmodifiableMap(index),
+          Collections.unmodifiableMap(indexSameMajorBuilds),
+          Collections.unmodifiableMap(indexAnyVersions),
+          Collections.unmodifiableMap(publishers));
     }
   }
 
@@ -0,0 +1,386 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.extension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jooq.lambda.Seq;
+import org.jooq.lambda.Unchecked;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A node-local cache of downloaded extension packages keyed by package name that may be shared
+ *  by all the Pods of a node (using an hostPath volume). The extensions index does not publish a
+ *  digest of the packages, so the lookup is by package name only. Each package has a single entry
+ *  stored as {@code <root>/<package name>/<sha256>.tar}, where the SHA-256 digest is a checksum of
+ *  the stored content, and is written to a temporary file that is moved atomically so that
+ *  concurrent readers never see a partial entry. The least recently used entries (by
+ *  modification time, updated on each hit) are evicted when the total size exceeds the maximum
+ *  size.
+ *
+ * <p>The cache does not replace the signature verification of the package, the content of an
+ *  entry is checked against its checksum before it is returned so that a corrupted entry is
+ *  never extracted. Callers are expected to commit only packages whose signature was verified.
+ * </p>
+ */
+public class ExtensionPackageCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ExtensionPackageCache.class);
+
+  static final String ENTRY_SUFFIX = ".tar";
+  private static final String TEMPORARY_PREFIX = ".";
+  private static final Duration TEMPORARY_TIMEOUT = Duration.ofHours(1);
+
+  private final Path root;
+  private final long maxSize;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter evictions;
+  private final Counter corruptions;
+
+  public ExtensionPackageCache(Path root, long maxSize, MeterRegistry meterRegistry) {
+    this.root = root;
+    this.maxSize = maxSize;
+    this.hits = meterRegistry.counter("stackgres.extensions.cache.hits");
+    this.misses = meterRegistry.counter("stackgres.extensions.cache.misses");
+    this.evictions = meterRegistry.counter("stackgres.extensions.cache.evictions");
+    this.corruptions = meterRegistry.counter("stackgres.extensions.cache.corruptions");
+  }
+
+  /**
+   * Open the entry of the package, if any. The content of the entry is checked against its
+   *  checksum before returning it, an entry that does not match is evicted and reported as a
+   *  miss.
+   */
+  public Optional<InputStream> newInputStream(String packageName) {
+    final Optional<Path> entry;
+    try {
+      entry = findEntry(packageName);
+    } catch (IOException ex) {
+      LOGGER.warn("Can not lookup package {} in the cache", packageName, ex);
+      misses.increment();
+      return Optional.empty();
+    }
+    if (entry.isEmpty()) {
+      misses.increment();
+      return Optional.empty();
+    }
+    try {
+      final FileChannel channel = FileChannel.open(entry.get(), StandardOpenOption.READ);
+      try {
+        if (!getSha256(entry.get()).equals(digest(channel))) {
+          LOGGER.warn("Cached package {} is corrupted, evicting it", entry.get());
+          channel.close();
+          corruptions.increment();
+          delete(entry.get());
+          misses.increment();
+          return Optional.empty();
+        }
+        channel.position(0);
+      } catch (IOException | RuntimeException ex) {
+        channel.close();
+        throw ex;
+      }
+      touch(entry.get());
+      hits.increment();
+      return Optional.of(Channels.newInputStream(channel));
+    } catch (NoSuchFileException ex) {
+      misses.increment();
+      return Optional.empty();
+    } catch (IOException ex) {
+      LOGGER.warn("Can not read package {} from the cache", packageName, ex);
+      misses.increment();
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Return a stream that store the package in the cache once {@link CacheOutputStream#commit()}
+   *  is called. Errors while writing are logged and discard the entry without failing the
+   *  caller.
+   */
+  public CacheOutputStream newOutputStream(String packageName) {
+    return new CacheOutputStream(packageName);
+  }
+
+  /**
+   * Remove all the entries of the package.
+   */
+  public void evict(String packageName) {
+    final Path packagePath = root.resolve(packageName);
+    if (!Files.isDirectory(packagePath)) {
+      return;
+    }
+    try (Stream<Path> entries = Files.list(packagePath)) {
+      entries.forEach(this::delete);
+      deleteIfEmpty(packagePath);
+    } catch (IOException ex) {
+      LOGGER.warn("Can not evict package {} from the cache", packageName, ex);
+    }
+  }
+
+  /**
+   * Remove the least recently used entries until the size of the cache is not greater than the
+   *  maximum size.
+   */
+  public void evictLeastRecentlyUsed() throws IOException {
+    if (!Files.isDirectory(root)) {
+      return;
+    }
+    final List<CacheEntry> entries;
+    try (Stream<Path> paths = Files.walk(root, 2)) {
+      entries = paths
+          .filter(Files::isRegularFile)
+          .filter(Predicate.not(this::deleteIfAbandoned))
+          .filter(this::isEntry)
+          .flatMap(path -> readEntry(path).stream())
+          .sorted(Comparator.comparing(CacheEntry::lastUsed))
+          .toList();
+    }
+    long size = Seq.seq(entries).mapToLong(CacheEntry::size).sum();
+    for (CacheEntry entry : entries) {
+      if (size <= maxSize) {
+        break;
+      }
+      LOGGER.debug("Evicting {} from the cache", entry.path());
+      delete(entry.path());
+      Optional.ofNullable(entry.path().getParent()).ifPresent(this::deleteIfEmpty);
+      evictions.increment();
+      size -= entry.size();
+    }
+  }
+
+  Path getRoot() {
+    return root;
+  }
+
+  private Optional<Path> findEntry(String packageName) throws IOException {
+    final Path packagePath = root.resolve(packageName);
+    if (!Files.isDirectory(packagePath)) {
+      return Optional.empty();
+    }
+    try (Stream<Path> paths = Files.list(packagePath)) {
+      return paths
+          .filter(this::isEntry)
+          .flatMap(path -> readEntry(path).stream())
+          .max(Comparator.comparing(CacheEntry::lastUsed))
+          .map(CacheEntry::path);
+    }
+  }
+
+  private boolean isEntry(Path path) {
+    final Path fileName = path.getFileName();
+    return fileName != null
+        && fileName.toString().endsWith(ENTRY_SUFFIX)
+        && !fileName.toString().startsWith(TEMPORARY_PREFIX)
+        && Files.isRegularFile(path);
+  }
+
+  private Optional<CacheEntry> readEntry(Path path) {
+    try {
+      BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+      return Optional.of(new CacheEntry(path,
+          attributes.lastModifiedTime().toInstant(), attributes.size()));
+    } catch (IOException ex) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Temporary files left behind by a process that was killed while storing an entry.
+   */
+  private boolean deleteIfAbandoned(Path path) {
+    final Path fileName = path.getFileName();
+    if (fileName == null || !fileName.toString().startsWith(TEMPORARY_PREFIX)) {
+      return false;
+    }
+    Optional<CacheEntry> entry = readEntry(path);
+    if (entry.isPresent()
+        && entry.get().lastUsed().plus(TEMPORARY_TIMEOUT).isBefore(Instant.now())) {
+      delete(path);
+    }
+    return true;
+  }
+
+  private void touch(Path path) {
+    try {
+      Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+    } catch (IOException ex) {
+      LOGGER.debug("Can not update last used time of {}", path, ex);
+    }
+  }
+
+  private void delete(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException ex) {
+      LOGGER.warn("Can not delete {} from the cache", path, ex);
+    }
+  }
+
+  private void deleteIfEmpty(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (DirectoryNotEmptyException ex) {
+      LOGGER.trace("Directory {} is not empty", path);
+    } catch (IOException ex) {
+      LOGGER.debug("Can not delete {} from the cache", path, ex);
+    }
+  }
+
+  private static String getSha256(Path entry) {
+    final String fileName = String.valueOf(entry.getFileName());
+    return fileName.substring(0, fileName.length() - ENTRY_SUFFIX.length());
+  }
+
+  private static String digest(FileChannel channel) throws IOException {
+    final MessageDigest messageDigest = newMessageDigest();
+    final ByteBuffer buffer = ByteBuffer.allocate(8192);
+    while (channel.read(buffer) != -1) {
+      buffer.flip();
+      messageDigest.update(buffer);
+      buffer.clear();
+    }
+    return HexFormat.of().formatHex(messageDigest.digest());
+  }
+
+  private static MessageDigest newMessageDigest() {
+    return Unchecked.supplier(() -> MessageDigest.getInstance("SHA-256")).get();
+  }
+
+  record CacheEntry(Path path, Instant lastUsed, long size) {
+  }
+
+  /**
+   * Write a new entry to a temporary file computing its digest, the entry is moved to its final
+   *  location by {@link #commit()} and discarded otherwise.
+   */
+  public class CacheOutputStream extends OutputStream {
+    private final String packageName;
+    private final MessageDigest messageDigest = newMessageDigest();
+    private Path temporaryPath;
+    private OutputStream outputStream;
+    private boolean failed = false;
+
+    CacheOutputStream(String packageName) {
+      this.packageName = packageName;
+    }
+
+    @Override
+    public void write(int b) {
+      write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      if (failed) {
+        return;
+      }
+      try {
+        if (outputStream == null) {
+          final Path packagePath = root.resolve(packageName);
+          Files.createDirectories(packagePath);
+          temporaryPath = packagePath.resolve(TEMPORARY_PREFIX
+              + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ENTRY_SUFFIX);
+          outputStream = new DigestOutputStream(
+              Files.newOutputStream(temporaryPath), messageDigest);
+        }
+        outputStream.write(b, off, len);
+      } catch (IOException ex) {
+        LOGGER.warn("Can not store package {} in the cache", packageName, ex);
+        failed = true;
+        discard();
+      }
+    }
+
+    /**
+     * Store the entry in the cache replacing any other entry of the package and evict the least
+     *  recently used entries if needed.
+     */
+    public void commit() {
+      if (failed || outputStream == null) {
+        return;
+      }
+      try {
+        outputStream.close();
+        outputStream = null;
+        final Path entry = temporaryPath.resolveSibling(
+            HexFormat.of().formatHex(messageDigest.digest()) + ENTRY_SUFFIX);
+        try {
+          Files.move(temporaryPath, entry,
+              StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+          Files.move(temporaryPath, entry, StandardCopyOption.REPLACE_EXISTING);
+        }
+        temporaryPath = null;
+        deleteOtherEntries(entry);
+        evictLeastRecentlyUsed();
+      } catch (IOException ex) {
+        LOGGER.warn("Can not store package {} in the cache", packageName, ex);
+        failed = true;
+        discard();
+      }
+    }
+
+    @Override
+    public void close() {
+      discard();
+    }
+
+    private void deleteOtherEntries(Path entry) throws IOException {
+      try (Stream<Path> paths = Files.list(root.resolve(packageName))) {
+        paths
+            .filter(ExtensionPackageCache.this::isEntry)
+            .filter(Predicate.not(entry::equals))
+            .forEach(ExtensionPackageCache.this::delete);
+      }
+    }
+
+    private void discard() {
+      try {
+        if (outputStream != null) {
+          outputStream.close();
+        }
+      } catch (IOException ex) {
+        LOGGER.debug("Can not close temporary file {}", temporaryPath, ex);
+      }
+      outputStream = null;
+      if (temporaryPath != null) {
+        delete(temporaryPath);
+        temporaryPath = null;
+      }
+    }
+  }
+
+}
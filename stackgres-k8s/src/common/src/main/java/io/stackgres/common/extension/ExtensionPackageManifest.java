@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.extension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.jooq.lambda.Unchecked;
+
+/**
+ * The list of entries of an extension package together with the SHA-256 digest of each regular
+ *  file. It is built while the package is downloaded so that checking for overwrites and
+ *  removing the extension files do not require to decompress the package again.
+ */
+public record ExtensionPackageManifest(List<Entry> entries) {
+
+  private static final JsonMapper JSON_MAPPER = JsonMapper.builder()
+      .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+      .build();
+
+  public enum EntryType {
+    FILE, SYMBOLIC_LINK, DIRECTORY, OTHER;
+  }
+
+  public record Entry(String name, EntryType type, int mode, String linkName, String sha256) {
+
+    /**
+     * Same semantic of {@link TarArchiveEntry#isFile()} that also consider symbolic links as
+     *  files.
+     */
+    public boolean isFile() {
+      return type == EntryType.FILE || type == EntryType.SYMBOLIC_LINK;
+    }
+
+  }
+
+  /**
+   * Read all the entries of an uncompressed tar computing the SHA-256 digest of each regular
+   *  file. The stream is not closed.
+   */
+  public static ExtensionPackageManifest read(InputStream inputStream) throws IOException {
+    final List<Entry> entries = new ArrayList<>();
+    final MessageDigest messageDigest = Unchecked
+        .supplier(() -> MessageDigest.getInstance("SHA-256")).get();
+    final TarArchiveInputStream tarEntryInputStream = new TarArchiveInputStream(inputStream);
+    TarArchiveEntry tarEntry = tarEntryInputStream.getNextEntry();
+    if (tarEntry == null) {
+      throw new IllegalStateException("Can not find any entry in the output");
+    }
+    for (; tarEntry != null; tarEntry = tarEntryInputStream.getNextEntry()) {
+      if (tarEntry.isSymbolicLink()) {
+        entries.add(new Entry(tarEntry.getName(), EntryType.SYMBOLIC_LINK,
+            tarEntry.getMode(), tarEntry.getLinkName(), null));
+      } else if (tarEntry.isFile()) {
+        entries.add(new Entry(tarEntry.getName(), EntryType.FILE,
+            tarEntry.getMode(), null, digest(tarEntryInputStream, messageDigest)));
+      } else if (tarEntry.isDirectory()) {
+        entries.add(new Entry(tarEntry.getName(), EntryType.DIRECTORY,
+            tarEntry.getMode(), null, null));
+      } else {
+        entries.add(new Entry(tarEntry.getName(), EntryType.OTHER,
+            tarEntry.getMode(), null, null));
+      }
+    }
+    return new ExtensionPackageManifest(List.copyOf(entries));
+  }
+
+  /**
+   * Return the hex encoded SHA-256 digest of the content of the stream. The stream is not
+   *  closed.
+   */
+  public static String digest(InputStream inputStream) throws IOException {
+    return digest(inputStream, Unchecked
+        .supplier(() -> MessageDigest.getInstance("SHA-256")).get());
+  }
+
+  private static String digest(InputStream inputStream, MessageDigest messageDigest)
+      throws IOException {
+    messageDigest.reset();
+    new DigestInputStream(inputStream, messageDigest)
+        .transferTo(OutputStream.nullOutputStream());
+    return HexFormat.of().formatHex(messageDigest.digest());
+  }
+
+  public static ExtensionPackageManifest fromJson(InputStream inputStream) throws IOException {
+    return JSON_MAPPER.readValue(inputStream, ExtensionPackageManifest.class);
+  }
+
+  public byte[] toJson() throws IOException {
+    return JSON_MAPPER.writeValueAsBytes(this);
+  }
+
+}
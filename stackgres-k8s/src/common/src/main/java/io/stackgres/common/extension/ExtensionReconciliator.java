@@ -8,6 +8,13 @@ package io.stackgres.common.extension;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.ImmutableList;
@@ -23,6 +30,10 @@ import io.stackgres.common.extension.ExtensionManager.ExtensionInstaller;
 import io.stackgres.common.extension.ExtensionManager.ExtensionUninstaller;
 import io.stackgres.operatorframework.reconciliation.ReconciliationResult;
 import io.stackgres.operatorframework.reconciliation.SafeReconciliator;
+import jakarta.annotation.PreDestroy;
+import org.jooq.lambda.Seq;
+import org.jooq.lambda.tuple.Tuple;
+import org.jooq.lambda.tuple.Tuple2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,10 +42,13 @@ public abstract class ExtensionReconciliator<T extends ExtensionReconciliatorCon
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ExtensionReconciliator.class);
 
+  private static final int MAX_PARALLEL_DEPLOYS = 4;
+
   private final String podName;
   private final ExtensionManager extensionManager;
   private final boolean skipSharedLibrariesOverwrites;
   private final ExtensionEventEmitter extensionEventEmitter;
+  private final ExecutorService deployExecutor;
 
   protected ExtensionReconciliator(
       String podName,
@@ -45,6 +59,7 @@ public abstract class ExtensionReconciliator<T extends ExtensionReconciliatorCon
     this.extensionManager = extensionManager;
     this.skipSharedLibrariesOverwrites = skipSharedLibrariesOverwrites;
     this.extensionEventEmitter = extensionEventEmitter;
+    this.deployExecutor = createDeployExecutor();
   }
 
   public ExtensionReconciliator() {
@@ -53,6 +68,29 @@ public abstract class ExtensionReconciliator<T extends ExtensionReconciliatorCon
     this.extensionManager = null;
     this.skipSharedLibrariesOverwrites = false;
     this.extensionEventEmitter = null;
+    this.deployExecutor = null;
+  }
+
+  /**
+   * The threads that deploy the extensions are reused across reconciliations and terminate when
+   *  idle.
+   */
+  private static ExecutorService createDeployExecutor() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        MAX_PARALLEL_DEPLOYS, MAX_PARALLEL_DEPLOYS,
+        1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
+        runnable -> {
+          Thread thread = new Thread(runnable, "ExtensionDeploy");
+          thread.setDaemon(true);
+          return thread;
+        });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  @PreDestroy
+  public void close() {
+    deployExecutor.shutdownNow();
   }
 
   @SuppressFBWarnings(value = "REC_CATCH_EXCEPTION",
@@ -120,6 +158,8 @@ public abstract class ExtensionReconciliator<T extends ExtensionReconciliatorCon
             podName, ex);
       }
     }
+    final List<Tuple2<StackGresClusterInstalledExtension, ExtensionInstaller>>
+        extensionInstallers = new ArrayList<>();
     for (StackGresClusterInstalledExtension toInstallExtension : toInstallExtensions) {
       final StackGresClusterInstalledExtension extension;
       try {
@@ -157,34 +197,25 @@ public abstract class ExtensionReconciliator<T extends ExtensionReconciliatorCon
             .orElseThrow(() -> new IllegalStateException(
                 "Can not find extension "
                     + ExtensionUtil.getDescription(cluster, extension, true)));
-        if (!extensionInstaller.isExtensionInstalled()
-            && (!skipSharedLibrariesOverwrites
-                || !extensionInstaller.isExtensionPendingOverwrite())) {
-          LOGGER.info("Download extension {}",
-              ExtensionUtil.getDescription(cluster, extension, true));
-          extensionEventEmitter.emitExtensionDownloading(extension);
-          extensionInstaller.downloadAndExtract();
-          LOGGER.info("Verify extension {}",
-              ExtensionUtil.getDescription(cluster, extension, true));
-          extensionInstaller.verify();
-          if (skipSharedLibrariesOverwrites
-              && extensionInstaller.doesInstallOverwriteAnySharedFile()) {
-            LOGGER.info("Skip installation of extension {}",
-                ExtensionUtil.getDescription(cluster, extension, true));
-            if (!extensionInstaller.isExtensionPendingOverwrite()) {
-              extensionInstaller.setExtensionAsPending();
-            }
-            if (!Optional.ofNullable(podStatus.getPendingRestart()).orElse(false)) {
-              extensionEventEmitter.emitExtensionDeployedRestart(extension);
-              podStatus.setPendingRestart(true);
-              clusterUpdated = true;
-            }
-          } else {
-            LOGGER.info("Install extension {}",
-                ExtensionUtil.getDescription(cluster, extension, true));
-            extensionInstaller.installExtension();
-            extensionEventEmitter.emitExtensionDeployed(extension);
-          }
+        extensionInstallers.add(Tuple.tuple(extension, extensionInstaller));
+      } catch (Exception ex) {
+        exceptions.add(ex);
+        onInstallException(client, cluster, ExtensionUtil.getDescription(cluster, extension, true),
+            podName, ex);
+      }
+    }
+    final List<CompletableFuture<InstallResult>> installResults =
+        deployExtensions(cluster, extensionInstallers);
+    for (int index = 0; index < extensionInstallers.size(); index++) {
+      final StackGresClusterInstalledExtension extension = extensionInstallers.get(index).v1;
+      final ExtensionInstaller extensionInstaller = extensionInstallers.get(index).v2;
+      try {
+        final InstallResult installResult = getInstallResult(installResults.get(index));
+        if (installResult == InstallResult.PENDING
+            && !Optional.ofNullable(podStatus.getPendingRestart()).orElse(false)) {
+          extensionEventEmitter.emitExtensionDeployedRestart(extension);
+          podStatus.setPendingRestart(true);
+          clusterUpdated = true;
         }
         if (extensionInstaller.isExtensionInstalled()) {
           if (!extensionInstaller.areLinksCreated()) {
@@ -226,6 +257,94 @@ public abstract class ExtensionReconciliator<T extends ExtensionReconciliatorCon
     return new ReconciliationResult<>(clusterUpdated, exceptions.build());
   }
 
+  /**
+   * Download, verify and install the extensions that are not installed yet. Extensions are
+   *  independent so they are deployed in parallel. When shared libraries can not be overwritten
+   *  the overwrite check and the installation are serialized so that the check of an extension
+   *  never observes the files of another extension while they are being extracted.
+   */
+  private List<CompletableFuture<InstallResult>> deployExtensions(StackGresCluster cluster,
+      List<Tuple2<StackGresClusterInstalledExtension, ExtensionInstaller>> extensionInstallers) {
+    if (extensionInstallers.size() <= 1) {
+      return Seq.seq(extensionInstallers)
+          .map(extensionInstaller -> deployExtension(
+              cluster, extensionInstaller.v1, extensionInstaller.v2, this))
+          .toList();
+    }
+    final Object installLock = new Object();
+    return Seq.seq(extensionInstallers)
+        .map(extensionInstaller -> CompletableFuture.supplyAsync(
+            () -> deployExtension(
+                cluster, extensionInstaller.v1, extensionInstaller.v2, installLock),
+            deployExecutor)
+            .thenCompose(Function.identity()))
+        .toList();
+  }
+
+  private CompletableFuture<InstallResult> deployExtension(StackGresCluster cluster,
+      StackGresClusterInstalledExtension extension, ExtensionInstaller extensionInstaller,
+      Object installLock) {
+    try {
+      if (extensionInstaller.isExtensionInstalled()
+          || (skipSharedLibrariesOverwrites
+              && extensionInstaller.isExtensionPendingOverwrite())) {
+        return CompletableFuture.completedFuture(InstallResult.NONE);
+      }
+      LOGGER.info("Download extension {}",
+          ExtensionUtil.getDescription(cluster, extension, true));
+      extensionEventEmitter.emitExtensionDownloading(extension);
+      extensionInstaller.downloadAndExtract();
+      LOGGER.info("Verify extension {}",
+          ExtensionUtil.getDescription(cluster, extension, true));
+      extensionInstaller.verify();
+      if (skipSharedLibrariesOverwrites) {
+        synchronized (installLock) {
+          return CompletableFuture.completedFuture(
+              installExtension(cluster, extension, extensionInstaller));
+        }
+      }
+      return CompletableFuture.completedFuture(
+          installExtension(cluster, extension, extensionInstaller));
+    } catch (Exception ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+  }
+
+  private InstallResult installExtension(StackGresCluster cluster,
+      StackGresClusterInstalledExtension extension, ExtensionInstaller extensionInstaller)
+      throws Exception {
+    if (skipSharedLibrariesOverwrites
+        && extensionInstaller.doesInstallOverwriteAnySharedFile()) {
+      LOGGER.info("Skip installation of extension {}",
+          ExtensionUtil.getDescription(cluster, extension, true));
+      if (!extensionInstaller.isExtensionPendingOverwrite()) {
+        extensionInstaller.setExtensionAsPending();
+      }
+      return InstallResult.PENDING;
+    }
+    LOGGER.info("Install extension {}",
+        ExtensionUtil.getDescription(cluster, extension, true));
+    extensionInstaller.installExtension();
+    extensionEventEmitter.emitExtensionDeployed(extension);
+    return InstallResult.INSTALLED;
+  }
+
+  private InstallResult getInstallResult(CompletableFuture<InstallResult> installResult)
+      throws Exception {
+    try {
+      return installResult.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof Exception cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+
+  private enum InstallResult {
+    NONE, INSTALLED, PENDING;
+  }
+
   protected abstract void onUninstallException(KubernetesClient client, StackGresCluster cluster,
       String extension, String podName, Exception ex);
 
@@ -16,8 +16,15 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,7 +36,9 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 import com.ongres.process.FluentProcess;
 import com.ongres.process.FluentProcessBuilder;
 import com.ongres.process.Output;
+import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.CustomResource;
+import io.fabric8.kubernetes.client.KubernetesClient;
 import io.stackgres.common.OperatorProperty;
 import io.stackgres.common.PatroniUtil;
 import io.stackgres.common.StackGresUtil;
@@ -52,34 +61,71 @@ public class PatroniCtl {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PatroniCtl.class);
 
+  final KubernetesClient client;
   final ObjectMapper objectMapper;
   final YAMLMapper yamlMapper;
   final LabelFactoryForCluster<StackGresCluster> clusterLabelFactory;
   final LabelFactoryForCluster<StackGresDistributedLogs> distributedLogsLabelFactory;
+  final PatroniKubernetesDcs kubernetesDcs;
+  final Duration cacheDuration = Duration
+      .ofMillis(OperatorProperty.PATRONI_CTL_CACHE_DURATION.get()
+      .map(Long::parseLong)
+      .orElse(2000L));
+  private final Map<String, PatroniCtlInstance> instances = new ConcurrentHashMap<>();
 
   @Inject
-  public PatroniCtl(ObjectMapper objectMapper, YamlMapperProvider yamlMapperProvider,
+  public PatroniCtl(KubernetesClient client,
+      ObjectMapper objectMapper, YamlMapperProvider yamlMapperProvider,
       LabelFactoryForCluster<StackGresCluster> clusterLabelFactory,
       LabelFactoryForCluster<StackGresDistributedLogs> distributedLogsLabelFactory) {
+    this.client = client;
     this.objectMapper = objectMapper;
     this.yamlMapper = yamlMapperProvider.get();
     this.clusterLabelFactory = clusterLabelFactory;
     this.distributedLogsLabelFactory = distributedLogsLabelFactory;
+    this.kubernetesDcs = new PatroniKubernetesDcs(objectMapper);
   }
 
+  /**
+   * Return the instance for the custom resource. The same instance is returned (and the
+   *  patronictl config file is not written again) while the Patroni configuration does not
+   *  change, so that reads performed by all the reconciliations of a cycle are memoized.
+   */
   public PatroniCtlInstance instanceFor(CustomResource<?, ?> customResource) {
+    final PatroniCtlInstance newInstance;
     if (customResource instanceof StackGresCluster cluster) {
-      var instance = new PatroniCtlInstance(cluster);
-      instance.writeConfig();
-      return instance;
+      newInstance = new PatroniCtlInstance(cluster);
+    } else if (customResource instanceof StackGresDistributedLogs distributedLogs) {
+      newInstance = new PatroniCtlInstance(distributedLogs);
+    } else {
+      throw new IllegalArgumentException("Can not retrieve instance for "
+          + customResource.getClass().getSimpleName());
     }
-    if (customResource instanceof StackGresDistributedLogs distributedLogs) {
-      var instance = new PatroniCtlInstance(distributedLogs);
-      instance.writeConfig();
-      return instance;
+    return instances.compute(instanceKey(customResource),
+        (key, instance) -> {
+          if (instance != null && instance.hasSameConfig(newInstance)) {
+            return instance;
+          }
+          newInstance.writeConfig();
+          return newInstance;
+        });
+  }
+
+  /**
+   * Forget the instance of a custom resource that has been removed, together with its
+   *  memoized values and its patronictl config file.
+   */
+  public void removeInstanceFor(CustomResource<?, ?> customResource) {
+    final PatroniCtlInstance instance = instances.remove(instanceKey(customResource));
+    if (instance != null) {
+      instance.deleteConfig();
     }
-    throw new IllegalArgumentException("Can not retrieve instance for "
-        + customResource.getClass().getSimpleName());
+  }
+
+  private String instanceKey(CustomResource<?, ?> customResource) {
+    return customResource.getKind()
+        + "/" + customResource.getMetadata().getNamespace()
+        + "/" + customResource.getMetadata().getName();
   }
 
   public class PatroniCtlInstance {
@@ -97,6 +143,11 @@ public class PatroniCtl {
     final CustomResource<?, ?> customResource;
     final String scope;
     final Integer group;
+    final boolean useKubernetesDcs;
+    final String leaderName;
+    final String configName;
+    final String syncName;
+    final Map<String, String> memberLabels;
     final String[] patroniCtlCommands;
     final Path configPath;
     final String config;
@@ -104,6 +155,7 @@ public class PatroniCtl {
         .ofSeconds(OperatorProperty.PATRONI_CTL_TIMEOUT.get()
         .map(Long::parseLong)
         .orElse(60L));
+    private final Map<String, Memoized> memoized = new ConcurrentHashMap<>();
 
     PatroniCtlInstance(StackGresCluster cluster) {
       this.customResource = cluster;
@@ -114,6 +166,17 @@ public class PatroniCtl {
           .map(StackGresClusterPatroni::getInitialConfig)
           .flatMap(StackGresClusterPatroniConfig::getCitusGroup)
           .orElse(null);
+      this.useKubernetesDcs = group == null && Optional.of(cluster.getSpec())
+          .map(StackGresClusterSpec::getConfigurations)
+          .map(StackGresClusterConfigurations::getPatroni)
+          .map(StackGresClusterPatroni::getInitialConfig)
+          .map(StackGresClusterPatroniConfig::isPatroniOnKubernetes)
+          .orElse(true);
+      this.leaderName = PatroniUtil.readWriteName(cluster);
+      this.configName = PatroniUtil.configName(cluster);
+      this.syncName = PatroniUtil.syncName(cluster);
+      this.memberLabels = memberLabels(clusterLabelFactory.patroniClusterLabels(cluster),
+          clusterLabelFactory.labelMapper().clusterScopeKey(cluster));
       this.patroniCtlCommands = patroniCtlCommands(StackGresUtil.getPatroniVersion(cluster));
       this.configPath = getConfigPath();
       this.config = PatroniUtil.getInitialConfig(
@@ -124,6 +187,13 @@ public class PatroniCtl {
       this.customResource = distributedLogs;
       this.scope = PatroniUtil.clusterScope(distributedLogs);
       this.group = null;
+      this.useKubernetesDcs = true;
+      this.leaderName = PatroniUtil.readWriteName(distributedLogs);
+      this.configName = PatroniUtil.configName(distributedLogs);
+      this.syncName = PatroniUtil.syncName(distributedLogs);
+      this.memberLabels = memberLabels(
+          distributedLogsLabelFactory.patroniClusterLabels(distributedLogs),
+          distributedLogsLabelFactory.labelMapper().clusterScopeKey(distributedLogs));
       this.patroniCtlCommands = patroniCtlCommands(StackGresUtil.getPatroniVersion(distributedLogs));
       this.configPath = getConfigPath();
       this.config = PatroniUtil.getInitialConfig(
@@ -158,6 +228,23 @@ public class PatroniCtl {
           + "/config.yaml");
     }
 
+    /**
+     * The labels Patroni uses to find the member Pods: the configured labels plus the scope label.
+     */
+    final Map<String, String> memberLabels(Map<String, String> labels, String scopeLabel) {
+      Map<String, String> memberLabels = new HashMap<>(labels);
+      memberLabels.put(scopeLabel, scope);
+      return Map.copyOf(memberLabels);
+    }
+
+    final boolean hasSameConfig(PatroniCtlInstance other) {
+      return Arrays.equals(patroniCtlCommands, other.patroniCtlCommands)
+          && Objects.equals(config, other.config)
+          && Objects.equals(group, other.group)
+          && useKubernetesDcs == other.useKubernetesDcs
+          && Objects.equals(memberLabels, other.memberLabels);
+    }
+
     final void writeConfig() {
       try {
         Files.createDirectories(configPath.getParent());
@@ -169,13 +256,34 @@ public class PatroniCtl {
       }
     }
 
+    final void deleteConfig() {
+      invalidate();
+      try {
+        Files.deleteIfExists(configPath);
+        Files.deleteIfExists(configPath.getParent());
+      } catch (IOException ex) {
+        LOGGER.warn("Error while deleting file {}", configPath, ex);
+      }
+    }
+
     public List<PatroniMember> list() {
-      Output output = patronictl("list", "-f", "json", "-e")
-          .start()
-          .withTimeout(patroniCtlTimeout)
-          .withoutCloseAfterLast()
-          .tryGet();
-      String result = getOutputOrFail(output);
+      if (useKubernetesDcs) {
+        return objectMapper.convertValue(
+            kubernetesDcs.members(scope,
+                endpointsAnnotations(leaderName),
+                endpointsAnnotations(configName),
+                endpointsAnnotations(syncName),
+                memberPods()),
+            LIST_TYPE_REFERENCE);
+      }
+      String result = memoize("list", () -> {
+        Output output = patronictl("list", "-f", "json", "-e")
+            .start()
+            .withTimeout(patroniCtlTimeout)
+            .withoutCloseAfterLast()
+            .tryGet();
+        return getOutputOrFail(output);
+      });
       try {
         return objectMapper.readValue(result, LIST_TYPE_REFERENCE);
       } catch (IOException ex) {
@@ -184,12 +292,19 @@ public class PatroniCtl {
     }
 
     public List<PatroniHistoryEntry> history() {
-      Output output = patronictl("history", "-f", "json")
-          .start()
-          .withTimeout(patroniCtlTimeout)
-          .withoutCloseAfterLast()
-          .tryGet();
-      String result = getOutputOrFail(output);
+      if (useKubernetesDcs) {
+        return objectMapper.convertValue(
+            kubernetesDcs.history(endpointsAnnotations(configName)),
+            HISTORY_TYPE_REFERENCE);
+      }
+      String result = memoize("history", () -> {
+        Output output = patronictl("history", "-f", "json")
+            .start()
+            .withTimeout(patroniCtlTimeout)
+            .withoutCloseAfterLast()
+            .tryGet();
+        return getOutputOrFail(output);
+      });
       try {
         return objectMapper.readValue(result, HISTORY_TYPE_REFERENCE);
       } catch (IOException ex) {
@@ -198,12 +313,12 @@ public class PatroniCtl {
     }
 
     public PatroniConfig showConfig() {
-      Output output = patronictl("show-config")
-          .start()
-          .withTimeout(patroniCtlTimeout)
-          .withoutCloseAfterLast()
-          .tryGet();
-      String result = getOutputOrFail(output);
+      if (useKubernetesDcs) {
+        return objectMapper.convertValue(
+            kubernetesDcs.config(endpointsAnnotations(configName)),
+            PatroniConfig.class);
+      }
+      String result = showConfigOutput();
       try {
         if (result == null || result.isBlank()) {
           return new PatroniConfig();
@@ -215,12 +330,10 @@ public class PatroniCtl {
     }
 
     public ObjectNode showConfigJson() {
-      Output output = patronictl("show-config")
-          .start()
-          .withTimeout(patroniCtlTimeout)
-          .withoutCloseAfterLast()
-          .tryGet();
-      String result = getOutputOrFail(output);
+      if (useKubernetesDcs) {
+        return kubernetesDcs.config(endpointsAnnotations(configName));
+      }
+      String result = showConfigOutput();
       try {
         JsonNode config = yamlMapper.readTree(result);
         if (config instanceof ObjectNode configObject) {
@@ -232,7 +345,59 @@ public class PatroniCtl {
       }
     }
 
+    private String showConfigOutput() {
+      return memoize("show-config", () -> {
+        Output output = patronictl("show-config")
+            .start()
+            .withTimeout(patroniCtlTimeout)
+            .withoutCloseAfterLast()
+            .tryGet();
+        return getOutputOrFail(output);
+      });
+    }
+
+    private Map<String, String> endpointsAnnotations(String name) {
+      return memoize("endpoints/" + name, () -> PatroniKubernetesDcs.annotations(
+          client.endpoints()
+          .inNamespace(customResource.getMetadata().getNamespace())
+          .withName(name)
+          .get()));
+    }
+
+    private List<Pod> memberPods() {
+      return memoize("pods", () -> List.copyOf(client.pods()
+          .inNamespace(customResource.getMetadata().getNamespace())
+          .withLabels(memberLabels)
+          .list()
+          .getItems()));
+    }
+
+    /**
+     * Reuse the raw value read from the DCS or from patronictl for a short time (that should
+     *  cover a reconciliation cycle). Values are parsed again on each call so that callers are
+     *  free to modify the returned objects.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T memoize(String key, Supplier<T> supplier) {
+      final Instant now = Instant.now();
+      final Memoized cached = memoized.get(key);
+      if (cached != null && now.isBefore(cached.expiresAt())) {
+        return (T) cached.value();
+      }
+      final T value = supplier.get();
+      memoized.put(key, new Memoized(value, now.plus(cacheDuration)));
+      return value;
+    }
+
+    /**
+     * Drop memoized values after an operation that changes the state of the cluster.
+     */
+    private void invalidate() {
+      memoized.clear();
+    }
+
     public void editConfig(PatroniConfig patroniConfig) {
+      invalidate();
       try (InputStream in = new ByteArrayInputStream(yamlMapper.writeValueAsBytes(patroniConfig))) {
         Output output = patronictl("edit-config", scope, "--apply", "-")
             .start()
@@ -247,6 +412,7 @@ public class PatroniCtl {
     }
 
     public void editConfigJson(ObjectNode patroniConfig) {
+      invalidate();
       try (InputStream in = new ByteArrayInputStream(patroniConfig.toString().getBytes(StandardCharsets.UTF_8))) {
         Output output = patronictl("edit-config", scope, "--apply", "-")
             .start()
@@ -261,6 +427,7 @@ public class PatroniCtl {
     }
 
     public void restart(String username, String password, String member) {
+      invalidate();
       Output output = patronictl("restart", scope, member, "--force")
           .environment("PATRONI_RESTAPI_USERNAME", username)
           .environment("PATRONI_RESTAPI_PASSWORD", password)
@@ -279,6 +446,7 @@ public class PatroniCtl {
     }
 
     public void switchover(String username, String password, String leader, String candidate) {
+      invalidate();
       Output output = patronictl("switchover", scope, "--leader", leader, "--candidate", candidate, "--force")
           .environment("PATRONI_RESTAPI_USERNAME", username)
           .environment("PATRONI_RESTAPI_PASSWORD", password)
@@ -297,6 +465,7 @@ public class PatroniCtl {
     }
 
     public void remove(String username, String password) {
+      invalidate();
       Output output = patronictl("remove", scope)
           .environment("PATRONI_RESTAPI_USERNAME", username)
           .environment("PATRONI_RESTAPI_PASSWORD", password)
@@ -358,4 +527,7 @@ public class PatroniCtl {
       return result;
     }
   }
+
+  record Memoized(Object value, Instant expiresAt) {
+  }
 }
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.patroni;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Pod;
+import org.jooq.lambda.Seq;
+
+/**
+ * Build the same output of {@code patronictl list}, {@code patronictl history} and
+ *  {@code patronictl show-config} from the Kubernetes objects that Patroni uses as DCS when
+ *  configured with {@code use_endpoints}: the leader, config and sync Endpoints annotations and
+ *  the status annotation of each member Pod.
+ *
+ * <p>As Patroni does, the leader key is ignored when it has not been renewed within its TTL, so
+ *  that the member of a leader that is gone is not reported as the leader. The state of a member
+ *  that is not the leader is its replication state ({@code streaming} or
+ *  {@code in archive recovery}) when Patroni reports one.
+ *
+ * <p>Only the Endpoints layout used by StackGres is supported. Clusters that use another DCS or
+ *  Citus groups are read using {@code patronictl}.
+ */
+class PatroniKubernetesDcs {
+
+  static final String LEADER_ANNOTATION = "leader";
+  static final String RENEW_TIME_ANNOTATION = "renewTime";
+  static final String TTL_ANNOTATION = "ttl";
+  static final String CONFIG_ANNOTATION = "config";
+  static final String HISTORY_ANNOTATION = "history";
+  static final String STATUS_ANNOTATION = "status";
+  static final String OPTIME_ANNOTATION = "optime";
+  static final String SYNC_STANDBY_ANNOTATION = "sync_standby";
+
+  private static final int DEFAULT_POSTGRES_PORT = 5432;
+  private static final long DEFAULT_TTL = 30;
+  private static final String[] HISTORY_FIELDS =
+      new String[] { "TL", "LSN", "Reason", "Timestamp", "New Leader" };
+
+  private final ObjectMapper objectMapper;
+  private final Clock clock;
+
+  PatroniKubernetesDcs(ObjectMapper objectMapper) {
+    this(objectMapper, Clock.systemUTC());
+  }
+
+  PatroniKubernetesDcs(ObjectMapper objectMapper, Clock clock) {
+    this.objectMapper = objectMapper;
+    this.clock = clock;
+  }
+
+  static Map<String, String> annotations(HasMetadata resource) {
+    return Optional.ofNullable(resource)
+        .map(HasMetadata::getMetadata)
+        .map(ObjectMeta::getAnnotations)
+        .map(Map::copyOf)
+        .orElse(Map.of());
+  }
+
+  ArrayNode members(String scope, Map<String, String> leaderAnnotations,
+      Map<String, String> configAnnotations, Map<String, String> syncAnnotations,
+      List<Pod> pods) {
+    final String leader = leader(leaderAnnotations, configAnnotations);
+    final boolean isStandbyCluster = Optional.of(config(configAnnotations))
+        .map(config -> config.get("standby_cluster"))
+        .filter(standbyCluster -> !standbyCluster.isNull())
+        .isPresent();
+    final List<String> syncStandbys = Optional
+        .ofNullable(syncAnnotations.get(SYNC_STANDBY_ANNOTATION))
+        .map(syncStandby -> Arrays.asList(syncStandby.split(",")))
+        .orElse(List.of());
+    final Optional<Long> lastLsn = lastLsn(leaderAnnotations, configAnnotations);
+    final ArrayNode members = objectMapper.createArrayNode();
+    Seq.seq(pods)
+        .filter(pod -> annotations(pod).containsKey(STATUS_ANNOTATION))
+        .sorted(pod -> pod.getMetadata().getName())
+        .forEach(pod -> {
+          final String name = pod.getMetadata().getName();
+          final JsonNode data = readTree(annotations(pod).get(STATUS_ANNOTATION));
+          final ObjectNode member = members.addObject();
+          member.put("Cluster", scope);
+          member.put("Member", name);
+          host(data).ifPresent(host -> member.put("Host", host));
+          if (name.equals(leader)) {
+            member.put("Role", isStandbyCluster
+                ? PatroniMember.STANDBY_LEADER : PatroniMember.LEADER);
+          } else if (syncStandbys.contains(name)) {
+            member.put("Role", PatroniMember.SYNC_STANDBY);
+          } else {
+            member.put("Role", PatroniMember.REPLICA);
+          }
+          member.put("State", name.equals(leader) && !isStandbyCluster
+              ? data.path("state").asText("")
+              : Optional.of(data.path("replication_state").asText(""))
+              .filter(replicationState -> !replicationState.isEmpty())
+              .orElseGet(() -> data.path("state").asText("")));
+          if (data.hasNonNull("timeline")) {
+            member.set("TL", data.get("timeline"));
+          }
+          if (!name.equals(leader)) {
+            if (lastLsn.isPresent() && data.path("xlog_location").canConvertToLong()) {
+              member.put("Lag in MB", (int) Math.round(Math.max(
+                  lastLsn.get() - data.path("xlog_location").asLong(), 0) / 1024d / 1024d));
+            } else {
+              member.put("Lag in MB", "unknown");
+            }
+          }
+          if (data.path("pending_restart").asBoolean(false)) {
+            member.put("Pending restart", "*");
+          }
+          if (data.path("scheduled_restart").hasNonNull("schedule")) {
+            member.set("Scheduled restart", data.path("scheduled_restart").get("schedule"));
+          }
+          if (data.hasNonNull("tags")) {
+            member.set("Tags", data.get("tags"));
+          }
+        });
+    return members;
+  }
+
+  ArrayNode history(Map<String, String> configAnnotations) {
+    final ArrayNode history = objectMapper.createArrayNode();
+    final JsonNode lines = readTree(configAnnotations.get(HISTORY_ANNOTATION));
+    if (!lines.isArray()) {
+      return history;
+    }
+    for (JsonNode line : lines) {
+      final ObjectNode entry = history.addObject();
+      for (int index = 0; index < HISTORY_FIELDS.length && index < line.size(); index++) {
+        if (!line.get(index).isNull()) {
+          entry.set(HISTORY_FIELDS[index], line.get(index));
+        }
+      }
+    }
+    return history;
+  }
+
+  ObjectNode config(Map<String, String> configAnnotations) {
+    if (readTree(configAnnotations.get(CONFIG_ANNOTATION)) instanceof ObjectNode config) {
+      return config;
+    }
+    return objectMapper.createObjectNode();
+  }
+
+  /**
+   * The leader member name or {@code null} when the leader key has expired. The TTL is read from
+   *  the leader Endpoints annotation, falling back to the one in the Patroni configuration.
+   */
+  private String leader(Map<String, String> leaderAnnotations,
+      Map<String, String> configAnnotations) {
+    final String leader = leaderAnnotations.get(LEADER_ANNOTATION);
+    final Optional<Instant> renewTime = Optional
+        .ofNullable(leaderAnnotations.get(RENEW_TIME_ANNOTATION))
+        .flatMap(this::parseTime);
+    if (leader == null || renewTime.isEmpty()) {
+      return leader;
+    }
+    final long ttl = Optional.ofNullable(leaderAnnotations.get(TTL_ANNOTATION))
+        .flatMap(this::parseLong)
+        .or(() -> Optional.of(config(configAnnotations).path(TTL_ANNOTATION))
+            .filter(JsonNode::canConvertToLong)
+            .map(JsonNode::asLong))
+        .filter(value -> value > 0)
+        .orElse(DEFAULT_TTL);
+    if (renewTime.get().plus(Duration.ofSeconds(ttl)).isBefore(clock.instant())) {
+      return null;
+    }
+    return leader;
+  }
+
+  private Optional<Instant> parseTime(String value) {
+    try {
+      return Optional.of(OffsetDateTime.parse(value).toInstant());
+    } catch (DateTimeParseException ex) {
+      return Optional.empty();
+    }
+  }
+
+  private Optional<Long> parseLong(String value) {
+    try {
+      return Optional.of(Long.valueOf(value));
+    } catch (NumberFormatException ex) {
+      return Optional.empty();
+    }
+  }
+
+  private Optional<Long> lastLsn(Map<String, String> leaderAnnotations,
+      Map<String, String> configAnnotations) {
+    return Optional.of(readTree(configAnnotations.get(STATUS_ANNOTATION)))
+        .map(status -> status.path(OPTIME_ANNOTATION))
+        .filter(JsonNode::canConvertToLong)
+        .map(JsonNode::asLong)
+        .or(() -> Optional.ofNullable(leaderAnnotations.get(OPTIME_ANNOTATION))
+            .map(Long::valueOf));
+  }
+
+  private Optional<String> host(JsonNode data) {
+    return Optional.of(data.path("conn_url"))
+        .filter(JsonNode::isTextual)
+        .map(JsonNode::asText)
+        .map(URI::create)
+        .filter(connUrl -> connUrl.getHost() != null)
+        .map(connUrl -> connUrl.getPort() == -1 || connUrl.getPort() == DEFAULT_POSTGRES_PORT
+            ? connUrl.getHost() : connUrl.getHost() + ":" + connUrl.getPort());
+  }
+
+  private JsonNode readTree(String value) {
+    if (value == null || value.isBlank()) {
+      return objectMapper.missingNode();
+    }
+    try {
+      return objectMapper.readTree(value);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+}
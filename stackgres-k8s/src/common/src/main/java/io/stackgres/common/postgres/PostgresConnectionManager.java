@@ -8,17 +8,81 @@ package io.stackgres.common.postgres;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.stackgres.common.StackGresProperty;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
 @Singleton
 public class PostgresConnectionManager {
 
+  private static final int DEFAULT_POOL_MAX_SIZE = 4;
+  private static final int DEFAULT_POOL_IDLE_TIMEOUT = 60;
+  private static final int DEFAULT_POOL_MAX_LIFETIME = 1800;
+  private static final Duration POOL_ACQUIRE_TIMEOUT = Duration.ofSeconds(30);
+
+  private final boolean pooling;
+  private final int poolMaxSize;
+  private final Duration poolIdleTimeout;
+  private final Duration poolMaxLifetime;
+  private final MeterRegistry meterRegistry;
+  private final Map<PoolKey, PoolEntry> pools = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService evictionExecutor;
+
+  @Inject
+  public PostgresConnectionManager(Instance<MeterRegistry> meterRegistry) {
+    this(StackGresProperty.POSTGRES_CONNECTION_POOLING.getBoolean(),
+        StackGresProperty.POSTGRES_CONNECTION_POOL_MAX_SIZE.get()
+        .map(Integer::valueOf)
+        .orElse(DEFAULT_POOL_MAX_SIZE),
+        Duration.ofSeconds(StackGresProperty.POSTGRES_CONNECTION_POOL_IDLE_TIMEOUT.get()
+            .map(Integer::valueOf)
+            .orElse(DEFAULT_POOL_IDLE_TIMEOUT)),
+        Duration.ofSeconds(StackGresProperty.POSTGRES_CONNECTION_POOL_MAX_LIFETIME.get()
+            .map(Integer::valueOf)
+            .orElse(DEFAULT_POOL_MAX_LIFETIME)),
+        meterRegistry.isResolvable() ? meterRegistry.get() : Metrics.globalRegistry);
+  }
+
+  PostgresConnectionManager(boolean pooling, int poolMaxSize,
+      Duration poolIdleTimeout, Duration poolMaxLifetime, MeterRegistry meterRegistry) {
+    this.pooling = pooling;
+    this.poolMaxSize = poolMaxSize;
+    this.poolIdleTimeout = poolIdleTimeout;
+    this.poolMaxLifetime = poolMaxLifetime;
+    this.meterRegistry = meterRegistry;
+    if (pooling) {
+      this.evictionExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "PostgresConnectionPoolEviction");
+        thread.setDaemon(true);
+        return thread;
+      });
+      final long evictionPeriod = Math.max(1, poolIdleTimeout.toSeconds() / 2);
+      this.evictionExecutor.scheduleWithFixedDelay(
+          () -> pools.values().forEach(entry -> entry.pool.evictIdle()),
+          evictionPeriod, evictionPeriod, TimeUnit.SECONDS);
+    } else {
+      this.evictionExecutor = null;
+    }
+  }
+
   public Connection getConnection(
       @Nonnull String host,
       int port,
@@ -27,7 +91,7 @@ public class PostgresConnectionManager {
       @Nonnull String password) throws SQLException {
     return getConnection(host, port, database, username, password, null);
   }
-      
+
   public Connection getConnection(
       @Nonnull String host,
       int port,
@@ -35,6 +99,19 @@ public class PostgresConnectionManager {
       @Nonnull String username,
       @Nonnull String password,
       @Nullable Map<String, String> extraProperties) throws SQLException {
+    if (pooling) {
+      return getPooledConnection(host, port, database, username, password, extraProperties);
+    }
+    return createConnection(host, port, database, username, password, extraProperties);
+  }
+
+  private Connection createConnection(
+      String host,
+      int port,
+      String database,
+      String username,
+      String password,
+      Map<String, String> extraProperties) throws SQLException {
     Properties properties = new Properties();
     if (extraProperties != null) {
       extraProperties.entrySet().stream()
@@ -47,6 +124,51 @@ public class PostgresConnectionManager {
         "jdbc:postgresql://" + host + ":" + port + "/" + database, properties);
   }
 
+  /**
+   * Borrow a connection from the pool of the host, port, database and user. When the password
+   * differs from the one the pool was created with (the credentials secret was rotated) or the
+   * authentication fails the pool is closed and a new one is created.
+   */
+  private Connection getPooledConnection(
+      String host,
+      int port,
+      String database,
+      String username,
+      String password,
+      Map<String, String> extraProperties) throws SQLException {
+    final PoolKey poolKey = new PoolKey(host, port, database, username,
+        Optional.ofNullable(extraProperties).map(Map::copyOf).orElse(Map.of()));
+    final PoolEntry poolEntry = pools.compute(poolKey, (key, entry) -> {
+      if (entry != null && Objects.equals(entry.password, password)) {
+        return entry;
+      }
+      if (entry != null) {
+        entry.pool.close();
+      }
+      return new PoolEntry(password, new PostgresConnectionPool(
+          username + "@" + host + ":" + port + "/" + database,
+          Tags.of("host", host, "port", String.valueOf(port),
+              "database", database, "user", username),
+          () -> createConnection(host, port, database, username, password, extraProperties),
+          poolMaxSize, poolIdleTimeout, poolMaxLifetime, POOL_ACQUIRE_TIMEOUT,
+          meterRegistry));
+    });
+    try {
+      return poolEntry.pool.getConnection();
+    } catch (SQLException ex) {
+      if (ex.getSQLState() != null && ex.getSQLState().startsWith("28")) {
+        invalidate(poolKey, poolEntry);
+      }
+      throw ex;
+    }
+  }
+
+  private void invalidate(PoolKey poolKey, PoolEntry poolEntry) {
+    if (pools.remove(poolKey, poolEntry)) {
+      poolEntry.pool.close();
+    }
+  }
+
   public Connection getUnixConnection(
       @Nonnull String path,
       int port,
@@ -63,4 +185,20 @@ public class PostgresConnectionManager {
         "jdbc:postgresql://unix/" + database, properties);
   }
 
+  @PreDestroy
+  public void close() {
+    if (evictionExecutor != null) {
+      evictionExecutor.shutdownNow();
+    }
+    pools.values().forEach(entry -> entry.pool.close());
+    pools.clear();
+  }
+
+  private record PoolKey(
+      String host, int port, String database, String username, Map<String, String> properties) {
+  }
+
+  private record PoolEntry(String password, PostgresConnectionPool pool) {
+  }
+
 }
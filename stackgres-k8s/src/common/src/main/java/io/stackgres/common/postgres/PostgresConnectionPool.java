@@ -0,0 +1,398 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.postgres;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A small pool of physical connections to the same PostgreSQL host, port, database and user.
+ *
+ * <p>Connections returned by {@link #getConnection()} are proxies that return the physical
+ * connection to the pool when closed after resetting the session state. Connections idle for
+ * more than the idle timeout or older than the max lifetime are closed instead of being reused.
+ * Unwrapping a borrowed connection returns a proxy too, so that the physical connection is never
+ * handed out.
+ * </p>
+ */
+public final class PostgresConnectionPool implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PostgresConnectionPool.class);
+
+  static final String RESET_SESSION_SQL = "CLOSE ALL;"
+      + " RESET ALL;"
+      + " RESET SESSION AUTHORIZATION;"
+      + " RESET ROLE;"
+      + " UNLISTEN *;"
+      + " SELECT pg_advisory_unlock_all();"
+      + " DISCARD TEMP";
+
+  @FunctionalInterface
+  public interface ConnectionFactory {
+    Connection create() throws SQLException;
+  }
+
+  private final String name;
+  private final ConnectionFactory connectionFactory;
+  private final int maxSize;
+  private final long idleTimeoutNanos;
+  private final long maxLifetimeNanos;
+  private final long acquireTimeoutNanos;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition available = lock.newCondition();
+  private final Deque<PooledConnection> idle = new ArrayDeque<>();
+  private final MeterRegistry meterRegistry;
+  private final List<Meter> meters = new ArrayList<>();
+  private final Timer waitTimer;
+  private int size = 0;
+  private int active = 0;
+  private boolean closed = false;
+
+  /**
+   * Create a connection pool.
+   *
+   * @param name the name of the pool used in logs and errors
+   * @param tags the tags of the pool metrics
+   * @param connectionFactory the factory of physical connections
+   * @param maxSize the maximum number of physical connections
+   * @param idleTimeout the time after which an idle connection is closed
+   * @param maxLifetime the time after which a connection is closed once returned to the pool
+   * @param acquireTimeout the maximum time to wait for a connection when the pool is exhausted
+   * @param meterRegistry the registry of the pool metrics, may be {@code null}
+   */
+  public PostgresConnectionPool(String name, Tags tags, ConnectionFactory connectionFactory,
+      int maxSize, Duration idleTimeout, Duration maxLifetime, Duration acquireTimeout,
+      MeterRegistry meterRegistry) {
+    this.name = name;
+    this.connectionFactory = connectionFactory;
+    this.maxSize = Math.max(1, maxSize);
+    this.idleTimeoutNanos = idleTimeout.toNanos();
+    this.maxLifetimeNanos = maxLifetime.toNanos();
+    this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    this.meterRegistry = meterRegistry;
+    if (meterRegistry != null) {
+      meters.add(Gauge.builder("stackgres.postgres.pool.active", this,
+          PostgresConnectionPool::getActive)
+          .description("Connections borrowed from the pool")
+          .tags(tags)
+          .register(meterRegistry));
+      meters.add(Gauge.builder("stackgres.postgres.pool.idle", this,
+          PostgresConnectionPool::getIdle)
+          .description("Connections waiting in the pool to be borrowed")
+          .tags(tags)
+          .register(meterRegistry));
+      this.waitTimer = Timer.builder("stackgres.postgres.pool.wait")
+          .description("Time spent waiting for a connection of the pool")
+          .tags(tags)
+          .register(meterRegistry);
+      meters.add(waitTimer);
+    } else {
+      this.waitTimer = null;
+    }
+  }
+
+  /**
+   * Borrow a connection from the pool creating a new physical connection if none is idle and the
+   * maximum size was not reached, otherwise wait up to the acquire timeout for a connection to
+   * be returned.
+   */
+  public Connection getConnection() throws SQLException {
+    final long start = System.nanoTime();
+    final List<PooledConnection> expired = new ArrayList<>();
+    PooledConnection pooledConnection = null;
+    lock.lock();
+    try {
+      long remainingNanos = acquireTimeoutNanos;
+      while (true) {
+        if (closed) {
+          throw new SQLException("Connection pool " + name + " is closed");
+        }
+        pooledConnection = idle.pollFirst();
+        while (pooledConnection != null && pooledConnection.isExpired(System.nanoTime())) {
+          expired.add(pooledConnection);
+          size--;
+          pooledConnection = idle.pollFirst();
+        }
+        if (pooledConnection != null) {
+          break;
+        }
+        if (size < maxSize) {
+          size++;
+          break;
+        }
+        if (remainingNanos <= 0) {
+          throw new SQLTimeoutException("Timeout waiting for a connection of pool " + name);
+        }
+        remainingNanos = available.awaitNanos(remainingNanos);
+      }
+      active++;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for a connection of pool " + name, ex);
+    } finally {
+      lock.unlock();
+      expired.forEach(PooledConnection::closePhysically);
+    }
+    if (pooledConnection == null) {
+      try {
+        pooledConnection = new PooledConnection(connectionFactory.create());
+      } catch (SQLException | RuntimeException ex) {
+        lock.lock();
+        try {
+          size--;
+          active--;
+          available.signal();
+        } finally {
+          lock.unlock();
+        }
+        throw ex;
+      }
+    }
+    if (waitTimer != null) {
+      waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+    return pooledConnection.borrow();
+  }
+
+  private void release(PooledConnection pooledConnection) {
+    final boolean reusable = pooledConnection.reset();
+    final boolean closePhysically;
+    lock.lock();
+    try {
+      active--;
+      if (reusable && !closed && !pooledConnection.isPastMaxLifetime(System.nanoTime())) {
+        pooledConnection.lastUsed = System.nanoTime();
+        idle.addFirst(pooledConnection);
+        closePhysically = false;
+      } else {
+        size--;
+        closePhysically = true;
+      }
+      available.signal();
+    } finally {
+      lock.unlock();
+    }
+    if (closePhysically) {
+      pooledConnection.closePhysically();
+    }
+  }
+
+  /**
+   * Close the idle connections that expired.
+   */
+  public void evictIdle() {
+    final List<PooledConnection> expired = new ArrayList<>();
+    lock.lock();
+    try {
+      final long now = System.nanoTime();
+      idle.removeIf(pooledConnection -> {
+        if (pooledConnection.isExpired(now)) {
+          expired.add(pooledConnection);
+          size--;
+          return true;
+        }
+        return false;
+      });
+      if (!expired.isEmpty()) {
+        available.signalAll();
+      }
+    } finally {
+      lock.unlock();
+    }
+    expired.forEach(PooledConnection::closePhysically);
+  }
+
+  public int getActive() {
+    lock.lock();
+    try {
+      return active;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getIdle() {
+    lock.lock();
+    try {
+      return idle.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Close the pool and its idle connections. Borrowed connections are closed when returned.
+   */
+  @Override
+  public void close() {
+    final List<PooledConnection> idleConnections;
+    lock.lock();
+    try {
+      closed = true;
+      idleConnections = List.copyOf(idle);
+      size -= idle.size();
+      idle.clear();
+      available.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    idleConnections.forEach(PooledConnection::closePhysically);
+    if (meterRegistry != null) {
+      meters.forEach(meterRegistry::remove);
+    }
+  }
+
+  private class PooledConnection {
+    private final Connection connection;
+    private final long created;
+    private final int defaultTransactionIsolation;
+    private long lastUsed;
+    private volatile boolean broken;
+
+    PooledConnection(Connection connection) throws SQLException {
+      this.connection = connection;
+      this.created = System.nanoTime();
+      this.lastUsed = created;
+      this.defaultTransactionIsolation = connection.getTransactionIsolation();
+    }
+
+    boolean isExpired(long now) {
+      return isPastMaxLifetime(now)
+          || now - lastUsed >= idleTimeoutNanos;
+    }
+
+    boolean isPastMaxLifetime(long now) {
+      return now - created >= maxLifetimeNanos;
+    }
+
+    Connection borrow() {
+      return (Connection) Proxy.newProxyInstance(
+          Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+          new BorrowedConnectionHandler(this));
+    }
+
+    boolean reset() {
+      if (broken) {
+        return false;
+      }
+      try {
+        if (connection.isClosed()) {
+          return false;
+        }
+        if (!connection.getAutoCommit()) {
+          connection.rollback();
+          connection.setAutoCommit(true);
+        }
+        if (connection.isReadOnly()) {
+          connection.setReadOnly(false);
+        }
+        if (connection.getTransactionIsolation() != defaultTransactionIsolation) {
+          connection.setTransactionIsolation(defaultTransactionIsolation);
+        }
+        try (Statement statement = connection.createStatement()) {
+          statement.execute(RESET_SESSION_SQL);
+        }
+        return true;
+      } catch (SQLException | RuntimeException ex) {
+        LOGGER.debug("Error while resetting connection of pool {}, it will be closed", name, ex);
+        return false;
+      }
+    }
+
+    void closePhysically() {
+      try {
+        connection.close();
+      } catch (SQLException | RuntimeException ex) {
+        LOGGER.debug("Error while closing connection of pool {}", name, ex);
+      }
+    }
+  }
+
+  private class BorrowedConnectionHandler implements InvocationHandler {
+    private final PooledConnection pooledConnection;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    BorrowedConnectionHandler(PooledConnection pooledConnection) {
+      this.pooledConnection = pooledConnection;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "close":
+          if (closed.compareAndSet(false, true)) {
+            release(pooledConnection);
+          }
+          return null;
+        case "isClosed":
+          return closed.get() || pooledConnection.connection.isClosed();
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "Pooled " + pooledConnection.connection;
+        case "isWrapperFor":
+          if (((Class<?>) args[0]).isInstance(proxy)) {
+            return true;
+          }
+          break;
+        case "unwrap":
+          if (((Class<?>) args[0]).isInstance(proxy)) {
+            return proxy;
+          }
+          break;
+        default:
+          break;
+      }
+      if (closed.get()) {
+        throw new SQLException("Connection is closed", "08003");
+      }
+      try {
+        final Object result = method.invoke(pooledConnection.connection, args);
+        if (method.getName().equals("unwrap")
+            && result == pooledConnection.connection
+            && ((Class<?>) args[0]).isInterface()) {
+          return Proxy.newProxyInstance(
+              ((Class<?>) args[0]).getClassLoader(), new Class<?>[] { (Class<?>) args[0] },
+              this);
+        }
+        return result;
+      } catch (InvocationTargetException ex) {
+        if (ex.getCause() instanceof SQLException sqlException
+            && sqlException.getSQLState() != null
+            && sqlException.getSQLState().startsWith("08")) {
+          pooledConnection.broken = true;
+        }
+        throw ex.getCause();
+      }
+    }
+  }
+
+}
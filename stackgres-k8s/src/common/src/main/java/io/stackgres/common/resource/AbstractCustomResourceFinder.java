@@ -43,11 +43,12 @@ public abstract class AbstractCustomResourceFinder<T extends CustomResource<?, ?
    */
   @Override
   public Optional<T> findByNameAndNamespace(String name, String namespace) {
-    return Optional.ofNullable(client.resources(
-        customResourceClass, customResourceListClass)
-        .inNamespace(namespace)
-        .withName(name)
-        .get());
+    return CustomResourceLookupCache.lookup(customResourceClass, name, namespace,
+        () -> Optional.ofNullable(client.resources(
+            customResourceClass, customResourceListClass)
+            .inNamespace(namespace)
+            .withName(name)
+            .get()));
   }
 
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.resource;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Memoize the lookups of custom resources done through {@link CustomResourceFinder}s while the
+ *  cache is open. The cache is bound to the thread that opened it and to the threads that run
+ *  tasks wrapped with {@link #wrap(Callable)}, so that lookups of the same custom resource
+ *  within the same scope (e.g. an admission review) are shared. The lookup is performed outside
+ *  of the map update so that concurrent lookups do not block each other; if they race the first
+ *  result stored is the one returned to all of them.
+ */
+public final class CustomResourceLookupCache implements AutoCloseable {
+
+  private static final ThreadLocal<CustomResourceLookupCache> CURRENT = new ThreadLocal<>();
+
+  private final Map<LookupKey, Optional<?>> lookups = new ConcurrentHashMap<>();
+  private final CustomResourceLookupCache previous;
+
+  private CustomResourceLookupCache(CustomResourceLookupCache previous) {
+    this.previous = previous;
+  }
+
+  /**
+   * Open a new cache bound to the current thread until it is closed.
+   */
+  public static CustomResourceLookupCache open() {
+    final CustomResourceLookupCache cache = new CustomResourceLookupCache(CURRENT.get());
+    CURRENT.set(cache);
+    return cache;
+  }
+
+  /**
+   * Return a {@link Callable} that run the specified one with this cache bound to the thread
+   *  that calls it.
+   */
+  public <V> Callable<V> wrap(Callable<V> callable) {
+    return () -> {
+      final CustomResourceLookupCache current = CURRENT.get();
+      CURRENT.set(this);
+      try {
+        return callable.call();
+      } finally {
+        restore(current);
+      }
+    };
+  }
+
+  @Override
+  public void close() {
+    restore(previous);
+  }
+
+  private static void restore(CustomResourceLookupCache cache) {
+    if (cache == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(cache);
+    }
+  }
+
+  /**
+   * Return the result of the lookup of the specified custom resource from the cache bound to
+   *  the current thread, or from the specified finder if no cache is bound to the current thread
+   *  or the lookup was not done before.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> Optional<T> lookup(Class<?> type, String name, String namespace,
+      Supplier<Optional<T>> finder) {
+    final CustomResourceLookupCache cache = CURRENT.get();
+    if (cache == null) {
+      return finder.get();
+    }
+    final LookupKey key = new LookupKey(type, name, namespace);
+    final Optional<?> cached = cache.lookups.get(key);
+    if (cached != null) {
+      return (Optional<T>) cached;
+    }
+    final Optional<T> found = finder.get();
+    final Optional<?> previous = cache.lookups.putIfAbsent(key, found);
+    return previous != null ? (Optional<T>) previous : found;
+  }
+
+  private record LookupKey(Class<?> type, String name, String namespace) {
+  }
+
+}
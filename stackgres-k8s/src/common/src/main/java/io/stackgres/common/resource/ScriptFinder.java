@@ -25,11 +25,12 @@ public class ScriptFinder implements CustomResourceFinder<StackGresScript> {
 
   @Override
   public Optional<StackGresScript> findByNameAndNamespace(String name, String namespace) {
-    return Optional.ofNullable(client.resources(
-        StackGresScript.class,
-        StackGresScriptList.class)
-        .inNamespace(namespace)
-        .withName(name)
-        .get());
+    return CustomResourceLookupCache.lookup(StackGresScript.class, name, namespace,
+        () -> Optional.ofNullable(client.resources(
+            StackGresScript.class,
+            StackGresScriptList.class)
+            .inNamespace(namespace)
+            .withName(name)
+            .get()));
   }
 }
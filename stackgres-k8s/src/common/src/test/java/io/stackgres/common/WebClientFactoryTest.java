@@ -5,14 +5,120 @@
 
 package io.stackgres.common;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.stackgres.common.WebClientFactory.ConditionalResponse;
+import io.stackgres.common.WebClientFactory.WebClient;
+import jakarta.ws.rs.WebApplicationException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 class WebClientFactoryTest {
 
+  private static final String ENTITY_TAG = "\"index-v1\"";
+  private static final String LAST_MODIFIED = "Mon, 01 Jan 2024 00:00:00 GMT";
+  private static final byte[] INDEX = "{\"extensions\":[]}".getBytes(StandardCharsets.UTF_8);
+
+  private HttpServer server;
+  private final List<Headers> requestHeaders = new CopyOnWriteArrayList<>();
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/", this::handle);
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      requestHeaders.add(exchange.getRequestHeaders());
+      if (exchange.getRequestURI().getPath().equals("/error")) {
+        exchange.sendResponseHeaders(500, -1);
+      } else if (ENTITY_TAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+        exchange.sendResponseHeaders(304, -1);
+      } else {
+        exchange.getResponseHeaders().add("ETag", ENTITY_TAG);
+        exchange.getResponseHeaders().add("Last-Modified", LAST_MODIFIED);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, INDEX.length);
+        exchange.getResponseBody().write(INDEX);
+      }
+    }
+  }
+
+  private URI getUri(String path) {
+    return URI.create("http://" + server.getAddress().getHostString()
+        + ":" + server.getAddress().getPort() + path);
+  }
+
+  @Test
+  void givenNoEntityTag_getJsonIfModifiedShouldReturnTheEntityAndCaptureTheEntityTag()
+      throws Exception {
+    URI uri = getUri("/index.json");
+    try (WebClient client = new WebClientFactory().create(uri)) {
+      ConditionalResponse<JsonNode> response =
+          client.getJsonIfModified(uri, JsonNode.class, null, null);
+
+      Assertions.assertTrue(response.isModified());
+      Assertions.assertTrue(response.entity().get("extensions").isArray());
+      Assertions.assertEquals(ENTITY_TAG, response.entityTag());
+      Assertions.assertEquals(LAST_MODIFIED, response.lastModified());
+    }
+    Assertions.assertEquals(1, requestHeaders.size());
+    Assertions.assertFalse(requestHeaders.get(0).containsKey("If-None-Match"));
+    Assertions.assertFalse(requestHeaders.get(0).containsKey("If-Modified-Since"));
+  }
+
+  @Test
+  void givenAnEntityTag_getJsonIfModifiedShouldSendConditionalHeadersAndHandleNotModified()
+      throws Exception {
+    URI uri = getUri("/index.json");
+    try (WebClient client = new WebClientFactory().create(uri)) {
+      ConditionalResponse<JsonNode> response =
+          client.getJsonIfModified(uri, JsonNode.class, ENTITY_TAG, LAST_MODIFIED);
+
+      Assertions.assertFalse(response.isModified());
+      Assertions.assertNull(response.entity());
+      Assertions.assertEquals(ENTITY_TAG, response.entityTag());
+      Assertions.assertEquals(LAST_MODIFIED, response.lastModified());
+    }
+    Assertions.assertEquals(1, requestHeaders.size());
+    Assertions.assertEquals(
+        Map.of("If-None-Match", List.of(ENTITY_TAG),
+            "If-Modified-Since", List.of(LAST_MODIFIED)),
+        Map.of("If-None-Match", requestHeaders.get(0).get("If-None-Match"),
+            "If-Modified-Since", requestHeaders.get(0).get("If-Modified-Since")));
+  }
+
+  @Test
+  void givenAnErrorStatus_getJsonIfModifiedShouldFail() throws Exception {
+    URI uri = getUri("/error");
+    try (WebClient client = new WebClientFactory().create(uri)) {
+      WebApplicationException ex = Assertions.assertThrows(WebApplicationException.class,
+          () -> client.getJsonIfModified(uri, JsonNode.class, null, null));
+      Assertions.assertEquals(500, ex.getResponse().getStatus());
+    }
+  }
+
   @Test
   void extractParameter() throws Exception {
     URI uri = new URI("https://test?test=1");
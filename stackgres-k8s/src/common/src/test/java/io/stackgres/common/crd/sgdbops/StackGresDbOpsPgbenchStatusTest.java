@@ -7,6 +7,9 @@ package io.stackgres.common.crd.sgdbops;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 import io.stackgres.common.fixture.Fixtures;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +22,8 @@ class StackGresDbOpsPgbenchStatusTest {
   private static final double TPS_INCLUDING_CONN = 100.89d;
   private static final double LATENCY_STD_DEV = 10.02d;
   private static final double LATENCY_AVERAGE_VALUE = 10.01d;
+  private static final double LATENCY_P99 = 48.3d;
+  private static final double LATENCY_MAX = 120.4d;
   private StackGresDbOpsPgbenchStatus status;
 
   @BeforeEach
@@ -57,4 +62,22 @@ class StackGresDbOpsPgbenchStatusTest {
     assertEquals(TPS_MEASURE_UNIT, tpsExcludingConn.getUnit());
   }
 
+  @Test
+  void shouldStackGresPgbenchStatus_hasLatencyPercentiles() {
+    StackGresDbOpsPgbenchStatusLatencyPercentiles percentiles =
+        status.getLatency().getPercentiles();
+    assertEquals(LATENCY_P99, percentiles.getP99().doubleValue());
+    assertEquals(LATENCY_MAX, percentiles.getMax().doubleValue());
+    assertEquals(LATENCY_UNIT, percentiles.getUnit());
+    assertEquals(percentiles, status.getLatency().getScripts().getFirst().getPercentiles());
+  }
+
+  @Test
+  void shouldStackGresPgbenchStatus_hasLatencyPercentilesOverTime() {
+    StackGresDbOpsPgbenchStatusLatencyOverTime overTime = status.getLatency().getOverTime();
+    assertEquals(List.of(new BigDecimal("47.5"), new BigDecimal("49.1")), overTime.getP99());
+    assertEquals(1000, overTime.getIntervalDuration());
+    assertEquals(LATENCY_UNIT, overTime.getValuesUnit());
+  }
+
 }
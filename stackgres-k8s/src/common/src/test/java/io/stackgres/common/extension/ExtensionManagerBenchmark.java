@@ -0,0 +1,304 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.extension;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import io.stackgres.common.ClusterContext;
+import io.stackgres.common.ClusterPath;
+import io.stackgres.common.FileSystemHandler;
+import io.stackgres.common.StackGresComponent;
+import io.stackgres.common.WebClientFactory;
+import io.stackgres.common.WebClientFactory.WebClient;
+import io.stackgres.common.crd.sgcluster.StackGresCluster;
+import io.stackgres.common.crd.sgcluster.StackGresClusterInstalledExtension;
+import io.stackgres.common.extension.ExtensionManager.ExtensionInstaller;
+import io.stackgres.common.fixture.Fixtures;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Deploy and remove a synthetic signed extension package of several sizes, comparing the single
+ * pass pipeline (download, signature and manifest in one read) with the previous behavior where
+ * the package was read again to verify it, to check for overwrites and to uninstall it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExtensionManagerBenchmark {
+
+  private static final URI REPOSITORY =
+      URI.create("https://extensions.stackgres.io/postgres/repository");
+
+  private static final int FILES = 8;
+
+  @Param({"1", "16", "64"})
+  int packageSizeMiB;
+
+  @Param({"true", "false"})
+  boolean pipelined;
+
+  Path root;
+
+  FileSystemHandler fileSystemHandler;
+
+  ExtensionManager extensionManager;
+
+  ClusterContext context;
+
+  StackGresClusterInstalledExtension extension;
+
+  Path manifestPath;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    root = Files.createTempDirectory("extension-manager-benchmark");
+    fileSystemHandler = new RebasedFileSystemHandler(root);
+    StackGresCluster cluster = Fixtures.clusterList().loadDefault().get()
+        .getItems().get(0);
+    cluster.getSpec().getPostgres().setVersion(
+        StackGresComponent.POSTGRESQL.getLatest().streamOrderedVersions().findFirst().get());
+    context = new ClusterContext() {
+      @Override
+      public StackGresCluster getCluster() {
+        return cluster;
+      }
+    };
+    extension = new StackGresClusterInstalledExtension();
+    extension.setName("synthetic");
+    extension.setPublisher("com.ongres");
+    extension.setRepository(REPOSITORY.toString());
+    extension.setVersion("1.0.0");
+    extension.setPostgresVersion(
+        StackGresComponent.POSTGRESQL.getLatest().streamOrderedMajorVersions().findFirst().get());
+    final String packageName = ExtensionUtil.getExtensionPackageName(cluster, extension);
+    manifestPath = Path.of(ClusterPath.PG_EXTENSIONS_PATH.path(context))
+        .resolve(packageName + ExtensionManager.MANIFEST_SUFFIX);
+
+    KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+    keyPairGenerator.initialize(2048);
+    KeyPair keyPair = keyPairGenerator.generateKeyPair();
+    byte[] packageContent = createPackage(packageSizeMiB * 1024 * 1024);
+    Signature signature = Signature.getInstance("SHA256withRSA");
+    signature.initSign(keyPair.getPrivate());
+    signature.update(packageContent);
+    byte[] download = createTar(
+        new TarFile(packageName + ExtensionManager.SHA256_SUFFIX, signature.sign()),
+        new TarFile(packageName + ExtensionManager.TGZ_SUFFIX, packageContent));
+
+    StackGresExtensionPublisher publisher = new StackGresExtensionPublisher();
+    publisher.setId("com.ongres");
+    publisher.setPublicKey("-----BEGIN PUBLIC KEY-----\n"
+        + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.UTF_8))
+            .encodeToString(keyPair.getPublic().getEncoded())
+        + "\n-----END PUBLIC KEY-----");
+    ExtensionMetadataManager extensionMetadataManager = mock(ExtensionMetadataManager.class);
+    when(extensionMetadataManager.getPublisher(any())).thenReturn(publisher);
+    when(extensionMetadataManager.getExtensionRepositoryUri(any())).thenReturn(REPOSITORY);
+    WebClientFactory webClientFactory = mock(WebClientFactory.class);
+    WebClient webClient = mock(WebClient.class);
+    when(webClientFactory.create(any())).thenReturn(webClient);
+    when(webClient.getInputStream(any()))
+        .then(invocation -> new ByteArrayInputStream(download));
+    extensionManager = new ExtensionManager(
+        extensionMetadataManager, webClientFactory, fileSystemHandler) {};
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    try (Stream<Path> paths = Files.walk(root)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Benchmark
+  public boolean deployAndRemove() throws Exception {
+    ExtensionInstaller extensionInstaller =
+        extensionManager.getExtensionInstaller(context, extension);
+    extensionInstaller.downloadAndExtract();
+    if (!pipelined) {
+      fileSystemHandler.deleteIfExists(manifestPath);
+      extensionInstaller = extensionManager.getExtensionInstaller(context, extension);
+    }
+    extensionInstaller.verify();
+    final boolean overwrite = extensionInstaller.doesInstallOverwriteAnySharedFile();
+    extensionInstaller.installExtension();
+    extensionManager.getExtensionUninstaller(context, extension).uninstallExtension();
+    return overwrite;
+  }
+
+  private byte[] createPackage(int size) throws IOException {
+    final Random random = new Random(0);
+    final String postgresMajorVersion = extension.getPostgresVersion();
+    final TarFile[] files = new TarFile[FILES + 2];
+    for (int index = 0; index < FILES; index++) {
+      byte[] content = new byte[size / FILES];
+      for (int position = 0; position < content.length; position++) {
+        content[position] = (byte) random.nextInt(16);
+      }
+      files[index] = new TarFile("usr/lib/postgresql/" + postgresMajorVersion
+          + "/lib/synthetic-" + index + ".so", content);
+    }
+    files[FILES] = new TarFile("usr/share/postgresql/" + postgresMajorVersion
+        + "/extension/synthetic.control",
+        "default_version = '1.0.0'\n".getBytes(StandardCharsets.UTF_8));
+    files[FILES + 1] = new TarFile("usr/share/postgresql/" + postgresMajorVersion
+        + "/extension/synthetic--1.0.0.sql",
+        "SELECT 1;\n".getBytes(StandardCharsets.UTF_8));
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+      gzipOutputStream.write(createTar(files));
+    }
+    return outputStream.toByteArray();
+  }
+
+  private byte[] createTar(TarFile... files) throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (TarArchiveOutputStream tarOutputStream = new TarArchiveOutputStream(outputStream)) {
+      tarOutputStream.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+      for (TarFile file : files) {
+        TarArchiveEntry entry = new TarArchiveEntry(file.name());
+        entry.setMode(0644);
+        entry.setSize(file.content().length);
+        tarOutputStream.putArchiveEntry(entry);
+        tarOutputStream.write(file.content());
+        tarOutputStream.closeArchiveEntry();
+      }
+    }
+    return outputStream.toByteArray();
+  }
+
+  record TarFile(String name, byte[] content) {
+  }
+
+  /**
+   * Resolve the absolute paths used by the extension manager inside a temporary directory.
+   */
+  static class RebasedFileSystemHandler extends FileSystemHandler {
+    private final Path root;
+
+    RebasedFileSystemHandler(Path root) {
+      this.root = root;
+    }
+
+    private Path rebase(Path path) {
+      if (!path.isAbsolute() || path.startsWith(root)) {
+        return path;
+      }
+      return root.resolve(path.getRoot().relativize(path));
+    }
+
+    @Override
+    public boolean exists(Path path) {
+      return super.exists(rebase(path));
+    }
+
+    @Override
+    public boolean identical(Path path, InputStream inputStream) throws IOException {
+      return super.identical(rebase(path), inputStream);
+    }
+
+    @Override
+    public boolean identicalLink(Path path, Path target) throws IOException {
+      return super.identicalLink(rebase(path), rebase(target));
+    }
+
+    @Override
+    public void createOrReplaceFile(Path path) throws IOException {
+      super.createOrReplaceFile(rebase(path));
+    }
+
+    @Override
+    public void createDirectories(Path path) throws IOException {
+      super.createDirectories(rebase(path));
+    }
+
+    @Override
+    public void copyOrReplace(InputStream inputStream, Path target) throws IOException {
+      super.copyOrReplace(inputStream, rebase(target));
+    }
+
+    @Override
+    public OutputStream newReplacingOutputStream(Path target) throws IOException {
+      return super.newReplacingOutputStream(rebase(target));
+    }
+
+    @Override
+    public Path setPosixFilePermissions(Path path, Set<PosixFilePermission> perms)
+        throws IOException {
+      return super.setPosixFilePermissions(rebase(path), perms);
+    }
+
+    @Override
+    public void createOrReplaceSymbolicLink(Path path, Path target) throws IOException {
+      super.createOrReplaceSymbolicLink(rebase(path), rebase(target));
+    }
+
+    @Override
+    public void deleteIfExists(Path path) throws IOException {
+      super.deleteIfExists(rebase(path));
+    }
+
+    @Override
+    public InputStream newInputStream(Path path) throws IOException {
+      return super.newInputStream(rebase(path));
+    }
+
+    @Override
+    public Stream<Path> list(Path path) throws IOException {
+      return super.list(rebase(path));
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(ExtensionManagerBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+}
@@ -7,13 +7,17 @@ package io.stackgres.common.extension;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.ArrayList;
@@ -28,6 +32,7 @@ import io.stackgres.common.ClusterPath;
 import io.stackgres.common.FileSystemHandler;
 import io.stackgres.common.StackGresComponent;
 import io.stackgres.common.WebClientFactory;
+import io.stackgres.common.WebClientFactory.ConditionalResponse;
 import io.stackgres.common.WebClientFactory.WebClient;
 import io.stackgres.common.crd.sgcluster.StackGresCluster;
 import io.stackgres.common.crd.sgcluster.StackGresClusterInstalledExtension;
@@ -146,16 +151,25 @@ public class ExtensionManagerTest {
   @Test
   void testDownloadAndExtractExtension() throws Exception {
     when(webClientFactory.create(any())).thenReturn(webClient);
-    when(webClient.getJson(any(), any())).thenReturn(getExtensions());
+    when(webClient.getJsonIfModified(any(), any(), any(), any()))
+        .thenReturn(new ConditionalResponse<>(getExtensions(), null, null));
     when(webClient.getInputStream(any()))
         .then(invocation -> getClass().getResourceAsStream("/test.tar"));
+    ByteArrayOutputStream downloadedPackage = new ByteArrayOutputStream();
+    when(fileSystemHandler.newReplacingOutputStream(any())).thenReturn(downloadedPackage);
     StackGresCluster cluster = getCluster();
     StackGresClusterInstalledExtension extension = getInstalledExtension();
+    final String extensionPackageName =
+        ExtensionUtil.getExtensionPackageName(cluster, extension);
     extensionManager.getExtensionInstaller(context(cluster), extension).downloadAndExtract();
+    Assertions.assertArrayEquals(
+        getClass().getResourceAsStream("/test.tgz").readAllBytes(),
+        downloadedPackage.toByteArray());
     verify(webClientFactory, times(2)).create(any());
-    verify(webClient, times(1)).getJson(any(), any());
-    verify(webClient, times(1)).getJson(
-        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class));
+    verify(webClient, times(1)).getJsonIfModified(any(), any(), any(), any());
+    verify(webClient, times(1)).getJsonIfModified(
+        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class),
+        isNull(), isNull());
     verify(webClient, times(1)).getInputStream(
         eq(ExtensionUtil.getExtensionPackageUri(REPOSITORY, cluster, extension)));
     verify(fileSystemHandler, times(0)).newInputStream(any());
@@ -169,6 +183,9 @@ public class ExtensionManagerTest {
         eq(Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context(cluster)))
             .resolve("test.tgz.sha256")));
     verify(fileSystemHandler, times(1)).copyOrReplace(any(InputStream.class),
+        eq(Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context(cluster)))
+            .resolve(extensionPackageName + ExtensionManager.MANIFEST_SUFFIX)));
+    verify(fileSystemHandler, times(1)).newReplacingOutputStream(
         eq(Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context(cluster)))
             .resolve("test.tgz")));
     verify(fileSystemHandler, times(2)).setPosixFilePermissions(any(), any());
@@ -190,12 +207,42 @@ public class ExtensionManagerTest {
     verify(fileSystemHandler, times(0)).identical(any(), any());
   }
 
+  @Test
+  void testDownloadedExtensionIsVerifiedAndCheckedWithoutReadingThePackageAgain()
+      throws Exception {
+    when(webClientFactory.create(any())).thenReturn(webClient);
+    when(webClient.getJsonIfModified(any(), any(), any(), any()))
+        .thenReturn(new ConditionalResponse<>(getExtensions(), null, null));
+    when(webClient.getInputStream(any()))
+        .then(invocation -> getClass().getResourceAsStream("/test.tar"));
+    when(fileSystemHandler.newReplacingOutputStream(any()))
+        .thenReturn(new ByteArrayOutputStream());
+    StackGresCluster cluster = getCluster();
+    final Path sharedLibrary = Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context(cluster)))
+        .resolve("usr/lib/postgresql/12/lib").resolve("test.so");
+    when(fileSystemHandler.exists(eq(sharedLibrary))).thenReturn(true);
+    when(fileSystemHandler.newInputStream(eq(sharedLibrary)))
+        .then(invocation -> new ByteArrayInputStream(
+            "different".getBytes(StandardCharsets.UTF_8)));
+    StackGresClusterInstalledExtension extension = getInstalledExtension();
+    ExtensionInstaller extensionInstaller =
+        extensionManager.getExtensionInstaller(context(cluster), extension);
+    extensionInstaller.downloadAndExtract();
+    extensionInstaller.verify();
+    Assertions.assertTrue(extensionInstaller.doesInstallOverwriteAnySharedFile());
+    verify(webClient, times(1)).getInputStream(any());
+    verify(fileSystemHandler, times(1)).newInputStream(any());
+    verify(fileSystemHandler, times(1)).newInputStream(eq(sharedLibrary));
+    verify(fileSystemHandler, times(0)).identical(any(), any());
+  }
+
   @Test
   void testVerifyExtension() throws Exception {
     StackGresCluster cluster = getCluster();
     StackGresClusterInstalledExtension extension = getInstalledExtension();
     when(webClientFactory.create(any())).thenReturn(webClient);
-    when(webClient.getJson(any(), any())).thenReturn(getExtensions());
+    when(webClient.getJsonIfModified(any(), any(), any(), any()))
+        .thenReturn(new ConditionalResponse<>(getExtensions(), null, null));
     final String extensionPackageName =
         ExtensionUtil.getExtensionPackageName(cluster, getInstalledExtension());
     when(fileSystemHandler
@@ -210,9 +257,10 @@ public class ExtensionManagerTest {
                     .then(invocation -> getClass().getResourceAsStream("/test.tgz"));
     extensionManager.getExtensionInstaller(context(cluster), extension).verify();;
     verify(webClientFactory, times(1)).create(any());
-    verify(webClient, times(1)).getJson(any(), any());
-    verify(webClient, times(1)).getJson(
-        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class));
+    verify(webClient, times(1)).getJsonIfModified(any(), any(), any(), any());
+    verify(webClient, times(1)).getJsonIfModified(
+        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class),
+        isNull(), isNull());
     verify(webClient, times(0)).getInputStream(
         eq(ExtensionUtil.getExtensionPackageUri(REPOSITORY, cluster, extension)));
     verify(fileSystemHandler, times(2)).newInputStream(any());
@@ -236,7 +284,8 @@ public class ExtensionManagerTest {
     StackGresCluster cluster = getCluster();
     StackGresClusterInstalledExtension extension = getInstalledExtension();
     when(webClientFactory.create(any())).thenReturn(webClient);
-    when(webClient.getJson(any(), any())).thenReturn(getExtensions());
+    when(webClient.getJsonIfModified(any(), any(), any(), any()))
+        .thenReturn(new ConditionalResponse<>(getExtensions(), null, null));
     final String extensionPackageName =
         ExtensionUtil.getExtensionPackageName(cluster, getInstalledExtension());
     when(fileSystemHandler
@@ -253,9 +302,10 @@ public class ExtensionManagerTest {
         extensionManager.getExtensionInstaller(context(cluster), extension);
     extensionInstaller.installExtension();
     verify(webClientFactory, times(1)).create(any());
-    verify(webClient, times(1)).getJson(any(), any());
-    verify(webClient, times(1)).getJson(
-        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class));
+    verify(webClient, times(1)).getJsonIfModified(any(), any(), any(), any());
+    verify(webClient, times(1)).getJsonIfModified(
+        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class),
+        isNull(), isNull());
     verify(webClient, times(0)).getInputStream(any());
     verify(fileSystemHandler, times(1)).newInputStream(any());
     verify(fileSystemHandler, times(1)).newInputStream(
@@ -459,7 +509,8 @@ public class ExtensionManagerTest {
   void testCheckExtensionWillNotOverwrite() throws Exception {
     StackGresCluster cluster = getCluster();
     when(webClientFactory.create(any())).thenReturn(webClient);
-    when(webClient.getJson(any(), any())).thenReturn(getExtensions());
+    when(webClient.getJsonIfModified(any(), any(), any(), any()))
+        .thenReturn(new ConditionalResponse<>(getExtensions(), null, null));
     final String extensionPackageName =
         ExtensionUtil.getExtensionPackageName(cluster, getInstalledExtension());
     when(fileSystemHandler
@@ -467,6 +518,10 @@ public class ExtensionManagerTest {
             eq(Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context(cluster)))
                 .resolve(extensionPackageName + ExtensionManager.TGZ_SUFFIX))))
                     .then(invocation -> getClass().getResourceAsStream("/test.tgz"));
+    when(fileSystemHandler
+        .exists(eq(Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context(cluster)))
+            .resolve(extensionPackageName + ExtensionManager.MANIFEST_SUFFIX))))
+                .thenReturn(false);
     when(fileSystemHandler
         .exists(eq(Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context(cluster)))
             .resolve("usr/lib/postgresql/12/lib").resolve("test.so"))))
@@ -475,9 +530,10 @@ public class ExtensionManagerTest {
     Assertions.assertFalse(extensionManager.getExtensionInstaller(context(cluster), extension)
         .doesInstallOverwriteAnySharedFile());
     verify(webClientFactory, times(1)).create(any());
-    verify(webClient, times(1)).getJson(any(), any());
-    verify(webClient, times(1)).getJson(
-        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class));
+    verify(webClient, times(1)).getJsonIfModified(any(), any(), any(), any());
+    verify(webClient, times(1)).getJsonIfModified(
+        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class),
+        isNull(), isNull());
     verify(webClient, times(0)).getInputStream(
         eq(ExtensionUtil.getExtensionPackageUri(REPOSITORY, cluster, extension)));
     verify(fileSystemHandler, times(1)).newInputStream(any());
@@ -497,7 +553,8 @@ public class ExtensionManagerTest {
   void testCheckExtensionWillNotOverwriteIdentical() throws Exception {
     StackGresCluster cluster = getCluster();
     when(webClientFactory.create(any())).thenReturn(webClient);
-    when(webClient.getJson(any(), any())).thenReturn(getExtensions());
+    when(webClient.getJsonIfModified(any(), any(), any(), any()))
+        .thenReturn(new ConditionalResponse<>(getExtensions(), null, null));
     final String extensionPackageName =
         ExtensionUtil.getExtensionPackageName(cluster, getInstalledExtension());
     when(fileSystemHandler
@@ -505,6 +562,10 @@ public class ExtensionManagerTest {
             eq(Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context(cluster)))
                 .resolve(extensionPackageName + ExtensionManager.TGZ_SUFFIX))))
                     .then(invocation -> getClass().getResourceAsStream("/test.tgz"));
+    when(fileSystemHandler
+        .exists(eq(Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context(cluster)))
+            .resolve(extensionPackageName + ExtensionManager.MANIFEST_SUFFIX))))
+                .thenReturn(false);
     when(fileSystemHandler
         .exists(eq(Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context(cluster)))
             .resolve("usr/lib/postgresql/12/lib").resolve("test.so"))))
@@ -517,9 +578,10 @@ public class ExtensionManagerTest {
     Assertions.assertFalse(extensionManager.getExtensionInstaller(context(cluster), extension)
         .doesInstallOverwriteAnySharedFile());
     verify(webClientFactory, times(1)).create(any());
-    verify(webClient, times(1)).getJson(any(), any());
-    verify(webClient, times(1)).getJson(
-        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class));
+    verify(webClient, times(1)).getJsonIfModified(any(), any(), any(), any());
+    verify(webClient, times(1)).getJsonIfModified(
+        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class),
+        isNull(), isNull());
     verify(webClient, times(0)).getInputStream(
         eq(ExtensionUtil.getExtensionPackageUri(REPOSITORY, cluster, extension)));
     verify(fileSystemHandler, times(1)).newInputStream(any());
@@ -542,7 +604,8 @@ public class ExtensionManagerTest {
   void testCheckExtensionWillOverwrite() throws Exception {
     StackGresCluster cluster = getCluster();
     when(webClientFactory.create(any())).thenReturn(webClient);
-    when(webClient.getJson(any(), any())).thenReturn(getExtensions());
+    when(webClient.getJsonIfModified(any(), any(), any(), any()))
+        .thenReturn(new ConditionalResponse<>(getExtensions(), null, null));
     final String extensionPackageName =
         ExtensionUtil.getExtensionPackageName(cluster, getInstalledExtension());
     when(fileSystemHandler
@@ -550,6 +613,10 @@ public class ExtensionManagerTest {
             eq(Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context(cluster)))
                 .resolve(extensionPackageName + ExtensionManager.TGZ_SUFFIX))))
                     .then(invocation -> getClass().getResourceAsStream("/test.tgz"));
+    when(fileSystemHandler
+        .exists(eq(Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context(cluster)))
+            .resolve(extensionPackageName + ExtensionManager.MANIFEST_SUFFIX))))
+                .thenReturn(false);
     when(fileSystemHandler
         .exists(eq(Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context(cluster)))
             .resolve("usr/lib/postgresql/12/lib").resolve("test.so"))))
@@ -562,9 +629,10 @@ public class ExtensionManagerTest {
     Assertions.assertTrue(extensionManager.getExtensionInstaller(context(cluster), extension)
         .doesInstallOverwriteAnySharedFile());
     verify(webClientFactory, times(1)).create(any());
-    verify(webClient, times(1)).getJson(any(), any());
-    verify(webClient, times(1)).getJson(
-        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class));
+    verify(webClient, times(1)).getJsonIfModified(any(), any(), any(), any());
+    verify(webClient, times(1)).getJsonIfModified(
+        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class),
+        isNull(), isNull());
     verify(webClient, times(0)).getInputStream(
         eq(ExtensionUtil.getExtensionPackageUri(REPOSITORY, cluster, extension)));
     verify(fileSystemHandler, times(0)).newInputStream(
@@ -588,16 +656,18 @@ public class ExtensionManagerTest {
   @Test
   void testIsExtensionNotPending() throws Exception {
     when(webClientFactory.create(any())).thenReturn(webClient);
-    when(webClient.getJson(any(), any())).thenReturn(getExtensions());
+    when(webClient.getJsonIfModified(any(), any(), any(), any()))
+        .thenReturn(new ConditionalResponse<>(getExtensions(), null, null));
     StackGresCluster cluster = getCluster();
     StackGresClusterInstalledExtension extension = getInstalledExtension();
     Assertions.assertFalse(
         extensionManager.getExtensionInstaller(context(cluster), extension)
             .isExtensionPendingOverwrite());
     verify(webClientFactory, times(1)).create(any());
-    verify(webClient, times(1)).getJson(any(), any());
-    verify(webClient, times(1)).getJson(
-        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class));
+    verify(webClient, times(1)).getJsonIfModified(any(), any(), any(), any());
+    verify(webClient, times(1)).getJsonIfModified(
+        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class),
+        isNull(), isNull());
     verify(webClient, times(0)).getInputStream(any());
     verify(fileSystemHandler, times(0)).newInputStream(any());
     verify(fileSystemHandler, times(0)).createOrReplaceFile(any());
@@ -614,7 +684,8 @@ public class ExtensionManagerTest {
   void testIsExtensionPending() throws Exception {
     StackGresCluster cluster = getCluster();
     when(webClientFactory.create(any())).thenReturn(webClient);
-    when(webClient.getJson(any(), any())).thenReturn(getExtensions());
+    when(webClient.getJsonIfModified(any(), any(), any(), any()))
+        .thenReturn(new ConditionalResponse<>(getExtensions(), null, null));
     final String extensionPackageName =
         ExtensionUtil.getExtensionPackageName(cluster, getInstalledExtension());
     when(fileSystemHandler
@@ -626,9 +697,10 @@ public class ExtensionManagerTest {
         extensionManager.getExtensionInstaller(context(cluster), extension)
             .isExtensionPendingOverwrite());
     verify(webClientFactory, times(1)).create(any());
-    verify(webClient, times(1)).getJson(any(), any());
-    verify(webClient, times(1)).getJson(
-        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class));
+    verify(webClient, times(1)).getJsonIfModified(any(), any(), any(), any());
+    verify(webClient, times(1)).getJsonIfModified(
+        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class),
+        isNull(), isNull());
     verify(webClient, times(0)).getInputStream(any());
     verify(fileSystemHandler, times(0)).newInputStream(any());
     verify(fileSystemHandler, times(0)).createOrReplaceFile(any());
@@ -646,16 +718,18 @@ public class ExtensionManagerTest {
     StackGresCluster cluster = getCluster();
     StackGresClusterInstalledExtension extension = getInstalledExtension();
     when(webClientFactory.create(any())).thenReturn(webClient);
-    when(webClient.getJson(any(), any())).thenReturn(getExtensions());
+    when(webClient.getJsonIfModified(any(), any(), any(), any()))
+        .thenReturn(new ConditionalResponse<>(getExtensions(), null, null));
     final String extensionPackageName =
         ExtensionUtil.getExtensionPackageName(cluster, getInstalledExtension());
     ExtensionInstaller extensionInstaller =
         extensionManager.getExtensionInstaller(context(cluster), extension);
     extensionInstaller.setExtensionAsPending();
     verify(webClientFactory, times(1)).create(any());
-    verify(webClient, times(1)).getJson(any(), any());
-    verify(webClient, times(1)).getJson(
-        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class));
+    verify(webClient, times(1)).getJsonIfModified(any(), any(), any(), any());
+    verify(webClient, times(1)).getJsonIfModified(
+        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class),
+        isNull(), isNull());
     verify(webClient, times(0)).getInputStream(any());
     verify(fileSystemHandler, times(0)).newInputStream(any());
     verify(fileSystemHandler, times(1)).createOrReplaceFile(any());
@@ -685,8 +759,9 @@ public class ExtensionManagerTest {
     extensionManager.getExtensionUninstaller(context(cluster), installedExtension)
         .uninstallExtension();
     verify(webClientFactory, times(0)).create(any());
-    verify(webClient, times(0)).getJson(
-        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class));
+    verify(webClient, times(0)).getJsonIfModified(
+        eq(ExtensionUtil.getIndexUri(REPOSITORY)), eq(StackGresExtensions.class),
+        isNull(), isNull());
     verify(webClient, times(0)).getInputStream(any());
     verify(fileSystemHandler, times(0)).newInputStream(
         eq(Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context(cluster)))
@@ -699,7 +774,10 @@ public class ExtensionManagerTest {
     verify(fileSystemHandler, times(0)).createOrReplaceSymbolicLink(any(), any());
     verify(fileSystemHandler, times(0)).copyOrReplace(any(InputStream.class), any());
     verify(fileSystemHandler, times(0)).setPosixFilePermissions(any(), any());
-    verify(fileSystemHandler, times(7)).deleteIfExists(any());
+    verify(fileSystemHandler, times(8)).deleteIfExists(any());
+    verify(fileSystemHandler, times(1)).deleteIfExists(
+        eq(Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context(cluster)))
+            .resolve(extensionPackageName + ExtensionManager.MANIFEST_SUFFIX)));
     verify(fileSystemHandler, times(1)).deleteIfExists(
         eq(Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context(cluster)))
             .resolve("usr/share/postgresql/12/extension").resolve("test.control")));
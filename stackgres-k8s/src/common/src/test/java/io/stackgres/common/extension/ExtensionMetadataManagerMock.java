@@ -21,7 +21,7 @@ public class ExtensionMetadataManagerMock extends ExtensionMetadataManager {
   }
 
   @Override
-  synchronized ExtensionMetadataCache getExtensionsMetadata() {
+  ExtensionMetadataCache getExtensionsMetadata() {
     return ExtensionMetadataCache.from(
         URI.create("https://extensions.strackgres.io/postgres/repository"),
         Fixtures.extensionMetadata().loadDefault()
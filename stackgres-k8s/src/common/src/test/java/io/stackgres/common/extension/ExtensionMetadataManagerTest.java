@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.extension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.stackgres.common.StackGresProperty;
+import io.stackgres.common.WebClientFactory;
+import io.stackgres.common.fixture.Fixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExtensionMetadataManagerTest {
+
+  private static final String ENTITY_TAG = "\"index-v1\"";
+
+  @TempDir
+  Path snapshotPath;
+
+  private HttpServer server;
+  private byte[] index;
+  private final List<Integer> responseStatuses = new CopyOnWriteArrayList<>();
+
+  @BeforeEach
+  void setUp() throws Exception {
+    index = JsonMapper.builder().build()
+        .writeValueAsBytes(Fixtures.extensionMetadata().loadDefault().get());
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/", this::handle);
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+    System.clearProperty(
+        StackGresProperty.EXTENSIONS_METADATA_SNAPSHOT_PATH.getPropertyName());
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      if (!exchange.getRequestURI().getPath().endsWith("/v2/index.json")) {
+        respond(exchange, 404, null);
+      } else if (ENTITY_TAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+        respond(exchange, 304, null);
+      } else {
+        exchange.getResponseHeaders().add("ETag", ENTITY_TAG);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        respond(exchange, 200, index);
+      }
+    }
+  }
+
+  private void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+    responseStatuses.add(status);
+    exchange.sendResponseHeaders(status, body == null ? -1 : body.length);
+    if (body != null) {
+      exchange.getResponseBody().write(body);
+    }
+  }
+
+  private URI getRepositoryUri(Duration cacheTimeout) {
+    return URI.create("http://" + server.getAddress().getHostString()
+        + ":" + server.getAddress().getPort() + "/postgres/repository?cacheTimeout="
+        + cacheTimeout);
+  }
+
+  private ExtensionMetadataManager createManager(URI repositoryUri) {
+    return new ExtensionMetadataManager(new WebClientFactory(), List.of(repositoryUri)) {};
+  }
+
+  private void awaitResponses(int count) throws InterruptedException {
+    Instant timeout = Instant.now().plusSeconds(10);
+    while (responseStatuses.size() < count && Instant.now().isBefore(timeout)) {
+      Thread.sleep(10);
+    }
+    assertEquals(count, responseStatuses.size(), () -> "Responses: " + responseStatuses);
+  }
+
+  @Test
+  void givenFreshSnapshot_shouldNotDownloadTheIndexAgain() throws Exception {
+    ExtensionMetadataManager manager = createManager(getRepositoryUri(Duration.ofHours(1)));
+
+    assertFalse(manager.getExtensions().isEmpty());
+    assertSame(manager.getExtensionsMetadata(), manager.getExtensionsMetadata());
+    assertEquals(List.of(200), responseStatuses);
+  }
+
+  @Test
+  void givenStaleSnapshot_shouldReturnItAndRevalidateInBackground() throws Exception {
+    ExtensionMetadataManager manager = createManager(getRepositoryUri(Duration.ZERO));
+
+    var metadata = manager.getExtensionsMetadata();
+    Thread.sleep(1);
+    assertSame(metadata, manager.getExtensionsMetadata());
+    awaitResponses(2);
+
+    assertEquals(List.of(200, 304), responseStatuses);
+    assertSame(metadata, manager.getExtensionsMetadata());
+  }
+
+  @Test
+  void givenDiskSnapshot_shouldStartWithoutWaitingForTheRepository() throws Exception {
+    System.setProperty(
+        StackGresProperty.EXTENSIONS_METADATA_SNAPSHOT_PATH.getPropertyName(),
+        snapshotPath.toString());
+    URI repositoryUri = getRepositoryUri(Duration.ofHours(1));
+    ExtensionMetadataManager manager = createManager(repositoryUri);
+    int extensions = manager.getExtensions().size();
+    assertTrue(Files.exists(
+        ExtensionMetadataManager.getRepositorySnapshotPath(snapshotPath, repositoryUri)));
+    server.stop(0);
+
+    ExtensionMetadataManager restartedManager = createManager(repositoryUri);
+
+    assertEquals(extensions, restartedManager.getExtensions().size());
+    assertEquals(List.of(200), responseStatuses);
+  }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.extension;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stackgres.common.extension.ExtensionPackageCache.CacheOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExtensionPackageCacheTest {
+
+  @TempDir
+  Path root;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  private void store(ExtensionPackageCache cache, String packageName, byte[] content)
+      throws IOException {
+    try (CacheOutputStream outputStream = cache.newOutputStream(packageName)) {
+      new ByteArrayInputStream(content).transferTo(outputStream);
+      outputStream.commit();
+    }
+  }
+
+  private List<Path> listEntries(String packageName) throws IOException {
+    try (Stream<Path> entries = Files.list(root.resolve(packageName))) {
+      return entries.toList();
+    }
+  }
+
+  private double count(String name) {
+    return meterRegistry.counter(name).count();
+  }
+
+  @Test
+  void givenStoredPackage_shouldReturnItFromTheCache() throws Exception {
+    ExtensionPackageCache cache = new ExtensionPackageCache(root, 1024, meterRegistry);
+    byte[] content = "test".getBytes(StandardCharsets.UTF_8);
+
+    assertTrue(cache.newInputStream("test-package").isEmpty());
+    store(cache, "test-package", content);
+
+    try (InputStream inputStream = cache.newInputStream("test-package").orElseThrow()) {
+      assertArrayEquals(content, inputStream.readAllBytes());
+    }
+    assertEquals(List.of(root.resolve("test-package").resolve(
+        "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08"
+        + ExtensionPackageCache.ENTRY_SUFFIX)),
+        listEntries("test-package"));
+    assertEquals(1, count("stackgres.extensions.cache.hits"));
+    assertEquals(1, count("stackgres.extensions.cache.misses"));
+  }
+
+  @Test
+  void givenPackageStoredAgainWithOtherContent_shouldReplaceTheEntry() throws Exception {
+    ExtensionPackageCache cache = new ExtensionPackageCache(root, 1024, meterRegistry);
+    store(cache, "test-package", "test".getBytes(StandardCharsets.UTF_8));
+    byte[] content = "other".getBytes(StandardCharsets.UTF_8);
+
+    store(cache, "test-package", content);
+
+    assertEquals(1, listEntries("test-package").size());
+    try (InputStream inputStream = cache.newInputStream("test-package").orElseThrow()) {
+      assertArrayEquals(content, inputStream.readAllBytes());
+    }
+  }
+
+  @Test
+  void givenUncommittedPackage_shouldNotStoreIt() throws Exception {
+    ExtensionPackageCache cache = new ExtensionPackageCache(root, 1024, meterRegistry);
+
+    try (CacheOutputStream outputStream = cache.newOutputStream("test-package")) {
+      outputStream.write("test".getBytes(StandardCharsets.UTF_8));
+    }
+
+    assertTrue(listEntries("test-package").isEmpty());
+    assertTrue(cache.newInputStream("test-package").isEmpty());
+  }
+
+  @Test
+  void givenCorruptedPackage_shouldEvictItBeforeReadingIt() throws Exception {
+    ExtensionPackageCache cache = new ExtensionPackageCache(root, 1024, meterRegistry);
+    store(cache, "test-package", "test".getBytes(StandardCharsets.UTF_8));
+    Files.write(listEntries("test-package").getFirst(),
+        "corrupted".getBytes(StandardCharsets.UTF_8));
+
+    assertTrue(cache.newInputStream("test-package").isEmpty());
+
+    assertTrue(listEntries("test-package").isEmpty());
+    assertEquals(1, count("stackgres.extensions.cache.corruptions"));
+    assertEquals(0, count("stackgres.extensions.cache.hits"));
+  }
+
+  @Test
+  void givenCacheFull_shouldEvictLeastRecentlyUsedPackages() throws Exception {
+    ExtensionPackageCache cache = new ExtensionPackageCache(root, 10, meterRegistry);
+    store(cache, "package-1", "01234".getBytes(StandardCharsets.UTF_8));
+    store(cache, "package-2", "56789".getBytes(StandardCharsets.UTF_8));
+    Files.setLastModifiedTime(listEntries("package-1").getFirst(),
+        FileTime.from(Instant.now().minusSeconds(60)));
+    Files.setLastModifiedTime(listEntries("package-2").getFirst(),
+        FileTime.from(Instant.now().minusSeconds(120)));
+    cache.newInputStream("package-2").orElseThrow().close();
+
+    store(cache, "package-3", "abcde".getBytes(StandardCharsets.UTF_8));
+
+    assertFalse(Files.exists(root.resolve("package-1")));
+    assertEquals(1, listEntries("package-2").size());
+    assertEquals(1, listEntries("package-3").size());
+    assertEquals(1, count("stackgres.extensions.cache.evictions"));
+  }
+
+}
@@ -234,6 +234,10 @@ public interface Fixtures {
     return new JsonSsaSanitizationFixture();
   }
 
+  static JsonPatroniFixture jsonPatroni() {
+    return new JsonPatroniFixture();
+  }
+
   static Upgrade upgrade() {
     return new Upgrade() {};
   }
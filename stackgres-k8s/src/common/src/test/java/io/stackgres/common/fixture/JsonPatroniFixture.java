@@ -0,0 +1,23 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.fixture;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.stackgres.testutil.fixture.Fixture;
+
+public class JsonPatroniFixture extends Fixture<JsonNode> {
+
+  public JsonPatroniFixture loadKubernetesDcs() {
+    fixture = readFromJsonAsJson(PATRONI_KUBERNETES_DCS_JSON);
+    return this;
+  }
+
+  public JsonPatroniFixture loadPatroniCtlList() {
+    fixture = readFromJsonAsJson(PATRONI_PATRONICTL_LIST_JSON);
+    return this;
+  }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.patroni;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.fabric8.kubernetes.api.model.Endpoints;
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.stackgres.common.fixture.Fixtures;
+import io.stackgres.testutil.JsonUtil;
+import org.junit.jupiter.api.Test;
+
+class PatroniKubernetesDcsTest {
+
+  private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+  private final PatroniKubernetesDcs dcs = new PatroniKubernetesDcs(JSON_MAPPER);
+
+  private Pod pod(String name, String status) {
+    return new PodBuilder()
+        .withNewMetadata()
+        .withName(name)
+        .withAnnotations(status == null ? Map.of() : Map.of("status", status))
+        .endMetadata()
+        .build();
+  }
+
+  @Test
+  void members_shouldMatchPatroniCtlList() {
+    List<PatroniMember> members = JSON_MAPPER.convertValue(
+        dcs.members("test",
+            Map.of("leader", "test-0"),
+            Map.of("config", "{\"ttl\":30}", "status", "{\"optime\":50331648}"),
+            Map.of("sync_standby", "test-1"),
+            List.of(
+                pod("test-2", "{\"conn_url\":\"postgres://10.0.0.3:5433/postgres\","
+                    + "\"state\":\"streaming\",\"timeline\":2,\"xlog_location\":16777216,"
+                    + "\"pending_restart\":true,\"tags\":{\"nofailover\":true}}"),
+                pod("test-0", "{\"conn_url\":\"postgres://10.0.0.1:5432/postgres\","
+                    + "\"state\":\"running\",\"timeline\":2}"),
+                pod("test-1", "{\"conn_url\":\"postgres://10.0.0.2:5432/postgres\","
+                    + "\"state\":\"starting\"}"),
+                pod("test-3", null))),
+        new TypeReference<List<PatroniMember>>() { });
+
+    assertEquals(List.of("test-0", "test-1", "test-2"),
+        members.stream().map(PatroniMember::getMember).toList());
+    assertTrue(members.get(0).isPrimary());
+    assertEquals(PatroniMember.LEADER, members.get(0).getRole());
+    assertEquals("10.0.0.1", members.get(0).getHost());
+    assertEquals("2", members.get(0).getTimeline());
+    assertNull(members.get(0).getLagInMb());
+    assertEquals(PatroniMember.SYNC_STANDBY, members.get(1).getRole());
+    assertNull(members.get(1).getTimeline());
+    assertEquals(new IntOrString("unknown"), members.get(1).getLagInMb());
+    assertNull(members.get(1).getPendingRestart());
+    assertEquals(PatroniMember.REPLICA, members.get(2).getRole());
+    assertEquals("10.0.0.3:5433", members.get(2).getHost());
+    assertTrue(members.get(2).isRunning());
+    assertEquals(new IntOrString(32), members.get(2).getLagInMb());
+    assertEquals("*", members.get(2).getPendingRestart());
+    assertNotNull(members.get(2).getTags());
+  }
+
+  @Test
+  void givenReplicationStates_members_shouldMatchPatroniCtlListOutput() {
+    PatroniKubernetesDcs dcs = new PatroniKubernetesDcs(JSON_MAPPER,
+        Clock.fixed(Instant.parse("2024-01-01T00:01:00Z"), ZoneOffset.UTC));
+    JsonNode kubernetesDcs = Fixtures.jsonPatroni().loadKubernetesDcs().get();
+
+    ArrayNode members = dcs.members("test",
+        PatroniKubernetesDcs.annotations(
+            JSON_MAPPER.convertValue(kubernetesDcs.get("leader"), Endpoints.class)),
+        PatroniKubernetesDcs.annotations(
+            JSON_MAPPER.convertValue(kubernetesDcs.get("config"), Endpoints.class)),
+        PatroniKubernetesDcs.annotations(
+            JSON_MAPPER.convertValue(kubernetesDcs.get("sync"), Endpoints.class)),
+        JSON_MAPPER.convertValue(kubernetesDcs.get("pods"), new TypeReference<List<Pod>>() { }));
+
+    JsonUtil.assertJsonEquals(Fixtures.jsonPatroni().loadPatroniCtlList().get(), members);
+  }
+
+  @Test
+  void givenStandbyCluster_members_shouldReturnStandbyLeader() {
+    List<PatroniMember> members = JSON_MAPPER.convertValue(
+        dcs.members("test",
+            Map.of("leader", "test-0", "optime", "0"),
+            Map.of("config", "{\"standby_cluster\":{\"host\":\"primary\"}}"),
+            Map.of(),
+            List.of(pod("test-0", "{\"state\":\"running\"}"))),
+        new TypeReference<List<PatroniMember>>() { });
+
+    assertEquals(PatroniMember.STANDBY_LEADER, members.getFirst().getRole());
+    assertTrue(members.getFirst().isPrimary());
+  }
+
+  @Test
+  void givenExpiredLeaderKey_members_shouldNotReturnALeader() {
+    PatroniKubernetesDcs dcs = new PatroniKubernetesDcs(JSON_MAPPER,
+        Clock.fixed(Instant.parse("2024-01-01T00:01:00Z"), ZoneOffset.UTC));
+    List<PatroniMember> members = JSON_MAPPER.convertValue(
+        dcs.members("test",
+            Map.of("leader", "test-0", "renewTime", "2024-01-01T00:00:15.123456+00:00",
+                "ttl", "30"),
+            Map.of(),
+            Map.of(),
+            List.of(pod("test-0", "{\"state\":\"running\"}"))),
+        new TypeReference<List<PatroniMember>>() { });
+
+    assertEquals(PatroniMember.REPLICA, members.getFirst().getRole());
+    assertFalse(members.getFirst().isPrimary());
+  }
+
+  @Test
+  void givenRenewedLeaderKey_members_shouldReturnTheLeaderUsingTheConfigTtl() {
+    PatroniKubernetesDcs dcs = new PatroniKubernetesDcs(JSON_MAPPER,
+        Clock.fixed(Instant.parse("2024-01-01T00:01:00Z"), ZoneOffset.UTC));
+    List<PatroniMember> members = JSON_MAPPER.convertValue(
+        dcs.members("test",
+            Map.of("leader", "test-0", "renewTime", "2024-01-01T00:00:15.123456+00:00"),
+            Map.of("config", "{\"ttl\":60}"),
+            Map.of(),
+            List.of(pod("test-0", "{\"state\":\"running\"}"))),
+        new TypeReference<List<PatroniMember>>() { });
+
+    assertEquals(PatroniMember.LEADER, members.getFirst().getRole());
+    assertTrue(members.getFirst().isPrimary());
+  }
+
+  @Test
+  void history_shouldMatchPatroniCtlHistory() {
+    List<PatroniHistoryEntry> history = JSON_MAPPER.convertValue(
+        dcs.history(Map.of("history",
+            "[[1,25165984,\"no recovery target specified\",\"2024-01-01T00:00:00+00:00\","
+            + "\"test-1\"],[2,50331808,\"no recovery target specified\"]]")),
+        new TypeReference<List<PatroniHistoryEntry>>() { });
+
+    assertEquals(2, history.size());
+    assertEquals("1", history.get(0).getTimeline());
+    assertEquals("test-1", history.get(0).getNewLeader());
+    assertEquals("2", history.get(1).getTimeline());
+    assertNull(history.get(1).getNewLeader());
+  }
+
+  @Test
+  void config_shouldReturnDcsConfig() {
+    PatroniConfig config = JSON_MAPPER.convertValue(
+        dcs.config(Map.of("config", "{\"ttl\":30,\"loop_wait\":10}")), PatroniConfig.class);
+
+    assertEquals(30, config.getTtl());
+    assertEquals(10, config.getLoopWait());
+    assertFalse(dcs.config(Map.of()).has("ttl"));
+  }
+
+}
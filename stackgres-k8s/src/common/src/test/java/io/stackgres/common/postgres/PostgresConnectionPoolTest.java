@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class PostgresConnectionPoolTest {
+
+  private final List<Connection> connections = new CopyOnWriteArrayList<>();
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private Connection createConnection() throws SQLException {
+    Connection connection = mock(Connection.class,
+        withSettings().extraInterfaces(VendorConnection.class));
+    Statement statement = mock(Statement.class);
+    lenient().when(connection.createStatement()).thenReturn(statement);
+    lenient().when(connection.getAutoCommit()).thenReturn(true);
+    connections.add(connection);
+    return connection;
+  }
+
+  private PostgresConnectionPool createPool(int maxSize, Duration idleTimeout) {
+    return new PostgresConnectionPool("test", Tags.of("pool", "test"), this::createConnection,
+        maxSize, idleTimeout, Duration.ofMinutes(30), Duration.ofMillis(100), registry);
+  }
+
+  @Test
+  void givenAReturnedConnection_shouldReuseItAfterResettingTheSession() throws Exception {
+    try (PostgresConnectionPool pool = createPool(2, Duration.ofMinutes(1))) {
+      Connection connection = pool.getConnection();
+      assertEquals(1, registry.get("stackgres.postgres.pool.active").gauge().value());
+      connection.close();
+      assertTrue(connection.isClosed());
+      assertEquals(0, registry.get("stackgres.postgres.pool.active").gauge().value());
+      assertEquals(1, registry.get("stackgres.postgres.pool.idle").gauge().value());
+      pool.getConnection().close();
+      assertEquals(1, connections.size());
+      verify(connections.get(0).createStatement(), times(2))
+          .execute(PostgresConnectionPool.RESET_SESSION_SQL);
+      verify(connections.get(0), never()).close();
+      assertEquals(2, registry.get("stackgres.postgres.pool.wait").timer().count());
+    }
+    verify(connections.get(0)).close();
+  }
+
+  @Test
+  void givenAConnectionLeftInTransaction_shouldRollbackItWhenReturned() throws Exception {
+    try (PostgresConnectionPool pool = createPool(1, Duration.ofMinutes(1))) {
+      Connection connection = pool.getConnection();
+      when(connections.get(0).getAutoCommit()).thenReturn(false);
+      connection.close();
+      verify(connections.get(0)).rollback();
+      verify(connections.get(0)).setAutoCommit(true);
+    }
+  }
+
+  @Test
+  void givenAnExhaustedPool_shouldTimeoutWaitingForAConnection() throws Exception {
+    try (PostgresConnectionPool pool = createPool(1, Duration.ofMinutes(1))) {
+      Connection connection = pool.getConnection();
+      assertThrows(SQLTimeoutException.class, pool::getConnection);
+      connection.close();
+      pool.getConnection().close();
+      assertEquals(1, connections.size());
+    }
+  }
+
+  @Test
+  void givenAConnectionThatFailedToReset_shouldCloseIt() throws Exception {
+    try (PostgresConnectionPool pool = createPool(1, Duration.ofMinutes(1))) {
+      Connection connection = pool.getConnection();
+      when(connections.get(0).createStatement().execute(anyString()))
+          .thenThrow(new SQLException("connection lost", "08006"));
+      connection.close();
+      verify(connections.get(0)).close();
+      assertEquals(0, registry.get("stackgres.postgres.pool.idle").gauge().value());
+      pool.getConnection().close();
+      assertEquals(2, connections.size());
+    }
+  }
+
+  @Test
+  void givenAnIdleConnectionThatExpired_shouldEvictIt() throws Exception {
+    try (PostgresConnectionPool pool = createPool(1, Duration.ofMillis(50))) {
+      pool.getConnection().close();
+      Thread.sleep(100);
+      pool.evictIdle();
+      verify(connections.get(0)).close();
+      assertEquals(0, pool.getIdle());
+      pool.getConnection().close();
+      assertEquals(2, connections.size());
+    }
+  }
+
+  @Test
+  void givenAnUnwrappedConnection_shouldNotHandOutThePhysicalConnection() throws Exception {
+    try (PostgresConnectionPool pool = createPool(1, Duration.ofMinutes(1))) {
+      Connection connection = pool.getConnection();
+      when(connections.get(0).unwrap(VendorConnection.class))
+          .thenReturn((VendorConnection) connections.get(0));
+      when(((VendorConnection) connections.get(0)).getBackendPid()).thenReturn(42);
+      assertTrue(connection.isWrapperFor(Connection.class));
+      assertSame(connection, connection.unwrap(Connection.class));
+      VendorConnection vendorConnection = connection.unwrap(VendorConnection.class);
+      assertNotSame(connections.get(0), vendorConnection);
+      assertEquals(42, vendorConnection.getBackendPid());
+      connection.close();
+      assertThrows(SQLException.class, vendorConnection::getBackendPid);
+      verify(connections.get(0), never()).close();
+    }
+  }
+
+  @Test
+  void givenPoolingEnabled_shouldCreateNewPoolWhenPasswordChanges() throws Exception {
+    Driver driver = new TestDriver();
+    DriverManager.registerDriver(driver);
+    PostgresConnectionManager manager = new PostgresConnectionManager(
+        true, 2, Duration.ofMinutes(1), Duration.ofMinutes(30), registry);
+    try {
+      Connection first = manager.getConnection("test", 5432, "postgres", "postgres", "secret");
+      first.close();
+      Connection second = manager.getConnection("test", 5432, "postgres", "postgres", "secret");
+      second.close();
+      assertEquals(1, connections.size());
+      assertNotSame(first, second);
+      manager.getConnection("test", 5432, "postgres", "postgres", "rotated").close();
+      assertEquals(2, connections.size());
+      verify(connections.get(0)).close();
+      assertEquals(1, registry.get("stackgres.postgres.pool.idle")
+          .tag("user", "postgres").gauge().value());
+    } finally {
+      manager.close();
+      DriverManager.deregisterDriver(driver);
+    }
+  }
+
+  public interface VendorConnection {
+    int getBackendPid() throws SQLException;
+  }
+
+  private class TestDriver implements Driver {
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+      if (!acceptsURL(url)) {
+        return null;
+      }
+      return createConnection();
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+      return url.startsWith("jdbc:postgresql://test:");
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+      return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+      return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+      return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+      return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+      throw new SQLFeatureNotSupportedException();
+    }
+  }
+
+}
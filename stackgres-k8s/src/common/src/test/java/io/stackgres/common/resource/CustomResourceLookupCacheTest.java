@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.stackgres.common.crd.sgcluster.StackGresCluster;
+import io.stackgres.common.crd.sgprofile.StackGresProfile;
+import org.junit.jupiter.api.Test;
+
+class CustomResourceLookupCacheTest {
+
+  private final AtomicInteger lookups = new AtomicInteger(0);
+
+  private Optional<String> lookup(Class<?> type, String name) {
+    return CustomResourceLookupCache.lookup(type, name, "test",
+        () -> Optional.of(name + "-" + lookups.incrementAndGet()));
+  }
+
+  @Test
+  void givenNoOpenCache_shouldNotMemoizeLookups() {
+    assertEquals(Optional.of("test-1"), lookup(StackGresCluster.class, "test"));
+    assertEquals(Optional.of("test-2"), lookup(StackGresCluster.class, "test"));
+  }
+
+  @Test
+  void givenOpenCache_shouldMemoizeLookupsUntilClosed() {
+    CustomResourceLookupCache cache = CustomResourceLookupCache.open();
+    try {
+      assertEquals(Optional.of("test-1"), lookup(StackGresCluster.class, "test"));
+      assertEquals(Optional.of("test-1"), lookup(StackGresCluster.class, "test"));
+      assertEquals(Optional.of("test-2"), lookup(StackGresProfile.class, "test"));
+      assertEquals(Optional.of("other-3"), lookup(StackGresCluster.class, "other"));
+    } finally {
+      cache.close();
+    }
+    assertEquals(Optional.of("test-4"), lookup(StackGresCluster.class, "test"));
+  }
+
+  @Test
+  void givenOpenCache_shouldShareItWithWrappedTasks() throws Exception {
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+    try (CustomResourceLookupCache cache = CustomResourceLookupCache.open()) {
+      assertEquals(Optional.of("test-1"), lookup(StackGresCluster.class, "test"));
+      assertEquals(Optional.of("test-1"), executorService.submit(
+          cache.wrap(() -> lookup(StackGresCluster.class, "test"))).get());
+      assertEquals(Optional.of("test-2"), executorService.submit(
+          () -> lookup(StackGresCluster.class, "test")).get());
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+}
@@ -5,6 +5,9 @@
 
 package io.stackgres.distributedlogs.controller;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -14,13 +17,16 @@ import com.google.common.collect.ImmutableList;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodStatus;
+import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.stackgres.common.DistributedLogsControllerProperty;
 import io.stackgres.common.FluentdUtil;
 import io.stackgres.common.StackGresContainer;
 import io.stackgres.common.crd.sgdistributedlogs.StackGresDistributedLogs;
+import io.stackgres.common.crd.sgdistributedlogs.StackGresDistributedLogsHypertables;
 import io.stackgres.common.crd.sgdistributedlogs.StackGresDistributedLogsStatusCluster;
 import io.stackgres.common.crd.sgdistributedlogs.StackGresDistributedLogsStatusDatabase;
+import io.stackgres.common.crd.sgdistributedlogs.StackGresDistributedLogsStatusHypertable;
 import io.stackgres.common.distributedlogs.Tables;
 import io.stackgres.distributedlogs.common.DistributedLogsControllerEventReason;
 import io.stackgres.distributedlogs.common.StackGresDistributedLogsContext;
@@ -41,6 +47,9 @@ public class DistributedLogsClusterReconciliator {
   private static final Logger LOGGER = LoggerFactory.getLogger(
       DistributedLogsClusterReconciliator.class);
 
+  private static final long DEFAULT_TARGET_CHUNK_SIZE = 256L * 1024 * 1024;
+  private static final long DEFAULT_RETENTION_HOURS = 7 * 24;
+
   private final DistributedLogsControllerPropertyContext propertyContext;
   private final DistributedLogsDatabaseManager databaseManager;
   private final DistributedLogsConfigManager configManager;
@@ -99,23 +108,14 @@ public class DistributedLogsClusterReconciliator {
         continue;
       }
       String retention = cluster.getConfig().getRetention();
-      if (!Optional.of(distributedLogs.getStatus().getDatabases())
-          .flatMap(databases -> databases.stream()
-              .filter(databaseStatus -> databaseStatus.getName().equals(database))
-              .findAny())
-          .map(StackGresDistributedLogsStatusDatabase::getRetention)
-          .map(currentRetention -> Objects.equals(retention, currentRetention))
-          .orElse(false)) {
-        for (String table : Seq.of(Tables.values()).map(Tables::getTableName)) {
-          LOGGER.info("Updating retention window for database {} and table to {}", database,
-              retention);
-          try {
-            databaseManager.updateRetention(context, database, retention, table);
-          } catch (Exception ex) {
-            exceptions.add(ex);
-            handleException(client, distributedLogs, cluster, ex);
-            continue;
-          }
+      List<StackGresDistributedLogsStatusHypertable> hypertables = new ArrayList<>();
+      for (String table : Seq.of(Tables.values()).map(Tables::getTableName)) {
+        try {
+          hypertables.add(reconcileHypertable(context, database, retention, table));
+        } catch (Exception ex) {
+          exceptions.add(ex);
+          handleException(client, distributedLogs, cluster, ex);
+          continue;
         }
       }
       if (retention != null) {
@@ -123,9 +123,9 @@ public class DistributedLogsClusterReconciliator {
           try {
             databaseManager.reconcileRetention(context, database, retention, table)
                 .stream()
-                .forEach(output -> LOGGER.info(
-                    "Reconcile retention for database {} and table {}: {}",
-                    database, table, output));
+                .forEach(chunk -> LOGGER.info(
+                    "Dropped chunk {} outside of retention window for database {} and table {}",
+                    chunk, database, table));
           } catch (Exception ex) {
             exceptions.add(ex);
             handleException(client, distributedLogs, cluster, ex);
@@ -133,7 +133,8 @@ public class DistributedLogsClusterReconciliator {
           }
         }
       }
-      statusUpdated = statusUpdated || updateStatus(distributedLogs, database, retention);
+      statusUpdated = updateStatus(distributedLogs, database, retention, hypertables)
+          || statusUpdated;
     }
 
     String fluentdConfigHash = configManager.getFluentdConfigHash();
@@ -142,6 +143,127 @@ public class DistributedLogsClusterReconciliator {
     return new ReconciliationResult<>(statusUpdated, exceptions.build());
   }
 
+  private StackGresDistributedLogsStatusHypertable reconcileHypertable(
+      StackGresDistributedLogsContext context, String database, String retention, String table)
+      throws Exception {
+    final Optional<StackGresDistributedLogsHypertables> hypertablesSpec =
+        Optional.ofNullable(context.getDistributedLogs().getSpec().getHypertables());
+    final long targetChunkSize = hypertablesSpec
+        .map(StackGresDistributedLogsHypertables::getTargetChunkSize)
+        .map(Quantity::new)
+        .map(Quantity::getAmountInBytes)
+        .map(BigDecimal::longValue)
+        .orElse(DEFAULT_TARGET_CHUNK_SIZE);
+    final Optional<Long> ingestBytesPerHour =
+        databaseManager.getIngestBytesPerHour(context, database, table);
+    final int chunkTimeIntervalHours = getChunkTimeIntervalHours(
+        targetChunkSize, ingestBytesPerHour, retention);
+    final Optional<Long> currentChunkTimeInterval =
+        databaseManager.getChunkTimeInterval(context, database, table);
+    if (currentChunkTimeInterval
+        .map(current -> isChunkTimeIntervalOutOfTolerance(current, chunkTimeIntervalHours))
+        .orElse(true)) {
+      LOGGER.info("Updating chunk time interval for database {} and table {} to {} hours",
+          database, table, chunkTimeIntervalHours);
+      databaseManager.setChunkTimeInterval(context, database, table, chunkTimeIntervalHours);
+    }
+    final Optional<String> compressAfter = hypertablesSpec
+        .map(StackGresDistributedLogsHypertables::getCompressAfter);
+    boolean compressionEnabled = databaseManager.isCompressionEnabled(context, database, table);
+    if (compressAfter.isPresent()) {
+      if (!compressionEnabled) {
+        LOGGER.info("Enabling compression for database {} and table {}", database, table);
+        databaseManager.enableCompression(context, database, table);
+        compressionEnabled = true;
+      }
+      databaseManager.compressChunks(context, database, compressAfter.get(), table)
+          .stream()
+          .forEach(chunk -> LOGGER.info("Compressed chunk {} for database {} and table {}",
+              chunk, database, table));
+    }
+    StackGresDistributedLogsStatusHypertable hypertable =
+        new StackGresDistributedLogsStatusHypertable();
+    hypertable.setName(table);
+    hypertable.setIngestBytesPerHour(ingestBytesPerHour.orElse(null));
+    hypertable.setChunkTimeInterval(currentChunkTimeInterval
+        .filter(current -> !isChunkTimeIntervalOutOfTolerance(current, chunkTimeIntervalHours))
+        .map(current -> current / 3600)
+        .orElse((long) chunkTimeIntervalHours)
+        + " hours");
+    hypertable.setCompressionEnabled(compressionEnabled);
+    return hypertable;
+  }
+
+  /**
+   * Return the chunk time interval in hours that would produce chunks of the target size at the
+   * measured ingest rate, clamped between 1 hour and the retention window. When no ingest rate is
+   * available the retention window is returned.
+   */
+  static int getChunkTimeIntervalHours(long targetChunkSize, Optional<Long> ingestBytesPerHour,
+      String retention) {
+    final long retentionHours = Optional.ofNullable(retention)
+        .map(DistributedLogsClusterReconciliator::getRetentionHours)
+        .orElse(DEFAULT_RETENTION_HOURS);
+    final long hours = ingestBytesPerHour
+        .filter(bytesPerHour -> bytesPerHour > 0)
+        .map(bytesPerHour -> targetChunkSize / bytesPerHour)
+        .orElse(retentionHours);
+    return (int) Math.max(1, Math.min(hours, retentionHours));
+  }
+
+  private static long getRetentionHours(String retention) {
+    final long amount = Long.parseLong(retention.substring(0, retention.indexOf(" ")));
+    final String unit = retention.substring(retention.indexOf(" ") + 1);
+    if (unit.startsWith("minute")) {
+      return (amount + 59) / 60;
+    }
+    if (unit.startsWith("hour")) {
+      return amount;
+    }
+    if (unit.startsWith("day")) {
+      return amount * 24;
+    }
+    return amount * 30 * 24;
+  }
+
+  /**
+   * The ingest rate is an estimate that changes on each reconciliation, the chunk time interval is
+   * updated only when it diverges enough from the current one to avoid continuous updates.
+   */
+  private static boolean isChunkTimeIntervalOutOfTolerance(long currentSeconds,
+      int targetHours) {
+    return isOutOfTolerance(currentSeconds, targetHours * 3600L);
+  }
+
+  private static boolean isOutOfTolerance(long current, long target) {
+    return current * 4 < target * 3
+        || current * 3 > target * 4;
+  }
+
+  /**
+   * For the same reason the reported ingest rate is replaced with the measured one only when it
+   * diverges enough, so that the status is not updated on each reconciliation.
+   */
+  private static void keepReportedIngestRates(
+      List<StackGresDistributedLogsStatusHypertable> hypertables,
+      List<StackGresDistributedLogsStatusHypertable> reportedHypertables) {
+    if (reportedHypertables == null) {
+      return;
+    }
+    for (StackGresDistributedLogsStatusHypertable hypertable : hypertables) {
+      reportedHypertables.stream()
+          .filter(reportedHypertable -> Objects.equals(
+              reportedHypertable.getName(), hypertable.getName()))
+          .map(StackGresDistributedLogsStatusHypertable::getIngestBytesPerHour)
+          .filter(Objects::nonNull)
+          .filter(reportedIngestBytesPerHour -> hypertable.getIngestBytesPerHour() != null
+              && !isOutOfTolerance(hypertable.getIngestBytesPerHour(),
+                  reportedIngestBytesPerHour))
+          .findFirst()
+          .ifPresent(hypertable::setIngestBytesPerHour);
+    }
+  }
+
   private boolean isPatroniReady(StackGresDistributedLogsContext context) {
     return context.getExistingResources().stream()
     .map(Tuple2::v1)
@@ -161,7 +283,7 @@ public class DistributedLogsClusterReconciliator {
   }
 
   private boolean updateStatus(StackGresDistributedLogs distributedLogs, String database,
-      String retention) {
+      String retention, List<StackGresDistributedLogsStatusHypertable> hypertables) {
     Optional<StackGresDistributedLogsStatusDatabase> foundDistributedLogsDatabase =
         distributedLogs.getStatus().getDatabases()
         .stream()
@@ -177,6 +299,13 @@ public class DistributedLogsClusterReconciliator {
         || !Objects.equals(retention, distributedLogsDatabase.getRetention())) {
       distributedLogsDatabase.setName(database);
       distributedLogsDatabase.setRetention(retention);
+      distributedLogsDatabase.setHypertables(hypertables);
+      return true;
+    }
+
+    keepReportedIngestRates(hypertables, distributedLogsDatabase.getHypertables());
+    if (!Objects.equals(hypertables, distributedLogsDatabase.getHypertables())) {
+      distributedLogsDatabase.setHypertables(hypertables);
       return true;
     }
 
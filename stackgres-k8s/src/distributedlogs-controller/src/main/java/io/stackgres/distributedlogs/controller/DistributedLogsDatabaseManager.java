@@ -38,8 +38,15 @@ public class DistributedLogsDatabaseManager {
   private final PostgresConnectionManager postgresConnectionManager;
   private final JdbcStatementTemplate existsDatabaseTemplate;
   private final JdbcStatementTemplate createDatabaseTemplate;
-  private final JdbcStatementTemplate updateRetentionTemplate;
-  private final JdbcStatementTemplate reconcileRetentionTemplate;
+  private final JdbcStatementTemplate ingestRateTemplate;
+  private final JdbcStatementTemplate chunkTimeIntervalTemplate;
+  private final JdbcStatementTemplate setChunkTimeIntervalTemplate;
+  private final JdbcStatementTemplate compressionEnabledTemplate;
+  private final JdbcStatementTemplate enableCompressionTemplate;
+  private final JdbcStatementTemplate listUncompressedChunksTemplate;
+  private final JdbcStatementTemplate compressChunkTemplate;
+  private final JdbcStatementTemplate listExpiredChunksTemplate;
+  private final JdbcStatementTemplate dropChunkTemplate;
 
   @Dependent
   public static class Parameters {
@@ -55,10 +62,24 @@ public class DistributedLogsDatabaseManager {
         DistributedLogsDatabaseManager.class.getResource("/exists-database.sql"));
     createDatabaseTemplate = JdbcStatementTemplate.fromResource(
         DistributedLogsDatabaseManager.class.getResource("/create-database.sql"));
-    updateRetentionTemplate = JdbcStatementTemplate.fromResource(
-        DistributedLogsDatabaseManager.class.getResource("/update-retention.sql"));
-    reconcileRetentionTemplate = JdbcStatementTemplate.fromResource(
-        DistributedLogsDatabaseManager.class.getResource("/reconcile-retention.sql"));
+    ingestRateTemplate = JdbcStatementTemplate.fromResource(
+        DistributedLogsDatabaseManager.class.getResource("/ingest-rate.sql"));
+    chunkTimeIntervalTemplate = JdbcStatementTemplate.fromResource(
+        DistributedLogsDatabaseManager.class.getResource("/chunk-time-interval.sql"));
+    setChunkTimeIntervalTemplate = JdbcStatementTemplate.fromResource(
+        DistributedLogsDatabaseManager.class.getResource("/set-chunk-time-interval.sql"));
+    compressionEnabledTemplate = JdbcStatementTemplate.fromResource(
+        DistributedLogsDatabaseManager.class.getResource("/compression-enabled.sql"));
+    enableCompressionTemplate = JdbcStatementTemplate.fromResource(
+        DistributedLogsDatabaseManager.class.getResource("/enable-compression.sql"));
+    listUncompressedChunksTemplate = JdbcStatementTemplate.fromResource(
+        DistributedLogsDatabaseManager.class.getResource("/list-uncompressed-chunks.sql"));
+    compressChunkTemplate = JdbcStatementTemplate.fromResource(
+        DistributedLogsDatabaseManager.class.getResource("/compress-chunk.sql"));
+    listExpiredChunksTemplate = JdbcStatementTemplate.fromResource(
+        DistributedLogsDatabaseManager.class.getResource("/list-expired-chunks.sql"));
+    dropChunkTemplate = JdbcStatementTemplate.fromResource(
+        DistributedLogsDatabaseManager.class.getResource("/drop-chunk.sql"));
   }
 
   @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE",
@@ -91,40 +112,166 @@ public class DistributedLogsDatabaseManager {
     }
   }
 
+  /**
+   * Estimate the ingest rate of the table in bytes per hour from the size of the uncompressed
+   * chunks that received data during the last day.
+   */
   @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE",
       justification = "False positive")
-  public void updateRetention(StackGresDistributedLogsContext context, String database,
-      String retention, String table) throws SQLException {
+  public Optional<Long> getIngestBytesPerHour(StackGresDistributedLogsContext context,
+      String database, String table) throws SQLException {
+    try (Connection connection = getConnection(context, database)) {
+      try (PreparedStatement ingestRate = ingestRateTemplate
+          .prepareStatement(connection, ImmutableMap.of("TABLE", table));
+          ResultSet resultSet = ingestRate.executeQuery()) {
+        if (resultSet.next()) {
+          long bytesPerHour = resultSet.getLong(1);
+          if (!resultSet.wasNull()) {
+            return Optional.of(bytesPerHour);
+          }
+        }
+        return Optional.empty();
+      }
+    }
+  }
+
+  /**
+   * Return the chunk time interval of the table in seconds.
+   */
+  @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE",
+      justification = "False positive")
+  public Optional<Long> getChunkTimeInterval(StackGresDistributedLogsContext context,
+      String database, String table) throws SQLException {
+    try (Connection connection = getConnection(context, database)) {
+      try (PreparedStatement chunkTimeInterval = chunkTimeIntervalTemplate
+          .prepareStatement(connection)) {
+        chunkTimeIntervalTemplate.set(chunkTimeInterval, "TABLE", table);
+        try (ResultSet resultSet = chunkTimeInterval.executeQuery()) {
+          if (resultSet.next()) {
+            return Optional.of(resultSet.getLong(1));
+          }
+          return Optional.empty();
+        }
+      }
+    }
+  }
+
+  @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE",
+      justification = "False positive")
+  public void setChunkTimeInterval(StackGresDistributedLogsContext context, String database,
+      String table, int hours) throws SQLException {
     try (Connection connection = getConnection(context, database)) {
-      String effectiveRetention = Optional.ofNullable(retention).orElse("7 days");
-      try (PreparedStatement updateRetention = updateRetentionTemplate
+      try (PreparedStatement setChunkTimeInterval = setChunkTimeIntervalTemplate
           .prepareStatement(connection)) {
-        updateRetentionTemplate.set(updateRetention, "TABLE", table);
-        updateRetentionTemplate.set(updateRetention, "RETENTION", effectiveRetention);
-        updateRetention.execute();
+        setChunkTimeIntervalTemplate.set(setChunkTimeInterval, "TABLE", table);
+        setChunkTimeIntervalTemplate.set(setChunkTimeInterval, "HOURS", hours);
+        setChunkTimeInterval.execute();
       }
     }
   }
 
+  @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE",
+      justification = "False positive")
+  public boolean isCompressionEnabled(StackGresDistributedLogsContext context, String database,
+      String table) throws SQLException {
+    try (Connection connection = getConnection(context, database)) {
+      try (PreparedStatement compressionEnabled = compressionEnabledTemplate
+          .prepareStatement(connection)) {
+        compressionEnabledTemplate.set(compressionEnabled, "TABLE", table);
+        try (ResultSet resultSet = compressionEnabled.executeQuery()) {
+          return resultSet.next() && resultSet.getBoolean(1);
+        }
+      }
+    }
+  }
+
+  @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE",
+      justification = "False positive")
+  public void enableCompression(StackGresDistributedLogsContext context, String database,
+      String table) throws SQLException {
+    try (Connection connection = getConnection(context, database)) {
+      try (PreparedStatement enableCompression = enableCompressionTemplate
+          .prepareStatement(connection, ImmutableMap.of("TABLE", table))) {
+        enableCompression.execute();
+      }
+    }
+  }
+
+  /**
+   * Compress the chunks of the table older than {@code compressAfter}. Each chunk is compressed in
+   * its own transaction so that a failure or a restart only loses the work on a single chunk.
+   */
+  @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE",
+      justification = "False positive")
+  public List<String> compressChunks(StackGresDistributedLogsContext context, String database,
+      String compressAfter, String table) throws SQLException {
+    try (Connection connection = getConnection(context, database)) {
+      List<String> chunks = listChunks(connection, listUncompressedChunksTemplate,
+          ImmutableMap.of("TABLE", table, "COMPRESS_AFTER", compressAfter));
+      for (String chunk : chunks) {
+        try (PreparedStatement compressChunk = compressChunkTemplate
+            .prepareStatement(connection)) {
+          compressChunkTemplate.set(compressChunk, "CHUNK", chunk);
+          compressChunk.execute();
+        }
+      }
+      return chunks;
+    }
+  }
+
+  /**
+   * Drop the chunks of the table that are outside of the retention window. Each chunk is dropped
+   * in its own transaction to avoid holding locks on the whole hypertable for the duration of a
+   * single large transaction. The chunk is dropped with {@code drop_chunks} bounded to the time
+   * range of the chunk so that TimescaleDB keeps its catalog consistent.
+   */
   @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE",
       justification = "False positive")
   public List<String> reconcileRetention(StackGresDistributedLogsContext context, String database,
       String retention, String table) throws SQLException {
     try (Connection connection = getConnection(context, database)) {
       String retentionUnit = retention.substring(retention.indexOf(" ") + 1);
-      try (PreparedStatement reconcileRetention = reconcileRetentionTemplate
+      List<ExpiredChunk> expiredChunks = new ArrayList<>();
+      try (PreparedStatement listExpiredChunks = listExpiredChunksTemplate
           .prepareStatement(connection)) {
-        reconcileRetentionTemplate.set(reconcileRetention, "TABLE", table);
-        reconcileRetentionTemplate.set(reconcileRetention, "RETENTION", retention);
-        reconcileRetentionTemplate.set(reconcileRetention, "RETENTION_UNIT", retentionUnit);
-        try (ResultSet resultSet = reconcileRetention.executeQuery()) {
-          List<String> output = new ArrayList<>();
+        listExpiredChunksTemplate.set(listExpiredChunks, "TABLE", table);
+        listExpiredChunksTemplate.set(listExpiredChunks, "RETENTION", retention);
+        listExpiredChunksTemplate.set(listExpiredChunks, "RETENTION_UNIT", retentionUnit);
+        try (ResultSet resultSet = listExpiredChunks.executeQuery()) {
           while (resultSet.next()) {
-            output.add(resultSet.getString(1));
+            expiredChunks.add(new ExpiredChunk(
+                resultSet.getString(1), resultSet.getString(2), resultSet.getString(3)));
           }
-          return output;
         }
       }
+      for (ExpiredChunk expiredChunk : expiredChunks) {
+        try (PreparedStatement dropChunk = dropChunkTemplate.prepareStatement(connection)) {
+          dropChunkTemplate.set(dropChunk, "TABLE", table);
+          dropChunkTemplate.set(dropChunk, "RANGE_START", expiredChunk.rangeStart());
+          dropChunkTemplate.set(dropChunk, "RANGE_END", expiredChunk.rangeEnd());
+          dropChunk.execute();
+        }
+      }
+      return expiredChunks.stream().map(ExpiredChunk::name).toList();
+    }
+  }
+
+  private record ExpiredChunk(String name, String rangeStart, String rangeEnd) {
+  }
+
+  private List<String> listChunks(Connection connection, JdbcStatementTemplate template,
+      Map<String, String> parameters) throws SQLException {
+    try (PreparedStatement listChunks = template.prepareStatement(connection)) {
+      for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+        template.set(listChunks, parameter.getKey(), parameter.getValue());
+      }
+      try (ResultSet resultSet = listChunks.executeQuery()) {
+        List<String> chunks = new ArrayList<>();
+        while (resultSet.next()) {
+          chunks.add(resultSet.getString(1));
+        }
+        return chunks;
+      }
     }
   }
 
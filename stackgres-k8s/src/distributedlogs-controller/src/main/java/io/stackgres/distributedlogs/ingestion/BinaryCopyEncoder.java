@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.distributedlogs.ingestion;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Encode rows in the Postgres binary COPY format.
+ */
+final class BinaryCopyEncoder {
+
+  private static final byte[] SIGNATURE = {
+      'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0 };
+  private static final long POSTGRES_EPOCH_SECONDS = 946_684_800L;
+
+  private BinaryCopyEncoder() {
+  }
+
+  static byte[] encode(LogTable table, List<Object[]> rows) {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream(rows.size() * 256);
+    try (DataOutputStream data = new DataOutputStream(output)) {
+      data.write(SIGNATURE);
+      data.writeInt(0);
+      data.writeInt(0);
+      final int columns = table.getColumns().size();
+      for (Object[] row : rows) {
+        data.writeShort(columns);
+        for (int index = 0; index < columns; index++) {
+          writeValue(data, table.getColumnType(index), row[index]);
+        }
+      }
+      data.writeShort(-1);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return output.toByteArray();
+  }
+
+  private static void writeValue(DataOutputStream data, LogColumnType type, Object value)
+      throws IOException {
+    if (value == null) {
+      data.writeInt(-1);
+      return;
+    }
+    switch (type) {
+      case TIMESTAMPTZ -> {
+        Instant instant = (Instant) value;
+        data.writeInt(Long.BYTES);
+        data.writeLong((instant.getEpochSecond() - POSTGRES_EPOCH_SECONDS) * 1_000_000L
+            + instant.getNano() / 1_000);
+      }
+      case INTEGER -> {
+        data.writeInt(Integer.BYTES);
+        data.writeInt((Integer) value);
+      }
+      case BIGINT -> {
+        data.writeInt(Long.BYTES);
+        data.writeLong((Long) value);
+      }
+      case TEXT -> {
+        byte[] bytes = ((String) value).replace("\u0000", "")
+            .getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+      }
+      default -> throw new IllegalArgumentException("Unsupported column type " + type);
+    }
+  }
+
+}
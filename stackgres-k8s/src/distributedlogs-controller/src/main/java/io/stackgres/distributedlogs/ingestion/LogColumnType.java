@@ -0,0 +1,15 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.distributedlogs.ingestion;
+
+enum LogColumnType {
+
+  TIMESTAMPTZ,
+  INTEGER,
+  BIGINT,
+  TEXT;
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.distributedlogs.ingestion;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import io.stackgres.common.distributedlogs.LogTableFields;
+import org.postgresql.PGConnection;
+
+/**
+ * Write a batch of rows to a distributed logs table using binary COPY. The per row work of the
+ *  table triggers is done by the client: the {@code log_time_index} values are reserved in bulk
+ *  from the same sequence used by the trigger and the CSV fields are extracted by the
+ *  {@link LogRowMapper}, so the triggers are disabled for the session.
+ */
+final class LogCopyWriter {
+
+  private static final String RESERVE_LOG_TIME_INDEXES =
+      "SELECT nextval(?::regclass) FROM generate_series(1, ?)";
+
+  private LogCopyWriter() {
+  }
+
+  static void prepare(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("SET session_replication_role = replica");
+    }
+  }
+
+  static long write(Connection connection, LogTable table, List<Object[]> rows)
+      throws SQLException, IOException {
+    final int logTimeIndex = table.getColumnIndex(LogTableFields.LOG_TIME_INDEX);
+    try (PreparedStatement reserve = connection.prepareStatement(RESERVE_LOG_TIME_INDEXES)) {
+      reserve.setString(1, table.getLogTimeIndexSequenceName());
+      reserve.setInt(2, rows.size());
+      try (ResultSet resultSet = reserve.executeQuery()) {
+        for (Object[] row : rows) {
+          if (!resultSet.next()) {
+            throw new SQLException("Can not reserve " + rows.size() + " values from sequence "
+                + table.getLogTimeIndexSequenceName());
+          }
+          row[logTimeIndex] = resultSet.getInt(1);
+        }
+      }
+    }
+    return connection.unwrap(PGConnection.class)
+        .getCopyAPI()
+        .copyIn(table.getCopyStatement(),
+            new ByteArrayInputStream(BinaryCopyEncoder.encode(table, rows)));
+  }
+
+}
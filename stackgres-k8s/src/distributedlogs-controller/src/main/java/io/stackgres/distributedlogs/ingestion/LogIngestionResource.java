@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.distributedlogs.ingestion;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.stackgres.common.CdiUtil;
+import io.stackgres.common.FluentdUtil;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.net.SocketAddress;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * HTTP endpoint used by the fluentd {@code http} output to send the records of a distributed
+ *  logs table as a JSON array. Only requests from the Pod itself are accepted. The response is
+ *  sent once the records are written or spooled. Any transient failure is answered with
+ *  {@link FluentdUtil#INGESTION_RETRYABLE_STATUS_CODE} that signals fluentd to keep the records in
+ *  its buffer and retry later, while the other error status codes are for requests that would
+ *  never succeed.
+ */
+@Path(FluentdUtil.INGESTION_PATH + "/{database}/{table}")
+@Consumes(MediaType.APPLICATION_JSON)
+public class LogIngestionResource {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LogIngestionResource.class);
+
+  private static final String RETRY_AFTER_SECONDS = "1";
+  private static final long ACCEPT_TIMEOUT_SECONDS = 30;
+
+  private final LogIngestionService ingestionService;
+  private final ObjectMapper objectMapper;
+
+  @Inject
+  public LogIngestionResource(LogIngestionService ingestionService, ObjectMapper objectMapper) {
+    this.ingestionService = ingestionService;
+    this.objectMapper = objectMapper;
+  }
+
+  public LogIngestionResource() {
+    CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
+    this.ingestionService = null;
+    this.objectMapper = null;
+  }
+
+  /**
+   * Wait for the records to be accepted. The request is served by a worker thread so that
+   *  waiting does not block the event loop.
+   */
+  @POST
+  public Response ingest(@Context HttpServerRequest request,
+      @PathParam("database") String database, @PathParam("table") String tableName,
+      byte[] body) {
+    if (!Optional.ofNullable(request.remoteAddress())
+        .map(SocketAddress::hostAddress)
+        .map(address -> address.equals("127.0.0.1") || address.equals("0:0:0:0:0:0:0:1")
+            || address.equals("::1"))
+        .orElse(false)) {
+      return Response.status(Response.Status.FORBIDDEN).build();
+    }
+    final Optional<LogTable> table = LogTable.fromTableName(tableName);
+    if (table.isEmpty()) {
+      return Response.status(Response.Status.NOT_FOUND).build();
+    }
+    final ArrayNode records;
+    try {
+      records = toRecords(objectMapper.readTree(body));
+    } catch (IOException | IllegalArgumentException ex) {
+      return Response.status(Response.Status.BAD_REQUEST)
+          .entity(String.valueOf(ex.getMessage()))
+          .type(MediaType.TEXT_PLAIN)
+          .build();
+    }
+    final CompletableFuture<Boolean> accepted =
+        ingestionService.ingest(database, table.get(), records);
+    try {
+      if (accepted.get(ACCEPT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        return Response.noContent().build();
+      }
+      LOGGER.debug("Rejected {} records for table {} of database {}", records.size(),
+          table.get().getTableName(), database);
+    } catch (TimeoutException ex) {
+      accepted.cancel(false);
+      LOGGER.warn("Timed out while ingesting {} records for table {} of database {}",
+          records.size(), table.get().getTableName(), database);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      accepted.cancel(false);
+    } catch (ExecutionException | RuntimeException ex) {
+      LOGGER.error("Error while ingesting records for table {} of database {}",
+          table.get().getTableName(), database, ex);
+    }
+    return Response.status(FluentdUtil.INGESTION_RETRYABLE_STATUS_CODE)
+        .header("Retry-After", RETRY_AFTER_SECONDS)
+        .build();
+  }
+
+  private ArrayNode toRecords(JsonNode body) {
+    final ArrayNode records;
+    if (body.isObject()) {
+      records = objectMapper.createArrayNode().add(body);
+    } else if (body.isArray()) {
+      records = (ArrayNode) body;
+    } else {
+      throw new IllegalArgumentException("Body must be a JSON object or array");
+    }
+    for (JsonNode record : records) {
+      if (!record.isObject()) {
+        throw new IllegalArgumentException("Records must be JSON objects");
+      }
+    }
+    return records;
+  }
+
+}
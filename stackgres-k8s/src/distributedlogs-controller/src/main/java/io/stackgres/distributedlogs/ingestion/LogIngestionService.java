@@ -0,0 +1,355 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.distributedlogs.ingestion;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.stackgres.common.CdiUtil;
+import io.stackgres.common.ClusterPath;
+import io.stackgres.common.DistributedLogsControllerProperty;
+import io.stackgres.common.EnvoyUtil;
+import io.stackgres.common.postgres.PostgresConnectionManager;
+import io.stackgres.distributedlogs.configuration.DistributedLogsControllerPropertyContext;
+import io.stackgres.distributedlogs.ingestion.LogSpool.SpooledBatch;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Receive the records sent by fluentd, batch them per database and table and write them using
+ *  binary COPY through the local Postgres socket.
+ *
+ * <p>Records are kept in a bounded queue per database and table that is drained every flush
+ *  interval in batches. The records are acknowledged only once the COPY that contains them is
+ *  committed or once they are stored in the bounded on-disk {@link LogSpool}, so that no
+ *  acknowledged record is lost on a crash. When the queue or the spool are full the records are
+ *  rejected so that fluentd keeps them in its own buffer and retries later.</p>
+ *
+ * <p>The spool is replayed before the queues are flushed. While it is not drained the batches
+ *  taken from the queues are appended to the spool so that records are written in the order they
+ *  were received. A spooled batch that the database rejects is retried a limited number of times
+ *  and then moved to the dead letter directory of the spool.</p>
+ */
+@ApplicationScoped
+@SuppressFBWarnings(value = "DMI_HARDCODED_ABSOLUTE_FILENAME",
+    justification = "This is not a bug if working with containers")
+public class LogIngestionService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LogIngestionService.class);
+
+  private static final Path SPOOL_PATH = Paths.get("/fluentd/ingestion-spool");
+  private static final int DEFAULT_BATCH_SIZE = 5000;
+  private static final int DEFAULT_FLUSH_INTERVAL = 500;
+  private static final int DEFAULT_QUEUE_SIZE = 50000;
+  private static final long DEFAULT_SPOOL_MAX_SIZE = 256L * 1024 * 1024;
+  private static final int DEFAULT_MAX_REPLAY_ATTEMPTS = 5;
+  private static final int MAX_SPOOLED_BATCHES_PER_FLUSH = 16;
+
+  private final PostgresConnectionManager postgresConnectionManager;
+  private final ObjectMapper objectMapper;
+  private final int batchSize;
+  private final int queueSize;
+  private final int maxReplayAttempts;
+  private final LogSpool spool;
+  private final Map<LogTarget, LogTargetQueue> queues = new ConcurrentHashMap<>();
+  private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+  private final Map<Path, Integer> replayAttempts = new HashMap<>();
+  private final ScheduledExecutorService flushExecutor;
+
+  @Inject
+  public LogIngestionService(PostgresConnectionManager postgresConnectionManager,
+      ObjectMapper objectMapper, DistributedLogsControllerPropertyContext propertyContext) {
+    this(postgresConnectionManager, objectMapper,
+        propertyContext.get(DistributedLogsControllerProperty.DISTRIBUTEDLOGS_INGESTION_BATCH_SIZE)
+        .map(Integer::valueOf)
+        .orElse(DEFAULT_BATCH_SIZE),
+        propertyContext.get(DistributedLogsControllerProperty.DISTRIBUTEDLOGS_INGESTION_QUEUE_SIZE)
+        .map(Integer::valueOf)
+        .orElse(DEFAULT_QUEUE_SIZE),
+        propertyContext
+        .get(DistributedLogsControllerProperty.DISTRIBUTEDLOGS_INGESTION_MAX_REPLAY_ATTEMPTS)
+        .map(Integer::valueOf)
+        .orElse(DEFAULT_MAX_REPLAY_ATTEMPTS),
+        new LogSpool(SPOOL_PATH, propertyContext
+            .get(DistributedLogsControllerProperty.DISTRIBUTEDLOGS_INGESTION_SPOOL_MAX_SIZE)
+            .map(Long::valueOf)
+            .orElse(DEFAULT_SPOOL_MAX_SIZE), objectMapper));
+    final int flushInterval = propertyContext
+        .get(DistributedLogsControllerProperty.DISTRIBUTEDLOGS_INGESTION_FLUSH_INTERVAL)
+        .map(Integer::valueOf)
+        .orElse(DEFAULT_FLUSH_INTERVAL);
+    this.flushExecutor.scheduleWithFixedDelay(
+        this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+  }
+
+  LogIngestionService(PostgresConnectionManager postgresConnectionManager,
+      ObjectMapper objectMapper, int batchSize, int queueSize, int maxReplayAttempts,
+      LogSpool spool) {
+    this.postgresConnectionManager = postgresConnectionManager;
+    this.objectMapper = objectMapper;
+    this.batchSize = batchSize;
+    this.queueSize = queueSize;
+    this.maxReplayAttempts = maxReplayAttempts;
+    this.spool = spool;
+    this.flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "LogIngestionFlusher");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public LogIngestionService() {
+    CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
+    this.postgresConnectionManager = null;
+    this.objectMapper = null;
+    this.batchSize = 0;
+    this.queueSize = 0;
+    this.maxReplayAttempts = 0;
+    this.spool = null;
+    this.flushExecutor = null;
+  }
+
+  /**
+   * Accept the records for the specified database and table. The returned future completes with
+   *  {@code true} once the records are written to the database or stored in the spool, and with
+   *  {@code false} when they can not be accepted for now since the in-memory queue or the spool
+   *  are full. Cancelling the future withdraws the records if they were not taken yet.
+   */
+  public CompletableFuture<Boolean> ingest(String database, LogTable table, ArrayNode records) {
+    final LogTargetQueue targetQueue = queues.computeIfAbsent(
+        new LogTarget(database, table), target -> new LogTargetQueue());
+    final PendingRecords pendingRecords = new PendingRecords(records);
+    synchronized (targetQueue) {
+      if (targetQueue.size + records.size() > queueSize) {
+        return CompletableFuture.completedFuture(false);
+      }
+      targetQueue.pending.add(pendingRecords);
+      targetQueue.size += records.size();
+    }
+    return pendingRecords.accepted;
+  }
+
+  void flush() {
+    try {
+      final boolean spoolDrained = replaySpool();
+      for (var entry : queues.entrySet()) {
+        flush(entry.getKey(), entry.getValue(), spoolDrained);
+      }
+    } catch (Exception ex) {
+      LOGGER.error("Error while flushing distributed logs", ex);
+    }
+  }
+
+  private void flush(LogTarget target, LogTargetQueue targetQueue, boolean spoolDrained) {
+    boolean appendToSpool = !spoolDrained;
+    while (true) {
+      final List<PendingRecords> batch = targetQueue.take(batchSize);
+      if (batch.isEmpty()) {
+        return;
+      }
+      final List<ObjectNode> records = new ArrayList<>();
+      batch.forEach(pendingRecords -> pendingRecords.records
+          .forEach(record -> records.add((ObjectNode) record)));
+      if (!appendToSpool
+          && write(target.database(), target.table(), records) == WriteResult.WRITTEN) {
+        batch.forEach(pendingRecords -> pendingRecords.accepted.complete(true));
+        continue;
+      }
+      // Once a batch is spooled the following ones must be spooled too to keep the order
+      appendToSpool = true;
+      final boolean spooled = spool(target, records);
+      batch.forEach(pendingRecords -> pendingRecords.accepted.complete(spooled));
+    }
+  }
+
+  private boolean spool(LogTarget target, List<ObjectNode> batch) {
+    final ArrayNode records = objectMapper.createArrayNode();
+    batch.forEach(records::add);
+    try {
+      return spool.offer(target.database(), target.table(), records);
+    } catch (IOException ex) {
+      LOGGER.error("Can not spool {} records for table {} of database {}", batch.size(),
+          target.table().getTableName(), target.database(), ex);
+      return false;
+    }
+  }
+
+  /**
+   * Replay the oldest batches of the spool. Return {@code true} if the spool was drained.
+   */
+  private boolean replaySpool() throws IOException {
+    for (int replayed = 0; replayed < MAX_SPOOLED_BATCHES_PER_FLUSH; replayed++) {
+      final Optional<SpooledBatch> spooledBatch = spool.peek();
+      if (spooledBatch.isEmpty()) {
+        return true;
+      }
+      final List<ObjectNode> batch = new ArrayList<>(spooledBatch.get().records().size());
+      spooledBatch.get().records().forEach(record -> batch.add((ObjectNode) record));
+      final WriteResult result = write(
+          spooledBatch.get().database(), spooledBatch.get().table(), batch);
+      if (result == WriteResult.RETRY) {
+        return false;
+      }
+      if (result == WriteResult.REJECTED
+          && replayAttempts.merge(spooledBatch.get().file(), 1, Integer::sum)
+          < maxReplayAttempts) {
+        return false;
+      }
+      replayAttempts.remove(spooledBatch.get().file());
+      if (result == WriteResult.REJECTED) {
+        LOGGER.error("Moved {} records for table {} of database {} to dead letter file {}"
+            + " after {} failed attempts", batch.size(),
+            spooledBatch.get().table().getTableName(), spooledBatch.get().database(),
+            spool.deadLetter(spooledBatch.get()), maxReplayAttempts);
+      } else {
+        spool.remove(spooledBatch.get());
+      }
+    }
+    return spool.size() == 0;
+  }
+
+  private WriteResult write(String database, LogTable table, List<ObjectNode> batch) {
+    final Instant receivedAt = Instant.now();
+    final List<Object[]> rows = new ArrayList<>(batch.size());
+    try {
+      for (ObjectNode record : batch) {
+        rows.add(LogRowMapper.map(table, record, receivedAt));
+      }
+    } catch (RuntimeException ex) {
+      LOGGER.warn("Can not map {} records for table {} of database {}: {}", batch.size(),
+          table.getTableName(), database, ex.getMessage());
+      return WriteResult.REJECTED;
+    }
+    try {
+      final long written = LogCopyWriter.write(getConnection(database), table, rows);
+      LOGGER.trace("Written {} rows to table {} of database {}", written,
+          table.getTableName(), database);
+      return WriteResult.WRITTEN;
+    } catch (SQLException | IOException ex) {
+      LOGGER.warn("Can not write {} rows to table {} of database {}: {}", rows.size(),
+          table.getTableName(), database, ex.getMessage());
+      closeConnection(database);
+      return ex instanceof SQLException sqlException && !isTransient(sqlException)
+          ? WriteResult.REJECTED : WriteResult.RETRY;
+    }
+  }
+
+  /**
+   * Connection errors, insufficient resources, operator interventions (like a shutdown) and
+   *  transaction rollbacks do not depend on the records written.
+   */
+  private static boolean isTransient(SQLException ex) {
+    return Optional.ofNullable(ex.getSQLState())
+        .map(sqlState -> sqlState.startsWith("08")
+            || sqlState.startsWith("40")
+            || sqlState.startsWith("53")
+            || sqlState.startsWith("57"))
+        .orElse(true);
+  }
+
+  private Connection getConnection(String database) throws SQLException {
+    Connection connection = connections.get(database);
+    if (connection != null && !connection.isClosed()) {
+      return connection;
+    }
+    connection = postgresConnectionManager.getUnixConnection(
+        ClusterPath.PG_RUN_PATH.path(), EnvoyUtil.PG_PORT,
+        database,
+        "postgres",
+        "");
+    LogCopyWriter.prepare(connection);
+    connections.put(database, connection);
+    return connection;
+  }
+
+  private void closeConnection(String database) {
+    Optional.ofNullable(connections.remove(database))
+        .ifPresent(connection -> {
+          try {
+            connection.close();
+          } catch (SQLException ex) {
+            LOGGER.debug("Error while closing connection to database {}", database, ex);
+          }
+        });
+  }
+
+  @PreDestroy
+  void close() {
+    flushExecutor.shutdown();
+    try {
+      flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    flush();
+    connections.keySet().forEach(this::closeConnection);
+  }
+
+  private record LogTarget(String database, LogTable table) {
+  }
+
+  private enum WriteResult {
+    WRITTEN,
+    RETRY,
+    REJECTED
+  }
+
+  private static class PendingRecords {
+    private final ArrayNode records;
+    private final CompletableFuture<Boolean> accepted = new CompletableFuture<>();
+
+    PendingRecords(ArrayNode records) {
+      this.records = records;
+    }
+  }
+
+  private static class LogTargetQueue {
+    private final Deque<PendingRecords> pending = new ArrayDeque<>();
+    private int size;
+
+    /**
+     * Take the pending records, skipping the withdrawn ones, until the batch size is reached.
+     */
+    synchronized List<PendingRecords> take(int batchSize) {
+      final List<PendingRecords> batch = new ArrayList<>();
+      int batchRecords = 0;
+      while (!pending.isEmpty() && batchRecords < batchSize) {
+        final PendingRecords pendingRecords = pending.poll();
+        size -= pendingRecords.records.size();
+        if (pendingRecords.accepted.isDone()) {
+          continue;
+        }
+        batch.add(pendingRecords);
+        batchRecords += pendingRecords.records.size();
+      }
+      return batch;
+    }
+  }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.distributedlogs.ingestion;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.stackgres.common.distributedlogs.LogTableFields;
+import io.stackgres.common.distributedlogs.PostgresTableFields;
+
+/**
+ * Map a record sent by fluentd to the row of a distributed logs table. For the
+ *  {@code log_postgres} table the fields are extracted from the CSV message here instead of
+ *  by the {@code log_postgres_extract_fields} trigger.
+ */
+final class LogRowMapper {
+
+  private static final DateTimeFormatter TIMESTAMP_FORMATTER = new DateTimeFormatterBuilder()
+      .append(DateTimeFormatter.ISO_LOCAL_DATE)
+      .appendLiteral(' ')
+      .append(DateTimeFormatter.ISO_LOCAL_TIME)
+      .toFormatter();
+
+  /**
+   * The columns filled by the {@code log_postgres_extract_fields} trigger in the order of the
+   *  fields of the Postgres CSV log message (that does not include the log time).
+   */
+  private static final List<PostgresTableFields> POSTGRES_CSV_FIELDS = List.of(
+      PostgresTableFields.USER_NAME,
+      PostgresTableFields.DATABASE_NAME,
+      PostgresTableFields.PROCESS_ID,
+      PostgresTableFields.CONNECTION_FROM,
+      PostgresTableFields.SESSION_ID,
+      PostgresTableFields.SESSION_LINE_NUM,
+      PostgresTableFields.COMMAND_TAG,
+      PostgresTableFields.SESSION_START_TIME,
+      PostgresTableFields.VIRTUAL_TRANSACTION_ID,
+      PostgresTableFields.TRANSACTION_ID,
+      PostgresTableFields.ERROR_SEVERITY,
+      PostgresTableFields.SQL_STATE_CODE,
+      PostgresTableFields.MESSAGE,
+      PostgresTableFields.DETAIL,
+      PostgresTableFields.HINT,
+      PostgresTableFields.INTERNAL_QUERY,
+      PostgresTableFields.INTERNAL_QUERY_POS,
+      PostgresTableFields.CONTEXT,
+      PostgresTableFields.QUERY,
+      PostgresTableFields.QUERY_POS,
+      PostgresTableFields.LOCATION,
+      PostgresTableFields.APPLICATION_NAME);
+
+  private LogRowMapper() {
+  }
+
+  /**
+   * Return the row values in the order of {@link LogTable#getColumns()}. The
+   *  {@code log_time_index} value is left {@code null} since it is assigned when the batch is
+   *  written.
+   */
+  static Object[] map(LogTable table, ObjectNode record, Instant receivedAt) {
+    final List<String> columns = table.getColumns();
+    final String[] values = new String[columns.size()];
+    for (int index = 0; index < values.length; index++) {
+      JsonNode value = record.get(columns.get(index));
+      if (value != null && !value.isNull()) {
+        values[index] = value.asText();
+      }
+    }
+    if (table == LogTable.LOG_POSTGRES) {
+      final int messageIndex = table.getColumnIndex(LogTableFields.MESSAGE);
+      final List<String> fields = values[messageIndex] == null
+          ? List.of() : PostgresCsvLogParser.parse(values[messageIndex]);
+      for (int field = 0; field < POSTGRES_CSV_FIELDS.size(); field++) {
+        values[table.getColumnIndex(POSTGRES_CSV_FIELDS.get(field).getFieldName())] =
+            field < fields.size() && !fields.get(field).isEmpty() ? fields.get(field) : null;
+      }
+    }
+    final Object[] row = new Object[values.length];
+    for (int index = 0; index < values.length; index++) {
+      row[index] = convert(table.getColumnType(index), values[index]);
+    }
+    final int logTimeIndex = table.getColumnIndex(LogTableFields.LOG_TIME);
+    if (row[logTimeIndex] == null) {
+      row[logTimeIndex] = receivedAt;
+    }
+    row[table.getColumnIndex(LogTableFields.LOG_TIME_INDEX)] = null;
+    return row;
+  }
+
+  private static Object convert(LogColumnType type, String value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return switch (type) {
+        case TIMESTAMPTZ -> parseTimestamp(value);
+        case INTEGER -> Integer.valueOf(value.trim());
+        case BIGINT -> Long.valueOf(value.trim());
+        case TEXT -> value;
+      };
+    } catch (NumberFormatException | DateTimeException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Parse timestamps as written by Postgres ({@code 2024-01-01 00:00:00.000 UTC}) and by
+   *  Patroni ({@code 2024-01-01 00:00:00,000}, that is in UTC).
+   */
+  static Instant parseTimestamp(String value) {
+    final String timestamp = value.trim().replace(',', '.');
+    final int zoneSeparator = timestamp.lastIndexOf(' ');
+    if (zoneSeparator > timestamp.indexOf(' ')) {
+      return LocalDateTime.parse(timestamp.substring(0, zoneSeparator), TIMESTAMP_FORMATTER)
+          .atZone(ZoneId.of(timestamp.substring(zoneSeparator + 1), ZoneId.SHORT_IDS))
+          .toInstant();
+    }
+    return LocalDateTime.parse(timestamp, TIMESTAMP_FORMATTER)
+        .toInstant(ZoneOffset.UTC);
+  }
+
+}
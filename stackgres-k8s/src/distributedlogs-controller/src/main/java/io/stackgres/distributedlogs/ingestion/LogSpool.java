@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.distributedlogs.ingestion;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+/**
+ * Bounded on-disk spool of the batches of records that could not be kept in memory or written
+ *  to the database. Each batch is stored in its own file, named after a sequence number, the
+ *  table and the database, so that batches are replayed in the order they were spooled and
+ *  survive a restart of the controller. Batches that can not be written after some attempts are
+ *  moved to a bounded dead letter directory inside the spool so that they do not block the
+ *  replay of the following batches and can be inspected later.
+ */
+class LogSpool {
+
+  private static final String SUFFIX = ".json";
+  private static final String DEAD_LETTER = "dead-letter";
+
+  private final Path directory;
+  private final Path deadLetterDirectory;
+  private final long maxSize;
+  private final ObjectMapper objectMapper;
+  private long size;
+  private long sequence;
+
+  LogSpool(Path directory, long maxSize, ObjectMapper objectMapper) {
+    this.directory = directory;
+    this.deadLetterDirectory = directory.resolve(DEAD_LETTER);
+    this.maxSize = maxSize;
+    this.objectMapper = objectMapper;
+    try {
+      Files.createDirectories(deadLetterDirectory);
+      try (Stream<Path> files = Files.list(directory)) {
+        for (Path file : files.toList()) {
+          if (file.equals(deadLetterDirectory)) {
+            continue;
+          }
+          if (!file.getFileName().toString().endsWith(SUFFIX)
+              || sequenceOf(file) == Long.MAX_VALUE) {
+            Files.delete(file);
+            continue;
+          }
+          size += Files.size(file);
+          sequence = Math.max(sequence, sequenceOf(file) + 1);
+        }
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Store the batch in the spool. Return {@code false} when it does not fit.
+   */
+  synchronized boolean offer(String database, LogTable table, ArrayNode records)
+      throws IOException {
+    final byte[] content = objectMapper.writeValueAsBytes(records);
+    if (size + content.length > maxSize) {
+      return false;
+    }
+    final Path file = directory.resolve(String.format("%020d-%s-%s%s",
+        sequence++, table.getTableName(), database, SUFFIX));
+    final Path tempFile = directory.resolve(file.getFileName() + ".tmp");
+    Files.write(tempFile, content);
+    Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+    size += content.length;
+    return true;
+  }
+
+  /**
+   * Return the oldest batch in the spool.
+   */
+  synchronized Optional<SpooledBatch> peek() throws IOException {
+    final Optional<Path> oldest;
+    try (Stream<Path> files = Files.list(directory)) {
+      oldest = files
+          .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+          .min(Comparator.comparing(LogSpool::sequenceOf));
+    }
+    if (oldest.isEmpty()) {
+      return Optional.empty();
+    }
+    final Path file = oldest.get();
+    final String[] parts = file.getFileName().toString()
+        .substring(0, file.getFileName().toString().length() - SUFFIX.length())
+        .split("-", 3);
+    final Optional<LogTable> table = Optional.of(parts)
+        .filter(fileParts -> fileParts.length == 3)
+        .flatMap(fileParts -> LogTable.fromTableName(fileParts[1]));
+    if (table.isEmpty()) {
+      remove(file);
+      return peek();
+    }
+    return Optional.of(new SpooledBatch(file, parts[2], table.get(),
+        (ArrayNode) objectMapper.readTree(file.toFile())));
+  }
+
+  synchronized void remove(SpooledBatch batch) throws IOException {
+    remove(batch.file());
+  }
+
+  private void remove(Path file) throws IOException {
+    final long fileSize = Files.size(file);
+    Files.delete(file);
+    size -= fileSize;
+  }
+
+  /**
+   * Move the batch to the dead letter directory, removing the oldest dead letters when they take
+   *  more than the maximum size of the spool.
+   */
+  synchronized Path deadLetter(SpooledBatch batch) throws IOException {
+    final long fileSize = Files.size(batch.file());
+    final Path deadLetterFile = deadLetterDirectory.resolve(batch.file().getFileName());
+    Files.move(batch.file(), deadLetterFile, StandardCopyOption.ATOMIC_MOVE);
+    size -= fileSize;
+    final List<Path> deadLetters;
+    try (Stream<Path> files = Files.list(deadLetterDirectory)) {
+      deadLetters = files
+          .sorted(Comparator.comparing(LogSpool::sequenceOf).reversed())
+          .toList();
+    }
+    long deadLettersSize = 0;
+    for (Path deadLetter : deadLetters) {
+      deadLettersSize += Files.size(deadLetter);
+      if (deadLettersSize > maxSize) {
+        Files.delete(deadLetter);
+      }
+    }
+    return deadLetterFile;
+  }
+
+  synchronized long size() {
+    return size;
+  }
+
+  private static long sequenceOf(Path file) {
+    final String fileName = file.getFileName().toString();
+    try {
+      return Long.parseLong(fileName.substring(0, Math.max(0, fileName.indexOf('-'))));
+    } catch (NumberFormatException ex) {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  record SpooledBatch(Path file, String database, LogTable table, ArrayNode records) {
+  }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.distributedlogs.ingestion;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.stackgres.common.distributedlogs.LogTableFields;
+import io.stackgres.common.distributedlogs.PatroniTableFields;
+import io.stackgres.common.distributedlogs.PostgresTableFields;
+import io.stackgres.common.distributedlogs.Tables;
+
+/**
+ * The distributed logs tables with the columns (and their types) written by the ingestion.
+ */
+public enum LogTable {
+
+  LOG_POSTGRES(Tables.LOG_POSTGRES, Stream.of(PostgresTableFields.values())
+      .map(PostgresTableFields::getFieldName)
+      .toList()),
+  LOG_PATRONI(Tables.LOG_PATRONI, Stream.of(PatroniTableFields.values())
+      .map(PatroniTableFields::getFieldName)
+      .toList());
+
+  private static final Map<String, LogColumnType> COLUMN_TYPES = Map.of(
+      LogTableFields.LOG_TIME, LogColumnType.TIMESTAMPTZ,
+      LogTableFields.LOG_TIME_INDEX, LogColumnType.INTEGER,
+      PostgresTableFields.PROCESS_ID.getFieldName(), LogColumnType.INTEGER,
+      PostgresTableFields.SESSION_LINE_NUM.getFieldName(), LogColumnType.BIGINT,
+      PostgresTableFields.SESSION_START_TIME.getFieldName(), LogColumnType.TIMESTAMPTZ,
+      PostgresTableFields.TRANSACTION_ID.getFieldName(), LogColumnType.BIGINT,
+      PostgresTableFields.INTERNAL_QUERY_POS.getFieldName(), LogColumnType.INTEGER,
+      PostgresTableFields.QUERY_POS.getFieldName(), LogColumnType.INTEGER);
+
+  private final String tableName;
+  private final List<String> columns;
+
+  LogTable(Tables table, List<String> columns) {
+    this.tableName = table.getTableName();
+    this.columns = columns;
+  }
+
+  public String getTableName() {
+    return tableName;
+  }
+
+  public List<String> getColumns() {
+    return columns;
+  }
+
+  public LogColumnType getColumnType(int index) {
+    return COLUMN_TYPES.getOrDefault(columns.get(index), LogColumnType.TEXT);
+  }
+
+  public int getColumnIndex(String column) {
+    return columns.indexOf(column);
+  }
+
+  public String getLogTimeIndexSequenceName() {
+    return tableName + "_" + LogTableFields.LOG_TIME_INDEX + "_seq";
+  }
+
+  public String getCopyStatement() {
+    return "COPY " + tableName + " (" + columns.stream().collect(Collectors.joining(", "))
+        + ") FROM STDIN (FORMAT binary)";
+  }
+
+  public static Optional<LogTable> fromTableName(String tableName) {
+    return Stream.of(values())
+        .filter(table -> table.tableName.equals(tableName))
+        .findFirst();
+  }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.distributedlogs.ingestion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Split the first record of a Postgres CSV log line the same way the {@code split_csv} function
+ *  used by the {@code log_postgres_extract_fields} trigger does (comma delimiter, double quote
+ *  quoting with doubled quotes, backslash escape and skipping of initial spaces).
+ */
+final class PostgresCsvLogParser {
+
+  private static final char DELIMITER = ',';
+  private static final char QUOTE = '"';
+  private static final char ESCAPE = '\\';
+
+  private PostgresCsvLogParser() {
+  }
+
+  static List<String> parse(String line) {
+    final List<String> fields = new ArrayList<>();
+    final StringBuilder field = new StringBuilder();
+    final int length = line.length();
+    boolean quoted = false;
+    boolean fieldStart = true;
+    int index = 0;
+    while (index < length) {
+      char current = line.charAt(index++);
+      if (quoted) {
+        if (current == ESCAPE && index < length) {
+          field.append(line.charAt(index++));
+        } else if (current == QUOTE) {
+          if (index < length && line.charAt(index) == QUOTE) {
+            field.append(QUOTE);
+            index++;
+          } else {
+            quoted = false;
+          }
+        } else if (current == '\r') {
+          if (index < length && line.charAt(index) == '\n') {
+            index++;
+          }
+          field.append('\n');
+        } else {
+          field.append(current);
+        }
+        continue;
+      }
+      if (fieldStart && current == ' ') {
+        continue;
+      }
+      if (fieldStart && current == QUOTE) {
+        quoted = true;
+        fieldStart = false;
+        continue;
+      }
+      fieldStart = false;
+      if (current == ESCAPE && index < length) {
+        field.append(line.charAt(index++));
+      } else if (current == DELIMITER) {
+        fields.add(field.toString());
+        field.setLength(0);
+        fieldStart = true;
+      } else if (current == '\n' || current == '\r') {
+        break;
+      } else {
+        field.append(current);
+      }
+    }
+    if (length > 0) {
+      fields.add(field.toString());
+    }
+    return fields;
+  }
+
+}
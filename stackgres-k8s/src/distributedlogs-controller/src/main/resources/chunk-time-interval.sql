@@ -0,0 +1,3 @@
+SELECT CAST(EXTRACT(EPOCH FROM time_interval) AS bigint)
+  FROM timescaledb_information.dimensions
+  WHERE hypertable_name = ${TABLE} AND column_name = 'log_time'
\ No newline at end of file
@@ -0,0 +1 @@
+SELECT compress_chunk(CAST(${CHUNK} AS regclass), if_not_compressed => true)
\ No newline at end of file
@@ -0,0 +1 @@
+SELECT compression_enabled FROM timescaledb_information.hypertables WHERE hypertable_name = ${TABLE}
\ No newline at end of file
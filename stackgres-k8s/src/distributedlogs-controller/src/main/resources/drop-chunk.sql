@@ -0,0 +1,3 @@
+SELECT drop_chunks(CAST(${TABLE} AS regclass),
+  older_than => CAST(${RANGE_END} AS timestamptz),
+  newer_than => CAST(${RANGE_START} AS timestamptz))
\ No newline at end of file
@@ -0,0 +1,13 @@
+WITH recent_chunks AS (
+  SELECT chunks.range_start, size.total_bytes
+  FROM timescaledb_information.chunks AS chunks
+  JOIN chunks_detailed_size('@{TABLE}') AS size
+    ON size.chunk_schema = chunks.chunk_schema AND size.chunk_name = chunks.chunk_name
+  WHERE chunks.hypertable_name = '@{TABLE}'
+    AND NOT chunks.is_compressed
+    AND chunks.range_start <= now()
+    AND chunks.range_end > now() - INTERVAL '1 day')
+SELECT CAST(SUM(total_bytes) * 3600
+    / GREATEST(EXTRACT(EPOCH FROM now() - GREATEST(MIN(range_start),
+      (SELECT MIN(log_time) FROM "@{TABLE}"))), 60) AS bigint)
+  FROM recent_chunks
\ No newline at end of file
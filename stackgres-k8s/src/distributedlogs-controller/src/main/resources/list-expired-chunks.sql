@@ -0,0 +1,5 @@
+SELECT format('%I.%I', chunk_schema, chunk_name), CAST(range_start AS text), CAST(range_end AS text)
+  FROM timescaledb_information.chunks
+  WHERE hypertable_name = ${TABLE}
+    AND range_end <= date_trunc(${RETENTION_UNIT}, now()) - CAST(${RETENTION} AS INTERVAL)
+  ORDER BY range_start
\ No newline at end of file
@@ -0,0 +1,6 @@
+SELECT format('%I.%I', chunk_schema, chunk_name)
+  FROM timescaledb_information.chunks
+  WHERE hypertable_name = ${TABLE}
+    AND NOT is_compressed
+    AND range_end <= now() - CAST(${COMPRESS_AFTER} AS INTERVAL)
+  ORDER BY range_start
\ No newline at end of file
@@ -1 +0,0 @@
-SELECT drop_chunks(date_trunc(${RETENTION_UNIT}, now()) - CAST(${RETENTION} AS INTERVAL), ${TABLE})
\ No newline at end of file
@@ -0,0 +1 @@
+SELECT set_chunk_time_interval(${TABLE}, make_interval(hours => ${HOURS}))
\ No newline at end of file
@@ -1 +0,0 @@
-SELECT set_chunk_time_interval(${TABLE}, CAST(${RETENTION} AS INTERVAL))
\ No newline at end of file
@@ -6,11 +6,13 @@
 package io.stackgres.distributedlogs.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.Optional;
 
 import io.fabric8.kubernetes.api.model.ContainerStatusBuilder;
@@ -21,6 +23,8 @@ import io.stackgres.common.StackGresContainer;
 import io.stackgres.common.crd.sgcluster.StackGresCluster;
 import io.stackgres.common.crd.sgdistributedlogs.StackGresDistributedLogs;
 import io.stackgres.common.crd.sgdistributedlogs.StackGresDistributedLogsStatusDatabase;
+import io.stackgres.common.crd.sgdistributedlogs.StackGresDistributedLogsStatusHypertable;
+import io.stackgres.common.distributedlogs.Tables;
 import io.stackgres.common.fixture.Fixtures;
 import io.stackgres.distributedlogs.common.ImmutableStackGresDistributedLogsContext;
 import io.stackgres.distributedlogs.common.StackGresDistributedLogsContext;
@@ -97,7 +101,7 @@ public class DistributedLogsClusterReconciliatorTest {
     Assertions.assertFalse(reconciliator.reconcile(null, distributedLogsContext).result().get());
     verify(databaseReconciliator, times(0)).existsDatabase(any(), any());
     verify(databaseReconciliator, times(0)).createDatabase(any(), any());
-    verify(databaseReconciliator, times(0)).updateRetention(any(), any(), any(), any());
+    verify(databaseReconciliator, times(0)).setChunkTimeInterval(any(), any(), any(), anyInt());
     verify(databaseReconciliator, times(0)).reconcileRetention(any(), any(), any(), any());
   }
 
@@ -112,7 +116,7 @@ public class DistributedLogsClusterReconciliatorTest {
     Assertions.assertFalse(reconciliator.reconcile(null, distributedLogsContext).result().get());
     verify(databaseReconciliator, times(0)).existsDatabase(any(), any());
     verify(databaseReconciliator, times(0)).createDatabase(any(), any());
-    verify(databaseReconciliator, times(0)).updateRetention(any(), any(), any(), any());
+    verify(databaseReconciliator, times(0)).setChunkTimeInterval(any(), any(), any(), anyInt());
     verify(databaseReconciliator, times(0)).reconcileRetention(any(), any(), any(), any());
   }
 
@@ -125,7 +129,7 @@ public class DistributedLogsClusterReconciliatorTest {
     Assertions.assertTrue(reconciliator.reconcile(null, distributedLogsContext).result().get());
     verify(databaseReconciliator, times(1)).existsDatabase(any(), any());
     verify(databaseReconciliator, times(1)).createDatabase(any(), any());
-    verify(databaseReconciliator, times(2)).updateRetention(any(), any(), any(), any());
+    verify(databaseReconciliator, times(2)).setChunkTimeInterval(any(), any(), any(), anyInt());
     verify(databaseReconciliator, times(2)).reconcileRetention(any(), any(), any(), any());
   }
 
@@ -140,7 +144,7 @@ public class DistributedLogsClusterReconciliatorTest {
     Assertions.assertTrue(reconciliator.reconcile(null, distributedLogsContext).result().get());
     verify(databaseReconciliator, times(1)).existsDatabase(any(), any());
     verify(databaseReconciliator, times(0)).createDatabase(any(), any());
-    verify(databaseReconciliator, times(2)).updateRetention(any(), any(), any(), any());
+    verify(databaseReconciliator, times(2)).setChunkTimeInterval(any(), any(), any(), anyInt());
     verify(databaseReconciliator, times(2)).reconcileRetention(any(), any(), any(), any());
   }
 
@@ -159,28 +163,90 @@ public class DistributedLogsClusterReconciliatorTest {
     Assertions.assertTrue(reconciliator.reconcile(null, distributedLogsContext).result().get());
     verify(databaseReconciliator, times(1)).existsDatabase(any(), any());
     verify(databaseReconciliator, times(1)).createDatabase(any(), any());
-    verify(databaseReconciliator, times(2)).updateRetention(any(), any(), any(), any());
+    verify(databaseReconciliator, times(2)).setChunkTimeInterval(any(), any(), any(), anyInt());
     verify(databaseReconciliator, times(2)).reconcileRetention(any(), any(), any(), any());
   }
 
   @Test
-  void testReconciliationWithRetentionUpdated_isPerformedWithoutUpdatingRetention()
+  void testReconciliationWithStatusUpdated_isPerformedWithoutUpdatingStatus()
       throws Exception {
     when(propertyContext.getString(
         same(DistributedLogsControllerProperty.DISTRIBUTEDLOGS_CONTROLLER_POD_NAME)))
         .thenReturn("stackgres-0");
+    StackGresDistributedLogsContext distributedLogsContext =
+        getDistributedLogsContextWithDatabaseStatus(null);
+    when(databaseReconciliator.getChunkTimeInterval(any(), any(), any()))
+        .thenReturn(Optional.of(3600L));
+    Assertions.assertFalse(reconciliator.reconcile(null, distributedLogsContext).result().get());
+    verify(databaseReconciliator, times(1)).existsDatabase(any(), any());
+    verify(databaseReconciliator, times(1)).createDatabase(any(), any());
+    verify(databaseReconciliator, times(0)).setChunkTimeInterval(any(), any(), any(), anyInt());
+    verify(databaseReconciliator, times(2)).reconcileRetention(any(), any(), any(), any());
+  }
+
+  @Test
+  void testReconciliationWithSlightlyChangedIngestRate_isPerformedWithoutUpdatingStatus()
+      throws Exception {
+    when(propertyContext.getString(
+        same(DistributedLogsControllerProperty.DISTRIBUTEDLOGS_CONTROLLER_POD_NAME)))
+        .thenReturn("stackgres-0");
+    StackGresDistributedLogsContext distributedLogsContext =
+        getDistributedLogsContextWithDatabaseStatus(1000L);
+    when(databaseReconciliator.getChunkTimeInterval(any(), any(), any()))
+        .thenReturn(Optional.of(3600L));
+    when(databaseReconciliator.getIngestBytesPerHour(any(), any(), any()))
+        .thenReturn(Optional.of(1100L));
+    Assertions.assertFalse(reconciliator.reconcile(null, distributedLogsContext).result().get());
+    Assertions.assertEquals(List.of(1000L, 1000L), getReportedIngestRates(distributedLogsContext));
+    verify(databaseReconciliator, times(0)).setChunkTimeInterval(any(), any(), any(), anyInt());
+  }
+
+  @Test
+  void testReconciliationWithChangedIngestRate_isPerformedUpdatingStatus() throws Exception {
+    when(propertyContext.getString(
+        same(DistributedLogsControllerProperty.DISTRIBUTEDLOGS_CONTROLLER_POD_NAME)))
+        .thenReturn("stackgres-0");
+    StackGresDistributedLogsContext distributedLogsContext =
+        getDistributedLogsContextWithDatabaseStatus(1000L);
+    when(databaseReconciliator.getChunkTimeInterval(any(), any(), any()))
+        .thenReturn(Optional.of(3600L));
+    when(databaseReconciliator.getIngestBytesPerHour(any(), any(), any()))
+        .thenReturn(Optional.of(2000L));
+    Assertions.assertTrue(reconciliator.reconcile(null, distributedLogsContext).result().get());
+    Assertions.assertEquals(List.of(2000L, 2000L), getReportedIngestRates(distributedLogsContext));
+    verify(databaseReconciliator, times(0)).setChunkTimeInterval(any(), any(), any(), anyInt());
+  }
+
+  private StackGresDistributedLogsContext getDistributedLogsContextWithDatabaseStatus(
+      Long ingestBytesPerHour) {
     StackGresDistributedLogsContext distributedLogsContext = getDistributedLogsContext();
     StackGresDistributedLogsStatusDatabase databaseStatus =
         new StackGresDistributedLogsStatusDatabase();
     databaseStatus.setName("stackgres_stackgres");
     databaseStatus.setRetention("1 minute");
+    databaseStatus.setHypertables(Seq.of(Tables.values())
+        .map(Tables::getTableName)
+        .map(table -> {
+          StackGresDistributedLogsStatusHypertable hypertable =
+              new StackGresDistributedLogsStatusHypertable();
+          hypertable.setName(table);
+          hypertable.setIngestBytesPerHour(ingestBytesPerHour);
+          hypertable.setChunkTimeInterval("1 hours");
+          hypertable.setCompressionEnabled(false);
+          return hypertable;
+        })
+        .toList());
     distributedLogsContext.getDistributedLogs().getStatus().setDatabases(
         Seq.of(databaseStatus).toList());
-    Assertions.assertFalse(reconciliator.reconcile(null, distributedLogsContext).result().get());
-    verify(databaseReconciliator, times(1)).existsDatabase(any(), any());
-    verify(databaseReconciliator, times(1)).createDatabase(any(), any());
-    verify(databaseReconciliator, times(0)).updateRetention(any(), any(), any(), any());
-    verify(databaseReconciliator, times(2)).reconcileRetention(any(), any(), any(), any());
+    return distributedLogsContext;
+  }
+
+  private List<Long> getReportedIngestRates(
+      StackGresDistributedLogsContext distributedLogsContext) {
+    return distributedLogsContext.getDistributedLogs().getStatus().getDatabases().get(0)
+        .getHypertables().stream()
+        .map(StackGresDistributedLogsStatusHypertable::getIngestBytesPerHour)
+        .toList();
   }
 
   @Test
@@ -194,10 +260,34 @@ public class DistributedLogsClusterReconciliatorTest {
     Assertions.assertTrue(reconciliator.reconcile(null, distributedLogsContext).result().get());
     verify(databaseReconciliator, times(1)).existsDatabase(any(), any());
     verify(databaseReconciliator, times(1)).createDatabase(any(), any());
-    verify(databaseReconciliator, times(2)).updateRetention(any(), any(), any(), any());
+    verify(databaseReconciliator, times(2)).setChunkTimeInterval(any(), any(), any(), anyInt());
     verify(databaseReconciliator, times(0)).reconcileRetention(any(), any(), any(), any());
   }
 
+  @Test
+  void testChunkTimeIntervalHours_isTargetChunkSizeDividedByIngestRate() {
+    Assertions.assertEquals(4, DistributedLogsClusterReconciliator.getChunkTimeIntervalHours(
+        256L * 1024 * 1024, Optional.of(64L * 1024 * 1024), "7 days"));
+  }
+
+  @Test
+  void testChunkTimeIntervalHours_isClampedBetweenOneHourAndRetention() {
+    Assertions.assertEquals(1, DistributedLogsClusterReconciliator.getChunkTimeIntervalHours(
+        256L * 1024 * 1024, Optional.of(1024L * 1024 * 1024), "7 days"));
+    Assertions.assertEquals(48, DistributedLogsClusterReconciliator.getChunkTimeIntervalHours(
+        256L * 1024 * 1024, Optional.of(1024L), "2 days"));
+    Assertions.assertEquals(1, DistributedLogsClusterReconciliator.getChunkTimeIntervalHours(
+        256L * 1024 * 1024, Optional.of(1024L), "1 minute"));
+  }
+
+  @Test
+  void testChunkTimeIntervalHoursWithoutIngestRate_isRetention() {
+    Assertions.assertEquals(7 * 24, DistributedLogsClusterReconciliator.getChunkTimeIntervalHours(
+        256L * 1024 * 1024, Optional.empty(), null));
+    Assertions.assertEquals(30 * 24, DistributedLogsClusterReconciliator.getChunkTimeIntervalHours(
+        256L * 1024 * 1024, Optional.empty(), "1 month"));
+  }
+
   private StackGresCluster getStackGresCLusterForDistributedLogs(
       StackGresDistributedLogs distributedLogs) {
     final StackGresCluster distributedLogsCluster = new StackGresCluster();
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.distributedlogs.ingestion;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Write batches of Postgres log records to a local TimescaleDB comparing the INSERT path used
+ * by the fluentd sql output (with the per row triggers) against the binary COPY path of the
+ * {@link LogIngestionService}. The database is created from the distributed logs template.
+ *
+ * <p>The PostgreSQL instance to use is set with the {@code benchmark.host},
+ * {@code benchmark.port} and {@code benchmark.password} system properties.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogIngestionBenchmark {
+
+  private static final String DATABASE = "log_ingestion_benchmark";
+
+  @Param({"1000", "5000"})
+  int batchSize;
+
+  List<ObjectNode> records;
+
+  Connection insertConnection;
+
+  Connection copyConnection;
+
+  @Setup
+  public void setup() throws SQLException, IOException {
+    try (Connection connection = connect("postgres");
+        Statement statement = connection.createStatement()) {
+      statement.execute("DROP DATABASE IF EXISTS " + DATABASE);
+      statement.execute("CREATE DATABASE " + DATABASE);
+    }
+    try (InputStream template = LogIngestionBenchmark.class
+        .getResourceAsStream("/distributed-logs-template.sql");
+        Connection connection = connect(DATABASE);
+        Statement statement = connection.createStatement()) {
+      statement.execute(new String(template.readAllBytes(), StandardCharsets.UTF_8));
+    }
+    insertConnection = connect(DATABASE);
+    copyConnection = connect(DATABASE);
+    LogCopyWriter.prepare(copyConnection);
+    ObjectMapper objectMapper = new ObjectMapper();
+    records = IntStream.range(0, batchSize)
+        .mapToObj(index -> objectMapper.createObjectNode()
+            .put("log_time", "2024-03-01 10:15:30.123 UTC")
+            .put("pod_name", "benchmark-" + (index % 2))
+            .put("role", index % 2 == 0 ? "primary" : "replica")
+            .put("message", "postgres,app,4" + index + ",\"10.0.0.1:5432\",65e1a2b3.2a,"
+                + index + ",\"SELECT\",2024-03-01 10:00:00 UTC,3/12,0,LOG,00000,"
+                + "\"duration: 0.042 ms  statement: SELECT * FROM test WHERE id = " + index
+                + "\",,,,,,,,,psql"))
+        .toList();
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    insertConnection.close();
+    copyConnection.close();
+  }
+
+  @Benchmark
+  public void insert() throws SQLException {
+    try (PreparedStatement insert = insertConnection.prepareStatement(
+        "INSERT INTO log_postgres (log_time, pod_name, role, message)"
+            + " VALUES (?::timestamptz, ?, ?, ?)")) {
+      for (ObjectNode record : records) {
+        insert.setString(1, record.get("log_time").asText());
+        insert.setString(2, record.get("pod_name").asText());
+        insert.setString(3, record.get("role").asText());
+        insert.setString(4, record.get("message").asText());
+        insert.addBatch();
+      }
+      insert.executeBatch();
+    }
+  }
+
+  @Benchmark
+  public long copy() throws SQLException, IOException {
+    final Instant receivedAt = Instant.now();
+    final List<Object[]> rows = new ArrayList<>(records.size());
+    for (ObjectNode record : records) {
+      rows.add(LogRowMapper.map(LogTable.LOG_POSTGRES, record, receivedAt));
+    }
+    return LogCopyWriter.write(copyConnection, LogTable.LOG_POSTGRES, rows);
+  }
+
+  private Connection connect(String database) throws SQLException {
+    Properties properties = new Properties();
+    properties.setProperty("user", System.getProperty("benchmark.user", "postgres"));
+    properties.setProperty("password", System.getProperty("benchmark.password", ""));
+    properties.setProperty("reWriteBatchedInserts", "true");
+    return DriverManager.getConnection("jdbc:postgresql://"
+        + System.getProperty("benchmark.host", "localhost") + ":"
+        + System.getProperty("benchmark.port", "5432") + "/" + database, properties);
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(LogIngestionBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.distributedlogs.ingestion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.stackgres.common.postgres.PostgresConnectionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LogIngestionServiceTest {
+
+  private static final String DATABASE = "default_test";
+  private static final int BATCH_SIZE = 10;
+  private static final int QUEUE_SIZE = 3;
+  private static final int MAX_REPLAY_ATTEMPTS = 2;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @TempDir
+  Path directory;
+
+  @Mock
+  PostgresConnectionManager postgresConnectionManager;
+  @Mock
+  Connection connection;
+  @Mock
+  Statement statement;
+  @Mock
+  PreparedStatement reserve;
+  @Mock
+  ResultSet resultSet;
+  @Mock
+  PGConnection pgConnection;
+  @Mock
+  CopyManager copyManager;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    when(postgresConnectionManager.getUnixConnection(
+        anyString(), anyInt(), anyString(), anyString(), anyString()))
+        .thenReturn(connection);
+    when(connection.createStatement()).thenReturn(statement);
+    when(connection.prepareStatement(anyString())).thenReturn(reserve);
+    when(reserve.executeQuery()).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+    when(resultSet.getInt(1)).thenReturn(1);
+    when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+    when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+  }
+
+  private LogIngestionService service(long spoolMaxSize) {
+    return new LogIngestionService(postgresConnectionManager, objectMapper,
+        BATCH_SIZE, QUEUE_SIZE, MAX_REPLAY_ATTEMPTS,
+        new LogSpool(directory, spoolMaxSize, objectMapper));
+  }
+
+  private ArrayNode records(String... messages) {
+    ArrayNode records = objectMapper.createArrayNode();
+    for (String message : messages) {
+      records.addObject()
+          .put("log_time", "2024-03-01 10:15:30,456")
+          .put("pod_name", "test-0")
+          .put("error_severity", "INFO")
+          .put("message", message);
+    }
+    return records;
+  }
+
+  @Test
+  void givenQueuedRecords_shouldAcknowledgeThemOnlyOnceTheCopyIsCommitted() throws Exception {
+    LogIngestionService service = service(1024);
+    CompletableFuture<Boolean> accepted =
+        service.ingest(DATABASE, LogTable.LOG_PATRONI, records("first", "second"));
+    when(copyManager.copyIn(anyString(), any(InputStream.class))).then(invocation -> {
+      assertFalse(accepted.isDone());
+      return 2L;
+    });
+
+    assertFalse(accepted.isDone());
+
+    service.flush();
+
+    assertTrue(accepted.getNow(false));
+    verify(copyManager, times(1)).copyIn(anyString(), any(InputStream.class));
+  }
+
+  @Test
+  void givenACopyFailure_shouldSpoolTheRecordsAndReplayThemOnTheNextFlush() throws Exception {
+    LogSpool spool = new LogSpool(directory, 1024, objectMapper);
+    LogIngestionService service = new LogIngestionService(postgresConnectionManager,
+        objectMapper, BATCH_SIZE, QUEUE_SIZE, MAX_REPLAY_ATTEMPTS, spool);
+    when(copyManager.copyIn(anyString(), any(InputStream.class)))
+        .thenThrow(new IOException("connection reset"))
+        .thenReturn(1L);
+    CompletableFuture<Boolean> accepted =
+        service.ingest(DATABASE, LogTable.LOG_PATRONI, records("first"));
+
+    service.flush();
+
+    assertTrue(accepted.getNow(false));
+    verify(connection, times(1)).close();
+    assertEquals(records("first"), spool.peek().orElseThrow().records());
+
+    service.flush();
+
+    verify(copyManager, times(2)).copyIn(anyString(), any(InputStream.class));
+    assertTrue(spool.peek().isEmpty());
+  }
+
+  @Test
+  void givenASpoolNotDrained_shouldSpoolTheNewRecordsAfterTheOldOnes() throws Exception {
+    LogSpool spool = new LogSpool(directory, 1024, objectMapper);
+    LogIngestionService service = new LogIngestionService(postgresConnectionManager,
+        objectMapper, BATCH_SIZE, QUEUE_SIZE, MAX_REPLAY_ATTEMPTS, spool);
+    when(copyManager.copyIn(anyString(), any(InputStream.class)))
+        .thenThrow(new SQLException("the database system is shutting down", "57P03"));
+    service.ingest(DATABASE, LogTable.LOG_PATRONI, records("first"));
+    service.flush();
+    CompletableFuture<Boolean> accepted =
+        service.ingest(DATABASE, LogTable.LOG_PATRONI, records("second"));
+
+    service.flush();
+
+    assertTrue(accepted.getNow(false));
+    verify(copyManager, times(2)).copyIn(anyString(), any(InputStream.class));
+    assertEquals(records("first"), spool.peek().orElseThrow().records());
+    spool.remove(spool.peek().orElseThrow());
+    assertEquals(records("second"), spool.peek().orElseThrow().records());
+  }
+
+  @Test
+  void givenASpooledBatchRejectedByTheDatabase_shouldMoveItToTheDeadLetters() throws Exception {
+    LogSpool spool = new LogSpool(directory, 1024, objectMapper);
+    LogIngestionService service = new LogIngestionService(postgresConnectionManager,
+        objectMapper, BATCH_SIZE, QUEUE_SIZE, MAX_REPLAY_ATTEMPTS, spool);
+    assertTrue(spool.offer(DATABASE, LogTable.LOG_PATRONI, records("bad")));
+    when(copyManager.copyIn(anyString(), any(InputStream.class)))
+        .thenThrow(new SQLException("invalid input syntax", "22P02"));
+
+    service.flush();
+
+    assertEquals(records("bad"), spool.peek().orElseThrow().records());
+
+    service.flush();
+
+    verify(copyManager, times(MAX_REPLAY_ATTEMPTS)).copyIn(anyString(), any(InputStream.class));
+    assertTrue(spool.peek().isEmpty());
+  }
+
+  @Test
+  void givenAFullQueue_shouldRejectTheRecordsWithoutWaitingForTheFlush() throws Exception {
+    LogIngestionService service = service(1024);
+    CompletableFuture<Boolean> accepted =
+        service.ingest(DATABASE, LogTable.LOG_PATRONI, records("first", "second"));
+
+    CompletableFuture<Boolean> rejected =
+        service.ingest(DATABASE, LogTable.LOG_PATRONI, records("third", "fourth"));
+
+    assertFalse(rejected.getNow(true));
+    assertFalse(accepted.isDone());
+    when(copyManager.copyIn(anyString(), any(InputStream.class))).thenReturn(2L);
+    service.flush();
+    assertTrue(accepted.getNow(false));
+    assertFalse(service.ingest(DATABASE, LogTable.LOG_PATRONI, records("third", "fourth"))
+        .isDone());
+  }
+
+  @Test
+  void givenAFullSpool_shouldRejectTheRecordsThatCanNotBeWritten() throws Exception {
+    LogIngestionService service = service(1);
+    when(copyManager.copyIn(anyString(), any(InputStream.class)))
+        .thenThrow(new IOException("connection reset"));
+    CompletableFuture<Boolean> accepted =
+        service.ingest(DATABASE, LogTable.LOG_PATRONI, records("first"));
+
+    service.flush();
+
+    assertFalse(accepted.getNow(true));
+    verify(postgresConnectionManager, times(1)).getUnixConnection(
+        anyString(), anyInt(), anyString(), anyString(), anyString());
+  }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.distributedlogs.ingestion;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.stackgres.common.distributedlogs.LogTableFields;
+import org.junit.jupiter.api.Test;
+
+class LogRowMapperTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void givenPostgresCsvMessage_shouldExtractFieldsLikeTheTrigger() {
+    ObjectNode record = objectMapper.createObjectNode()
+        .put("log_time", "2024-03-01 10:15:30.123 UTC")
+        .put("pod_name", "test-0")
+        .put("role", "primary")
+        .put("message", "postgres,\"app db\",42,\"10.0.0.1:5432\",65e1a2b3.2a,7,"
+            + "\"SELECT\",2024-03-01 10:00:00 UTC,3/12,0,ERROR,42P01,"
+            + "\"relation \"\"test\"\" does not exist\",,,,,,\"SELECT * FROM test\",15,,psql")
+        .put("kubernetes", "ignored");
+
+    Object[] row = LogRowMapper.map(LogTable.LOG_POSTGRES, record, Instant.EPOCH);
+
+    assertEquals(Instant.parse("2024-03-01T10:15:30.123Z"), value(row, "log_time"));
+    assertNull(value(row, LogTableFields.LOG_TIME_INDEX));
+    assertEquals("test-0", value(row, "pod_name"));
+    assertEquals("primary", value(row, "role"));
+    assertEquals("postgres", value(row, "user_name"));
+    assertEquals("app db", value(row, "database_name"));
+    assertEquals(42, value(row, "process_id"));
+    assertEquals(7L, value(row, "session_line_num"));
+    assertEquals(Instant.parse("2024-03-01T10:00:00Z"), value(row, "session_start_time"));
+    assertEquals(0L, value(row, "transaction_id"));
+    assertEquals("ERROR", value(row, "error_severity"));
+    assertEquals("42P01", value(row, "sql_state_code"));
+    assertEquals("relation \"test\" does not exist", value(row, "message"));
+    assertNull(value(row, "detail"));
+    assertEquals("SELECT * FROM test", value(row, "query"));
+    assertEquals(15, value(row, "query_pos"));
+    assertNull(value(row, "location"));
+    assertEquals("psql", value(row, "application_name"));
+  }
+
+  @Test
+  void givenPatroniRecord_shouldParseTimestampWithoutZoneAsUtc() {
+    ObjectNode record = objectMapper.createObjectNode()
+        .put("log_time", "2024-03-01 10:15:30,456")
+        .put("pod_name", "test-1")
+        .put("error_severity", "INFO")
+        .put("message", "no action. I am (test-1), the leader with the lock");
+
+    Object[] row = LogRowMapper.map(LogTable.LOG_PATRONI, record, Instant.EPOCH);
+
+    assertEquals(Instant.parse("2024-03-01T10:15:30.456Z"), row[0]);
+    assertEquals("INFO", row[LogTable.LOG_PATRONI.getColumnIndex("error_severity")]);
+    assertEquals("no action. I am (test-1), the leader with the lock",
+        row[LogTable.LOG_PATRONI.getColumnIndex("message")]);
+  }
+
+  @Test
+  void givenInvalidLogTime_shouldUseReceivedTime() {
+    ObjectNode record = objectMapper.createObjectNode()
+        .put("log_time", "invalid")
+        .put("pod_name", "test-1");
+    Instant receivedAt = Instant.parse("2024-03-01T00:00:00Z");
+
+    Object[] row = LogRowMapper.map(LogTable.LOG_PATRONI, record, receivedAt);
+
+    assertEquals(receivedAt, row[0]);
+  }
+
+  @Test
+  void givenQuotedFieldWithNewLines_shouldKeepThemAndIgnoreFollowingLines() {
+    assertEquals(List.of("a", "multi\nline", "b\\c", "d"),
+        PostgresCsvLogParser.parse("a, \"multi\r\nline\",b\\\\c,d\nignored,line"));
+  }
+
+  @Test
+  void givenRows_shouldEncodeThemInBinaryCopyFormat() throws IOException {
+    Object[] row = new Object[LogTable.LOG_PATRONI.getColumns().size()];
+    row[0] = Instant.parse("2000-01-01T00:00:01.5Z");
+    row[1] = 3;
+    row[2] = "pod";
+
+    DataInputStream data = new DataInputStream(new ByteArrayInputStream(
+        BinaryCopyEncoder.encode(LogTable.LOG_PATRONI, List.<Object[]>of(row))));
+
+    assertArrayEquals("PGCOPY\n\377\r\n\0".getBytes("ISO-8859-1"), data.readNBytes(11));
+    assertEquals(0, data.readInt());
+    assertEquals(0, data.readInt());
+    assertEquals(row.length, data.readShort());
+    assertEquals(8, data.readInt());
+    assertEquals(1_500_000L, data.readLong());
+    assertEquals(4, data.readInt());
+    assertEquals(3, data.readInt());
+    assertEquals(3, data.readInt());
+    assertEquals("pod", new String(data.readNBytes(3), "UTF-8"));
+    for (int index = 3; index < row.length; index++) {
+      assertEquals(-1, data.readInt());
+    }
+    assertEquals(-1, data.readShort());
+  }
+
+  private Object value(Object[] row, String column) {
+    return row[LogTable.LOG_POSTGRES.getColumnIndex(column)];
+  }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.distributedlogs.ingestion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.stackgres.distributedlogs.ingestion.LogSpool.SpooledBatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LogSpoolTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void givenSpooledBatches_shouldReplayThemInOrderAfterRestart() throws IOException {
+    LogSpool spool = new LogSpool(directory, 1024, objectMapper);
+    assertTrue(spool.offer("default_test", LogTable.LOG_POSTGRES, records("first")));
+    assertTrue(spool.offer("default_other-test", LogTable.LOG_PATRONI, records("second")));
+
+    LogSpool restartedSpool = new LogSpool(directory, 1024, objectMapper);
+    assertEquals(spool.size(), restartedSpool.size());
+    SpooledBatch first = restartedSpool.peek().orElseThrow();
+    assertEquals("default_test", first.database());
+    assertEquals(LogTable.LOG_POSTGRES, first.table());
+    assertEquals(records("first"), first.records());
+    restartedSpool.remove(first);
+    SpooledBatch second = restartedSpool.peek().orElseThrow();
+    assertEquals("default_other-test", second.database());
+    assertEquals(LogTable.LOG_PATRONI, second.table());
+    restartedSpool.remove(second);
+    assertTrue(restartedSpool.peek().isEmpty());
+    assertEquals(0, restartedSpool.size());
+  }
+
+  @Test
+  void givenFullSpool_shouldRejectBatches() throws IOException {
+    LogSpool spool = new LogSpool(directory, 64, objectMapper);
+    assertTrue(spool.offer("default_test", LogTable.LOG_POSTGRES, records("first")));
+    assertFalse(spool.offer("default_test", LogTable.LOG_POSTGRES, records("second")));
+    spool.remove(spool.peek().orElseThrow());
+    assertTrue(spool.offer("default_test", LogTable.LOG_POSTGRES, records("second")));
+  }
+
+  @Test
+  void givenDeadLetteredBatch_shouldReplayTheNextOneAndKeepItAfterRestart() throws IOException {
+    LogSpool spool = new LogSpool(directory, 1024, objectMapper);
+    assertTrue(spool.offer("default_test", LogTable.LOG_POSTGRES, records("bad")));
+    assertTrue(spool.offer("default_test", LogTable.LOG_POSTGRES, records("good")));
+
+    Path deadLetter = spool.deadLetter(spool.peek().orElseThrow());
+    assertEquals(records("bad"), objectMapper.readTree(deadLetter.toFile()));
+    assertEquals(records("good"), spool.peek().orElseThrow().records());
+
+    LogSpool restartedSpool = new LogSpool(directory, 1024, objectMapper);
+    assertEquals(spool.size(), restartedSpool.size());
+    assertTrue(Files.exists(deadLetter));
+    assertEquals(records("good"), restartedSpool.peek().orElseThrow().records());
+  }
+
+  @Test
+  void givenDeadLettersBiggerThanTheMaximum_shouldRemoveTheOldestOnes() throws IOException {
+    LogSpool spool = new LogSpool(directory, 64, objectMapper);
+    assertTrue(spool.offer("default_test", LogTable.LOG_POSTGRES, records("first")));
+    Path firstDeadLetter = spool.deadLetter(spool.peek().orElseThrow());
+    assertTrue(spool.offer("default_test", LogTable.LOG_POSTGRES, records("second")));
+    Path secondDeadLetter = spool.deadLetter(spool.peek().orElseThrow());
+
+    assertFalse(Files.exists(firstDeadLetter));
+    assertTrue(Files.exists(secondDeadLetter));
+    assertEquals(0, spool.size());
+  }
+
+  private ArrayNode records(String message) {
+    ArrayNode records = objectMapper.createArrayNode();
+    records.addObject().put("message", message).put("pod_name", "test-0");
+    return records;
+  }
+
+}
@@ -20,7 +20,8 @@ public enum JobsProperty implements StackGresPropertyReader {
   SERVICE_ACCOUNT("stackgres.dbops.serviceAccount"),
   POD_NAME("stackgres.dbops.podName"),
   DBOPS_LOCK_POLL_INTERVAL("stackgres.dbops.lockPollInterval"),
-  DBOPS_LOCK_DURATION("stackgres.dbops.lockDuration");
+  DBOPS_LOCK_DURATION("stackgres.dbops.lockDuration"),
+  DBOPS_WATCH_TIMEOUT("stackgres.dbops.watchTimeout");
 
   private static final Properties APPLICATION_PROPERTIES =
       StackGresPropertyReader.readApplicationProperties(JobsProperty.class);
@@ -308,6 +308,8 @@ public abstract class AbstractRestartStateHandler implements ClusterRestartState
 
   protected abstract Optional<DbOpsMethodType> getRestartMethod(StackGresDbOps op);
 
+  protected abstract Optional<Integer> getMaxUnavailable(StackGresDbOps op);
+
   private void logEvent(RestartEvent event) {
     LOGGER.info(event.getMessage());
   }
@@ -333,6 +335,8 @@ public abstract class AbstractRestartStateHandler implements ClusterRestartState
         .map(StackGresDbOpsSpec::getRestart)
         .map(StackGresDbOpsRestart::getOnlyPendingRestart)
         .orElse(false);
+    final int maxUnavailable = getMaxUnavailable(dbOps)
+        .orElse(1);
     final DbOpsRestartStatus restartStatus = getDbOpRestartStatus(dbOps);
     final Map<String, Pod> podsDict = clusterPods.stream()
         .collect(Collectors.toMap(pod -> pod.getMetadata().getName(), Function.identity()));
@@ -353,6 +357,7 @@ public abstract class AbstractRestartStateHandler implements ClusterRestartState
     LOGGER.info("Operation: {}", operation.toString());
     LOGGER.info("Restart method: {}", method.toString());
     LOGGER.info("Only pending restart: {}", onlyPendingRestart);
+    LOGGER.info("Max unavailable: {}", maxUnavailable);
     LOGGER.info("Found cluster pods: {}", clusterPods.stream()
         .map(HasMetadata::getMetadata)
         .map(ObjectMeta::getName)
@@ -384,6 +389,7 @@ public abstract class AbstractRestartStateHandler implements ClusterRestartState
         .clusterName(cluster.getMetadata().getName())
         .restartMethod(method)
         .isOnlyPendingRestart(onlyPendingRestart)
+        .maxUnavailable(maxUnavailable)
         .primaryInstance(primaryInstance)
         .isSwitchoverInitiated(restartStatus.getSwitchoverInitiated() != null)
         .isSwitchoverFinalized(restartStatus.getSwitchoverFinalized() != null)
@@ -10,6 +10,7 @@ import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import com.google.common.collect.Lists;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
@@ -202,37 +203,49 @@ public class ClusterRestart {
         .collect(Collectors.toUnmodifiableList());
 
     var restartReplicas = Uni.createFrom().nullItem();
-    for (Pod replica : replicas) {
+    for (List<Pod> batch : Lists.partition(replicas, clusterRestartState.getMaxUnavailable())) {
       restartReplicas = restartReplicas
-          .onItem()
-          .invoke(() -> logPodRestartReason(replica, clusterRestartState))
-          .invoke(() -> {
-            em.accept(ImmutableRestartEventInstance.builder()
-                .message(String.format("Restarting replica pod %s",
-                    replica.getMetadata().getName()))
-                .eventType(RestartEventType.RESTARTING_POD)
-                .build());
-          })
-          .chain(() -> podRestart.restartPod(clusterRestartState.getClusterName(), replica))
-          .onItem()
-          .invoke(() -> {
-            em.accept(ImmutableRestartEventInstance.builder()
-                .message(String.format("Pod %s restarted", replica.getMetadata().getName()))
-                .pod(replica)
-                .eventType(RestartEventType.POD_RESTARTED)
-                .build());
-          })
-          .onFailure()
-          .transform(ex -> MutinyUtil.logOnFailureToRetry(ex,
-              "restarting replica {}", replica.getMetadata().getName()))
-          .onFailure()
-          .retry()
-          .indefinitely()
+          .chain(() -> Uni.combine().all()
+              .unis(batch.stream()
+                  .map(replica -> restartPodOfReplica(clusterRestartState, em, replica))
+                  .toList())
+              .discardItems())
           .chain(() -> waitForClusterToBeHealthy(clusterRestartState));
     }
     return restartReplicas;
   }
 
+  private Uni<?> restartPodOfReplica(
+      ClusterRestartState clusterRestartState,
+      Consumer<RestartEvent> em,
+      Pod replica) {
+    return Uni.createFrom().voidItem()
+        .onItem()
+        .invoke(() -> logPodRestartReason(replica, clusterRestartState))
+        .invoke(() -> {
+          em.accept(ImmutableRestartEventInstance.builder()
+              .message(String.format("Restarting replica pod %s",
+                  replica.getMetadata().getName()))
+              .eventType(RestartEventType.RESTARTING_POD)
+              .build());
+        })
+        .chain(() -> podRestart.restartPod(clusterRestartState.getClusterName(), replica))
+        .onItem()
+        .invoke(() -> {
+          em.accept(ImmutableRestartEventInstance.builder()
+              .message(String.format("Pod %s restarted", replica.getMetadata().getName()))
+              .pod(replica)
+              .eventType(RestartEventType.POD_RESTARTED)
+              .build());
+        })
+        .onFailure()
+        .transform(ex -> MutinyUtil.logOnFailureToRetry(ex,
+            "restarting replica {}", replica.getMetadata().getName()))
+        .onFailure()
+        .retry()
+        .indefinitely();
+  }
+
   private Uni<?> performSwitchover(
       ClusterRestartState clusterRestartState,
       Consumer<RestartEvent> em) {
@@ -33,6 +33,11 @@ public interface ClusterRestartState {
 
   boolean isOnlyPendingRestart();
 
+  @Value.Default
+  default int getMaxUnavailable() {
+    return 1;
+  }
+
   Optional<String> getPrimaryInstance();
 
   boolean isSwitchoverInitiated();
@@ -49,6 +54,7 @@ public interface ClusterRestartState {
 
   @Value.Check
   default void check() {
+    Preconditions.checkState(getMaxUnavailable() >= 1);
     Preconditions.checkState(getInitialInstances().stream()
         .allMatch(initialInstance -> getTotalInstances().stream()
             .anyMatch(initialInstance::equals)));
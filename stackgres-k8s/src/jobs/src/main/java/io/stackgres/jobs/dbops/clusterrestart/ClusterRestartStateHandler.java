@@ -101,5 +101,12 @@ public class ClusterRestartStateHandler extends AbstractRestartStateHandler {
         .map(DbOpsMethodType::fromString);
   }
 
+  @Override
+  protected Optional<Integer> getMaxUnavailable(StackGresDbOps op) {
+    return Optional.ofNullable(op.getSpec())
+        .map(StackGresDbOpsSpec::getRestart)
+        .map(StackGresDbOpsRestart::getMaxUnavailable);
+  }
+
 }
 
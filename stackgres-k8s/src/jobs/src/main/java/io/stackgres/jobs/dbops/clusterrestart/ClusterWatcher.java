@@ -13,6 +13,7 @@ import java.util.stream.Collectors;
 
 import com.google.common.base.Joiner;
 import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClient;
 import io.smallrye.mutiny.Uni;
 import io.stackgres.common.crd.sgcluster.StackGresCluster;
 import io.stackgres.common.labels.LabelFactoryForCluster;
@@ -20,7 +21,6 @@ import io.stackgres.common.patroni.PatroniMember;
 import io.stackgres.common.patroni.PatroniMember.MemberRole;
 import io.stackgres.common.patroni.PatroniMember.MemberState;
 import io.stackgres.common.resource.CustomResourceFinder;
-import io.stackgres.common.resource.ResourceScanner;
 import io.stackgres.jobs.dbops.DbOpsExecutorService;
 import io.stackgres.jobs.dbops.MutinyUtil;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -39,7 +39,7 @@ public class ClusterWatcher {
   LabelFactoryForCluster<StackGresCluster> labelFactory;
 
   @Inject
-  ResourceScanner<Pod> podScanner;
+  KubernetesClient client;
 
   @Inject
   CustomResourceFinder<StackGresCluster> clusterFinder;
@@ -93,27 +93,30 @@ public class ClusterWatcher {
   }
 
   private Uni<List<Pod>> scanClusterPods(StackGresCluster cluster) {
-    return executorService.itemAsync(() -> {
-      var podsLabels = labelFactory.clusterLabelsWithoutUidAndScope(cluster);
-      final String labelsAsString = Joiner.on(",").withKeyValueSeparator(":").join(podsLabels);
-      LOGGER.debug("Scanning for pods of cluster {} with labels {}",
-          cluster.getMetadata().getName(), labelsAsString);
-
-      var pods = podScanner
-          .getResourcesInNamespaceWithLabels(cluster.getMetadata().getNamespace(), podsLabels);
-
-      int expectedInstances = cluster.getSpec().getInstances();
-
-      if (expectedInstances == pods.size()) {
-        return pods;
-      } else {
-        LOGGER.debug("Not all expected pods found with labels {}, expected {}, actual {}",
-            labelsAsString,
-            expectedInstances,
-            pods.size());
-        throw new InvalidClusterException("No all pods found");
-      }
-    });
+    var podsLabels = labelFactory.clusterLabelsWithoutUidAndScope(cluster);
+    final String labelsAsString = Joiner.on(",").withKeyValueSeparator(":").join(podsLabels);
+    LOGGER.debug("Watching for pods of cluster {} with labels {}",
+        cluster.getMetadata().getName(), labelsAsString);
+    int expectedInstances = cluster.getSpec().getInstances();
+
+    return Uni.createFrom()
+        .completionStage(() -> client.pods()
+            .inNamespace(cluster.getMetadata().getNamespace())
+            .withLabels(podsLabels)
+            .informOnCondition(pods -> {
+              if (expectedInstances == pods.size()) {
+                return true;
+              }
+              LOGGER.debug("Not all expected pods found with labels {}, expected {}, actual {}",
+                  labelsAsString,
+                  expectedInstances,
+                  pods.size());
+              return false;
+            }))
+        .emitOn(executorService.getExecutorService())
+        .ifNoItem()
+        .after(PodWatcher.WATCH_TIMEOUT)
+        .failWith(() -> new InvalidClusterException("No all pods found"));
   }
 
   private Uni<List<PatroniMember>> getClusterMembers(StackGresCluster cluster) {
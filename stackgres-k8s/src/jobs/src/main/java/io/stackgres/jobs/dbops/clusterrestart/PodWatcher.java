@@ -6,18 +6,26 @@
 package io.stackgres.jobs.dbops.clusterrestart;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import com.google.common.collect.ImmutableList;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
 import io.fabric8.kubernetes.client.readiness.Readiness;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
 import io.stackgres.common.ClusterPendingRestartUtil;
 import io.stackgres.common.ClusterPendingRestartUtil.RestartReason;
 import io.stackgres.common.ClusterPendingRestartUtil.RestartReasons;
-import io.stackgres.common.resource.ResourceFinder;
+import io.stackgres.jobs.app.JobsProperty;
 import io.stackgres.jobs.dbops.DbOpsExecutorService;
 import io.stackgres.jobs.dbops.MutinyUtil;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -25,16 +33,23 @@ import jakarta.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Wait for a Pod to reach some state using a watch on the Pod (and on the StatefulSet when
+ *  checking for StatefulSet changes) so that the wait completes as soon as the state is observed.
+ *  If the state is not observed within the watch timeout the watch is recreated.
+ */
 @ApplicationScoped
 public class PodWatcher {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PodWatcher.class);
 
-  @Inject
-  ResourceFinder<Pod> podFinder;
+  static final Duration WATCH_TIMEOUT = Duration.ofSeconds(
+      JobsProperty.DBOPS_WATCH_TIMEOUT.get()
+      .map(Long::parseLong)
+      .orElse(300L));
 
   @Inject
-  ResourceFinder<StatefulSet> statefulSetFinder;
+  KubernetesClient client;
 
   @Inject
   DbOpsExecutorService executorService;
@@ -49,24 +64,21 @@ public class PodWatcher {
     String name = pod.getMetadata().getName();
     String namespace = pod.getMetadata().getNamespace();
 
-    return findPod(name, namespace)
+    LOGGER.info("Waiting for pod {} to be ready", name);
+    final Uni<Pod> waitUntilReady;
+    if (checkStatefulSetChanges) {
+      waitUntilReady = watchPodReadyOrStatefulSetChanged(clusterName, name, namespace);
+    } else {
+      waitUntilReady = watchPod(name, namespace, foundPod -> foundPod
+          .filter(Readiness.getInstance()::isReady)
+          .isPresent())
+          .onItem()
+          .transform(updatedPod -> updatedPod
+              .orElseThrow(() -> new RuntimeException("Pod " + name + " not found")));
+    }
+    return waitUntilReady
         .onItem()
-        .transform(updatedPod -> updatedPod
-            .orElseThrow(() -> new RuntimeException("Pod " + name + " not found")))
-        .chain(updatedPod -> executorService.itemAsync(() -> {
-          LOGGER.info("Waiting for pod {} to be ready. Current state {}", name,
-              updatedPod.getStatus().getPhase());
-          if (!Readiness.getInstance().isReady(updatedPod)) {
-            throw Optional.of(checkStatefulSetChanges)
-            .filter(check -> check)
-            .flatMap(check -> getStatefulSetChangedException(
-                clusterName, name, namespace, updatedPod))
-            .map(RuntimeException.class::cast)
-            .orElse(new RuntimeException("Pod " + name + " not ready"));
-          }
-          LOGGER.info("Pod {} ready!", name);
-          return updatedPod;
-        }))
+        .invoke(() -> LOGGER.info("Pod {} ready!", name))
         .onFailure()
         .transform(ex -> MutinyUtil.logOnFailureToRetry(ex,
             "waiting for Pod {} to be ready", name))
@@ -76,9 +88,41 @@ public class PodWatcher {
         .indefinitely();
   }
 
-  private Optional<StatefulSetChangedException> getStatefulSetChangedException(String clusterName,
-      String podName, String namespace, Pod updatedPod) {
-    Optional<StatefulSet> sts = getStatefulSet(clusterName, namespace);
+  /**
+   * Watch the Pod and the StatefulSet until the Pod is ready or the StatefulSet changed while
+   *  the Pod is not ready, in which case the returned {@link Uni} fails with
+   *  {@link StatefulSetChangedException}. Fails if none of the conditions is met before the
+   *  watch timeout.
+   */
+  private Uni<Pod> watchPodReadyOrStatefulSetChanged(String clusterName, String name,
+      String namespace) {
+    return Uni.createFrom()
+        .<Pod>emitter(emitter -> {
+          final PodReadyOrStatefulSetChanged condition =
+              new PodReadyOrStatefulSetChanged(name, emitter);
+          emitter.onTermination(condition::close);
+          final SharedIndexInformer<Pod> podInformer = client.pods()
+              .inNamespace(namespace)
+              .withName(name)
+              .runnableInformer(0);
+          podInformer.addEventHandler(condition.podHandler());
+          condition.watch(podInformer);
+          final SharedIndexInformer<StatefulSet> statefulSetInformer = client.apps()
+              .statefulSets()
+              .inNamespace(namespace)
+              .withName(clusterName)
+              .runnableInformer(0);
+          statefulSetInformer.addEventHandler(condition.statefulSetHandler());
+          condition.watch(statefulSetInformer);
+        })
+        .emitOn(executorService.getExecutorService())
+        .ifNoItem()
+        .after(WATCH_TIMEOUT)
+        .failWith(() -> new RuntimeException("Timeout watching Pod " + name));
+  }
+
+  private static Optional<StatefulSetChangedException> getStatefulSetChangedException(
+      Optional<StatefulSet> sts, String podName, Pod updatedPod) {
     RestartReasons restartReasons =
         ClusterPendingRestartUtil.getRestartReasons(
             ImmutableList.of(), sts, ImmutableList.of(updatedPod));
@@ -91,14 +135,10 @@ public class PodWatcher {
     return Optional.empty();
   }
 
-  private Optional<StatefulSet> getStatefulSet(String clusterName, String namespace) {
-    return statefulSetFinder.findByNameAndNamespace(clusterName, namespace);
-  }
-
   public Uni<Pod> waitUntilIsCreated(String name, String namespace) {
     LOGGER.debug("Waiting for pod {} to be created", name);
 
-    return findPod(name, namespace)
+    return watchPod(name, namespace, Optional::isPresent)
         .onItem()
         .transform(pod -> pod
             .orElseThrow(() -> new RuntimeException("Pod " + name + " not found")))
@@ -112,14 +152,11 @@ public class PodWatcher {
   }
 
   public Uni<Void> waitUntilIsRemoved(Pod removedPod) {
-    return findPod(removedPod.getMetadata().getName(), removedPod.getMetadata().getNamespace())
-        .onItem()
-        .invoke(foundPod -> foundPod
-            .filter(pod -> pod.getMetadata().getUid().equals(removedPod.getMetadata().getUid()))
-            .ifPresent(pod -> {
-              throw new RuntimeException("Pod " + removedPod.getMetadata().getName()
-                  + " with uid " + removedPod.getMetadata().getUid() + " not removed");
-            }))
+    return watchPod(removedPod.getMetadata().getName(), removedPod.getMetadata().getNamespace(),
+        foundPod -> foundPod
+            .filter(pod -> Objects.equals(
+                pod.getMetadata().getUid(), removedPod.getMetadata().getUid()))
+            .isEmpty())
         .onFailure()
         .transform(ex -> MutinyUtil.logOnFailureToRetry(ex,
             "deleting Pod {}", removedPod.getMetadata().getName()))
@@ -135,19 +172,14 @@ public class PodWatcher {
     String oldCreationTimestamp = pod.getMetadata().getCreationTimestamp();
     String name = pod.getMetadata().getName();
     String namespace = pod.getMetadata().getNamespace();
-    return findPod(name, namespace)
+    return watchPod(name, namespace, newPod -> newPod
+        .map(Pod::getMetadata)
+        .filter(metadata -> !Objects.equals(
+            oldCreationTimestamp, metadata.getCreationTimestamp()))
+        .isPresent())
         .onItem()
         .transform(newPod -> newPod
             .orElseThrow(() -> new RuntimeException("Pod " + name + " not found")))
-        .onItem()
-        .transform(newPod -> {
-          String newCreationTimestamp = newPod.getMetadata().getCreationTimestamp();
-          if (Objects.equals(oldCreationTimestamp, newCreationTimestamp)) {
-            throw new RuntimeException("Pod " + name + " not replaced");
-          } else {
-            return newPod;
-          }
-        })
         .onFailure()
         .transform(ex -> MutinyUtil.logOnFailureToRetry(ex,
             "waiting for Pod {} to be replaced", name))
@@ -157,8 +189,23 @@ public class PodWatcher {
         .indefinitely();
   }
 
-  private Uni<Optional<Pod>> findPod(String name, String namespace) {
-    return executorService.itemAsync(() -> podFinder.findByNameAndNamespace(name, namespace))
+  /**
+   * Watch the Pod until the condition is met. The condition receives an empty {@link Optional}
+   *  when the Pod does not exist. Fails if the condition is not met before the watch timeout.
+   */
+  private Uni<Optional<Pod>> watchPod(String name, String namespace,
+      Predicate<Optional<Pod>> condition) {
+    return Uni.createFrom()
+        .completionStage(() -> client.pods()
+            .inNamespace(namespace)
+            .withName(name)
+            .informOnCondition(pods -> condition.test(findFirst(pods))))
+        .emitOn(executorService.getExecutorService())
+        .onItem()
+        .transform(PodWatcher::findFirst)
+        .ifNoItem()
+        .after(WATCH_TIMEOUT)
+        .failWith(() -> new RuntimeException("Timeout watching Pod " + name))
         .onItem()
         .invoke(pod -> {
           if (pod.isEmpty()) {
@@ -169,4 +216,127 @@ public class PodWatcher {
         });
   }
 
+  private static Optional<Pod> findFirst(List<Pod> pods) {
+    return pods.stream().findFirst();
+  }
+
+  /**
+   * Evaluate the conditions of {@link #watchPodReadyOrStatefulSetChanged} against the latest Pod
+   *  and StatefulSet seen by their informers. Both informers are closed as soon as one of the
+   *  conditions is met.
+   */
+  private static class PodReadyOrStatefulSetChanged {
+
+    private final String podName;
+    private final UniEmitter<? super Pod> emitter;
+    private final List<SharedIndexInformer<?>> informers = new ArrayList<>(2);
+    private Optional<Pod> pod = Optional.empty();
+    private Optional<StatefulSet> statefulSet = Optional.empty();
+    private boolean closed = false;
+
+    PodReadyOrStatefulSetChanged(String podName, UniEmitter<? super Pod> emitter) {
+      this.podName = podName;
+      this.emitter = emitter;
+    }
+
+    ResourceEventHandler<Pod> podHandler() {
+      return new Handler<>(this::onPod);
+    }
+
+    ResourceEventHandler<StatefulSet> statefulSetHandler() {
+      return new Handler<>(this::onStatefulSet);
+    }
+
+    void watch(SharedIndexInformer<?> informer) {
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        informers.add(informer);
+      }
+      informer.start()
+          .whenComplete((ignored, ex) -> {
+            if (ex != null) {
+              fail(ex);
+            }
+          });
+    }
+
+    private void fail(Throwable ex) {
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        close();
+      }
+      emitter.fail(ex);
+    }
+
+    synchronized void close() {
+      closed = true;
+      informers.forEach(SharedIndexInformer::close);
+      informers.clear();
+    }
+
+    private void onPod(Optional<Pod> pod) {
+      synchronized (this) {
+        this.pod = pod;
+      }
+      check();
+    }
+
+    private void onStatefulSet(Optional<StatefulSet> statefulSet) {
+      synchronized (this) {
+        this.statefulSet = statefulSet;
+      }
+      check();
+    }
+
+    private void check() {
+      final Pod readyPod;
+      final Optional<StatefulSetChangedException> statefulSetChanged;
+      synchronized (this) {
+        if (closed || pod.isEmpty()) {
+          return;
+        }
+        if (Readiness.getInstance().isReady(pod.get())) {
+          readyPod = pod.get();
+          statefulSetChanged = Optional.empty();
+        } else {
+          readyPod = null;
+          statefulSetChanged = getStatefulSetChangedException(statefulSet, podName, pod.get());
+          if (statefulSetChanged.isEmpty()) {
+            return;
+          }
+        }
+        close();
+      }
+      if (readyPod != null) {
+        emitter.complete(readyPod);
+      } else {
+        emitter.fail(statefulSetChanged.get());
+      }
+    }
+
+  }
+
+  private record Handler<T>(Consumer<Optional<T>> consumer) implements ResourceEventHandler<T> {
+
+    @Override
+    public void onAdd(T obj) {
+      consumer.accept(Optional.of(obj));
+    }
+
+    @Override
+    public void onUpdate(T oldObj, T newObj) {
+      consumer.accept(Optional.of(newObj));
+    }
+
+    @Override
+    public void onDelete(T obj, boolean deletedFinalStateUnknown) {
+      consumer.accept(Optional.empty());
+    }
+
+  }
+
 }
@@ -182,4 +182,11 @@ public class MinorVersionUpgradeRestartStateHandler extends AbstractRestartState
         .map(DbOpsMethodType::fromString);
   }
 
+  @Override
+  protected Optional<Integer> getMaxUnavailable(StackGresDbOps op) {
+    return Optional.ofNullable(op.getSpec())
+        .map(StackGresDbOpsSpec::getMinorVersionUpgrade)
+        .map(StackGresDbOpsMinorVersionUpgrade::getMaxUnavailable);
+  }
+
 }
@@ -101,4 +101,11 @@ public class SecurityUpgradeStateHandler extends AbstractRestartStateHandler {
         .map(DbOpsMethodType::fromString);
   }
 
+  @Override
+  protected Optional<Integer> getMaxUnavailable(StackGresDbOps op) {
+    return Optional.ofNullable(op.getSpec())
+        .map(StackGresDbOpsSpec::getSecurityUpgrade)
+        .map(StackGresDbOpsSecurityUpgrade::getMaxUnavailable);
+  }
+
 }
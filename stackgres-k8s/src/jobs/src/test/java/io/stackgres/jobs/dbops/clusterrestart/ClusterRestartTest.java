@@ -181,6 +181,71 @@ class ClusterRestartTest {
     checkFinalSgClusterOnInPlace();
   }
 
+  @Test
+  void givenACleanStateWithMaxUnavailable_itShouldRestartReplicasInBatches() {
+    when(clusterWatcher.getAvailablePrimary(CLUSTER_NAME, NAMESPACE))
+        .thenReturn(Uni.createFrom().item(Optional.of(PRIMARY_POD_NAME)));
+    ClusterRestartState clusterState = ClusterRestartState.builder()
+        .namespace(dbOps.getMetadata().getNamespace())
+        .dbOpsName(dbOps.getMetadata().getName())
+        .dbOpsOperation(DbOpsOperation.fromString(dbOps.getSpec().getOp()))
+        .clusterName(dbOps.getSpec().getSgCluster())
+        .restartMethod(DbOpsMethodType.IN_PLACE)
+        .isOnlyPendingRestart(false)
+        .maxUnavailable(2)
+        .primaryInstance(primary.getMetadata().getName())
+        .addInitialInstances(primary, replica1, replica2, additionalPod)
+        .addTotalInstances(primary, replica1, replica2, additionalPod)
+        .putAllPodRestartReasonsMap(ImmutableMap.of(
+            primary, RestartReasons.of(),
+            replica1, RestartReasons.of(),
+            replica2, RestartReasons.of(),
+            additionalPod, RestartReasons.of()))
+        .isSwitchoverInitiated(false)
+        .isSwitchoverFinalized(false)
+        .build();
+
+    when(podRestart.restartPod(any(), any(Pod.class))).thenAnswer(invocationOnMock -> {
+      Pod pod = invocationOnMock.getArgument(1);
+      return Uni.createFrom().item(pod);
+    });
+
+    final String primaryName = primary.getMetadata().getName();
+    when(postgresRestart.restartPostgres(primaryName, CLUSTER_NAME, NAMESPACE))
+        .thenReturn(Uni.createFrom().nullItem());
+
+    when(switchoverHandler.performSwitchover(primaryName, CLUSTER_NAME, NAMESPACE))
+        .thenReturn(Uni.createFrom().voidItem());
+
+    List<RestartEvent> events = clusterRestart.restartCluster(clusterState)
+        .subscribe()
+        .asStream()
+        .collect(Collectors.toUnmodifiableList());
+
+    assertRestartingPodEventCount(events, clusterState.getTotalInstances().size());
+    assertPodRestartedEventCount(events, clusterState.getTotalInstances().size());
+    assertSwitchoverInitializedEvent(events, true);
+    assertSwitchoverFinalizedEvent(events, true);
+
+    final InOrder order = inOrder(podRestart, switchoverHandler, clusterWatcher, postgresRestart);
+    order.verify(clusterWatcher).getAvailablePrimary(CLUSTER_NAME, NAMESPACE);
+    order.verify(postgresRestart).restartPostgres(primaryName, CLUSTER_NAME, NAMESPACE);
+    order.verify(clusterWatcher).waitUntilIsReady(CLUSTER_NAME, NAMESPACE);
+    order.verify(podRestart).restartPod(any(), eq(replica1));
+    order.verify(podRestart).restartPod(any(), eq(replica2));
+    order.verify(clusterWatcher).waitUntilIsReady(CLUSTER_NAME, NAMESPACE);
+    order.verify(podRestart).restartPod(any(), eq(additionalPod));
+    order.verify(clusterWatcher).waitUntilIsReady(CLUSTER_NAME, NAMESPACE);
+    order.verify(switchoverHandler).performSwitchover(primaryName, CLUSTER_NAME, NAMESPACE);
+    order.verify(clusterWatcher).waitUntilIsReady(CLUSTER_NAME, NAMESPACE);
+    order.verify(podRestart).restartPod(any(), eq(primary));
+    order.verify(clusterWatcher).waitUntilIsReady(CLUSTER_NAME, NAMESPACE);
+    order.verifyNoMoreInteractions();
+
+    verify(clusterWatcher, times(5)).waitUntilIsReady(any(), any());
+    verify(podRestart, times(4)).restartPod(any(), any());
+  }
+
   @Test
   void givenAClusterWithoutPrimary_itShouldRestartLatestPrimaryAndAllOtherPods() {
     when(clusterWatcher.getAvailablePrimary(CLUSTER_NAME, NAMESPACE))
@@ -16,6 +16,7 @@ import java.util.function.Function;
 
 import io.fabric8.kubernetes.api.model.IntOrString;
 import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClient;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
@@ -45,6 +46,9 @@ class ClusterWatcherTest {
   @Inject
   MockKubeDb kubeDb;
 
+  @Inject
+  KubernetesClient client;
+
   @InjectMock
   PatroniApiHandler patroniApiHandler;
 
@@ -130,6 +134,34 @@ class ClusterWatcherTest {
         .atMost(Duration.ofSeconds(3));
   }
 
+  @Test
+  void givenAClusterWithAnExtraPod_shouldPassOnceTheExtraPodIsRemoved()
+      throws InterruptedException {
+    podTestUtil.preparePods(cluster, 1, 2, 3, 4);
+
+    when(patroniApiHandler.getClusterMembers(clusterName, namespace)).thenReturn(
+        Uni.createFrom().item(() -> podTestUtil.getClusterPods(cluster),
+            (pods) -> pods.stream()
+            .map(pod -> createMember(
+                pod,
+                role -> PatroniMember.RUNNING,
+                role -> PatroniUtil.PRIMARY_ROLE.equals(role) ? PatroniMember.LEADER : PatroniMember.REPLICA))
+            .toList()));
+
+    UniAssertSubscriber<StackGresCluster> subscriber =
+        clusterWatcher.waitUntilIsReady(clusterName, namespace)
+        .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+    Thread.sleep(100);
+    subscriber.assertNotTerminated();
+
+    client.pods().inNamespace(namespace)
+        .withName(podTestUtil.buildReplicaPod(cluster, 4).getMetadata().getName())
+        .delete();
+
+    subscriber.awaitItem(Duration.ofSeconds(3)).assertCompleted();
+  }
+
   @Test
   void givenAReadyClusterWithOnlyPrimaryReady_shouldReturnPass() {
     podTestUtil.preparePods(cluster, 1, 2, 3);
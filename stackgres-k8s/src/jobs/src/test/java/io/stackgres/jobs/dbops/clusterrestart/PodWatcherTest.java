@@ -19,6 +19,7 @@ import io.fabric8.kubernetes.api.model.NamespaceBuilder;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.PodConditionBuilder;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.quarkus.test.junit.QuarkusTest;
@@ -353,5 +354,117 @@ class PodWatcherTest {
         .assertFailedWith(StatefulSetChangedException.class, null);
   }
 
+  @Test
+  void givenADelayedStatefulSetChange_waitUntilIsReadyShouldThrowAnExceptionWhenCheckEnabled()
+      throws Exception {
+    createPod("test", false);
+    StatefulSet statefulSet = createStatefulSet("test");
+
+    UniAssertSubscriber<Pod> subscriber = podWatcher
+        .waitUntilIsReady(clusterName, podName, namespace, true)
+        .runSubscriptionOn(testExecutor)
+        .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+    Thread.sleep(100);
+    subscriber.assertNotTerminated();
+
+    updateStatefulSet(statefulSet, "changed");
+
+    subscriber.awaitFailure()
+        .assertFailedWith(StatefulSetChangedException.class, null);
+  }
+
+  @Test
+  @Timeout(3)
+  void givenAReadyPodOfAChangedStatefulSet_waitUntilIsReadyShouldPassWhenCheckEnabled() {
+    createPod("wrong", true);
+    createStatefulSet("test");
+
+    var returnedPod = podWatcher.waitUntilIsReady(clusterName, podName, namespace, true)
+        .runSubscriptionOn(testExecutor)
+        .subscribe().withSubscriber(UniAssertSubscriber.create())
+        .awaitItem()
+        .assertCompleted().getItem();
+
+    assertEquals(podName, returnedPod.getMetadata().getName());
+  }
+
+  @Test
+  void givenAPodRecreatedForAChangedStatefulSet_waitUntilIsReadyShouldWaitForTheNewPodReadiness()
+      throws Exception {
+    createPod("test", false);
+    StatefulSet statefulSet = createStatefulSet("test");
+
+    UniAssertSubscriber<Pod> subscriber = podWatcher
+        .waitUntilIsReady(clusterName, podName, namespace, true)
+        .runSubscriptionOn(testExecutor)
+        .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+    Thread.sleep(100);
+    subscriber.assertNotTerminated();
+
+    client.pods().inNamespace(namespace).withName(podName).delete();
+
+    Thread.sleep(100);
+    subscriber.assertNotTerminated();
+
+    updateStatefulSet(statefulSet, "changed");
+    Pod recreatedPod = createPod("changed", false);
+
+    Thread.sleep(100);
+    subscriber.assertNotTerminated();
+
+    client.pods().inNamespace(namespace)
+        .resource(new PodBuilder(recreatedPod)
+            .editStatus()
+            .editCondition(0)
+            .withStatus("true")
+            .endCondition()
+            .endStatus().build())
+        .update();
+
+    Pod returnedPod = subscriber.awaitItem().assertCompleted().getItem();
+
+    assertEquals("changed",
+        returnedPod.getMetadata().getLabels().get("controller-revision-hash"));
+  }
+
+  private Pod createPod(String revision, boolean ready) {
+    return client.pods().inNamespace(namespace)
+        .resource(new PodBuilder().withNewMetadata()
+            .withName(podName)
+            .withLabels(ImmutableMap.of("controller-revision-hash", revision))
+            .endMetadata()
+            .withNewStatus()
+            .withConditions(ImmutableList.of(
+                new PodConditionBuilder()
+                .withType("Ready")
+                .withStatus(Boolean.toString(ready))
+                .build()))
+            .endStatus().build())
+        .create();
+  }
+
+  private StatefulSet createStatefulSet(String updateRevision) {
+    return client.apps().statefulSets()
+        .inNamespace(namespace)
+        .resource(new StatefulSetBuilder().withNewMetadata()
+            .withName(clusterName).endMetadata()
+            .withNewStatus()
+            .withUpdateRevision(updateRevision)
+            .endStatus().build())
+        .create();
+  }
+
+  private void updateStatefulSet(StatefulSet statefulSet, String updateRevision) {
+    client.apps().statefulSets()
+        .inNamespace(namespace)
+        .resource(new StatefulSetBuilder(statefulSet)
+            .editStatus()
+            .withUpdateRevision(updateRevision)
+            .endStatus().build())
+        .update();
+  }
+
 }
 
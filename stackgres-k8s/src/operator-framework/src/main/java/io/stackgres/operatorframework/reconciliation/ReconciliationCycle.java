@@ -5,21 +5,20 @@
 
 package io.stackgres.operatorframework.reconciliation;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
@@ -34,6 +33,10 @@ import org.slf4j.LoggerFactory;
 public abstract class ReconciliationCycle<T extends ResourceHandlerContext,
     H extends CustomResource<?, ?>, S extends ResourceHandlerSelector<T>> {
 
+  private static final String ALL_CONTEXT_RESOURCES_KEY = "*";
+  private static final Duration RETRY_BASE_DELAY = Duration.ofSeconds(1);
+  private static final Duration RETRY_MAX_DELAY = Duration.ofMinutes(5);
+
   protected final Logger logger = LoggerFactory.getLogger(getClass());
 
   protected final String name;
@@ -41,9 +44,8 @@ public abstract class ReconciliationCycle<T extends ResourceHandlerContext,
   protected final Reconciliator<T> reconciliator;
   protected final S handlerSelector;
   private final ExecutorService executorService;
-  private final AtomicReference<List<Optional<H>>> atomicReference =
-      new AtomicReference<>(List.of());
-  private final ArrayBlockingQueue<Boolean> arrayBlockingQueue = new ArrayBlockingQueue<>(1);
+  private final WorkQueue<String> workQueue;
+  private final Map<String, H> requestedContextResources = new ConcurrentHashMap<>();
 
   private final CompletableFuture<Void> stopped = new CompletableFuture<>();
   private boolean close = false;
@@ -58,6 +60,7 @@ public abstract class ReconciliationCycle<T extends ResourceHandlerContext,
     this.handlerSelector = handlerSelector;
     this.executorService = Executors.newSingleThreadExecutor(
         r -> new Thread(r, name + "-ReconciliationCycle"));
+    this.workQueue = new WorkQueue<>(name, RETRY_BASE_DELAY, RETRY_MAX_DELAY, 0, 0);
   }
 
   public void start() {
@@ -66,41 +69,38 @@ public abstract class ReconciliationCycle<T extends ResourceHandlerContext,
 
   public void stop() {
     close = true;
-    reconcile(List.of());
+    workQueue.shutDown();
     executorService.shutdown();
-    reconcile(List.of());
     stopped.join();
   }
 
   public void reconcileAll() {
-    reconcile(List.of(Optional.empty()));
+    workQueue.add(ALL_CONTEXT_RESOURCES_KEY);
   }
 
   public void reconcile(H existingContextResource) {
-    reconcile(List.of(Optional.of(existingContextResource)));
-  }
-
-  @SuppressFBWarnings(value = "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE",
-      justification = "We do not care if queue is already filled")
-  private void reconcile(List<Optional<H>> existingContextResources) {
-    atomicReference.updateAndGet(atomicExistingContextResources -> Seq
-        .seq(atomicExistingContextResources)
-        .append(existingContextResources)
-        .toList());
-    arrayBlockingQueue.offer(true);
+    final String key = getRequestedContextResourceKey(existingContextResource);
+    requestedContextResources.put(key, existingContextResource);
+    workQueue.add(key);
   }
 
   private void reconciliationCycleLoop() {
     logger.info("{} reconciliation cycle loop started", name);
     while (true) {
       try {
-        arrayBlockingQueue.take();
-        List<Optional<H>> existingContextResources =
-            atomicReference.getAndSet(List.of());
-        if (close) {
+        final String key = workQueue.take();
+        if (key == null || close) {
           break;
         }
-        reconciliationCycle(existingContextResources);
+        try {
+          reconciliationCycle(key);
+        } finally {
+          workQueue.done(key);
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        logger.error("{} reconciliation cycle loop was interrupted", name, ex);
+        break;
       } catch (Exception ex) {
         logger.error("{} reconciliation cycle loop was interrupted", name, ex);
       }
@@ -109,6 +109,39 @@ public abstract class ReconciliationCycle<T extends ResourceHandlerContext,
     stopped.complete(null);
   }
 
+  private void reconciliationCycle(String key) {
+    final List<Optional<H>> existingContextResources;
+    if (ALL_CONTEXT_RESOURCES_KEY.equals(key)) {
+      existingContextResources = List.of(Optional.empty());
+    } else {
+      existingContextResources = Optional.ofNullable(requestedContextResources.remove(key))
+          .map(Optional::of)
+          .stream()
+          .toList();
+    }
+    if (existingContextResources.isEmpty()) {
+      return;
+    }
+    var result = reconciliationCycle(existingContextResources);
+    if (result.getException().isPresent()) {
+      Duration delay = workQueue.addRateLimited(key);
+      logger.debug("{} reconciliation cycle will be retried in {}", name, delay);
+      return;
+    }
+    workQueue.forget(key);
+    for (H contextResource : result.getContextResources()) {
+      final String contextResourceKey = getRequestedContextResourceKey(contextResource);
+      if (result.getContextExceptions().containsKey(contextResource)) {
+        requestedContextResources.putIfAbsent(contextResourceKey, contextResource);
+        Duration delay = workQueue.addRateLimited(contextResourceKey);
+        logger.debug("{} reconciliation of {} will be retried in {}",
+            name, contextResourceKey, delay);
+      } else {
+        workQueue.forget(contextResourceKey);
+      }
+    }
+  }
+
   public synchronized ReconciliationCycleResult<H> reconciliationCycle(
       List<Optional<H>> requestedContextResources) {
     final ImmutableMap.Builder<H, Exception> contextExceptions = ImmutableMap.builder();
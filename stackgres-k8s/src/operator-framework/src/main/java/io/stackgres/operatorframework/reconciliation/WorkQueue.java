@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operatorframework.reconciliation;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A deduplicating work queue of keys. A key added while it is already waiting in the queue is not
+ * added again (it is dirty). A key added while it is being processed is queued again only once
+ * {@link #done(Object)} is called for it so that the same key is never processed concurrently.
+ *
+ * <p>Keys that failed can be added with {@link #addRateLimited(Object)} that will queue them after
+ * an exponential backoff delay computed for each key and reset by {@link #forget(Object)}. Keys
+ * are retrieved with {@link #take()} that is limited globally by a token bucket.</p>
+ */
+public class WorkQueue<K> {
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Deque<K> queue = new ArrayDeque<>();
+  private final Set<K> dirty = new HashSet<>();
+  private final Set<K> processing = new HashSet<>();
+  private final Map<K, Integer> failures = new HashMap<>();
+  private final TokenBucket tokenBucket;
+  private final long baseDelayNanos;
+  private final long maxDelayNanos;
+  private final ScheduledExecutorService delayedExecutor;
+  private boolean shuttingDown = false;
+
+  /**
+   * Create a work queue.
+   *
+   * @param name the name used for the thread that queue keys after the backoff delay
+   * @param baseDelay the delay of the first retry of a failed key
+   * @param maxDelay the maximum delay of the retries of a failed key
+   * @param ratePerSecond the rate at which the tokens of the bucket are filled, 0 or less means
+   *     that the rate is unlimited
+   * @param burst the size of the token bucket
+   */
+  public WorkQueue(String name, Duration baseDelay, Duration maxDelay,
+      double ratePerSecond, int burst) {
+    this.baseDelayNanos = baseDelay.toNanos();
+    this.maxDelayNanos = maxDelay.toNanos();
+    this.tokenBucket = ratePerSecond > 0 ? new TokenBucket(ratePerSecond, burst) : null;
+    this.delayedExecutor = Executors.newSingleThreadScheduledExecutor(
+        r -> {
+          Thread thread = new Thread(r, name + "-WorkQueueBackoff");
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  /**
+   * Add a key to the queue unless it is already waiting to be processed.
+   */
+  public void add(K key) {
+    lock.lock();
+    try {
+      if (shuttingDown || !dirty.add(key)) {
+        return;
+      }
+      if (processing.contains(key)) {
+        return;
+      }
+      queue.addLast(key);
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Add a key to the queue after the backoff delay for the key. The delay doubles each time this
+   * method is called for the same key until {@link #forget(Object)} is called for it.
+   */
+  public Duration addRateLimited(K key) {
+    final long delayNanos;
+    lock.lock();
+    try {
+      if (shuttingDown) {
+        return Duration.ZERO;
+      }
+      int keyFailures = failures.merge(key, 1, Integer::sum);
+      delayNanos = computeDelayNanos(keyFailures);
+    } finally {
+      lock.unlock();
+    }
+    delayedExecutor.schedule(() -> add(key), delayNanos, TimeUnit.NANOSECONDS);
+    return Duration.ofNanos(delayNanos);
+  }
+
+  private long computeDelayNanos(int keyFailures) {
+    if (keyFailures > 62) {
+      return maxDelayNanos;
+    }
+    long delayNanos = baseDelayNanos << (keyFailures - 1);
+    if (delayNanos <= 0 || delayNanos > maxDelayNanos) {
+      return maxDelayNanos;
+    }
+    return delayNanos;
+  }
+
+  /**
+   * Reset the backoff delay of a key.
+   */
+  public void forget(K key) {
+    lock.lock();
+    try {
+      failures.remove(key);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Return the number of times a key was added with {@link #addRateLimited(Object)} since it was
+   * last forgotten.
+   */
+  public int failures(K key) {
+    lock.lock();
+    try {
+      return failures.getOrDefault(key, 0);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Wait until a key is available and return it marking it as being processed. Return
+   * {@code null} if the queue was shut down.
+   */
+  public K take() throws InterruptedException {
+    if (tokenBucket != null) {
+      tokenBucket.acquire();
+    }
+    lock.lockInterruptibly();
+    try {
+      while (queue.isEmpty() && !shuttingDown) {
+        notEmpty.await();
+      }
+      if (shuttingDown) {
+        return null;
+      }
+      K key = queue.removeFirst();
+      dirty.remove(key);
+      processing.add(key);
+      return key;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Mark a key as processed. If the key was added while it was being processed it is queued again.
+   */
+  public void done(K key) {
+    lock.lock();
+    try {
+      processing.remove(key);
+      if (dirty.contains(key) && !shuttingDown) {
+        queue.addLast(key);
+        notEmpty.signal();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Return the number of keys waiting to be processed.
+   */
+  public int size() {
+    lock.lock();
+    try {
+      return queue.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Shut down the queue waking up any thread waiting in {@link #take()}.
+   */
+  public void shutDown() {
+    lock.lock();
+    try {
+      shuttingDown = true;
+      notEmpty.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    delayedExecutor.shutdownNow();
+  }
+
+  public boolean isShuttingDown() {
+    lock.lock();
+    try {
+      return shuttingDown;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  static class TokenBucket {
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefill;
+
+    TokenBucket(double ratePerSecond, int burst) {
+      this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+      this.capacity = Math.max(1, burst);
+      this.tokens = this.capacity;
+      this.lastRefill = System.nanoTime();
+    }
+
+    void acquire() throws InterruptedException {
+      final long waitNanos;
+      synchronized (this) {
+        final long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+        tokens = tokens - 1;
+        waitNanos = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+      }
+      if (waitNanos > 0) {
+        TimeUnit.NANOSECONDS.sleep(waitNanos);
+      }
+    }
+  }
+
+}
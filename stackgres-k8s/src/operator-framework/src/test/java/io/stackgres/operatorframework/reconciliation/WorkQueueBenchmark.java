@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operatorframework.reconciliation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import org.jooq.lambda.Seq;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Replay a burst of watch events (each resource receiving several events) and compare the
+ * pending list copied on each event that was used by the reconciliation loops with the
+ * deduplicating {@link WorkQueue}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkQueueBenchmark {
+
+  @Param({"100", "1000"})
+  int resources;
+
+  @Param({"10"})
+  int eventsPerResource;
+
+  List<String> events;
+
+  @Setup
+  public void setup() {
+    events = IntStream.range(0, eventsPerResource)
+        .boxed()
+        .flatMap(event -> IntStream.range(0, resources)
+            .mapToObj(resource -> "namespace.resource-" + resource))
+        .toList();
+  }
+
+  @Benchmark
+  public void pendingListCopy(Blackhole blackhole) {
+    AtomicReference<List<Optional<String>>> pending = new AtomicReference<>(List.of());
+    for (String event : events) {
+      pending.updateAndGet(pendingEvents -> Seq.seq(pendingEvents)
+          .append(Optional.of(event))
+          .toList());
+    }
+    Seq.seq(pending.getAndSet(List.of()))
+        .map(Optional::get)
+        .grouped(key -> key)
+        .flatMap(t -> t.v2.limit(1))
+        .forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public void workQueue(Blackhole blackhole) throws InterruptedException {
+    WorkQueue<String> workQueue = new WorkQueue<>("benchmark",
+        Duration.ofSeconds(1), Duration.ofMinutes(5), 0, 0);
+    try {
+      for (String event : events) {
+        workQueue.add(event);
+      }
+      while (workQueue.size() > 0) {
+        String key = workQueue.take();
+        blackhole.consume(key);
+        workQueue.done(key);
+      }
+    } finally {
+      workQueue.shutDown();
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(WorkQueueBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+}
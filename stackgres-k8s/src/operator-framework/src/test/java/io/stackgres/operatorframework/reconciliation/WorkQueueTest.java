@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operatorframework.reconciliation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WorkQueueTest {
+
+  private WorkQueue<String> workQueue;
+
+  @BeforeEach
+  void setUp() {
+    workQueue = new WorkQueue<>("test", Duration.ofMillis(10), Duration.ofMillis(40), 0, 0);
+  }
+
+  @AfterEach
+  void tearDown() {
+    workQueue.shutDown();
+  }
+
+  @Test
+  void addingSameKeyTwice_shouldQueueItOnce() throws Exception {
+    workQueue.add("a");
+    workQueue.add("b");
+    workQueue.add("a");
+    assertEquals(2, workQueue.size());
+    assertEquals("a", workQueue.take());
+    assertEquals("b", workQueue.take());
+    assertEquals(0, workQueue.size());
+  }
+
+  @Test
+  void addingKeyWhileProcessing_shouldQueueItWhenDone() throws Exception {
+    workQueue.add("a");
+    assertEquals("a", workQueue.take());
+    workQueue.add("a");
+    workQueue.add("a");
+    assertEquals(0, workQueue.size());
+    workQueue.done("a");
+    assertEquals(1, workQueue.size());
+    assertEquals("a", workQueue.take());
+  }
+
+  @Test
+  void addingRateLimitedKey_shouldDelayItExponentially() throws Exception {
+    assertEquals(Duration.ofMillis(10), workQueue.addRateLimited("a"));
+    assertEquals(Duration.ofMillis(20), workQueue.addRateLimited("a"));
+    assertEquals(Duration.ofMillis(40), workQueue.addRateLimited("a"));
+    assertEquals(Duration.ofMillis(40), workQueue.addRateLimited("a"));
+    assertEquals(4, workQueue.failures("a"));
+    assertEquals(Duration.ofMillis(10), workQueue.addRateLimited("b"));
+    workQueue.forget("a");
+    assertEquals(0, workQueue.failures("a"));
+    assertEquals(Duration.ofMillis(10), workQueue.addRateLimited("a"));
+    String first = workQueue.take();
+    workQueue.done(first);
+    String second = workQueue.take();
+    assertTrue(first.equals("a") && second.equals("b")
+        || first.equals("b") && second.equals("a"));
+  }
+
+  @Test
+  void shutDown_shouldWakeUpWaitingThreads() throws Exception {
+    CompletableFuture<String> taken = CompletableFuture.supplyAsync(() -> {
+      try {
+        return workQueue.take();
+      } catch (InterruptedException ex) {
+        throw new RuntimeException(ex);
+      }
+    });
+    Thread.sleep(100);
+    workQueue.shutDown();
+    assertNull(taken.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void take_shouldBeRateLimited() throws Exception {
+    workQueue.shutDown();
+    workQueue = new WorkQueue<>("test", Duration.ofMillis(10), Duration.ofMillis(40), 10, 1);
+    workQueue.add("a");
+    workQueue.add("b");
+    workQueue.add("c");
+    final long start = System.nanoTime();
+    workQueue.take();
+    workQueue.take();
+    workQueue.take();
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(150));
+  }
+
+}
@@ -6,13 +6,14 @@
 package io.stackgres.operator.app;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import io.fabric8.kubernetes.api.model.DefaultKubernetesResourceList;
 import io.fabric8.kubernetes.api.model.Endpoints;
@@ -32,12 +33,15 @@ import io.stackgres.common.crd.sgcluster.StackGresCluster;
 import io.stackgres.common.crd.sgcluster.StackGresClusterBackupConfiguration;
 import io.stackgres.common.crd.sgcluster.StackGresClusterConfigurations;
 import io.stackgres.common.crd.sgcluster.StackGresClusterList;
+import io.stackgres.common.crd.sgcluster.StackGresClusterSpec;
 import io.stackgres.common.crd.sgconfig.StackGresConfig;
 import io.stackgres.common.crd.sgconfig.StackGresConfigList;
 import io.stackgres.common.crd.sgdbops.StackGresDbOps;
 import io.stackgres.common.crd.sgdbops.StackGresDbOpsList;
 import io.stackgres.common.crd.sgdistributedlogs.StackGresDistributedLogs;
+import io.stackgres.common.crd.sgdistributedlogs.StackGresDistributedLogsConfigurations;
 import io.stackgres.common.crd.sgdistributedlogs.StackGresDistributedLogsList;
+import io.stackgres.common.crd.sgdistributedlogs.StackGresDistributedLogsSpec;
 import io.stackgres.common.crd.sgobjectstorage.StackGresObjectStorage;
 import io.stackgres.common.crd.sgobjectstorage.StackGresObjectStorageList;
 import io.stackgres.common.crd.sgpgconfig.StackGresPostgresConfig;
@@ -51,11 +55,16 @@ import io.stackgres.common.crd.sgshardedbackup.StackGresShardedBackupList;
 import io.stackgres.common.crd.sgshardedcluster.StackGresShardedCluster;
 import io.stackgres.common.crd.sgshardedcluster.StackGresShardedClusterBackupConfiguration;
 import io.stackgres.common.crd.sgshardedcluster.StackGresShardedClusterConfigurations;
+import io.stackgres.common.crd.sgshardedcluster.StackGresShardedClusterCoordinator;
 import io.stackgres.common.crd.sgshardedcluster.StackGresShardedClusterList;
+import io.stackgres.common.crd.sgshardedcluster.StackGresShardedClusterShard;
+import io.stackgres.common.crd.sgshardedcluster.StackGresShardedClusterShards;
+import io.stackgres.common.crd.sgshardedcluster.StackGresShardedClusterSpec;
 import io.stackgres.common.crd.sgshardeddbops.StackGresShardedDbOps;
 import io.stackgres.common.crd.sgshardeddbops.StackGresShardedDbOpsList;
 import io.stackgres.common.crd.sgstream.StackGresStream;
 import io.stackgres.common.crd.sgstream.StackGresStreamList;
+import io.stackgres.common.patroni.PatroniCtl;
 import io.stackgres.operator.common.ResourceWatcherFactory;
 import io.stackgres.operator.conciliation.backup.BackupReconciliator;
 import io.stackgres.operator.conciliation.cluster.ClusterReconciliator;
@@ -70,6 +79,7 @@ import io.stackgres.operatorframework.resource.WatcherMonitor;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jetbrains.annotations.NotNull;
+import org.jooq.lambda.Seq;
 
 @ApplicationScoped
 public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
@@ -89,24 +99,19 @@ public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
   private final ShardedDbOpsReconciliator shardedDbOpsReconciliatorCycle;
   private final StreamReconciliator streamReconciliatorCycle;
   private final ResourceWatcherFactory watcherFactory;
-  private final Map<String, StackGresConfig> configs =
-      Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, StackGresCluster> clusters =
-      Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, StackGresDistributedLogs> distributedLogs =
-      Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, StackGresBackup> backups =
-      Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, StackGresDbOps> dbOps =
-      Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, StackGresShardedCluster> shardedClusters =
-      Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, StackGresShardedBackup> shardedBackups =
-      Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, StackGresShardedDbOps> shardedDbOps =
-      Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, StackGresStream> streams =
-      Collections.synchronizedMap(new HashMap<>());
+  private final PatroniCtl patroniCtl;
+  private final Map<String, StackGresConfig> configs = new ConcurrentHashMap<>();
+  private final ResourceReferencesIndex<StackGresCluster> clusters =
+      new ResourceReferencesIndex<>(DefaultOperatorWatchersHandler::clusterReferences);
+  private final ResourceReferencesIndex<StackGresDistributedLogs> distributedLogs =
+      new ResourceReferencesIndex<>(DefaultOperatorWatchersHandler::distributedLogsReferences);
+  private final Map<String, StackGresBackup> backups = new ConcurrentHashMap<>();
+  private final Map<String, StackGresDbOps> dbOps = new ConcurrentHashMap<>();
+  private final ResourceReferencesIndex<StackGresShardedCluster> shardedClusters =
+      new ResourceReferencesIndex<>(DefaultOperatorWatchersHandler::shardedClusterReferences);
+  private final Map<String, StackGresShardedBackup> shardedBackups = new ConcurrentHashMap<>();
+  private final Map<String, StackGresShardedDbOps> shardedDbOps = new ConcurrentHashMap<>();
+  private final Map<String, StackGresStream> streams = new ConcurrentHashMap<>();
 
   @Inject
   public DefaultOperatorWatchersHandler(
@@ -120,7 +125,8 @@ public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
       ShardedBackupReconciliator shardedBackupReconciliatorCycle,
       ShardedDbOpsReconciliator shardedDbOpsReconciliatorCycle,
       StreamReconciliator streamReconciliatorCycle,
-      ResourceWatcherFactory watcherFactory) {
+      ResourceWatcherFactory watcherFactory,
+      PatroniCtl patroniCtl) {
     super();
     this.client = client;
     this.configReconciliatorCycle = configReconciliatorCycle;
@@ -133,6 +139,7 @@ public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
     this.shardedDbOpsReconciliatorCycle = shardedDbOpsReconciliatorCycle;
     this.streamReconciliatorCycle = streamReconciliatorCycle;
     this.watcherFactory = watcherFactory;
+    this.patroniCtl = patroniCtl;
   }
 
   @Override
@@ -147,9 +154,8 @@ public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
     monitors.addAll(createCustomResourceWatchers(
         StackGresCluster.class,
         StackGresClusterList.class,
-        onCreateOrUpdate(
-            putCluster()
-            .andThen(reconcileCluster()))));
+        onCreateOrUpdateOrDelete(putCluster())
+            .andThen(onCreateOrUpdate(reconcileCluster()))));
 
     monitors.addAll(createCustomResourceWatchers(
         StackGresProfile.class,
@@ -197,16 +203,14 @@ public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
     monitors.addAll(createCustomResourceWatchers(
         StackGresDistributedLogs.class,
         StackGresDistributedLogsList.class,
-        onCreateOrUpdate(
-            putDistributedLogs()
-            .andThen(reconcileDistributedLogs()))));
+        onCreateOrUpdateOrDelete(putDistributedLogs())
+            .andThen(onCreateOrUpdate(reconcileDistributedLogs()))));
 
     monitors.addAll(createCustomResourceWatchers(
         StackGresShardedCluster.class,
         StackGresShardedClusterList.class,
-        onCreateOrUpdate(
-            putShardedCluster()
-            .andThen(reconcileShardedCluster()))));
+        onCreateOrUpdateOrDelete(putShardedCluster())
+            .andThen(onCreateOrUpdate(reconcileShardedCluster()))));
 
     monitors.addAll(createCustomResourceWatchers(
         StackGresShardedBackup.class,
@@ -309,7 +313,11 @@ public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
   }
 
   private String resourceId(HasMetadata resource) {
-    return resource.getMetadata().getNamespace() + "." + resource.getMetadata().getName();
+    return ResourceReferencesIndex.resourceId(resource);
+  }
+
+  private String resourceId(String namespace, String name) {
+    return namespace + "." + name;
   }
 
   private BiConsumer<Action, StackGresConfig> putConfig() {
@@ -317,12 +325,25 @@ public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
   }
 
   private BiConsumer<Action, StackGresCluster> putCluster() {
-    return (action, cluster) -> clusters.put(resourceId(cluster), cluster);
+    return (action, cluster) -> {
+      if (action == Action.DELETED) {
+        clusters.remove(cluster);
+        patroniCtl.removeInstanceFor(cluster);
+      } else {
+        clusters.put(cluster);
+      }
+    };
   }
 
   private BiConsumer<Action, StackGresDistributedLogs> putDistributedLogs() {
-    return (action, distributedLogs) -> this.distributedLogs
-        .put(resourceId(distributedLogs), distributedLogs);
+    return (action, distributedLogs) -> {
+      if (action == Action.DELETED) {
+        this.distributedLogs.remove(distributedLogs);
+        patroniCtl.removeInstanceFor(distributedLogs);
+      } else {
+        this.distributedLogs.put(distributedLogs);
+      }
+    };
   }
 
   private BiConsumer<Action, StackGresBackup> putBackup() {
@@ -334,7 +355,13 @@ public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
   }
 
   private BiConsumer<Action, StackGresShardedCluster> putShardedCluster() {
-    return (action, cluster) -> shardedClusters.put(resourceId(cluster), cluster);
+    return (action, cluster) -> {
+      if (action == Action.DELETED) {
+        shardedClusters.remove(cluster);
+      } else {
+        shardedClusters.put(cluster);
+      }
+    };
   }
 
   private BiConsumer<Action, StackGresShardedBackup> putShardedBackup() {
@@ -395,288 +422,194 @@ public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
   }
 
   private BiConsumer<Action, StackGresProfile> reconcileInstanceProfileClusters() {
-    return (action, instanceProfile) -> synchronizedCopyOfValues(clusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            instanceProfile.getMetadata().getNamespace()))
-        .filter(cluster -> Objects.equals(
-            cluster.getSpec().getSgInstanceProfile(),
-            instanceProfile.getMetadata().getName()))
+    return (action, instanceProfile) -> clusters.dependents(instanceProfile)
         .forEach(cluster -> reconcileCluster().accept(action, cluster));
   }
 
   private BiConsumer<Action, StackGresPostgresConfig> reconcilePostgresConfigClusters() {
-    return (action, postgresConfig) -> synchronizedCopyOfValues(clusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            postgresConfig.getMetadata().getNamespace()))
-        .filter(cluster -> Objects.equals(
-            cluster.getSpec().getConfigurations().getSgPostgresConfig(),
-            postgresConfig.getMetadata().getName()))
+    return (action, postgresConfig) -> clusters.dependents(postgresConfig)
         .forEach(cluster -> reconcileCluster().accept(action, cluster));
   }
 
   private BiConsumer<Action, StackGresPoolingConfig> reconcilePoolingConfigClusters() {
-    return (action, poolingConfig) -> synchronizedCopyOfValues(clusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            poolingConfig.getMetadata().getNamespace()))
-        .filter(cluster -> Objects.equals(
-            cluster.getSpec().getConfigurations().getSgPoolingConfig(),
-            poolingConfig.getMetadata().getName()))
+    return (action, poolingConfig) -> clusters.dependents(poolingConfig)
         .forEach(cluster -> reconcileCluster().accept(action, cluster));
   }
 
   private BiConsumer<Action, StackGresObjectStorage> reconcileObjectStorageClusters() {
-    return (action, objectStorage) -> synchronizedCopyOfValues(clusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            objectStorage.getMetadata().getNamespace()))
-        .filter(cluster -> Objects.equals(
-            Optional.ofNullable(cluster.getSpec().getConfigurations().getBackups())
-            .orElse(List.of())
-            .stream().findFirst().map(StackGresClusterBackupConfiguration::getSgObjectStorage)
-            .orElse(null),
-            objectStorage.getMetadata().getName()))
+    return (action, objectStorage) -> clusters.dependents(objectStorage)
         .forEach(cluster -> reconcileCluster().accept(action, cluster));
   }
 
   private BiConsumer<Action, StackGresProfile> reconcileInstanceProfileDistributedLogs() {
-    return (action, instanceProfile) -> synchronizedCopyOfValues(distributedLogs)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            instanceProfile.getMetadata().getNamespace()))
-        .filter(distributedLogs -> Objects.equals(
-            distributedLogs.getSpec().getSgInstanceProfile(),
-            instanceProfile.getMetadata().getName()))
+    return (action, instanceProfile) -> distributedLogs.dependents(instanceProfile)
         .forEach(distributedLogs -> reconcileDistributedLogs().accept(action, distributedLogs));
   }
 
   private BiConsumer<Action, StackGresPostgresConfig> reconcilePostgresConfigDistributedLogs() {
-    return (action, postgresConfig) -> synchronizedCopyOfValues(distributedLogs)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            postgresConfig.getMetadata().getNamespace()))
-        .filter(distributedLogs -> Objects.equals(
-            distributedLogs.getSpec().getConfigurations().getSgPostgresConfig(),
-            postgresConfig.getMetadata().getName()))
+    return (action, postgresConfig) -> distributedLogs.dependents(postgresConfig)
         .forEach(distributedLogs -> reconcileDistributedLogs().accept(action, distributedLogs));
   }
 
   private BiConsumer<Action, StackGresProfile> reconcileInstanceProfileShardedClusters() {
-    return (action, instanceProfile) -> synchronizedCopyOfValues(shardedClusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            instanceProfile.getMetadata().getNamespace()))
-        .filter(shardedCluster -> Objects.equals(
-            shardedCluster.getSpec().getCoordinator().getSgInstanceProfile(),
-            instanceProfile.getMetadata().getName())
-            || Objects.equals(
-                shardedCluster.getSpec().getShards().getSgInstanceProfile(),
-                instanceProfile.getMetadata().getName())
-            || Optional.ofNullable(shardedCluster.getSpec()
-                .getShards().getOverrides()).orElse(List.of())
-            .stream().anyMatch(spec -> Objects
-                .equals(
-                    spec.getSgInstanceProfile(),
-                    instanceProfile.getMetadata().getName())))
+    return (action, instanceProfile) -> shardedClusters.dependents(instanceProfile)
         .forEach(shardedCluster -> reconcileShardedCluster().accept(action, shardedCluster));
   }
 
   private BiConsumer<Action, StackGresPostgresConfig> reconcilePostgresConfigShardedClusters() {
-    return (action, postgresConfig) -> synchronizedCopyOfValues(shardedClusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            postgresConfig.getMetadata().getNamespace()))
-        .filter(shardedCluster -> {
-          return Objects.equals(
-              Optional.ofNullable(
-                  shardedCluster.getSpec().getCoordinator().getConfigurationsForCoordinator())
-              .map(StackGresClusterConfigurations::getSgPostgresConfig),
-              Optional.of(postgresConfig.getMetadata().getName()))
-              || Objects.equals(
-                  Optional.ofNullable(
-                      shardedCluster.getSpec().getShards().getConfigurations())
-                  .map(StackGresClusterConfigurations::getSgPostgresConfig),
-                  Optional.of(postgresConfig.getMetadata().getName()))
-              || Optional.ofNullable(shardedCluster.getSpec().getShards().getOverrides())
-                  .orElse(List.of())
-                  .stream().anyMatch(spec -> spec.getConfigurationsForShards() != null
-                      && Objects.equals(
-                          spec.getConfigurationsForShards().getSgPostgresConfig(),
-                          postgresConfig.getMetadata().getName()));
-        })
+    return (action, postgresConfig) -> shardedClusters.dependents(postgresConfig)
         .forEach(shardedCluster -> reconcileShardedCluster().accept(action, shardedCluster));
   }
 
   private BiConsumer<Action, StackGresPoolingConfig> reconcilePoolingConfigShardedClusters() {
-    return (action, poolingConfig) -> synchronizedCopyOfValues(shardedClusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            poolingConfig.getMetadata().getNamespace()))
-        .filter(shardedCluster -> Objects.equals(
-            Optional.ofNullable(
-                shardedCluster.getSpec().getCoordinator().getConfigurationsForCoordinator())
-            .map(StackGresClusterConfigurations::getSgPoolingConfig),
-            Optional.of(poolingConfig.getMetadata().getName()))
-            || Objects.equals(
-                Optional.ofNullable(
-                    shardedCluster.getSpec().getShards().getConfigurations())
-                .map(StackGresClusterConfigurations::getSgPoolingConfig),
-                Optional.of(poolingConfig.getMetadata().getName()))
-            || Optional.ofNullable(shardedCluster.getSpec().getShards().getOverrides())
-                .orElse(List.of())
-                .stream().anyMatch(spec -> spec.getConfigurationsForShards() != null
-                    && Objects.equals(
-                        spec.getConfigurationsForShards().getSgPoolingConfig(),
-                        poolingConfig.getMetadata().getName())))
+    return (action, poolingConfig) -> shardedClusters.dependents(poolingConfig)
         .forEach(shardedCluster -> reconcileShardedCluster().accept(action, shardedCluster));
   }
 
   private BiConsumer<Action, StackGresObjectStorage> reconcileObjectStorageShardedClusters() {
-    return (action, objectStorage) -> synchronizedCopyOfValues(shardedClusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            objectStorage.getMetadata().getNamespace()))
-        .filter(shardedCluster -> Objects.equals(
-            Optional.ofNullable(shardedCluster.getSpec().getConfigurations())
-            .map(StackGresShardedClusterConfigurations::getBackups)
-            .orElse(List.of())
-            .stream().findFirst()
-            .map(StackGresShardedClusterBackupConfiguration::getSgObjectStorage)
-            .orElse(null),
-            objectStorage.getMetadata().getName()))
+    return (action, objectStorage) -> shardedClusters.dependents(objectStorage)
         .forEach(shardedCluster -> reconcileShardedCluster().accept(action, shardedCluster));
   }
 
   private BiConsumer<Action, Endpoints> reconcileEndpointsShardedClusters() {
     String clusterScopeKey =
         StackGresContext.STACKGRES_KEY_PREFIX + StackGresContext.CLUSTER_SCOPE_KEY;
-    return (action, endpoints) -> synchronizedCopyOfValues(shardedClusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            endpoints.getMetadata().getNamespace()))
-        .filter(shardedCluster -> endpoints.getMetadata().getLabels() != null)
-        .filter(shardedCluster -> Objects.equals(
-            endpoints.getMetadata().getLabels().get(clusterScopeKey),
-            shardedCluster.getMetadata().getName()))
-        .forEach(shardedCluster -> reconcileShardedCluster().accept(action, shardedCluster));
+    return (action, endpoints) -> labelValue(endpoints, clusterScopeKey)
+        .flatMap(name -> shardedClusters.get(endpoints.getMetadata().getNamespace(), name))
+        .ifPresent(shardedCluster -> reconcileShardedCluster().accept(action, shardedCluster));
   }
 
   private BiConsumer<Action, Pod> reconcilePodClusters() {
     String clusterNameKey =
         StackGresContext.STACKGRES_KEY_PREFIX + StackGresContext.CLUSTER_NAME_KEY;
-    return (action, pod) -> synchronizedCopyOfValues(clusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            pod.getMetadata().getNamespace()))
-        .filter(cluster -> pod.getMetadata().getLabels() != null)
-        .filter(cluster -> Objects.equals(
-            pod.getMetadata().getLabels().get(clusterNameKey),
-            cluster.getMetadata().getName()))
-        .forEach(cluster -> reconcileCluster().accept(action, cluster));
+    return (action, pod) -> labelValue(pod, clusterNameKey)
+        .flatMap(name -> clusters.get(pod.getMetadata().getNamespace(), name))
+        .ifPresent(cluster -> reconcileCluster().accept(action, cluster));
   }
 
   private BiConsumer<Action, Pod> reconcilePodDistributedLogs() {
     String distributedLogsNameKey =
         StackGresContext.STACKGRES_KEY_PREFIX + StackGresContext.DISTRIBUTED_LOGS_CLUSTER_NAME_KEY;
-    return (action, pod) -> synchronizedCopyOfValues(distributedLogs)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            pod.getMetadata().getNamespace()))
-        .filter(distributedLogs -> pod.getMetadata().getLabels() != null)
-        .filter(distributedLogs -> Objects.equals(
-            pod.getMetadata().getLabels().get(distributedLogsNameKey),
-            distributedLogs.getMetadata().getName()))
-        .forEach(distributedLogs -> reconcileDistributedLogs().accept(action, distributedLogs));
+    return (action, pod) -> labelValue(pod, distributedLogsNameKey)
+        .flatMap(name -> distributedLogs.get(pod.getMetadata().getNamespace(), name))
+        .ifPresent(distributedLogs -> reconcileDistributedLogs().accept(action, distributedLogs));
   }
 
   private BiConsumer<Action, Pod> reconcilePodBackups() {
     String backupNameKey =
         StackGresContext.STACKGRES_KEY_PREFIX + StackGresContext.BACKUP_NAME_KEY;
-    return (action, pod) -> synchronizedCopyOfValues(backups)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            pod.getMetadata().getNamespace()))
-        .filter(backup -> pod.getMetadata().getLabels() != null)
-        .filter(backup -> Objects.equals(
-            pod.getMetadata().getLabels().get(backupNameKey),
-            backup.getMetadata().getName()))
-        .forEach(backup -> reconcileBackup().accept(action, backup));
+    return (action, pod) -> labelValue(pod, backupNameKey)
+        .map(name -> backups.get(resourceId(pod.getMetadata().getNamespace(), name)))
+        .ifPresent(backup -> reconcileBackup().accept(action, backup));
   }
 
   private BiConsumer<Action, Pod> reconcilePodDbOps() {
     String dbOpsNameKey =
         StackGresContext.STACKGRES_KEY_PREFIX + StackGresContext.DBOPS_NAME_KEY;
-    return (action, pod) -> synchronizedCopyOfValues(dbOps)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            pod.getMetadata().getNamespace()))
-        .filter(dbOps -> pod.getMetadata().getLabels() != null)
-        .filter(dbOps -> Objects.equals(
-            pod.getMetadata().getLabels().get(dbOpsNameKey),
-            dbOps.getMetadata().getName()))
-        .forEach(dbOps -> reconcileDbOps().accept(action, dbOps));
+    return (action, pod) -> labelValue(pod, dbOpsNameKey)
+        .map(name -> dbOps.get(resourceId(pod.getMetadata().getNamespace(), name)))
+        .ifPresent(dbOps -> reconcileDbOps().accept(action, dbOps));
   }
 
   private BiConsumer<Action, Pod> reconcilePodShardedBackups() {
     String backupNameKey =
         StackGresContext.STACKGRES_KEY_PREFIX + StackGresContext.SHARDED_BACKUP_NAME_KEY;
-    return (action, pod) -> synchronizedCopyOfValues(shardedBackups)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            pod.getMetadata().getNamespace()))
-        .filter(backup -> pod.getMetadata().getLabels() != null)
-        .filter(backup -> Objects.equals(
-            pod.getMetadata().getLabels().get(backupNameKey),
-            backup.getMetadata().getName()))
-        .forEach(backup -> reconcileShardedBackup().accept(action, backup));
+    return (action, pod) -> labelValue(pod, backupNameKey)
+        .map(name -> shardedBackups.get(resourceId(pod.getMetadata().getNamespace(), name)))
+        .ifPresent(backup -> reconcileShardedBackup().accept(action, backup));
   }
 
   private BiConsumer<Action, Pod> reconcilePodShardedDbOps() {
     String dbOpsNameKey =
         StackGresContext.STACKGRES_KEY_PREFIX + StackGresContext.SHARDED_DBOPS_NAME_KEY;
-    return (action, pod) -> synchronizedCopyOfValues(shardedDbOps)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            pod.getMetadata().getNamespace()))
-        .filter(dbOps -> pod.getMetadata().getLabels() != null)
-        .filter(dbOps -> Objects.equals(
-            pod.getMetadata().getLabels().get(dbOpsNameKey),
-            dbOps.getMetadata().getName()))
-        .forEach(dbOps -> reconcileShardedDbOps().accept(action, dbOps));
+    return (action, pod) -> labelValue(pod, dbOpsNameKey)
+        .map(name -> shardedDbOps.get(resourceId(pod.getMetadata().getNamespace(), name)))
+        .ifPresent(dbOps -> reconcileShardedDbOps().accept(action, dbOps));
   }
 
   private BiConsumer<Action, Pod> reconcilePodStreams() {
     String streamNameKey =
         StackGresContext.STACKGRES_KEY_PREFIX + StackGresContext.STREAM_NAME_KEY;
-    return (action, pod) -> synchronizedCopyOfValues(streams)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            pod.getMetadata().getNamespace()))
-        .filter(stream -> pod.getMetadata().getLabels() != null)
-        .filter(stream -> Objects.equals(
-            pod.getMetadata().getLabels().get(streamNameKey),
-            stream.getMetadata().getName()))
-        .forEach(stream -> reconcileStream().accept(action, stream));
+    return (action, pod) -> labelValue(pod, streamNameKey)
+        .map(name -> streams.get(resourceId(pod.getMetadata().getNamespace(), name)))
+        .ifPresent(stream -> reconcileStream().accept(action, stream));
+  }
+
+  private Optional<String> labelValue(HasMetadata resource, String labelKey) {
+    return Optional.ofNullable(resource.getMetadata().getLabels())
+        .map(labels -> labels.get(labelKey));
+  }
+
+  static Stream<String> clusterReferences(StackGresCluster cluster) {
+    final String namespace = cluster.getMetadata().getNamespace();
+    final var spec = Optional.ofNullable(cluster.getSpec());
+    final var configurations = spec.map(StackGresClusterSpec::getConfigurations);
+    return Stream.of(
+        ResourceReferencesIndex.referenceKeys(StackGresProfile.class, namespace,
+            spec.map(StackGresClusterSpec::getSgInstanceProfile).stream()),
+        ResourceReferencesIndex.referenceKeys(StackGresPostgresConfig.class, namespace,
+            configurations.map(StackGresClusterConfigurations::getSgPostgresConfig).stream()),
+        ResourceReferencesIndex.referenceKeys(StackGresPoolingConfig.class, namespace,
+            configurations.map(StackGresClusterConfigurations::getSgPoolingConfig).stream()),
+        ResourceReferencesIndex.referenceKeys(StackGresObjectStorage.class, namespace,
+            configurations
+            .map(StackGresClusterConfigurations::getBackups)
+            .stream()
+            .flatMap(backups -> backups.stream().limit(1))
+            .map(StackGresClusterBackupConfiguration::getSgObjectStorage)))
+        .flatMap(Function.identity());
+  }
+
+  static Stream<String> distributedLogsReferences(StackGresDistributedLogs distributedLogs) {
+    final String namespace = distributedLogs.getMetadata().getNamespace();
+    final var spec = Optional.ofNullable(distributedLogs.getSpec());
+    return Stream.of(
+        ResourceReferencesIndex.referenceKeys(StackGresProfile.class, namespace,
+            spec.map(StackGresDistributedLogsSpec::getSgInstanceProfile).stream()),
+        ResourceReferencesIndex.referenceKeys(StackGresPostgresConfig.class, namespace,
+            spec.map(StackGresDistributedLogsSpec::getConfigurations)
+            .map(StackGresDistributedLogsConfigurations::getSgPostgresConfig)
+            .stream()))
+        .flatMap(Function.identity());
+  }
+
+  static Stream<String> shardedClusterReferences(StackGresShardedCluster shardedCluster) {
+    final String namespace = shardedCluster.getMetadata().getNamespace();
+    final var spec = Optional.ofNullable(shardedCluster.getSpec());
+    final var coordinator = spec.map(StackGresShardedClusterSpec::getCoordinator);
+    final var shards = spec.map(StackGresShardedClusterSpec::getShards);
+    final List<StackGresShardedClusterShard> overrides = shards
+        .map(StackGresShardedClusterShards::getOverrides)
+        .orElse(List.of());
+    final List<StackGresClusterConfigurations> configurations =
+        Seq.<StackGresClusterConfigurations>of()
+        .append(coordinator
+            .map(StackGresShardedClusterCoordinator::getConfigurationsForCoordinator)
+            .stream())
+        .append(shards
+            .map(StackGresShardedClusterShards::getConfigurations)
+            .stream())
+        .append(overrides.stream()
+            .map(StackGresShardedClusterShard::getConfigurationsForShards))
+        .filter(Objects::nonNull)
+        .toList();
+    return Stream.of(
+        ResourceReferencesIndex.referenceKeys(StackGresProfile.class, namespace,
+            Seq.<String>of()
+            .append(coordinator.map(StackGresClusterSpec::getSgInstanceProfile).stream())
+            .append(shards.map(StackGresClusterSpec::getSgInstanceProfile).stream())
+            .append(overrides.stream().map(StackGresClusterSpec::getSgInstanceProfile))),
+        ResourceReferencesIndex.referenceKeys(StackGresPostgresConfig.class, namespace,
+            configurations.stream().map(StackGresClusterConfigurations::getSgPostgresConfig)),
+        ResourceReferencesIndex.referenceKeys(StackGresPoolingConfig.class, namespace,
+            configurations.stream().map(StackGresClusterConfigurations::getSgPoolingConfig)),
+        ResourceReferencesIndex.referenceKeys(StackGresObjectStorage.class, namespace,
+            spec.map(StackGresShardedClusterSpec::getConfigurations)
+            .map(StackGresShardedClusterConfigurations::getBackups)
+            .stream()
+            .flatMap(backups -> backups.stream().limit(1))
+            .map(StackGresShardedClusterBackupConfiguration::getSgObjectStorage)))
+        .flatMap(Function.identity());
   }
 
   @Override
@@ -684,10 +617,4 @@ public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
     monitors.forEach(WatcherMonitor::close);
   }
 
-  private <T> List<T> synchronizedCopyOfValues(Map<?, T> map) {
-    synchronized (map) {
-      return List.copyOf(map.values());
-    }
-  }
-
 }
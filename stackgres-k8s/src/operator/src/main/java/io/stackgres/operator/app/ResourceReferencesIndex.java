@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.app;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+
+/**
+ * Concurrent index of resources by their id (namespace and name) and by the resources they
+ * reference (kind, namespace and name). The index is kept up to date by calling
+ * {@link #put(HasMetadata)} and {@link #remove(HasMetadata)} from the watchers so that the
+ * dependents of a referenced resource can be retrieved in O(dependents) without locking.
+ */
+public class ResourceReferencesIndex<T extends HasMetadata> {
+
+  private final Function<T, Stream<String>> referencesFunction;
+  private final Map<String, T> resources = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> referencesById = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> dependentsByReference = new ConcurrentHashMap<>();
+
+  /**
+   * Create the index.
+   *
+   * @param referencesFunction function that return the keys of the resources referenced by a
+   *     resource, keys must be created using {@link #referenceKey(Class, String, String)}
+   */
+  public ResourceReferencesIndex(Function<T, Stream<String>> referencesFunction) {
+    this.referencesFunction = referencesFunction;
+  }
+
+  public static String referenceKey(
+      Class<? extends HasMetadata> referencedKind, String namespace, String name) {
+    return HasMetadata.getKind(referencedKind) + "/" + namespace + "/" + name;
+  }
+
+  /**
+   * Helper to create the stream of keys of the resources referenced by a resource from the names
+   * of the referenced resources that may be {@code null}.
+   */
+  public static Stream<String> referenceKeys(
+      Class<? extends HasMetadata> referencedKind, String namespace, Stream<String> names) {
+    return names
+        .filter(Objects::nonNull)
+        .map(name -> referenceKey(referencedKind, namespace, name));
+  }
+
+  public static String resourceId(HasMetadata resource) {
+    return resource.getMetadata().getNamespace() + "." + resource.getMetadata().getName();
+  }
+
+  public Optional<T> get(String namespace, String name) {
+    return Optional.ofNullable(resources.get(namespace + "." + name));
+  }
+
+  public Optional<T> get(HasMetadata resource) {
+    return Optional.ofNullable(resources.get(resourceId(resource)));
+  }
+
+  /**
+   * Add or replace a resource updating the index of its references.
+   */
+  public void put(T resource) {
+    final String id = resourceId(resource);
+    final Set<String> references = referencesFunction.apply(resource)
+        .collect(ConcurrentHashMap::newKeySet, Set::add, Set::addAll);
+    resources.compute(id, (key, previous) -> {
+      Optional.ofNullable(referencesById.put(id, references))
+          .stream()
+          .flatMap(Set::stream)
+          .filter(reference -> !references.contains(reference))
+          .forEach(reference -> removeDependent(reference, id));
+      references.forEach(reference -> dependentsByReference
+          .computeIfAbsent(reference, ignored -> ConcurrentHashMap.newKeySet())
+          .add(id));
+      return resource;
+    });
+  }
+
+  /**
+   * Remove a resource and its references from the index.
+   */
+  public void remove(HasMetadata resource) {
+    final String id = resourceId(resource);
+    resources.compute(id, (key, previous) -> {
+      Optional.ofNullable(referencesById.remove(id))
+          .stream()
+          .flatMap(Set::stream)
+          .forEach(reference -> removeDependent(reference, id));
+      return null;
+    });
+  }
+
+  private void removeDependent(String reference, String id) {
+    dependentsByReference.computeIfPresent(reference, (key, dependents) -> {
+      dependents.remove(id);
+      return dependents.isEmpty() ? null : dependents;
+    });
+  }
+
+  /**
+   * Return the resources that reference the resource of the specified kind with the specified
+   * namespace and name.
+   */
+  public List<T> dependents(
+      Class<? extends HasMetadata> referencedKind, String namespace, String name) {
+    return Optional.ofNullable(dependentsByReference.get(
+        referenceKey(referencedKind, namespace, name)))
+        .stream()
+        .flatMap(Set::stream)
+        .map(resources::get)
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  public List<T> dependents(HasMetadata referenced) {
+    return dependents(referenced.getClass(),
+        referenced.getMetadata().getNamespace(),
+        referenced.getMetadata().getName());
+  }
+
+}
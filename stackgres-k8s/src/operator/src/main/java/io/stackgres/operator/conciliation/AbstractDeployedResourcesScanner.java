@@ -31,9 +31,13 @@ public abstract class AbstractDeployedResourcesScanner<T extends CustomResource<
   private final List<String> allowedNamespaces = OperatorProperty.getAllowedNamespaces();
 
   private final DeployedResourcesCache deployedResourcesCache;
+  private final DeployedResourcesInformers deployedResourcesInformers;
 
-  protected AbstractDeployedResourcesScanner(DeployedResourcesCache deployedResourcesCache) {
+  protected AbstractDeployedResourcesScanner(
+      DeployedResourcesCache deployedResourcesCache,
+      DeployedResourcesInformers deployedResourcesInformers) {
     this.deployedResourcesCache = deployedResourcesCache;
+    this.deployedResourcesInformers = deployedResourcesInformers;
   }
 
   public DeployedResourcesSnapshot getDeployedResources(
@@ -43,18 +47,33 @@ public abstract class AbstractDeployedResourcesScanner<T extends CustomResource<
     final Map<String, String> crossNamespaceLabels = getCrossNamespaceLabels(config);
 
     final KubernetesClient client = getClient();
+    final boolean useInformers = deployedResourcesInformers != null
+        && deployedResourcesInformers.isEnabled();
 
     final var inNamepspaceResourceOperations = getInNamepspaceResourceOperations(config);
-    final List<HasMetadata> inNamespace = inNamepspaceResourceOperations
-        .values()
-        .stream()
-        .filter(op -> !genericLabels.isEmpty())
-        .<HasMetadata>flatMap(streamList(op -> listOrEmptyOnNotFound(() -> op.apply(client)
-            .inNamespace(config.getMetadata().getNamespace())
-            .withLabels(genericLabels)
-            .list()
-            .getItems())))
-        .toList();
+    final List<HasMetadata> inNamespace;
+    if (useInformers) {
+      inNamespace = inNamepspaceResourceOperations
+          .entrySet()
+          .stream()
+          .filter(op -> !genericLabels.isEmpty())
+          .flatMap(op -> deployedResourcesInformers.list(
+              op.getKey(), op.getValue(),
+              config.getMetadata().getNamespace(),
+              genericLabels).stream())
+          .toList();
+    } else {
+      inNamespace = inNamepspaceResourceOperations
+          .values()
+          .stream()
+          .filter(op -> !genericLabels.isEmpty())
+          .<HasMetadata>flatMap(streamList(op -> listOrEmptyOnNotFound(() -> op.apply(client)
+              .inNamespace(config.getMetadata().getNamespace())
+              .withLabels(genericLabels)
+              .list()
+              .getItems())))
+          .toList();
+    }
     final List<HasMetadata> inNamespaceRequired = requiredResources
         .stream()
         .filter(requiredResource -> Objects.equals(
@@ -66,39 +85,48 @@ public abstract class AbstractDeployedResourcesScanner<T extends CustomResource<
                 requiredResource.getMetadata().getName())))
         .filter(requiredResource -> inNamepspaceResourceOperations
             .containsKey(requiredResource.getClass()))
-        .<HasMetadata>flatMap(streamResource(requiredResource -> inNamepspaceResourceOperations
-            .get(requiredResource.getClass()).apply(client)
-            .inNamespace(requiredResource.getMetadata().getNamespace())
-            .withName(requiredResource.getMetadata().getName())
-            .get()))
+        .<HasMetadata>flatMap(streamResource(requiredResource -> getResource(
+            useInformers, client, requiredResource,
+            inNamepspaceResourceOperations.get(requiredResource.getClass()))))
         .toList();
 
     final var inAnyNamespaceResourceOperations = getInAnyNamespaceResourceOperations(config);
-    final List<HasMetadata> inAnyNamespace = inAnyNamespaceResourceOperations
-        .values()
-        .stream()
-        .filter(op -> !crossNamespaceLabels.isEmpty())
-        .map(op -> Optional.of(allowedNamespaces)
-            .filter(Predicate.not(List::isEmpty))
-            .map(allowedNamespaces -> allowedNamespaces.stream()
-                .flatMap(allowedNamespace -> Optional.of(
-                    listOrEmptyOnNotFound(() -> op.apply(client)
-                        .inNamespace(allowedNamespace)
-                        .withLabels(crossNamespaceLabels)
-                        .list()
-                        .getItems())).stream())
-                .reduce(Seq.<HasMetadata>of(), (seq, items) -> seq.append(items), (u, v) -> v)
-                .toList())
-            .orElseGet(() -> listOrEmptyOnNotFound(() -> op.apply(client)
-                .inAnyNamespace()
-                .withLabels(crossNamespaceLabels)
-                .list()
-                .getItems())
-                .stream()
-                .map(HasMetadata.class::cast)
-                .toList()))
-        .<HasMetadata>flatMap(streamList(Function.identity()))
-        .toList();
+    final List<HasMetadata> inAnyNamespace;
+    if (useInformers) {
+      inAnyNamespace = inAnyNamespaceResourceOperations
+          .entrySet()
+          .stream()
+          .filter(op -> !crossNamespaceLabels.isEmpty())
+          .flatMap(op -> deployedResourcesInformers.listInAnyNamespace(
+              op.getKey(), op.getValue(), crossNamespaceLabels).stream())
+          .toList();
+    } else {
+      inAnyNamespace = inAnyNamespaceResourceOperations
+          .values()
+          .stream()
+          .filter(op -> !crossNamespaceLabels.isEmpty())
+          .map(op -> Optional.of(allowedNamespaces)
+              .filter(Predicate.not(List::isEmpty))
+              .map(allowedNamespaces -> allowedNamespaces.stream()
+                  .flatMap(allowedNamespace -> Optional.of(
+                      listOrEmptyOnNotFound(() -> op.apply(client)
+                          .inNamespace(allowedNamespace)
+                          .withLabels(crossNamespaceLabels)
+                          .list()
+                          .getItems())).stream())
+                  .reduce(Seq.<HasMetadata>of(), (seq, items) -> seq.append(items), (u, v) -> v)
+                  .toList())
+              .orElseGet(() -> listOrEmptyOnNotFound(() -> op.apply(client)
+                  .inAnyNamespace()
+                  .withLabels(crossNamespaceLabels)
+                  .list()
+                  .getItems())
+                  .stream()
+                  .map(HasMetadata.class::cast)
+                  .toList()))
+          .<HasMetadata>flatMap(streamList(Function.identity()))
+          .toList();
+    }
     final List<HasMetadata> inAnyNamespaceRequired = requiredResources
         .stream()
         .filter(requiredResource -> inNamespace.stream()
@@ -110,11 +138,9 @@ public abstract class AbstractDeployedResourcesScanner<T extends CustomResource<
                     requiredResource.getMetadata().getNamespace())))
         .filter(requiredResource -> inAnyNamespaceResourceOperations
             .containsKey(requiredResource.getClass()))
-        .<HasMetadata>flatMap(streamResource(requiredResource -> inAnyNamespaceResourceOperations
-              .get(requiredResource.getClass()).apply(client)
-              .inNamespace(requiredResource.getMetadata().getNamespace())
-              .withName(requiredResource.getMetadata().getName())
-              .get()))
+        .<HasMetadata>flatMap(streamResource(requiredResource -> getResource(
+            useInformers, client, requiredResource,
+            inAnyNamespaceResourceOperations.get(requiredResource.getClass()))))
         .filter(Objects::nonNull)
         .toList();
 
@@ -135,6 +161,28 @@ public abstract class AbstractDeployedResourcesScanner<T extends CustomResource<
     return deployedResourcesSnapshot;
   }
 
+  private HasMetadata getResource(
+      boolean useInformers,
+      KubernetesClient client,
+      HasMetadata requiredResource,
+      Function<KubernetesClient, MixedOperation<? extends HasMetadata,
+          ? extends KubernetesResourceList<? extends HasMetadata>,
+              ? extends Resource<? extends HasMetadata>>> operation) {
+    if (useInformers) {
+      var found = deployedResourcesInformers.get(
+          requiredResource.getClass(), operation,
+          requiredResource.getMetadata().getNamespace(),
+          requiredResource.getMetadata().getName());
+      if (found.isPresent()) {
+        return found.get();
+      }
+    }
+    return operation.apply(client)
+        .inNamespace(requiredResource.getMetadata().getNamespace())
+        .withName(requiredResource.getMetadata().getName())
+        .get();
+  }
+
   private boolean checkOwnerReference(T config, final String kind, HasMetadata resource) {
     return resource.getMetadata().getOwnerReferences() != null
         && resource.getMetadata().getOwnerReferences()
@@ -5,28 +5,30 @@
 
 package io.stackgres.operator.conciliation;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.atomic.AtomicReference;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.rbac.Role;
 import io.fabric8.kubernetes.api.model.rbac.RoleBinding;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.stackgres.common.CdiUtil;
+import io.stackgres.common.OperatorProperty;
 import io.stackgres.common.StackGresContext;
 import io.stackgres.common.resource.CustomResourceFinder;
 import io.stackgres.common.resource.CustomResourceScanner;
 import io.stackgres.operator.app.OperatorLockHolder;
+import io.stackgres.operatorframework.reconciliation.WorkQueue;
 import org.jooq.lambda.Seq;
 import org.jooq.lambda.tuple.Tuple;
 import org.jooq.lambda.tuple.Tuple2;
@@ -41,6 +43,10 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
   private static final String STACKGRES_IO_RECONCILIATION = StackGresContext
       .RECONCILIATION_PAUSE_KEY;
 
+  private static final String ALL_CONFIGS_KEY = "*";
+  private static final Duration RETRY_BASE_DELAY = Duration.ofSeconds(1);
+  private static final Duration RETRY_MAX_DELAY = Duration.ofMinutes(5);
+
   private final CustomResourceScanner<T> scanner;
   private final CustomResourceFinder<T> finder;
   private final AbstractConciliator<T> conciliator;
@@ -48,11 +54,11 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
   private final HandlerDelegator<T> handlerDelegator;
   private final KubernetesClient client;
   private final OperatorLockHolder operatorLockReconciliator;
+  private final ReconciliatorWorkerThreadPool workerThreadPool;
   private final String reconciliationName;
   private final ExecutorService executorService;
-  private final AtomicReference<List<Optional<T>>> atomicReference =
-      new AtomicReference<List<Optional<T>>>(List.of());
-  private final ArrayBlockingQueue<Boolean> arrayBlockingQueue = new ArrayBlockingQueue<>(1);
+  private final WorkQueue<String> workQueue;
+  private final Map<String, T> requestedConfigs = new ConcurrentHashMap<>();
 
   private final CompletableFuture<Void> stopped = new CompletableFuture<>();
   private boolean close = false;
@@ -65,6 +71,7 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
       HandlerDelegator<T> handlerDelegator,
       KubernetesClient client,
       OperatorLockHolder operatorLockReconciliator,
+      ReconciliatorWorkerThreadPool workerThreadPool,
       String reconciliationName) {
     this.scanner = scanner;
     this.finder = finder;
@@ -74,8 +81,17 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
     this.client = client;
     this.reconciliationName = reconciliationName;
     this.operatorLockReconciliator = operatorLockReconciliator;
+    this.workerThreadPool = workerThreadPool;
     this.executorService = Executors.newSingleThreadExecutor(
         r -> new Thread(r, reconciliationName + "-ReconciliationLoop"));
+    this.workQueue = new WorkQueue<>(reconciliationName,
+        RETRY_BASE_DELAY, RETRY_MAX_DELAY,
+        OperatorProperty.RECONCILIATION_RATE_LIMIT.get()
+        .map(Double::valueOf)
+        .orElse(0d),
+        OperatorProperty.RECONCILIATION_RATE_LIMIT_BURST.get()
+        .map(Integer::valueOf)
+        .orElse(1));
   }
 
   public AbstractReconciliator() {
@@ -88,7 +104,9 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
     this.client = null;
     this.reconciliationName = null;
     this.operatorLockReconciliator = null;
+    this.workerThreadPool = null;
     this.executorService = null;
+    this.workQueue = null;
   }
 
   protected void start() {
@@ -98,9 +116,8 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
 
   protected void stop() {
     close = true;
-    reconcile(List.of());
+    workQueue.shutDown();
     executorService.shutdown();
-    reconcile(List.of());
     stopped.join();
   }
 
@@ -109,21 +126,13 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
   }
 
   public void reconcileAll() {
-    reconcile(List.of(Optional.empty()));
+    workQueue.add(ALL_CONFIGS_KEY);
   }
 
   public void reconcile(T config) {
-    reconcile(List.of(Optional.of(config)));
-  }
-
-  @SuppressFBWarnings(value = "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE",
-      justification = "We do not care if queue is already filled")
-  private void reconcile(List<Optional<T>> configs) {
-    atomicReference.updateAndGet(atomicConfigs -> Seq
-        .seq(atomicConfigs)
-        .append(configs)
-        .toList());
-    arrayBlockingQueue.offer(true);
+    final String configId = configId(config);
+    requestedConfigs.put(configId, config);
+    workQueue.add(configId);
   }
 
   private void reconciliationLoop() {
@@ -137,12 +146,22 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
           Thread.sleep(100);
           continue;
         }
-        arrayBlockingQueue.take();
-        List<Optional<T>> configs = atomicReference.getAndSet(List.of());
-        if (close) {
+        final String key = workQueue.take();
+        if (key == null || close) {
           break;
         }
-        reconciliationsCycle(configs);
+        try {
+          List<Optional<T>> configs = requestedConfigs(key);
+          if (!configs.isEmpty()) {
+            reconciliationsCycle(configs);
+          }
+        } finally {
+          workQueue.done(key);
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        LOGGER.error("{} reconciliation loop was interrupted", getReconciliationName(), ex);
+        break;
       } catch (Exception ex) {
         LOGGER.error("{} reconciliation loop was interrupted", getReconciliationName(), ex);
       }
@@ -151,6 +170,16 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
     stopped.complete(null);
   }
 
+  private List<Optional<T>> requestedConfigs(String key) {
+    if (ALL_CONFIGS_KEY.equals(key)) {
+      return List.of(Optional.empty());
+    }
+    return Optional.ofNullable(requestedConfigs.remove(key))
+        .map(Optional::of)
+        .stream()
+        .toList();
+  }
+
   protected void reconciliationsCycle(List<Optional<T>> configs) {
     mergedConfigs(configs).stream()
         .filter(t -> Optional.ofNullable(t.v1.getMetadata().getAnnotations())
@@ -158,7 +187,7 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
             .map(Boolean::parseBoolean)
             .map(b -> !b)
             .orElse(true))
-        .forEach(t -> reconciliationCycle(t.v1, t.v2));
+        .forEach(t -> reconciliationCycle(t.v1, t.v2, configId(t.v1)));
   }
 
   private List<Tuple2<T, Boolean>> mergedConfigs(List<Optional<T>> configs) {
@@ -188,6 +217,15 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
     return config.getMetadata().getNamespace() + "." + config.getMetadata().getName();
   }
 
+  private void reconciliationCycle(T configKey, boolean load, String configId) {
+    if (workerThreadPool == null) {
+      reconciliationCycle(configKey, load);
+      return;
+    }
+    workerThreadPool.reconcile(reconciliationName, configId,
+        () -> reconciliationCycle(configKey, load));
+  }
+
   protected void reconciliationCycle(T configKey, boolean load) {
     final ObjectMeta metadata = configKey.getMetadata();
     final String configId = configKey.getKind()
@@ -292,9 +330,20 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
       } catch (Exception onErrorEx) {
         LOGGER.error("Failed executing on error event of {}", configId, onErrorEx);
       }
+      retry(configKey);
+    } else {
+      workQueue.forget(configId(configKey));
     }
   }
 
+  private void retry(T config) {
+    final String configId = configId(config);
+    requestedConfigs.putIfAbsent(configId, config);
+    Duration delay = workQueue.addRateLimited(configId);
+    LOGGER.debug("Reconciliation of {} {} will be retried in {}",
+        config.getKind(), configId, delay);
+  }
+
   protected abstract void onPreReconciliation(T config);
 
   protected abstract void onPostReconciliation(T config);
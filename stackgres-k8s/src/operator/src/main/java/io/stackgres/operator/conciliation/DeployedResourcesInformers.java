@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.conciliation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.quarkus.runtime.ShutdownEvent;
+import io.stackgres.common.OperatorProperty;
+import io.stackgres.common.StackGresContext;
+import io.stackgres.operator.configuration.OperatorPropertyContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jooq.lambda.tuple.Tuple;
+import org.jooq.lambda.tuple.Tuple2;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared informers used by the deployed resources scanners to build the deployed resources
+ * snapshot from a local cache instead of performing a LIST for each kind on each reconciliation.
+ * Informers are created lazily for each kind (and each allowed namespace, if any) the first time
+ * they are requested and watch only resources that have the StackGres {@code app} label. A
+ * reconciliation waits for the informer to be synced at most the configured sync timeout.
+ */
+@ApplicationScoped
+public class DeployedResourcesInformers {
+
+  protected static final Logger LOGGER = LoggerFactory.getLogger(DeployedResourcesInformers.class);
+
+  static final String LABELS_INDEX = "stackgres-labels";
+
+  private final KubernetesClient client;
+  private final boolean enabled;
+  private final long resyncPeriod;
+  private final long syncTimeout;
+  private final List<String> allowedNamespaces = OperatorProperty.getAllowedNamespaces();
+  private final Map<Tuple2<Class<?>, Optional<String>>, StartedInformer> informers =
+      new ConcurrentHashMap<>();
+
+  @Inject
+  public DeployedResourcesInformers(
+      KubernetesClient client,
+      OperatorPropertyContext propertyContext) {
+    this.client = client;
+    this.enabled = propertyContext.getBoolean(
+        OperatorProperty.RECONCILIATION_USE_INFORMERS);
+    this.resyncPeriod = propertyContext.get(
+        OperatorProperty.RECONCILIATION_INFORMERS_RESYNC_PERIOD)
+        .map(Long::valueOf)
+        .map(seconds -> seconds * 1000)
+        .orElse(0L);
+    this.syncTimeout = propertyContext.get(
+        OperatorProperty.RECONCILIATION_INFORMERS_SYNC_TIMEOUT)
+        .map(Long::valueOf)
+        .orElse(60L);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Return the resources of the specified kind found in the specified namespace that have all the
+   * specified labels.
+   */
+  public List<HasMetadata> list(
+      Class<? extends HasMetadata> kind,
+      Function<KubernetesClient, MixedOperation<? extends HasMetadata,
+          ? extends KubernetesResourceList<? extends HasMetadata>,
+              ? extends Resource<? extends HasMetadata>>> operation,
+      String namespace,
+      Map<String, String> labels) {
+    var informer = getInformer(kind, operation, namespace);
+    var firstLabel = labels.entrySet().iterator().next();
+    return informer.getIndexer()
+        .byIndex(LABELS_INDEX, labelIndexKey(
+            namespace, firstLabel.getKey(), firstLabel.getValue()))
+        .stream()
+        .filter(resource -> hasLabels(resource, labels))
+        .<HasMetadata>map(HasMetadata.class::cast)
+        .toList();
+  }
+
+  /**
+   * Return the resources of the specified kind found in any allowed namespace that have all the
+   * specified labels.
+   */
+  public List<HasMetadata> listInAnyNamespace(
+      Class<? extends HasMetadata> kind,
+      Function<KubernetesClient, MixedOperation<? extends HasMetadata,
+          ? extends KubernetesResourceList<? extends HasMetadata>,
+              ? extends Resource<? extends HasMetadata>>> operation,
+      Map<String, String> labels) {
+    if (allowedNamespaces.isEmpty()) {
+      return getInformer(kind, operation, null).getStore().list()
+          .stream()
+          .filter(resource -> hasLabels(resource, labels))
+          .<HasMetadata>map(HasMetadata.class::cast)
+          .toList();
+    }
+    return allowedNamespaces.stream()
+        .flatMap(allowedNamespace -> list(kind, operation, allowedNamespace, labels).stream())
+        .toList();
+  }
+
+  /**
+   * Return the resource of the specified kind with the specified namespace and name if found in
+   * the informer cache.
+   */
+  public Optional<HasMetadata> get(
+      Class<? extends HasMetadata> kind,
+      Function<KubernetesClient, MixedOperation<? extends HasMetadata,
+          ? extends KubernetesResourceList<? extends HasMetadata>,
+              ? extends Resource<? extends HasMetadata>>> operation,
+      String namespace,
+      String name) {
+    return Optional.ofNullable(getInformer(kind, operation, namespace)
+        .getStore().getByKey(Cache.namespaceKeyFunc(namespace, name)));
+  }
+
+  private SharedIndexInformer<? extends HasMetadata> getInformer(
+      Class<? extends HasMetadata> kind,
+      Function<KubernetesClient, MixedOperation<? extends HasMetadata,
+          ? extends KubernetesResourceList<? extends HasMetadata>,
+              ? extends Resource<? extends HasMetadata>>> operation,
+      String namespace) {
+    final Optional<String> informerNamespace = Optional.ofNullable(namespace)
+        .filter(ignored -> !allowedNamespaces.isEmpty());
+    final Tuple2<Class<?>, Optional<String>> key = Tuple.tuple(kind, informerNamespace);
+    final StartedInformer startedInformer = informers.computeIfAbsent(
+        key, ignored -> createInformer(kind, operation.apply(client), informerNamespace));
+    try {
+      startedInformer.started().get(syncTimeout, TimeUnit.SECONDS);
+    } catch (TimeoutException ex) {
+      throw new RuntimeException("Informer for " + HasMetadata.getKind(kind)
+          + " did not sync after " + syncTimeout + " seconds", ex);
+    } catch (ExecutionException ex) {
+      if (informers.remove(key, startedInformer)) {
+        startedInformer.informer().close();
+      }
+      throw new RuntimeException("Informer for " + HasMetadata.getKind(kind)
+          + " failed to start", ex.getCause());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(ex);
+    }
+    return startedInformer.informer();
+  }
+
+  private <R extends HasMetadata> StartedInformer createInformer(
+      Class<? extends HasMetadata> kind,
+      MixedOperation<R, ?, ?> operation,
+      Optional<String> namespace) {
+    LOGGER.info("Starting informer for {}{}", HasMetadata.getKind(kind),
+        namespace.map(" in namespace "::concat).orElse(""));
+    final FilterWatchListDeletable<R, ?, ?> namespacedOperation;
+    if (namespace.isPresent()) {
+      namespacedOperation = operation.inNamespace(namespace.get());
+    } else {
+      namespacedOperation = operation.inAnyNamespace();
+    }
+    SharedIndexInformer<R> informer = namespacedOperation
+        .withLabel(StackGresContext.APP_KEY)
+        .runnableInformer(resyncPeriod);
+    informer.addIndexers(Map.of(LABELS_INDEX, DeployedResourcesInformers::labelIndexKeys));
+    return new StartedInformer(informer, informer.start().toCompletableFuture());
+  }
+
+  private static List<String> labelIndexKeys(HasMetadata resource) {
+    return Optional.ofNullable(resource.getMetadata().getLabels())
+        .orElse(Map.of())
+        .entrySet()
+        .stream()
+        .map(label -> labelIndexKey(
+            resource.getMetadata().getNamespace(), label.getKey(), label.getValue()))
+        .toList();
+  }
+
+  private static String labelIndexKey(String namespace, String key, String value) {
+    return namespace + "/" + key + "=" + value;
+  }
+
+  private static boolean hasLabels(HasMetadata resource, Map<String, String> labels) {
+    final Map<String, String> resourceLabels = Optional
+        .ofNullable(resource.getMetadata().getLabels())
+        .orElse(Map.of());
+    return labels.entrySet().stream()
+        .allMatch(label -> Objects.equals(resourceLabels.get(label.getKey()), label.getValue()));
+  }
+
+  void onStop(@Observes ShutdownEvent ev) {
+    informers.values().stream()
+        .map(StartedInformer::informer)
+        .forEach(SharedIndexInformer::close);
+    informers.clear();
+  }
+
+  private record StartedInformer(
+      SharedIndexInformer<? extends HasMetadata> informer,
+      CompletableFuture<Void> started) {
+  }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.conciliation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.ShutdownEvent;
+import io.stackgres.common.CdiUtil;
+import io.stackgres.common.OperatorProperty;
+import io.stackgres.operator.configuration.OperatorPropertyContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of single threaded workers shared by all the reconciliators. Each reconciliation is routed
+ * to a worker by the hash of its key so that reconciliations of the same resource are never run
+ * concurrently and keep their order while reconciliations of unrelated resources run in parallel.
+ * For each key at most one reconciliation is queued: a reconciliation requested for a key that is
+ * already queued replaces the queued one.
+ */
+@ApplicationScoped
+public class ReconciliatorWorkerThreadPool {
+
+  protected static final Logger LOGGER = LoggerFactory.getLogger(
+      ReconciliatorWorkerThreadPool.class);
+
+  private static final String QUEUE_DEPTH_METRIC = "stackgres.reconciliation.queue.depth";
+  private static final String DURATION_METRIC = "stackgres.reconciliation.duration";
+
+  private final MeterRegistry registry;
+  private final List<ExecutorService> workers;
+  private final Map<String, Runnable> pendingReconciliations = new ConcurrentHashMap<>();
+  private final Map<String, AtomicInteger> queueDepths = new ConcurrentHashMap<>();
+  private final Map<String, Timer> durations = new ConcurrentHashMap<>();
+
+  @Inject
+  public ReconciliatorWorkerThreadPool(
+      OperatorPropertyContext propertyContext,
+      MeterRegistry registry) {
+    this.registry = registry;
+    final int size = propertyContext.get(OperatorProperty.RECONCILIATION_WORKERS)
+        .map(Integer::valueOf)
+        .orElse(1);
+    this.workers = size <= 1 ? List.of() : IntStream.range(0, size)
+        .mapToObj(index -> Executors.newSingleThreadExecutor(
+            r -> new Thread(r, "ReconciliationWorker-" + index)))
+        .toList();
+  }
+
+  public ReconciliatorWorkerThreadPool() {
+    CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
+    this.registry = null;
+    this.workers = null;
+  }
+
+  /**
+   * Return true if reconciliations are run by the workers of this pool or false if they are run
+   * by the reconciliation loop of each reconciliator.
+   */
+  public boolean isEnabled() {
+    return !workers.isEmpty();
+  }
+
+  /**
+   * Run the reconciliation identified by the specified key of the specified kind. If workers are
+   * enabled the reconciliation is queued in the worker selected by the key, otherwise it is run
+   * immediately in the calling thread.
+   */
+  public void reconcile(String kind, String key, Runnable reconciliation) {
+    if (!isEnabled()) {
+      timed(kind, reconciliation);
+      return;
+    }
+    final String workerKey = kind + " " + key;
+    if (pendingReconciliations.put(workerKey, reconciliation) != null) {
+      LOGGER.trace("Reconciliation of {} already queued, replacing it", workerKey);
+      return;
+    }
+    final AtomicInteger queueDepth = getQueueDepth(kind);
+    queueDepth.incrementAndGet();
+    workers.get(Math.floorMod(workerKey.hashCode(), workers.size()))
+        .execute(() -> {
+          final Runnable pendingReconciliation = pendingReconciliations.remove(workerKey);
+          queueDepth.decrementAndGet();
+          try {
+            timed(kind, pendingReconciliation);
+          } catch (Exception ex) {
+            LOGGER.error("Reconciliation of {} failed", workerKey, ex);
+          }
+        });
+  }
+
+  private void timed(String kind, Runnable reconciliation) {
+    durations.computeIfAbsent(kind, this::registerDuration).record(reconciliation);
+  }
+
+  private AtomicInteger getQueueDepth(String kind) {
+    return queueDepths.computeIfAbsent(kind, this::registerQueueDepth);
+  }
+
+  private AtomicInteger registerQueueDepth(String kind) {
+    return registry.gauge(QUEUE_DEPTH_METRIC, Tags.of("kind", kind), new AtomicInteger(0));
+  }
+
+  private Timer registerDuration(String kind) {
+    return Timer.builder(DURATION_METRIC)
+        .tag("kind", kind)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  void onStop(@Observes ShutdownEvent ev) {
+    workers.forEach(ExecutorService::shutdown);
+  }
+
+}
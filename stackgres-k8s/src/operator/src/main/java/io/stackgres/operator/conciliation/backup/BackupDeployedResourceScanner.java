@@ -19,6 +19,7 @@ import io.stackgres.common.crd.sgbackup.StackGresBackup;
 import io.stackgres.common.labels.LabelFactoryForBackup;
 import io.stackgres.operator.conciliation.AbstractDeployedResourcesScanner;
 import io.stackgres.operator.conciliation.DeployedResourcesCache;
+import io.stackgres.operator.conciliation.DeployedResourcesInformers;
 import io.stackgres.operator.conciliation.ReconciliationOperations;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -33,15 +34,16 @@ public class BackupDeployedResourceScanner extends AbstractDeployedResourcesScan
   @Inject
   public BackupDeployedResourceScanner(
       DeployedResourcesCache deployedResourcesCache,
+      DeployedResourcesInformers deployedResourcesInformers,
       KubernetesClient client,
       LabelFactoryForBackup labelFactory) {
-    super(deployedResourcesCache);
+    super(deployedResourcesCache, deployedResourcesInformers);
     this.client = client;
     this.labelFactory = labelFactory;
   }
 
   public BackupDeployedResourceScanner() {
-    super(null);
+    super(null, null);
     CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
     this.client = null;
     this.labelFactory = null;
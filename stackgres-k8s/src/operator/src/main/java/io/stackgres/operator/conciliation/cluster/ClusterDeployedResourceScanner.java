@@ -44,6 +44,7 @@ import io.stackgres.common.crd.sgscript.StackGresScriptList;
 import io.stackgres.common.labels.LabelFactoryForCluster;
 import io.stackgres.operator.conciliation.AbstractDeployedResourcesScanner;
 import io.stackgres.operator.conciliation.DeployedResourcesCache;
+import io.stackgres.operator.conciliation.DeployedResourcesInformers;
 import io.stackgres.operator.conciliation.ReconciliationOperations;
 import io.stackgres.operator.configuration.OperatorPropertyContext;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -62,17 +63,18 @@ public class ClusterDeployedResourceScanner
   @Inject
   public ClusterDeployedResourceScanner(
       DeployedResourcesCache deployedResourcesCache,
+      DeployedResourcesInformers deployedResourcesInformers,
       KubernetesClient client,
       LabelFactoryForCluster<StackGresCluster> labelFactory,
       OperatorPropertyContext operatorContext) {
-    super(deployedResourcesCache);
+    super(deployedResourcesCache, deployedResourcesInformers);
     this.client = client;
     this.labelFactory = labelFactory;
     this.prometheusAutobind = operatorContext.getBoolean(OperatorProperty.PROMETHEUS_AUTOBIND);
   }
 
   public ClusterDeployedResourceScanner() {
-    super(null);
+    super(null, null);
     CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
     this.client = null;
     this.labelFactory = null;
@@ -31,6 +31,7 @@ import io.stackgres.common.crd.sgconfig.StackGresConfigSpec;
 import io.stackgres.common.labels.LabelFactoryForConfig;
 import io.stackgres.operator.conciliation.AbstractDeployedResourcesScanner;
 import io.stackgres.operator.conciliation.DeployedResourcesCache;
+import io.stackgres.operator.conciliation.DeployedResourcesInformers;
 import io.stackgres.operator.conciliation.ReconciliationOperations;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -48,15 +49,16 @@ public class ConfigDeployedResourceScanner
   @Inject
   public ConfigDeployedResourceScanner(
       DeployedResourcesCache deployedResourcesCache,
+      DeployedResourcesInformers deployedResourcesInformers,
       KubernetesClient client,
       LabelFactoryForConfig labelFactory) {
-    super(deployedResourcesCache);
+    super(deployedResourcesCache, deployedResourcesInformers);
     this.client = client;
     this.labelFactory = labelFactory;
   }
 
   public ConfigDeployedResourceScanner() {
-    super(null);
+    super(null, null);
     CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
     this.client = null;
     this.labelFactory = null;
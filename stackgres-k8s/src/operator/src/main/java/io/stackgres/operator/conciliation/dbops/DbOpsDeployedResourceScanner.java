@@ -22,6 +22,7 @@ import io.stackgres.common.crd.sgdbops.StackGresDbOps;
 import io.stackgres.common.labels.LabelFactoryForDbOps;
 import io.stackgres.operator.conciliation.AbstractDeployedResourcesScanner;
 import io.stackgres.operator.conciliation.DeployedResourcesCache;
+import io.stackgres.operator.conciliation.DeployedResourcesInformers;
 import io.stackgres.operator.conciliation.ReconciliationOperations;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -36,15 +37,16 @@ public class DbOpsDeployedResourceScanner extends AbstractDeployedResourcesScann
   @Inject
   public DbOpsDeployedResourceScanner(
       DeployedResourcesCache deployedResourcesCache,
+      DeployedResourcesInformers deployedResourcesInformers,
       KubernetesClient client,
       LabelFactoryForDbOps labelFactory) {
-    super(deployedResourcesCache);
+    super(deployedResourcesCache, deployedResourcesInformers);
     this.client = client;
     this.labelFactory = labelFactory;
   }
 
   public DbOpsDeployedResourceScanner() {
-    super(null);
+    super(null, null);
     CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
     this.client = null;
     this.labelFactory = null;
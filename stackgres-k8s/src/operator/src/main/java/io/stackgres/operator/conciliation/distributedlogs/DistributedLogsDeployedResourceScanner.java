@@ -31,6 +31,7 @@ import io.stackgres.common.crd.sgscript.StackGresScriptList;
 import io.stackgres.common.labels.LabelFactoryForCluster;
 import io.stackgres.operator.conciliation.AbstractDeployedResourcesScanner;
 import io.stackgres.operator.conciliation.DeployedResourcesCache;
+import io.stackgres.operator.conciliation.DeployedResourcesInformers;
 import io.stackgres.operator.conciliation.ReconciliationOperations;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -46,15 +47,16 @@ public class DistributedLogsDeployedResourceScanner
   @Inject
   public DistributedLogsDeployedResourceScanner(
       DeployedResourcesCache deployedResourcesCache,
+      DeployedResourcesInformers deployedResourcesInformers,
       KubernetesClient client,
       LabelFactoryForCluster<StackGresDistributedLogs> labelFactory) {
-    super(deployedResourcesCache);
+    super(deployedResourcesCache, deployedResourcesInformers);
     this.client = client;
     this.labelFactory = labelFactory;
   }
 
   public DistributedLogsDeployedResourceScanner() {
-    super(null);
+    super(null, null);
     CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
     this.client = null;
     this.labelFactory = null;
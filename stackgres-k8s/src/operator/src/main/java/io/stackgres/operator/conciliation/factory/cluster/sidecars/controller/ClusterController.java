@@ -10,13 +10,16 @@ import static io.stackgres.common.StackGresUtil.getDefaultPullPolicy;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.ContainerBuilder;
 import io.fabric8.kubernetes.api.model.EnvVarBuilder;
 import io.fabric8.kubernetes.api.model.EnvVarSourceBuilder;
+import io.fabric8.kubernetes.api.model.HostPathVolumeSourceBuilder;
 import io.fabric8.kubernetes.api.model.ObjectFieldSelector;
 import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.VolumeBuilder;
 import io.fabric8.kubernetes.api.model.VolumeMount;
 import io.fabric8.kubernetes.api.model.VolumeMountBuilder;
 import io.stackgres.common.ClusterControllerProperty;
@@ -38,20 +41,26 @@ import io.stackgres.common.crd.sgconfig.StackGresConfigDeveloperPatches;
 import io.stackgres.common.crd.sgconfig.StackGresConfigSpec;
 import io.stackgres.operator.common.Sidecar;
 import io.stackgres.operator.conciliation.OperatorVersionBinder;
+import io.stackgres.operator.conciliation.cluster.StackGresClusterContext;
 import io.stackgres.operator.conciliation.factory.ContainerFactory;
 import io.stackgres.operator.conciliation.factory.ContainerUserOverrideMounts;
+import io.stackgres.operator.conciliation.factory.ImmutableVolumePair;
 import io.stackgres.operator.conciliation.factory.PostgresDataMounts;
 import io.stackgres.operator.conciliation.factory.PostgresSocketMount;
 import io.stackgres.operator.conciliation.factory.RunningContainer;
+import io.stackgres.operator.conciliation.factory.VolumeFactory;
+import io.stackgres.operator.conciliation.factory.VolumePair;
 import io.stackgres.operator.conciliation.factory.cluster.ClusterContainerContext;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import org.jetbrains.annotations.NotNull;
 
 @Singleton
 @Sidecar(StackGresContainer.CLUSTER_CONTROLLER)
 @OperatorVersionBinder
 @RunningContainer(StackGresContainer.CLUSTER_CONTROLLER)
-public class ClusterController implements ContainerFactory<ClusterContainerContext> {
+public class ClusterController implements ContainerFactory<ClusterContainerContext>,
+    VolumeFactory<StackGresClusterContext> {
 
   private final PostgresDataMounts postgresDataMounts;
   private final ContainerUserOverrideMounts userContainerMounts;
@@ -189,6 +198,19 @@ public class ClusterController implements ContainerFactory<ClusterContainerConte
             .endResourceFieldRef()
             .endValueFrom()
             .build())
+        .addAllToEnv(OperatorProperty.EXTENSIONS_NODE_CACHE_HOST_PATH.get()
+            .map(hostPath -> List.of(
+                new EnvVarBuilder()
+                .withName(ClusterControllerProperty.CLUSTER_CONTROLLER_EXTENSIONS_CACHE_PATH
+                    .getEnvironmentVariableName())
+                .withValue(ClusterPath.EXTENSIONS_CACHE_PATH.path())
+                .build(),
+                new EnvVarBuilder()
+                .withName(ClusterControllerProperty.CLUSTER_CONTROLLER_EXTENSIONS_CACHE_MAX_SIZE
+                    .getEnvironmentVariableName())
+                .withValue(OperatorProperty.EXTENSIONS_NODE_CACHE_MAX_SIZE.get().orElse(null))
+                .build()))
+            .orElse(List.of()))
         .withVolumeMounts(userContainerMounts.getVolumeMounts(context))
         .addAllToVolumeMounts(postgresDataMounts.getVolumeMounts(context))
         .addAllToVolumeMounts(postgresSocket.getVolumeMounts(context))
@@ -218,6 +240,13 @@ public class ClusterController implements ContainerFactory<ClusterContainerConte
                 .withName(StackGresVolume.POSTGRES_SSL_COPY.getName())
                 .withMountPath(ClusterPath.SSL_COPY_PATH.path())
                 .build())
+        .addAllToVolumeMounts(OperatorProperty.EXTENSIONS_NODE_CACHE_HOST_PATH.get()
+            .map(hostPath -> new VolumeMountBuilder()
+                .withName(StackGresVolume.EXTENSIONS_CACHE.getName())
+                .withMountPath(ClusterPath.EXTENSIONS_CACHE_PATH.path())
+                .build())
+            .stream()
+            .toList())
         .addAllToVolumeMounts(Optional.of(context.getClusterContext().getConfig().getSpec())
             .map(StackGresConfigSpec::getDeveloper)
             .map(StackGresConfigDeveloper::getPatches)
@@ -230,6 +259,22 @@ public class ClusterController implements ContainerFactory<ClusterContainerConte
         .build();
   }
 
+  @Override
+  public @NotNull Stream<VolumePair> buildVolumes(@NotNull StackGresClusterContext context) {
+    return OperatorProperty.EXTENSIONS_NODE_CACHE_HOST_PATH.get()
+        .map(hostPath -> ImmutableVolumePair.builder()
+            .volume(new VolumeBuilder()
+                .withName(StackGresVolume.EXTENSIONS_CACHE.getName())
+                .withHostPath(new HostPathVolumeSourceBuilder()
+                    .withPath(hostPath)
+                    .withType("DirectoryOrCreate")
+                    .build())
+                .build())
+            .build())
+        .stream()
+        .map(VolumePair.class::cast);
+  }
+
   @Override
   public Map<String, String> getComponentVersions(ClusterContainerContext context) {
     return Map.of(
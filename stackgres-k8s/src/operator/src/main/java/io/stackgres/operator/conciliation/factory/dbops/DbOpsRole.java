@@ -119,7 +119,7 @@ public class DbOpsRole implements ResourceGenerator<StackGresDbOpsContext> {
         .addToRules(new PolicyRuleBuilder()
             .withApiGroups("apps")
             .withResources("statefulsets")
-            .withVerbs("get", "delete")
+            .withVerbs("get", "list", "watch", "delete")
             .build())
         .addToRules(new PolicyRuleBuilder()
             .withApiGroups("")
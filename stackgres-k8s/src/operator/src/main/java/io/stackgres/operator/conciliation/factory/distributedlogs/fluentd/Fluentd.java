@@ -28,15 +28,13 @@ import io.fabric8.kubernetes.api.model.TCPSocketActionBuilder;
 import io.fabric8.kubernetes.api.model.Volume;
 import io.fabric8.kubernetes.api.model.VolumeBuilder;
 import io.fabric8.kubernetes.api.model.VolumeMountBuilder;
-import io.stackgres.common.EnvoyUtil;
 import io.stackgres.common.FluentdUtil;
 import io.stackgres.common.StackGresComponent;
 import io.stackgres.common.StackGresContainer;
 import io.stackgres.common.StackGresContext;
 import io.stackgres.common.StackGresVolume;
 import io.stackgres.common.crd.sgdistributedlogs.StackGresDistributedLogs;
-import io.stackgres.common.distributedlogs.PatroniTableFields;
-import io.stackgres.common.distributedlogs.PostgresTableFields;
+import io.stackgres.common.distributedlogs.Tables;
 import io.stackgres.common.labels.LabelFactoryForCluster;
 import io.stackgres.operator.conciliation.OperatorVersionBinder;
 import io.stackgres.operator.conciliation.ResourceGenerator;
@@ -64,12 +62,6 @@ public class Fluentd implements ContainerFactory<DistributedLogsContainerContext
     ResourceGenerator<StackGresDistributedLogsContext>,
     VolumeFactory<StackGresDistributedLogsContext> {
 
-  static final String PATRONI_TABLE_FIELDS = Stream.of(PatroniTableFields.values())
-      .map(PatroniTableFields::getFieldName)
-      .collect(Collectors.joining(","));
-  static final String POSTGRES_TABLE_FIELDS = Stream.of(PostgresTableFields.values())
-      .map(PostgresTableFields::getFieldName)
-      .collect(Collectors.joining(","));
   private static final Logger FLEUNTD_LOGGER = LoggerFactory.getLogger("io.stackgres.fleuntd");
   private ContainerUserOverrideMounts containerUserOverrideMounts;
   private PostgresSocketMount postgresSocket;
@@ -272,18 +264,7 @@ public class Fluentd implements ContainerFactory<DistributedLogsContainerContext
             + "\n"
             + "  <match " + FluentBit.tagName(t.v1, POSTGRES_LOG_TYPE) + ".*.*>\n"
             + "    @type copy\n"
-            + "    <store>\n"
-            + "      @type sql\n"
-            + "      host /var/run/postgresql\n"
-            + "      port " + EnvoyUtil.PG_PORT + "\n"
-            + "      database " + FluentdUtil.databaseName(t.v1) + "\n"
-            + "      adapter postgresql\n"
-            + "      username postgres\n"
-            + "      <table>\n"
-            + "        table log_postgres\n"
-            + "        column_mapping '" + POSTGRES_TABLE_FIELDS + "'\n"
-            + "      </table>\n"
-            + "    </store>\n"
+            + getIngestionStore(FluentdUtil.databaseName(t.v1), Tables.LOG_POSTGRES)
             + (FLEUNTD_LOGGER.isDebugEnabled()
             ? "    <store>\n"
             + "      @type stdout\n"
@@ -293,18 +274,7 @@ public class Fluentd implements ContainerFactory<DistributedLogsContainerContext
             + "\n"
             + "  <match " + FluentBit.tagName(t.v1, PATRONI_LOG_TYPE) + ".*.*>\n"
             + "    @type copy\n"
-            + "    <store>\n"
-            + "      @type sql\n"
-            + "      host /var/run/postgresql\n"
-            + "      port " + EnvoyUtil.PG_PORT + "\n"
-            + "      database " + FluentdUtil.databaseName(t.v1) + "\n"
-            + "      adapter postgresql\n"
-            + "      username postgres\n"
-            + "      <table>\n"
-            + "        table log_patroni\n"
-            + "        column_mapping '" + PATRONI_TABLE_FIELDS + "'\n"
-            + "      </table>\n"
-            + "    </store>\n"
+            + getIngestionStore(FluentdUtil.databaseName(t.v1), Tables.LOG_PATRONI)
             + (FLEUNTD_LOGGER.isDebugEnabled()
             ? "    <store>\n"
             + "      @type stdout\n"
@@ -316,6 +286,31 @@ public class Fluentd implements ContainerFactory<DistributedLogsContainerContext
         .collect(Collectors.joining("\n"));
   }
 
+  /**
+   * Records are sent to the ingestion endpoint of the distributed logs controller running in the
+   *  same Pod, that write them using binary COPY. The retryable status code means the controller
+   *  can not accept the records for now and the chunk is retried.
+   */
+  private String getIngestionStore(String database, Tables table) {
+    return ""
+        + "    <store>\n"
+        + "      @type http\n"
+        + "      endpoint http://127.0.0.1:" + FluentdUtil.INGESTION_PORT
+        + FluentdUtil.INGESTION_PATH + "/" + database + "/" + table.getTableName() + "\n"
+        + "      http_method post\n"
+        + "      json_array true\n"
+        + "      retryable_response_codes ["
+        + FluentdUtil.INGESTION_RETRYABLE_STATUS_CODE + "]\n"
+        + "      <format>\n"
+        + "        @type json\n"
+        + "      </format>\n"
+        + "      <buffer>\n"
+        + "        flush_interval 1s\n"
+        + "        chunk_limit_size 8m\n"
+        + "      </buffer>\n"
+        + "    </store>\n";
+  }
+
   /**
    * When needed workers are more than 16 fluentd must be restarted.
    */
@@ -18,6 +18,7 @@ import io.stackgres.common.CdiUtil;
 import io.stackgres.common.crd.sgscript.StackGresScript;
 import io.stackgres.operator.conciliation.AbstractDeployedResourcesScanner;
 import io.stackgres.operator.conciliation.DeployedResourcesCache;
+import io.stackgres.operator.conciliation.DeployedResourcesInformers;
 import io.stackgres.operator.conciliation.DeployedResourcesSnapshot;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -27,12 +28,14 @@ public class ScriptDeployedResourceScanner
     extends AbstractDeployedResourcesScanner<StackGresScript> {
 
   @Inject
-  public ScriptDeployedResourceScanner(DeployedResourcesCache deployedResourcesCache) {
-    super(deployedResourcesCache);
+  public ScriptDeployedResourceScanner(
+      DeployedResourcesCache deployedResourcesCache,
+      DeployedResourcesInformers deployedResourcesInformers) {
+    super(deployedResourcesCache, deployedResourcesInformers);
   }
 
   public ScriptDeployedResourceScanner() {
-    super(null);
+    super(null, null);
     CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
   }
 
@@ -6,27 +6,79 @@
 package io.stackgres.operator.validation;
 
 import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
 
+import io.fabric8.kubernetes.client.CustomResource;
 import io.stackgres.common.CdiUtil;
+import io.stackgres.common.ErrorType;
+import io.stackgres.common.resource.CustomResourceLookupCache;
 import io.stackgres.operatorframework.admissionwebhook.AdmissionReview;
 import io.stackgres.operatorframework.admissionwebhook.Operation;
 import io.stackgres.operatorframework.admissionwebhook.validating.ValidationFailed;
 import io.stackgres.operatorframework.admissionwebhook.validating.Validator;
 import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
 
+/**
+ * Run the validators sorted by {@link ValidationType}. The leading syntactic validators (without
+ *  {@link ValidationType} or of type {@link ErrorType#CONSTRAINT_VIOLATION}) are run first in
+ *  the calling thread. The remaining validators are independent and run concurrently using the
+ *  {@link ValidationExecutor}. The failure reported is always the one of the first failing
+ *  validator in the sorted order, the same that a sequential run would report.
+ *  Lookups of custom resources made by validators during a review are memoized by a
+ *  {@link CustomResourceLookupCache}. On updates that do not change the spec the validators
+ *  that only validate the spec are skipped.
+ */
 public abstract class AbstractValidationPipeline<T extends AdmissionReview<?>>
     extends io.stackgres.operatorframework.admissionwebhook.validating.ValidationPipeline<T> {
 
+  private static final Set<ErrorType> SYNTACTIC_ERROR_TYPES = EnumSet.of(
+      ErrorType.CONSTRAINT_VIOLATION);
+
+  private static final Set<ErrorType> SPEC_ERROR_TYPES = EnumSet.of(
+      ErrorType.INVALID_CR_REFERENCE,
+      ErrorType.INVALID_STORAGE_CLASS,
+      ErrorType.INVALID_SECRET,
+      ErrorType.EXTENSION_NOT_FOUND,
+      ErrorType.PG_VERSION_MISMATCH,
+      ErrorType.PG_CONFIG_BLOCKLIST,
+      ErrorType.PG_CONFIG_PARAMETER,
+      ErrorType.POOL_CONFIG_BLOCKLIST);
+
+  private final List<Validator<T>> syntacticValidators;
+  private final List<Validator<T>> validators;
+
+  @Inject
+  ValidationExecutor validationExecutor;
+
   public AbstractValidationPipeline(Instance<Validator<T>> validatorInstances) {
-    super(validatorInstances.stream()
+    this(validatorInstances.stream()
         .sorted(validationTypeComparator())
         .toList());
   }
 
+  private AbstractValidationPipeline(List<Validator<T>> sortedValidators) {
+    super(sortedValidators);
+    final int syntacticValidatorsCount = (int) sortedValidators.stream()
+        .takeWhile(AbstractValidationPipeline::isSyntacticValidator)
+        .count();
+    this.syntacticValidators = sortedValidators.subList(0, syntacticValidatorsCount);
+    this.validators = sortedValidators.subList(
+        syntacticValidatorsCount, sortedValidators.size());
+  }
+
   public AbstractValidationPipeline() {
     super(null);
     CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
+    this.syntacticValidators = null;
+    this.validators = null;
   }
 
   static Comparator<Validator<?>> validationTypeComparator() {
@@ -46,6 +98,23 @@ public abstract class AbstractValidationPipeline<T extends AdmissionReview<?>>
     };
   }
 
+  private static Optional<ErrorType> getValidationType(Validator<?> validator) {
+    return Optional.ofNullable(validator.getClass().getAnnotation(ValidationType.class))
+        .map(ValidationType::value);
+  }
+
+  private static boolean isSyntacticValidator(Validator<?> validator) {
+    return getValidationType(validator)
+        .map(SYNTACTIC_ERROR_TYPES::contains)
+        .orElse(true);
+  }
+
+  private static boolean isSpecValidator(Validator<?> validator) {
+    return getValidationType(validator)
+        .map(SPEC_ERROR_TYPES::contains)
+        .orElse(false);
+  }
+
   @Override
   public void validate(T review) throws ValidationFailed {
     if (review.getRequest().getOperation() == Operation.UPDATE) {
@@ -57,7 +126,66 @@ public abstract class AbstractValidationPipeline<T extends AdmissionReview<?>>
       }
     }
 
-    super.validate(review);
+    try (CustomResourceLookupCache lookupCache = CustomResourceLookupCache.open()) {
+      for (var validator : syntacticValidators) {
+        validator.validate(review);
+      }
+      validateConcurrently(review, lookupCache, isSpecUnchanged(review)
+          ? validators.stream().filter(Predicate.not(
+              AbstractValidationPipeline::isSpecValidator)).toList()
+          : validators);
+    }
+  }
+
+  private boolean isSpecUnchanged(T review) {
+    return review.getRequest().getOperation() == Operation.UPDATE
+        && review.getRequest().getObject() instanceof CustomResource<?, ?> object
+        && review.getRequest().getOldObject() instanceof CustomResource<?, ?> oldObject
+        && object.getSpec() != null
+        && Objects.equals(object.getSpec(), oldObject.getSpec());
+  }
+
+  private void validateConcurrently(T review, CustomResourceLookupCache lookupCache,
+      List<Validator<T>> validators) throws ValidationFailed {
+    if (validationExecutor == null || validators.size() <= 1) {
+      for (var validator : validators) {
+        validator.validate(review);
+      }
+      return;
+    }
+    final List<Future<Void>> results = validators.stream()
+        .map(validator -> validationExecutor.submit(lookupCache.<Void>wrap(() -> {
+          validator.validate(review);
+          return null;
+        })))
+        .toList();
+    try {
+      for (Future<Void> result : results) {
+        waitFor(result);
+      }
+    } finally {
+      results.forEach(result -> result.cancel(false));
+    }
+  }
+
+  private void waitFor(Future<Void> result) throws ValidationFailed {
+    try {
+      result.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof ValidationFailed validationFailed) {
+        throw validationFailed;
+      }
+      if (ex.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (ex.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new RuntimeException(ex.getCause());
+    }
   }
 
 }
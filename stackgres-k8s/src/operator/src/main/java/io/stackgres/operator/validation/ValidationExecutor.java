@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.validation;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.stackgres.common.CdiUtil;
+import io.stackgres.common.OperatorProperty;
+import io.stackgres.operator.configuration.OperatorPropertyContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Bounded pool of workers shared by all the validation pipelines to run validators concurrently.
+ */
+@ApplicationScoped
+public class ValidationExecutor {
+
+  private final ExecutorService executorService;
+
+  @Inject
+  public ValidationExecutor(OperatorPropertyContext propertyContext) {
+    this(propertyContext.get(OperatorProperty.VALIDATION_WORKERS)
+        .map(Integer::valueOf)
+        .orElse(Math.max(2, Runtime.getRuntime().availableProcessors())));
+  }
+
+  ValidationExecutor(int size) {
+    final AtomicInteger index = new AtomicInteger(0);
+    this.executorService = Executors.newFixedThreadPool(size, r -> {
+      Thread thread = new Thread(r, "ValidationWorker-" + index.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public ValidationExecutor() {
+    CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
+    this.executorService = null;
+  }
+
+  public <V> Future<V> submit(Callable<V> task) {
+    return executorService.submit(task);
+  }
+
+  void onStop(@Observes ShutdownEvent ev) {
+    executorService.shutdown();
+  }
+
+}
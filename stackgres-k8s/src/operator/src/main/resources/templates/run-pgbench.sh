@@ -164,18 +164,62 @@ run_pgbench() {
 
   if python -c 'from hdrh.histogram import HdrHistogram'
   then
-    echo "HDRHISTOGRAM: $(
-      cat pgbench_log.* \
-        | cut -d ' ' -f 3 \
-        | try_function_with_output python -c "$(cat << EOF
+    LATENCY_INTERVAL_DURATION="$((DURATION))"
+    if [ "$LATENCY_INTERVAL_DURATION" -lt 1000 ]
+    then
+      LATENCY_INTERVAL_DURATION=1000
+    fi
+    cat pgbench_log.* \
+      | try_function_with_output python -c "$(cat << EOF
 import sys
+import json
 from hdrh.histogram import HdrHistogram
-histogram = HdrHistogram(1, 60 * 60 * 1000, 2)
+
+PERCENTILES = { "p50": 50, "p90": 90, "p99": 99, "p999": 99.9, "max": 100 }
+
+def new_histogram():
+  return HdrHistogram(1, 60 * 60 * 1000 * 1000, 2)
+
+def to_ms(value):
+  return round(value / 1000.0, 3)
+
+def percentiles(histogram):
+  return dict((name, to_ms(histogram.get_value_at_percentile(percentile)))
+    for name, percentile in PERCENTILES.items())
+
+interval_duration = int(sys.argv[1]) * 1000
+histogram = new_histogram()
+script_histograms = {}
+interval_histograms = {}
 for line in sys.stdin:
-  histogram.record_value(float(line))
-sys.stdout.write(histogram.encode().decode("utf-8"))
+  fields = line.split()
+  if len(fields) < 6 or not fields[2].isdigit():
+    continue
+  latency = int(fields[2])
+  script = int(fields[3])
+  interval = (int(fields[4]) * 1000000 + int(fields[5])) // interval_duration
+  histogram.record_value(latency)
+  script_histograms.setdefault(script, new_histogram()).record_value(latency)
+  interval_histograms.setdefault(interval, new_histogram()).record_value(latency)
+over_time = dict((name, []) for name in PERCENTILES)
+if interval_histograms:
+  for interval in range(min(interval_histograms), max(interval_histograms) + 1):
+    interval_percentiles = percentiles(interval_histograms.get(interval, new_histogram()))
+    for name in PERCENTILES:
+      over_time[name].append(interval_percentiles[name])
+latency = dict(
+  percentiles=dict(percentiles(histogram), unit="ms"),
+  overTime=dict(over_time, valuesUnit="ms",
+    intervalDuration=interval_duration // 1000, intervalDurationUnit="ms"),
+  scripts=[
+    dict(script=script,
+      percentiles=dict(percentiles(script_histogram), unit="ms"),
+      hdrHistogram=script_histogram.encode().decode("utf-8"))
+    for script, script_histogram in sorted(script_histograms.items())])
+sys.stdout.write("HDRHISTOGRAM: " + histogram.encode().decode("utf-8") + "\n")
+sys.stdout.write("LATENCY_PERCENTILES: " + json.dumps(latency, separators=(",", ":")) + "\n")
 EOF
-          )")"
+          )" "$LATENCY_INTERVAL_DURATION"
     if [ "$(cat "$SHARED_PATH/exit_code")" = 0 ]
     then
       create_event_service "BenchmarkCompleted" "Normal" "Benchmark completed"
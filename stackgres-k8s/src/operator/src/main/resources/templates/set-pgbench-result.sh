@@ -116,6 +116,8 @@ set_completed() {
           end)
         | .values
       ')"
+  LATENCY_PERCENTILES="$(grep '^LATENCY_PERCENTILES: ' "$SHARED_PATH/$KEBAB_OP_NAME.out" | cut -d ' ' -f 2- \
+    | jq -r 'to_entries | map(",\"" + .key + "\":" + (.value | tojson)) | join("")' || true)"
   HDRHISTOGRAM="$(grep '^HDRHISTOGRAM: ' "$SHARED_PATH/$KEBAB_OP_NAME.out" | cut -d ' ' -f 2 \
     | printf '"%s"' "$(cat)" | grep -v '^""$' || echo null)"
   kubectl patch "$DBOPS_CRD_NAME" -n "$CLUSTER_NAMESPACE" "$DBOPS_NAME" --type=json \
@@ -139,7 +141,7 @@ set_completed() {
           "standardDeviation": {
             "value": ${LATENCY_STDDEV},
             "unit": "ms"
-          }
+          }${LATENCY_PERCENTILES}
         },
         "transactionsPerSecond": {
           "includingConnectionsEstablishing": {
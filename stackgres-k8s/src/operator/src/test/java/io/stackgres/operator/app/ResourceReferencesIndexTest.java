@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import io.stackgres.common.crd.sgcluster.StackGresCluster;
+import io.stackgres.common.crd.sgobjectstorage.StackGresObjectStorage;
+import io.stackgres.common.crd.sgpgconfig.StackGresPostgresConfig;
+import io.stackgres.common.crd.sgpooling.StackGresPoolingConfig;
+import io.stackgres.common.crd.sgprofile.StackGresProfile;
+import io.stackgres.common.crd.sgshardedcluster.StackGresShardedCluster;
+import io.stackgres.common.fixture.Fixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ResourceReferencesIndexTest {
+
+  private ResourceReferencesIndex<StackGresCluster> clusters;
+  private StackGresCluster cluster;
+
+  @BeforeEach
+  void setUp() {
+    clusters = new ResourceReferencesIndex<>(
+        DefaultOperatorWatchersHandler::clusterReferences);
+    cluster = Fixtures.cluster().loadDefault().get();
+  }
+
+  @Test
+  void givenAClusterReferencingConfigs_shouldReturnItAsDependent() {
+    clusters.put(cluster);
+    final String namespace = cluster.getMetadata().getNamespace();
+    assertEquals(List.of(cluster),
+        clusters.dependents(StackGresProfile.class, namespace, "size-s"));
+    assertEquals(List.of(cluster),
+        clusters.dependents(StackGresPostgresConfig.class, namespace, "postgresconf"));
+    assertEquals(List.of(cluster),
+        clusters.dependents(StackGresPoolingConfig.class, namespace, "pgbouncerconf"));
+    assertEquals(List.of(cluster),
+        clusters.dependents(StackGresObjectStorage.class, namespace, "objstorage"));
+    assertTrue(clusters.dependents(StackGresProfile.class, "other", "size-s").isEmpty());
+    assertTrue(clusters.dependents(StackGresPostgresConfig.class, namespace, "size-s").isEmpty());
+    assertEquals(cluster, clusters.get(namespace, cluster.getMetadata().getName()).orElseThrow());
+  }
+
+  @Test
+  void givenAClusterWithChangedReference_shouldRemoveItFromPreviousDependents() {
+    clusters.put(cluster);
+    final String namespace = cluster.getMetadata().getNamespace();
+    StackGresCluster updatedCluster = Fixtures.cluster().loadDefault().get();
+    updatedCluster.getSpec().setSgInstanceProfile("size-m");
+    clusters.put(updatedCluster);
+    assertTrue(clusters.dependents(StackGresProfile.class, namespace, "size-s").isEmpty());
+    assertEquals(List.of(updatedCluster),
+        clusters.dependents(StackGresProfile.class, namespace, "size-m"));
+    assertEquals(List.of(updatedCluster),
+        clusters.dependents(StackGresPostgresConfig.class, namespace, "postgresconf"));
+  }
+
+  @Test
+  void givenADeletedCluster_shouldRemoveItFromDependents() {
+    clusters.put(cluster);
+    final String namespace = cluster.getMetadata().getNamespace();
+    clusters.remove(cluster);
+    assertTrue(clusters.dependents(StackGresProfile.class, namespace, "size-s").isEmpty());
+    assertTrue(clusters.get(cluster).isEmpty());
+  }
+
+  @Test
+  void givenAShardedClusterReferencingConfigs_shouldReturnItAsDependent() {
+    ResourceReferencesIndex<StackGresShardedCluster> shardedClusters =
+        new ResourceReferencesIndex<>(DefaultOperatorWatchersHandler::shardedClusterReferences);
+    StackGresShardedCluster shardedCluster = Fixtures.shardedCluster().loadDefault().get();
+    shardedClusters.put(shardedCluster);
+    final String namespace = shardedCluster.getMetadata().getNamespace();
+    assertEquals(List.of(shardedCluster),
+        shardedClusters.dependents(StackGresProfile.class, namespace, "size-s"));
+    assertEquals(List.of(shardedCluster),
+        shardedClusters.dependents(StackGresPostgresConfig.class, namespace, "postgresconf"));
+    assertEquals(List.of(shardedCluster),
+        shardedClusters.dependents(StackGresPoolingConfig.class, namespace, "pgbouncerconf"));
+  }
+
+}
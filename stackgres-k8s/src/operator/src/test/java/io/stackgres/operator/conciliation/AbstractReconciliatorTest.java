@@ -109,7 +109,7 @@ class AbstractReconciliatorTest {
   }
 
   @Test
-  void shouldRunReconciliationOnceIfReconciliationMethodIsCalledTwiceWhileRunning() {
+  void shouldRunReconciliationOnceIfReconciliationAllMethodIsCalledTwiceWhileRunning() {
     when(scanner.getResources()).thenReturn(List.of(customResource));
     CompletableFuture<Void> waitInternal = new CompletableFuture<>();
     CompletableFuture<Void> waitExternal = new CompletableFuture<>();
@@ -130,10 +130,8 @@ class AbstractReconciliatorTest {
 
     reconciliator.stop();
 
-    verify(reconciliator, times(1)).reconciliationsCycle(
+    verify(reconciliator, times(2)).reconciliationsCycle(
         List.of(Optional.empty()));
-    verify(reconciliator, times(1)).reconciliationsCycle(
-        List.of(Optional.empty(), Optional.empty()));
     verify(reconciliator, times(2)).reconciliationCycle(customResource, false);
   }
 
@@ -162,15 +160,14 @@ class AbstractReconciliatorTest {
     reconciliator.reconcile(testResource2);
     waitInternal.complete(null);
 
-    verify(reconciliator, timeout(1000).times(2)).reconciliationsCycle(any());
+    verify(reconciliator, timeout(1000).times(3)).reconciliationsCycle(any());
 
     reconciliator.stop();
 
-    verify(reconciliator, times(2)).reconciliationsCycle(any());
-    verify(reconciliator, times(1)).reconciliationsCycle(List.of(testResource1)
+    verify(reconciliator, times(3)).reconciliationsCycle(any());
+    verify(reconciliator, times(2)).reconciliationsCycle(List.of(testResource1)
         .stream().map(Optional::of).toList());
-    verify(reconciliator, times(1)).reconciliationsCycle(
-        List.of(testResource1, testResource1, testResource2)
+    verify(reconciliator, times(1)).reconciliationsCycle(List.of(testResource2)
         .stream().map(Optional::of).toList());
   }
 
@@ -358,7 +355,7 @@ class AbstractReconciliatorTest {
         KubernetesClient client,
         OperatorLockHolder operatorLockReconciliator) {
       super(scanner, finder, conciliator, deployedResourcesCache,
-          handlerDelegator, client, operatorLockReconciliator, "Test");
+          handlerDelegator, client, operatorLockReconciliator, null, "Test");
     }
 
     @Override
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.conciliation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Optional;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.quarkus.runtime.ShutdownEvent;
+import io.stackgres.common.OperatorProperty;
+import io.stackgres.common.StackGresContext;
+import io.stackgres.operator.configuration.OperatorPropertyContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DeployedResourcesInformersTest {
+
+  private final KubernetesServer server = new KubernetesServer(true, true);
+
+  @Mock
+  private OperatorPropertyContext propertyContext;
+
+  private KubernetesClient client;
+
+  private DeployedResourcesInformers informers;
+
+  @BeforeEach
+  void setUp() {
+    server.before();
+    client = server.getClient();
+    when(propertyContext.getBoolean(OperatorProperty.RECONCILIATION_USE_INFORMERS))
+        .thenReturn(true);
+    when(propertyContext.get(OperatorProperty.RECONCILIATION_INFORMERS_RESYNC_PERIOD))
+        .thenReturn(Optional.empty());
+    createSecret("test", "secret-1", Map.of(
+        StackGresContext.APP_KEY, "StackGresCluster",
+        "stackgres.io/cluster-name", "cluster-1"));
+    createSecret("test", "secret-2", Map.of(
+        StackGresContext.APP_KEY, "StackGresCluster",
+        "stackgres.io/cluster-name", "cluster-2"));
+    createSecret("other", "secret-3", Map.of(
+        StackGresContext.APP_KEY, "StackGresCluster",
+        "stackgres.io/cluster-name", "cluster-1"));
+    createSecret("test", "secret-4", Map.of());
+    informers = new DeployedResourcesInformers(client, propertyContext);
+  }
+
+  @AfterEach
+  void tearDown() {
+    informers.onStop(new ShutdownEvent());
+    server.after();
+  }
+
+  @Test
+  void list_shouldReturnOnlyResourcesWithLabelsInNamespace() {
+    assertTrue(informers.isEnabled());
+    var found = informers.list(Secret.class, KubernetesClient::secrets, "test", Map.of(
+        StackGresContext.APP_KEY, "StackGresCluster",
+        "stackgres.io/cluster-name", "cluster-1"));
+    assertEquals(1, found.size());
+    assertEquals("secret-1", found.get(0).getMetadata().getName());
+  }
+
+  @Test
+  void listInAnyNamespace_shouldReturnResourcesWithLabelsInAllNamespaces() {
+    var found = informers.listInAnyNamespace(Secret.class, KubernetesClient::secrets, Map.of(
+        "stackgres.io/cluster-name", "cluster-1"));
+    assertEquals(2, found.size());
+  }
+
+  @Test
+  void get_shouldReturnOnlyResourcesWithAppLabel() {
+    assertEquals(Optional.of("secret-2"), informers
+        .get(Secret.class, KubernetesClient::secrets, "test", "secret-2")
+        .map(HasMetadata::getMetadata)
+        .map(metadata -> metadata.getName()));
+    assertTrue(informers
+        .get(Secret.class, KubernetesClient::secrets, "test", "secret-4")
+        .isEmpty());
+  }
+
+  private void createSecret(String namespace, String name, Map<String, String> labels) {
+    client.secrets().resource(new SecretBuilder()
+        .withNewMetadata()
+        .withNamespace(namespace)
+        .withName(name)
+        .withLabels(labels)
+        .endMetadata()
+        .build())
+        .create();
+  }
+
+}
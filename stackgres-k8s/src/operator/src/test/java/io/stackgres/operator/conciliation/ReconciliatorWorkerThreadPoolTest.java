@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.conciliation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.stackgres.common.OperatorProperty;
+import io.stackgres.operator.configuration.OperatorPropertyContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ReconciliatorWorkerThreadPoolTest {
+
+  @Mock
+  private OperatorPropertyContext propertyContext;
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private ReconciliatorWorkerThreadPool workerThreadPool;
+
+  @AfterEach
+  void tearDown() {
+    if (workerThreadPool != null) {
+      workerThreadPool.onStop(new ShutdownEvent());
+    }
+  }
+
+  @Test
+  void givenASingleWorker_shouldRunReconciliationInCallingThread() {
+    workerThreadPool = createPool(1);
+    assertFalse(workerThreadPool.isEnabled());
+    Thread callingThread = Thread.currentThread();
+    List<Thread> threads = new CopyOnWriteArrayList<>();
+    workerThreadPool.reconcile("Test", "test.test", () -> threads.add(Thread.currentThread()));
+    assertEquals(List.of(callingThread), threads);
+    assertEquals(1, registry.get("stackgres.reconciliation.duration")
+        .tag("kind", "Test").timer().count());
+  }
+
+  @Test
+  void givenMultipleWorkers_shouldCollapseQueuedReconciliationsOfSameKey() throws Exception {
+    workerThreadPool = createPool(2);
+    assertTrue(workerThreadPool.isEnabled());
+    CompletableFuture<Void> blocked = new CompletableFuture<>();
+    CompletableFuture<Void> started = new CompletableFuture<>();
+    List<String> reconciled = new CopyOnWriteArrayList<>();
+    workerThreadPool.reconcile("Test", "test.test", () -> {
+      started.complete(null);
+      blocked.join();
+      reconciled.add("first");
+    });
+    started.get(5, TimeUnit.SECONDS);
+    workerThreadPool.reconcile("Test", "test.test", () -> reconciled.add("second"));
+    workerThreadPool.reconcile("Test", "test.test", () -> reconciled.add("third"));
+    assertEquals(1, registry.get("stackgres.reconciliation.queue.depth")
+        .tag("kind", "Test").gauge().value());
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    workerThreadPool.reconcile("Other", "test.test1", () -> done.complete(null));
+    done.get(5, TimeUnit.SECONDS);
+    blocked.complete(null);
+    waitUntil(() -> reconciled.size() == 2);
+    assertEquals(List.of("first", "third"), reconciled);
+  }
+
+  private ReconciliatorWorkerThreadPool createPool(int workers) {
+    when(propertyContext.get(OperatorProperty.RECONCILIATION_WORKERS))
+        .thenReturn(Optional.of(String.valueOf(workers)));
+    return new ReconciliatorWorkerThreadPool(propertyContext, registry);
+  }
+
+  private void waitUntil(BooleanSupplier condition) throws Exception {
+    for (int retry = 0; retry < 50 && !condition.getAsBoolean(); retry++) {
+      Thread.sleep(100);
+    }
+    assertTrue(condition.getAsBoolean());
+  }
+
+}
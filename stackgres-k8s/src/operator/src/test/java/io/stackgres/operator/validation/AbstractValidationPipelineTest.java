@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.validation;
+
+import static io.stackgres.operator.utils.ValidationUtils.assertValidationFailed;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import io.stackgres.common.ErrorType;
+import io.stackgres.common.crd.sgcluster.StackGresCluster;
+import io.stackgres.common.crd.sgcluster.StackGresClusterStatus;
+import io.stackgres.operator.common.StackGresClusterReview;
+import io.stackgres.operator.common.fixture.AdmissionReviewFixtures;
+import io.stackgres.operatorframework.admissionwebhook.validating.ValidationFailed;
+import io.stackgres.operatorframework.admissionwebhook.validating.Validator;
+import io.stackgres.testutil.JsonUtil;
+import jakarta.enterprise.inject.Instance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AbstractValidationPipelineTest {
+
+  private AtomicInteger constraintValidations;
+  private AtomicInteger referenceValidations;
+  private AtomicInteger updateValidations;
+
+  @BeforeEach
+  void setUp() {
+    constraintValidations = new AtomicInteger(0);
+    referenceValidations = new AtomicInteger(0);
+    updateValidations = new AtomicInteger(0);
+  }
+
+  @Test
+  void givenFailingValidators_shouldReportTheFailureOfTheFirstOneInOrder() {
+    var pipeline = createPipeline(
+        new ConstraintValidator(review -> constraintValidations.incrementAndGet()),
+        new UpdateValidator(review -> {
+          updateValidations.incrementAndGet();
+          throw new ValidationFailed("update");
+        }),
+        new ReferenceValidator(review -> {
+          referenceValidations.incrementAndGet();
+          try {
+            Thread.sleep(100);
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+          throw new ValidationFailed("reference");
+        }));
+    StackGresClusterReview review = AdmissionReviewFixtures.cluster().loadCreate().get();
+
+    assertValidationFailed(() -> pipeline.validate(review), "reference");
+    assertEquals(1, constraintValidations.get());
+    assertEquals(1, referenceValidations.get());
+    assertEquals(1, updateValidations.get());
+  }
+
+  @Test
+  void givenFailingConstraintValidator_shouldNotRunOtherValidators() {
+    var pipeline = createPipeline(
+        new ConstraintValidator(review -> {
+          constraintValidations.incrementAndGet();
+          throw new ValidationFailed("constraint");
+        }),
+        new UpdateValidator(review -> updateValidations.incrementAndGet()),
+        new ReferenceValidator(review -> referenceValidations.incrementAndGet()));
+    StackGresClusterReview review = AdmissionReviewFixtures.cluster().loadCreate().get();
+
+    assertValidationFailed(() -> pipeline.validate(review), "constraint");
+    assertEquals(1, constraintValidations.get());
+    assertEquals(0, referenceValidations.get());
+    assertEquals(0, updateValidations.get());
+  }
+
+  @Test
+  void givenUpdateWithoutSpecChanges_shouldSkipSpecValidators() throws Exception {
+    var pipeline = createPipeline(
+        new ConstraintValidator(review -> constraintValidations.incrementAndGet()),
+        new UpdateValidator(review -> updateValidations.incrementAndGet()),
+        new ReferenceValidator(review -> referenceValidations.incrementAndGet()));
+    StackGresClusterReview review = AdmissionReviewFixtures.cluster().loadUpdate().get();
+    StackGresCluster oldCluster = JsonUtil.copy(review.getRequest().getObject());
+    oldCluster.setStatus(new StackGresClusterStatus());
+    oldCluster.getStatus().setArch("test");
+    review.getRequest().setOldObject(oldCluster);
+
+    pipeline.validate(review);
+
+    assertEquals(1, constraintValidations.get());
+    assertEquals(0, referenceValidations.get());
+    assertEquals(1, updateValidations.get());
+  }
+
+  @SafeVarargs
+  @SuppressWarnings("unchecked")
+  private AbstractValidationPipeline<StackGresClusterReview> createPipeline(
+      Validator<StackGresClusterReview>... validators) {
+    Instance<Validator<StackGresClusterReview>> validatorInstances = mock(Instance.class);
+    when(validatorInstances.stream()).thenReturn(Stream.of(validators));
+    var pipeline = new AbstractValidationPipeline<StackGresClusterReview>(validatorInstances) {
+    };
+    pipeline.validationExecutor = new ValidationExecutor(2);
+    return pipeline;
+  }
+
+  private abstract static class DelegateValidator implements Validator<StackGresClusterReview> {
+
+    private final Validator<StackGresClusterReview> delegate;
+
+    DelegateValidator(Validator<StackGresClusterReview> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void validate(StackGresClusterReview review) throws ValidationFailed {
+      delegate.validate(review);
+    }
+
+  }
+
+  @ValidationType(ErrorType.CONSTRAINT_VIOLATION)
+  private static class ConstraintValidator extends DelegateValidator {
+
+    ConstraintValidator(Validator<StackGresClusterReview> delegate) {
+      super(delegate);
+    }
+
+  }
+
+  @ValidationType(ErrorType.INVALID_CR_REFERENCE)
+  private static class ReferenceValidator extends DelegateValidator {
+
+    ReferenceValidator(Validator<StackGresClusterReview> delegate) {
+      super(delegate);
+    }
+
+  }
+
+  @ValidationType(ErrorType.FORBIDDEN_CR_UPDATE)
+  private static class UpdateValidator extends DelegateValidator {
+
+    UpdateValidator(Validator<StackGresClusterReview> delegate) {
+      super(delegate);
+    }
+
+  }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.validation;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.stackgres.common.crd.sgobjectstorage.StackGresObjectStorage;
+import io.stackgres.common.crd.sgpooling.StackGresPoolingConfig;
+import io.stackgres.common.crd.sgprofile.StackGresProfile;
+import io.stackgres.common.resource.CustomResourceFinder;
+import io.stackgres.common.resource.CustomResourceLookupCache;
+import io.stackgres.operator.common.StackGresClusterReview;
+import io.stackgres.operator.common.fixture.AdmissionReviewFixtures;
+import io.stackgres.operator.validation.cluster.MetadataValidator;
+import io.stackgres.operator.validation.cluster.ObjectStorageValidator;
+import io.stackgres.operator.validation.cluster.PoolingConfigValidator;
+import io.stackgres.operator.validation.cluster.ProfileReferenceValidator;
+import io.stackgres.operatorframework.admissionwebhook.validating.ValidationFailed;
+import io.stackgres.operatorframework.admissionwebhook.validating.ValidationPipeline;
+import io.stackgres.operatorframework.admissionwebhook.validating.Validator;
+import jakarta.enterprise.inject.Instance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Validate an SGCluster creation with the reference validators looking up resources through
+ * finders that simulate the latency of the Kubernetes API and compare the sequential pipeline
+ * with the {@link AbstractValidationPipeline} that run them concurrently.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationPipelineBenchmark {
+
+  @Param({"2", "10"})
+  int apiLatencyMillis;
+
+  StackGresClusterReview review;
+
+  ValidationPipeline<StackGresClusterReview> sequentialPipeline;
+
+  AbstractValidationPipeline<StackGresClusterReview> concurrentPipeline;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    review = AdmissionReviewFixtures.cluster().loadCreate().get();
+    List<Validator<StackGresClusterReview>> validators = List.of(
+        new MetadataValidator(),
+        new ProfileReferenceValidator(
+            new DelayedFinder<>(StackGresProfile.class, StackGresProfile::new)),
+        new PoolingConfigValidator(
+            new DelayedFinder<>(StackGresPoolingConfig.class, StackGresPoolingConfig::new)),
+        new ObjectStorageValidator(
+            new DelayedFinder<>(StackGresObjectStorage.class, StackGresObjectStorage::new)));
+    sequentialPipeline = new ValidationPipeline<>(validators) {
+    };
+    Instance<Validator<StackGresClusterReview>> validatorInstances = mock(Instance.class);
+    when(validatorInstances.stream()).thenAnswer(invocation -> validators.stream());
+    concurrentPipeline = new AbstractValidationPipeline<>(validatorInstances) {
+    };
+    concurrentPipeline.validationExecutor = new ValidationExecutor(
+        Math.max(2, Runtime.getRuntime().availableProcessors()));
+  }
+
+  @TearDown
+  public void tearDown() {
+    concurrentPipeline.validationExecutor.onStop(null);
+  }
+
+  @Benchmark
+  public void sequential(Blackhole blackhole) {
+    validate(sequentialPipeline, blackhole);
+  }
+
+  @Benchmark
+  public void concurrent(Blackhole blackhole) {
+    validate(concurrentPipeline, blackhole);
+  }
+
+  private void validate(ValidationPipeline<StackGresClusterReview> pipeline,
+      Blackhole blackhole) {
+    try {
+      pipeline.validate(review);
+    } catch (ValidationFailed ex) {
+      blackhole.consume(ex);
+    }
+  }
+
+  class DelayedFinder<T> implements CustomResourceFinder<T> {
+
+    private final Class<T> type;
+    private final Supplier<T> resource;
+
+    DelayedFinder(Class<T> type, Supplier<T> resource) {
+      this.type = type;
+      this.resource = resource;
+    }
+
+    @Override
+    public Optional<T> findByNameAndNamespace(String name, String namespace) {
+      return CustomResourceLookupCache.lookup(type, name, namespace, () -> {
+        try {
+          Thread.sleep(apiLatencyMillis);
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+        return Optional.of(resource.get());
+      });
+    }
+
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(ValidationPipelineBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+}
@@ -5,11 +5,14 @@
 
 package io.stackgres.apiweb.app;
 
-import io.fabric8.kubernetes.client.Config;
-import io.fabric8.kubernetes.client.ConfigBuilder;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.RequestConfigBuilder;
 import io.quarkus.security.identity.SecurityIdentity;
+import io.stackgres.common.kubernetesclient.ProxiedKubernetesClientProducer;
+import io.stackgres.common.kubernetesclient.ProxiedKubernetesClientProducer.KubernetesClientInvocationHandler;
 import jakarta.annotation.Priority;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.enterprise.inject.Alternative;
@@ -19,11 +22,19 @@ import org.eclipse.microprofile.jwt.Claim;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Provide the {@link KubernetesClient} used to serve a request. Clients are views over the
+ * long-lived client of {@link ProxiedKubernetesClientProducer} and share its HTTP transport and
+ * connection pool, the impersonation of the authenticated user is applied to each request through
+ * the impersonation headers. Calls to {@code close()} on the returned clients are ignored.
+ */
 @RequestScoped
 public class KubernetesClientProvider {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(KubernetesClientProvider.class);
 
+  public static final List<String> IMPERSONATED_GROUPS = List.of("system:authenticated");
+
   @Inject
   SecurityIdentity identity;
 
@@ -31,29 +42,38 @@ public class KubernetesClientProvider {
   @Claim("stackgres_k8s_username")
   String k8sUsername;
 
+  @Inject
+  ProxiedKubernetesClientProducer sharedClientProducer;
+
   @Produces
   @RequestScoped
   @Alternative
   @Priority(1)
   public KubernetesClient create() {
-    Config config;
-
-    if (!identity.isAnonymous()) {
-      String impersonated = k8sUsername != null ? k8sUsername : identity.getPrincipal().getName();
-      LOGGER.debug("Impersonate user {}", impersonated);
-      config = new ConfigBuilder()
-          .withImpersonateUsername(impersonated)
-          .withImpersonateGroups("system:authenticated")
-          .build();
-    } else {
-      config = new ConfigBuilder().build();
+    if (identity.isAnonymous()) {
+      return sharedClientProducer.create();
     }
 
-    return new KubernetesClientBuilder().withConfig(config).build();
+    String impersonated = k8sUsername != null ? k8sUsername : identity.getPrincipal().getName();
+    LOGGER.debug("Impersonate user {}", impersonated);
+    return impersonate(sharedClientProducer.getClient(), impersonated);
   }
 
   public KubernetesClient createDefault() {
-    return new KubernetesClientBuilder().build();
+    return sharedClientProducer.create();
+  }
+
+  public static KubernetesClient impersonate(KubernetesClient client, String impersonated) {
+    KubernetesClient impersonatingClient = client
+        .newClient(new RequestConfigBuilder(client.getConfiguration().getRequestConfig())
+            .withImpersonateUsername(impersonated)
+            .withImpersonateGroups(IMPERSONATED_GROUPS.toArray(String[]::new))
+            .build())
+        .adapt(KubernetesClient.class);
+    return (KubernetesClient) Proxy
+        .newProxyInstance(KubernetesClientProvider.class.getClassLoader(),
+            new Class[] { KubernetesClient.class },
+            new KubernetesClientInvocationHandler(impersonatingClient));
   }
 
 }
@@ -13,7 +13,11 @@ public enum WebApiProperty implements StackGresPropertyReader {
 
   RESTAPI_NAMESPACE("stackgres.restapiNamespace"),
   GRAFANA_EMBEDDED("stackgres.prometheus.grafanaEmbedded"),
-  EXTENSIONS_REPOSITORY_URLS("stackgres.extensionsRepositoryUrls");
+  EXTENSIONS_REPOSITORY_URLS("stackgres.extensionsRepositoryUrls"),
+  STATS_CACHE_TTL("stackgres.statsCacheTtl"),
+  STATS_MAX_CONCURRENCY("stackgres.statsMaxConcurrency"),
+  RBAC_CACHE_TTL("stackgres.rbacCacheTtl"),
+  RBAC_MAX_CONCURRENCY("stackgres.rbacMaxConcurrency");
 
   private static final Properties APPLICATION_PROPERTIES =
       StackGresPropertyReader.readApplicationProperties(WebApiProperty.class);
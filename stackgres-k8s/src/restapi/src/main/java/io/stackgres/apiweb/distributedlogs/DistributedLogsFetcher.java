@@ -5,12 +5,25 @@
 
 package io.stackgres.apiweb.distributedlogs;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import io.stackgres.apiweb.dto.cluster.ClusterLogEntryDto;
+import org.jooq.lambda.tuple.Tuple2;
 
 public interface DistributedLogsFetcher {
 
   List<ClusterLogEntryDto> logs(DistributedLogsQueryParameters parameters);
 
+  /**
+   * Query distributed logs passing each entry to the consumer as soon as it is read from a
+   * forward-only cursor, without holding the result in memory.
+   *
+   * @return the log time and log time index of the last entry, if any
+   */
+  Optional<Tuple2<Instant, Integer>> streamLogs(DistributedLogsQueryParameters parameters,
+      Consumer<ClusterLogEntryDto> consumer);
+
 }
@@ -9,11 +9,14 @@ import static io.stackgres.common.patroni.StackGresPasswordKeys.SUPERUSER_PASSWO
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import io.fabric8.kubernetes.api.model.Secret;
 import io.stackgres.apiweb.dto.cluster.ClusterDistributedLogs;
@@ -30,12 +33,15 @@ import io.stackgres.operatorframework.resource.ResourceUtil;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.NotFoundException;
+import org.jooq.Cursor;
 import org.jooq.DSLContext;
 import org.jooq.Record;
 import org.jooq.Select;
 import org.jooq.conf.ParamType;
 import org.jooq.impl.DSL;
 import org.jooq.lambda.Seq;
+import org.jooq.lambda.tuple.Tuple;
+import org.jooq.lambda.tuple.Tuple2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +50,8 @@ public class DistributedLogsFetcherImpl implements DistributedLogsFetcher {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DistributedLogsFetcherImpl.class);
 
+  private static final int STREAM_FETCH_SIZE = 500;
+
   private final ResourceFinder<Secret> secretFinder;
   private final PostgresConnectionManager postgresConnectionManager;
 
@@ -59,52 +67,102 @@ public class DistributedLogsFetcherImpl implements DistributedLogsFetcher {
   public List<ClusterLogEntryDto> logs(DistributedLogsQueryParameters parameters) {
     try (Connection connection = getConnection(parameters.getCluster())) {
       DSLContext context = DSL.using(connection);
-      connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
-      connection.setReadOnly(true);
-      connection.setAutoCommit(true);
-      try (PreparedStatement statement = connection.prepareStatement("SET TIME ZONE 'UTC'")) {
-        statement.execute();
-      }
-      Select<Record> query = new DistributedLogsQueryGenerator(context, parameters)
-          .generateQuery();
-      if (LOGGER.isTraceEnabled()) {
-        LOGGER.trace("Query for cluster logs {}.{} with params"
-            + " (records: {}, from: {}, to: {}, filters: {}, asc: {}, text: {}): {}",
-            parameters.getCluster().getMetadata().getNamespace(),
-            parameters.getCluster().getMetadata().getName(),
-            parameters.getRecords(), parameters.getFromTimeAndIndex(),
-            parameters.getToTimeAndIndex(),
-            parameters.getFilters(),
-            parameters.isSortAsc(),
-            parameters.getFullTextSearchQuery(),
-            query.getSQL(ParamType.INLINED));
-        LOGGER.trace("Explain query for cluster logs {}.{} with params"
-            + " (records: {}, from: {}, to: {}, filters: {}, asc: {}, text: {}): {}",
-            parameters.getCluster().getMetadata().getNamespace(),
-            parameters.getCluster().getMetadata().getName(),
-            parameters.getRecords(),
-            parameters.getFromTimeAndIndex(),
-            parameters.getToTimeAndIndex(),
-            parameters.getFilters(),
-            parameters.isSortAsc(),
-            parameters.getFullTextSearchQuery(),
-            context.explain(query).toString().replace("\n", "\t"));
-      }
+      prepareConnection(connection, true);
+      Select<Record> query = generateQuery(context, parameters);
       return Seq.seq(query.fetch())
           .<ClusterLogEntryDto>map(record -> record.into(MappedClusterLogEntryDto.class))
           .toList();
     } catch (SQLException ex) {
-      final String databaseName = FluentdUtil.databaseName(
-          parameters.getCluster().getMetadata().getNamespace(),
-          parameters.getCluster().getMetadata().getName());
-      if (Objects.equals(ex.getMessage(),
-          "FATAL: database \"" + databaseName + "\" does not exist")) {
+      if (isDatabaseNotFound(parameters, ex)) {
         return List.of();
       }
       throw new RuntimeException(ex);
     }
   }
 
+  @Override
+  public Optional<Tuple2<Instant, Integer>> streamLogs(DistributedLogsQueryParameters parameters,
+      Consumer<ClusterLogEntryDto> consumer) {
+    try (Connection connection = getConnection(parameters.getCluster())) {
+      DSLContext context = DSL.using(connection);
+      prepareConnection(connection, false);
+      try (Cursor<Record> cursor = generateQuery(context, parameters)
+          .fetchSize(STREAM_FETCH_SIZE)
+          .resultSetType(ResultSet.TYPE_FORWARD_ONLY)
+          .resultSetConcurrency(ResultSet.CONCUR_READ_ONLY)
+          .fetchLazy()) {
+        Optional<Tuple2<Instant, Integer>> last = Optional.empty();
+        for (Record record : cursor) {
+          consumer.accept(record.into(MappedClusterLogEntryDto.class));
+          last = Optional.of(Tuple.tuple(
+              record.get(DistributedLogsQueryGenerator.LOG_TIME_FIELD).toInstant(),
+              record.get(DistributedLogsQueryGenerator.LOG_TIME_INDEX_FIELD)));
+        }
+        return last;
+      } finally {
+        connection.rollback();
+      }
+    } catch (SQLException ex) {
+      if (isDatabaseNotFound(parameters, ex)) {
+        return Optional.empty();
+      }
+      throw new RuntimeException(ex);
+    }
+  }
+
+  /**
+   * Prepare a read only connection. When not in auto-commit mode the PostgreSQL driver uses a
+   * server side cursor to read the result in chunks of the specified fetch size.
+   */
+  private void prepareConnection(Connection connection, boolean autoCommit)
+      throws SQLException {
+    connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+    connection.setReadOnly(true);
+    connection.setAutoCommit(autoCommit);
+    try (PreparedStatement statement = connection.prepareStatement("SET TIME ZONE 'UTC'")) {
+      statement.execute();
+    }
+  }
+
+  private Select<Record> generateQuery(DSLContext context,
+      DistributedLogsQueryParameters parameters) {
+    Select<Record> query = new DistributedLogsQueryGenerator(context, parameters)
+        .generateQuery();
+    if (LOGGER.isTraceEnabled()) {
+      LOGGER.trace("Query for cluster logs {}.{} with params"
+          + " (records: {}, from: {}, to: {}, filters: {}, asc: {}, text: {}): {}",
+          parameters.getCluster().getMetadata().getNamespace(),
+          parameters.getCluster().getMetadata().getName(),
+          parameters.getRecords(), parameters.getFromTimeAndIndex(),
+          parameters.getToTimeAndIndex(),
+          parameters.getFilters(),
+          parameters.isSortAsc(),
+          parameters.getFullTextSearchQuery(),
+          query.getSQL(ParamType.INLINED));
+      LOGGER.trace("Explain query for cluster logs {}.{} with params"
+          + " (records: {}, from: {}, to: {}, filters: {}, asc: {}, text: {}): {}",
+          parameters.getCluster().getMetadata().getNamespace(),
+          parameters.getCluster().getMetadata().getName(),
+          parameters.getRecords(),
+          parameters.getFromTimeAndIndex(),
+          parameters.getToTimeAndIndex(),
+          parameters.getFilters(),
+          parameters.isSortAsc(),
+          parameters.getFullTextSearchQuery(),
+          context.explain(query).toString().replace("\n", "\t"));
+    }
+    return query;
+  }
+
+  private boolean isDatabaseNotFound(DistributedLogsQueryParameters parameters,
+      SQLException ex) {
+    final String databaseName = FluentdUtil.databaseName(
+        parameters.getCluster().getMetadata().getNamespace(),
+        parameters.getCluster().getMetadata().getName());
+    return Objects.equals(ex.getMessage(),
+        "FATAL: database \"" + databaseName + "\" does not exist");
+  }
+
   @SuppressWarnings("null")
   private Connection getConnection(ClusterDto cluster) throws SQLException {
     final String distributedLogs = Optional.ofNullable(cluster.getSpec())
@@ -17,6 +17,8 @@ public class DbOpsMinorVersionUpgrade {
 
   private String method;
 
+  private Integer maxUnavailable;
+
   public String getPostgresVersion() {
     return postgresVersion;
   }
@@ -33,6 +35,14 @@ public class DbOpsMinorVersionUpgrade {
     this.method = method;
   }
 
+  public Integer getMaxUnavailable() {
+    return maxUnavailable;
+  }
+
+  public void setMaxUnavailable(Integer maxUnavailable) {
+    this.maxUnavailable = maxUnavailable;
+  }
+
   @Override
   public String toString() {
     return StackGresUtil.toPrettyYaml(this);
@@ -5,6 +5,8 @@
 
 package io.stackgres.apiweb.dto.dbops;
 
+import java.util.List;
+
 import com.fasterxml.jackson.annotation.JsonInclude;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import io.stackgres.common.StackGresUtil;
@@ -17,6 +19,12 @@ public class DbOpsPgbenchStatusLatency {
 
   private DbOpsPgbenchStatusMeasure standardDeviation;
 
+  private DbOpsPgbenchStatusLatencyPercentiles percentiles;
+
+  private DbOpsPgbenchStatusLatencyOverTime overTime;
+
+  private List<DbOpsPgbenchStatusScriptLatency> scripts;
+
   public DbOpsPgbenchStatusLatency() { }
 
   public DbOpsPgbenchStatusLatency(DbOpsPgbenchStatusMeasure average,
@@ -41,6 +49,30 @@ public class DbOpsPgbenchStatusLatency {
     this.standardDeviation = standardDeviation;
   }
 
+  public DbOpsPgbenchStatusLatencyPercentiles getPercentiles() {
+    return percentiles;
+  }
+
+  public void setPercentiles(DbOpsPgbenchStatusLatencyPercentiles percentiles) {
+    this.percentiles = percentiles;
+  }
+
+  public DbOpsPgbenchStatusLatencyOverTime getOverTime() {
+    return overTime;
+  }
+
+  public void setOverTime(DbOpsPgbenchStatusLatencyOverTime overTime) {
+    this.overTime = overTime;
+  }
+
+  public List<DbOpsPgbenchStatusScriptLatency> getScripts() {
+    return scripts;
+  }
+
+  public void setScripts(List<DbOpsPgbenchStatusScriptLatency> scripts) {
+    this.scripts = scripts;
+  }
+
   @Override
   public String toString() {
     return StackGresUtil.toPrettyYaml(this);
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.dto.dbops;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.stackgres.common.StackGresUtil;
+
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+public class DbOpsPgbenchStatusLatencyOverTime {
+
+  private List<BigDecimal> p50;
+
+  private List<BigDecimal> p90;
+
+  private List<BigDecimal> p99;
+
+  private List<BigDecimal> p999;
+
+  private List<BigDecimal> max;
+
+  private String valuesUnit;
+
+  private Integer intervalDuration;
+
+  private String intervalDurationUnit;
+
+  public List<BigDecimal> getP50() {
+    return p50;
+  }
+
+  public void setP50(List<BigDecimal> p50) {
+    this.p50 = p50;
+  }
+
+  public List<BigDecimal> getP90() {
+    return p90;
+  }
+
+  public void setP90(List<BigDecimal> p90) {
+    this.p90 = p90;
+  }
+
+  public List<BigDecimal> getP99() {
+    return p99;
+  }
+
+  public void setP99(List<BigDecimal> p99) {
+    this.p99 = p99;
+  }
+
+  public List<BigDecimal> getP999() {
+    return p999;
+  }
+
+  public void setP999(List<BigDecimal> p999) {
+    this.p999 = p999;
+  }
+
+  public List<BigDecimal> getMax() {
+    return max;
+  }
+
+  public void setMax(List<BigDecimal> max) {
+    this.max = max;
+  }
+
+  public String getValuesUnit() {
+    return valuesUnit;
+  }
+
+  public void setValuesUnit(String valuesUnit) {
+    this.valuesUnit = valuesUnit;
+  }
+
+  public Integer getIntervalDuration() {
+    return intervalDuration;
+  }
+
+  public void setIntervalDuration(Integer intervalDuration) {
+    this.intervalDuration = intervalDuration;
+  }
+
+  public String getIntervalDurationUnit() {
+    return intervalDurationUnit;
+  }
+
+  public void setIntervalDurationUnit(String intervalDurationUnit) {
+    this.intervalDurationUnit = intervalDurationUnit;
+  }
+
+  @Override
+  public String toString() {
+    return StackGresUtil.toPrettyYaml(this);
+  }
+
+}
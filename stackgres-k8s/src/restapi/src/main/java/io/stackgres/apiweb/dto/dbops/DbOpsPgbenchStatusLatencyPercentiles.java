@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.dto.dbops;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.stackgres.common.StackGresUtil;
+
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+public class DbOpsPgbenchStatusLatencyPercentiles {
+
+  private BigDecimal p50;
+
+  private BigDecimal p90;
+
+  private BigDecimal p99;
+
+  private BigDecimal p999;
+
+  private BigDecimal max;
+
+  private String unit;
+
+  public BigDecimal getP50() {
+    return p50;
+  }
+
+  public void setP50(BigDecimal p50) {
+    this.p50 = p50;
+  }
+
+  public BigDecimal getP90() {
+    return p90;
+  }
+
+  public void setP90(BigDecimal p90) {
+    this.p90 = p90;
+  }
+
+  public BigDecimal getP99() {
+    return p99;
+  }
+
+  public void setP99(BigDecimal p99) {
+    this.p99 = p99;
+  }
+
+  public BigDecimal getP999() {
+    return p999;
+  }
+
+  public void setP999(BigDecimal p999) {
+    this.p999 = p999;
+  }
+
+  public BigDecimal getMax() {
+    return max;
+  }
+
+  public void setMax(BigDecimal max) {
+    this.max = max;
+  }
+
+  public String getUnit() {
+    return unit;
+  }
+
+  public void setUnit(String unit) {
+    this.unit = unit;
+  }
+
+  @Override
+  public String toString() {
+    return StackGresUtil.toPrettyYaml(this);
+  }
+
+}
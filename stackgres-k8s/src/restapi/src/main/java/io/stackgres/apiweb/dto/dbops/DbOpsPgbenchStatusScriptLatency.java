@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.dto.dbops;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.stackgres.common.StackGresUtil;
+
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+public class DbOpsPgbenchStatusScriptLatency {
+
+  private Integer script;
+
+  private DbOpsPgbenchStatusLatencyPercentiles percentiles;
+
+  private String hdrHistogram;
+
+  public Integer getScript() {
+    return script;
+  }
+
+  public void setScript(Integer script) {
+    this.script = script;
+  }
+
+  public DbOpsPgbenchStatusLatencyPercentiles getPercentiles() {
+    return percentiles;
+  }
+
+  public void setPercentiles(DbOpsPgbenchStatusLatencyPercentiles percentiles) {
+    this.percentiles = percentiles;
+  }
+
+  public String getHdrHistogram() {
+    return hdrHistogram;
+  }
+
+  public void setHdrHistogram(String hdrHistogram) {
+    this.hdrHistogram = hdrHistogram;
+  }
+
+  @Override
+  public String toString() {
+    return StackGresUtil.toPrettyYaml(this);
+  }
+
+}
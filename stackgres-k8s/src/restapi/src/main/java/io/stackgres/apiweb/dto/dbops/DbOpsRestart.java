@@ -19,6 +19,8 @@ public class DbOpsRestart {
 
   private Boolean onlyPendingRestart;
 
+  private Integer maxUnavailable;
+
   public String getMethod() {
     return method;
   }
@@ -43,6 +45,14 @@ public class DbOpsRestart {
     this.onlyPendingRestart = onlyPendingRestart;
   }
 
+  public Integer getMaxUnavailable() {
+    return maxUnavailable;
+  }
+
+  public void setMaxUnavailable(Integer maxUnavailable) {
+    this.maxUnavailable = maxUnavailable;
+  }
+
   @Override
   public String toString() {
     return StackGresUtil.toPrettyYaml(this);
@@ -15,6 +15,8 @@ public class DbOpsSecurityUpgrade {
 
   private String method;
 
+  private Integer maxUnavailable;
+
   public String getMethod() {
     return method;
   }
@@ -23,6 +25,14 @@ public class DbOpsSecurityUpgrade {
     this.method = method;
   }
 
+  public Integer getMaxUnavailable() {
+    return maxUnavailable;
+  }
+
+  public void setMaxUnavailable(Integer maxUnavailable) {
+    this.maxUnavailable = maxUnavailable;
+  }
+
   @Override
   public String toString() {
     return StackGresUtil.toPrettyYaml(this);
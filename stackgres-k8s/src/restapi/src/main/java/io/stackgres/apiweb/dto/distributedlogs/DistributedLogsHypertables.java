@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.dto.distributedlogs;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.stackgres.common.StackGresUtil;
+
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+public class DistributedLogsHypertables {
+
+  private String targetChunkSize;
+
+  private String compressAfter;
+
+  public String getTargetChunkSize() {
+    return targetChunkSize;
+  }
+
+  public void setTargetChunkSize(String targetChunkSize) {
+    this.targetChunkSize = targetChunkSize;
+  }
+
+  public String getCompressAfter() {
+    return compressAfter;
+  }
+
+  public void setCompressAfter(String compressAfter) {
+    this.compressAfter = compressAfter;
+  }
+
+  @Override
+  public String toString() {
+    return StackGresUtil.toPrettyYaml(this);
+  }
+
+}
@@ -25,6 +25,8 @@ public class DistributedLogsSpec {
 
   private DistributedLogsNonProductionOptions nonProductionOptions;
 
+  private DistributedLogsHypertables hypertables;
+
   private ClusterResources resources;
 
   private DistributedLogsPodScheduling scheduling;
@@ -62,6 +64,14 @@ public class DistributedLogsSpec {
     this.nonProductionOptions = nonProductionOptions;
   }
 
+  public DistributedLogsHypertables getHypertables() {
+    return hypertables;
+  }
+
+  public void setHypertables(DistributedLogsHypertables hypertables) {
+    this.hypertables = hypertables;
+  }
+
   public ClusterResources getResources() {
     return resources;
   }
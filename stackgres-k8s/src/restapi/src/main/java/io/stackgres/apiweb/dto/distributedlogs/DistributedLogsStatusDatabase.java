@@ -5,6 +5,7 @@
 
 package io.stackgres.apiweb.dto.distributedlogs;
 
+import java.util.List;
 import java.util.Objects;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -19,6 +20,8 @@ public class DistributedLogsStatusDatabase {
 
   private String retention;
 
+  private List<DistributedLogsStatusHypertable> hypertables;
+
   public String getName() {
     return name;
   }
@@ -35,9 +38,17 @@ public class DistributedLogsStatusDatabase {
     this.retention = retention;
   }
 
+  public List<DistributedLogsStatusHypertable> getHypertables() {
+    return hypertables;
+  }
+
+  public void setHypertables(List<DistributedLogsStatusHypertable> hypertables) {
+    this.hypertables = hypertables;
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(name, retention);
+    return Objects.hash(hypertables, name, retention);
   }
 
   @Override
@@ -49,7 +60,8 @@ public class DistributedLogsStatusDatabase {
       return false;
     }
     DistributedLogsStatusDatabase other = (DistributedLogsStatusDatabase) obj;
-    return Objects.equals(name, other.name)
+    return Objects.equals(hypertables, other.hypertables)
+        && Objects.equals(name, other.name)
         && Objects.equals(retention, other.retention);
   }
 
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.dto.distributedlogs;
+
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.stackgres.common.StackGresUtil;
+
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+public class DistributedLogsStatusHypertable {
+
+  private String name;
+
+  private Long ingestBytesPerHour;
+
+  private String chunkTimeInterval;
+
+  private Boolean compressionEnabled;
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public Long getIngestBytesPerHour() {
+    return ingestBytesPerHour;
+  }
+
+  public void setIngestBytesPerHour(Long ingestBytesPerHour) {
+    this.ingestBytesPerHour = ingestBytesPerHour;
+  }
+
+  public String getChunkTimeInterval() {
+    return chunkTimeInterval;
+  }
+
+  public void setChunkTimeInterval(String chunkTimeInterval) {
+    this.chunkTimeInterval = chunkTimeInterval;
+  }
+
+  public Boolean getCompressionEnabled() {
+    return compressionEnabled;
+  }
+
+  public void setCompressionEnabled(Boolean compressionEnabled) {
+    this.compressionEnabled = compressionEnabled;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(chunkTimeInterval, compressionEnabled, ingestBytesPerHour, name);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof DistributedLogsStatusHypertable)) {
+      return false;
+    }
+    DistributedLogsStatusHypertable other = (DistributedLogsStatusHypertable) obj;
+    return Objects.equals(chunkTimeInterval, other.chunkTimeInterval)
+        && Objects.equals(compressionEnabled, other.compressionEnabled)
+        && Objects.equals(ingestBytesPerHour, other.ingestBytesPerHour)
+        && Objects.equals(name, other.name);
+  }
+
+  @Override
+  public String toString() {
+    return StackGresUtil.toPrettyYaml(this);
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.dto.stream;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.stackgres.common.StackGresUtil;
+
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+public class StreamRestoreStatus {
+
+  private Integer totalIndexes;
+
+  private Integer restoredIndexes;
+
+  private Integer totalConstraints;
+
+  private Integer restoredConstraints;
+
+  private Long totalBytes;
+
+  private Long restoredBytes;
+
+  private Integer retries;
+
+  public Integer getTotalIndexes() {
+    return totalIndexes;
+  }
+
+  public void setTotalIndexes(Integer totalIndexes) {
+    this.totalIndexes = totalIndexes;
+  }
+
+  public Integer getRestoredIndexes() {
+    return restoredIndexes;
+  }
+
+  public void setRestoredIndexes(Integer restoredIndexes) {
+    this.restoredIndexes = restoredIndexes;
+  }
+
+  public Integer getTotalConstraints() {
+    return totalConstraints;
+  }
+
+  public void setTotalConstraints(Integer totalConstraints) {
+    this.totalConstraints = totalConstraints;
+  }
+
+  public Integer getRestoredConstraints() {
+    return restoredConstraints;
+  }
+
+  public void setRestoredConstraints(Integer restoredConstraints) {
+    this.restoredConstraints = restoredConstraints;
+  }
+
+  public Long getTotalBytes() {
+    return totalBytes;
+  }
+
+  public void setTotalBytes(Long totalBytes) {
+    this.totalBytes = totalBytes;
+  }
+
+  public Long getRestoredBytes() {
+    return restoredBytes;
+  }
+
+  public void setRestoredBytes(Long restoredBytes) {
+    this.restoredBytes = restoredBytes;
+  }
+
+  public Integer getRetries() {
+    return retries;
+  }
+
+  public void setRetries(Integer retries) {
+    this.retries = retries;
+  }
+
+  @Override
+  public String toString() {
+    return StackGresUtil.toPrettyYaml(this);
+  }
+
+}
@@ -25,6 +25,8 @@ public class StreamStatus {
 
   private StreamEventsStatus events;
 
+  private StreamRestoreStatus restore;
+
   private String failure;
 
   public List<Condition> getConditions() {
@@ -59,6 +61,14 @@ public class StreamStatus {
     this.events = events;
   }
 
+  public StreamRestoreStatus getRestore() {
+    return restore;
+  }
+
+  public void setRestore(StreamRestoreStatus restore) {
+    this.restore = restore;
+  }
+
   public String getFailure() {
     return failure;
   }
@@ -30,6 +30,10 @@ public class StreamTargetSgCluster {
 
   private String ddlImportRoleSkipFilter;
 
+  private Integer snapshotParallelism;
+
+  private Integer restoreParallelism;
+
   private StreamTargetJdbcSinkDebeziumProperties debeziumProperties;
 
   public String getName() {
@@ -96,6 +100,22 @@ public class StreamTargetSgCluster {
     this.ddlImportRoleSkipFilter = ddlImportRoleSkipFilter;
   }
 
+  public Integer getSnapshotParallelism() {
+    return snapshotParallelism;
+  }
+
+  public void setSnapshotParallelism(Integer snapshotParallelism) {
+    this.snapshotParallelism = snapshotParallelism;
+  }
+
+  public Integer getRestoreParallelism() {
+    return restoreParallelism;
+  }
+
+  public void setRestoreParallelism(Integer restoreParallelism) {
+    this.restoreParallelism = restoreParallelism;
+  }
+
   public StreamTargetJdbcSinkDebeziumProperties getDebeziumProperties() {
     return debeziumProperties;
   }
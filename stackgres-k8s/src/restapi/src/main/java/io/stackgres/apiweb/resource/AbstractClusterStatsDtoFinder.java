@@ -5,9 +5,15 @@
 
 package io.stackgres.apiweb.resource;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.ImmutableMap;
 import io.fabric8.kubernetes.api.model.ContainerState;
 import io.fabric8.kubernetes.api.model.ContainerStateRunning;
@@ -20,6 +26,7 @@ import io.fabric8.kubernetes.api.model.PodSpec;
 import io.fabric8.kubernetes.api.model.PodStatus;
 import io.fabric8.kubernetes.api.model.Volume;
 import io.fabric8.kubernetes.client.CustomResource;
+import io.stackgres.apiweb.config.WebApiProperty;
 import io.stackgres.common.CdiUtil;
 import io.stackgres.common.StackGresContainer;
 import io.stackgres.common.StackGresUtil;
@@ -39,9 +46,23 @@ public abstract class AbstractClusterStatsDtoFinder<R, T extends CustomResource<
 
   private static final Logger LOGGER = LoggerFactory.getLogger(AbstractClusterStatsDtoFinder.class);
 
+  private static final int DEFAULT_STATS_CACHE_TTL = 5;
+
+  private static final int DEFAULT_STATS_MAX_CONCURRENCY = 8;
+
   private final CustomResourceFinder<T> clusterFinder;
   private final PodExecutor podExecutor;
   private final PersistentVolumeClaimFinder persistentVolumeClaimFinder;
+  private final Cache<String, ImmutableMap<PatroniStatsScripts, String>> podStatsCache =
+      Caffeine.newBuilder()
+      .expireAfterWrite(Duration.ofSeconds(WebApiProperty.STATS_CACHE_TTL.get()
+          .map(Integer::valueOf)
+          .orElse(DEFAULT_STATS_CACHE_TTL)))
+      .build();
+  private final Semaphore podStatsPermits = new Semaphore(
+      WebApiProperty.STATS_MAX_CONCURRENCY.get()
+      .map(Integer::valueOf)
+      .orElse(DEFAULT_STATS_MAX_CONCURRENCY));
 
   @Inject
   protected AbstractClusterStatsDtoFinder(
@@ -69,7 +90,64 @@ public abstract class AbstractClusterStatsDtoFinder<R, T extends CustomResource<
 
   protected abstract R getClusterStats(T cluster);
 
+  /**
+   * Retrieve the stats of all the pods concurrently. At most {@code stackgres.statsMaxConcurrency}
+   * pods are queried at the same time (shared among all requests) and the stats of each pod are
+   * cached for {@code stackgres.statsCacheTtl} seconds so that clients polling the same cluster
+   * share the same exec.
+   */
+  protected List<PodStats> getAllPodStats(
+      List<Tuple2<StackGresCluster, Pod>> clusterPods, Executor executor) {
+    List<CompletableFuture<PodStats>> podStatsFutures = clusterPods
+        .stream()
+        .map(t -> getPodStatsAsync(t.v1, t.v2, executor))
+        .toList();
+    return podStatsFutures
+        .stream()
+        .map(CompletableFuture::join)
+        .toList();
+  }
+
+  private CompletableFuture<PodStats> getPodStatsAsync(
+      StackGresCluster cluster, Pod pod, Executor executor) {
+    final ImmutableMap<PatroniStatsScripts, String> cachedStats =
+        podStatsCache.getIfPresent(podStatsKey(pod));
+    if (cachedStats != null) {
+      return CompletableFuture.supplyAsync(() -> PodStats.fromTuple(Tuple.tuple(
+          pod, cachedStats, getPodPersitentVolumeClaim(cluster, pod))), executor);
+    }
+    return CompletableFuture.supplyAsync(() -> PodStats.fromTuple(Tuple.tuple(
+        pod, getPodStatsWithPermit(pod), getPodPersitentVolumeClaim(cluster, pod))), executor);
+  }
+
+  private ImmutableMap<PatroniStatsScripts, String> getPodStatsWithPermit(Pod pod) {
+    try {
+      podStatsPermits.acquire();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(ex);
+    }
+    try {
+      return getPodStats(pod);
+    } finally {
+      podStatsPermits.release();
+    }
+  }
+
+  private String podStatsKey(Pod pod) {
+    return pod.getMetadata().getNamespace() + "." + pod.getMetadata().getName()
+        + "." + pod.getMetadata().getUid();
+  }
+
   protected ImmutableMap<PatroniStatsScripts, String> getPodStats(Pod pod) {
+    return Optional.ofNullable(podStatsCache.get(podStatsKey(pod),
+        key -> Optional.of(retrievePodStats(pod))
+        .filter(stats -> !stats.isEmpty())
+        .orElse(null)))
+        .orElse(ImmutableMap.<PatroniStatsScripts, String>of());
+  }
+
+  private ImmutableMap<PatroniStatsScripts, String> retrievePodStats(Pod pod) {
     try {
       if (Optional.ofNullable(pod.getStatus())
           .map(PodStatus::getContainerStatuses).stream()
@@ -6,7 +6,6 @@
 package io.stackgres.apiweb.resource;
 
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 import io.fabric8.kubernetes.api.model.Pod;
 import io.stackgres.apiweb.dto.cluster.ClusterStatsDto;
@@ -53,14 +52,12 @@ public class ClusterStatsDtoFinder
         cluster.getMetadata().getNamespace(),
         clusterLabelFactory.clusterLabels(cluster));
 
-    List<PodStats> allPodStats = pods
+    List<PodStats> allPodStats = getAllPodStats(
+        pods
         .stream()
-        .map(Tuple::tuple)
-        .map(t -> CompletableFuture.supplyAsync(() -> t.concat(getPodStats(t.v1))
-            .concat(getPodPersitentVolumeClaim(cluster, t.v1)), managedExecutor))
-        .map(CompletableFuture::join)
-        .map(PodStats::fromTuple)
-        .toList();
+        .map(pod -> Tuple.tuple(cluster, pod))
+        .toList(),
+        managedExecutor);
 
     return clusterStatsTransformer.toDtoWithAllPodStats(cluster, allPodStats);
   }
@@ -0,0 +1,19 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.resource;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Caffeine loads the cache and node implementations by name. These are the ones used by caches
+ *  that only expire after write.
+ */
+@RegisterForReflection(classNames = {
+    "com.github.benmanes.caffeine.cache.SSW",
+    "com.github.benmanes.caffeine.cache.PSW"
+})
+public class RegisterCaffeineCaches {
+}
@@ -6,7 +6,6 @@
 package io.stackgres.apiweb.resource;
 
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 import io.fabric8.kubernetes.api.model.Pod;
 import io.stackgres.apiweb.dto.shardedcluster.ShardedClusterStatsDto;
@@ -23,6 +22,7 @@ import io.stackgres.common.resource.PodFinder;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.context.ManagedExecutor;
+import org.jooq.lambda.Seq;
 import org.jooq.lambda.tuple.Tuple;
 import org.jooq.lambda.tuple.Tuple2;
 
@@ -70,14 +70,6 @@ public class ShardedClusterStatsDtoFinder
             .map(pod -> Tuple.tuple(cluster, pod)))
         .toList();
 
-    List<PodStats> allCoordinatorPodStats = coordinatorPods
-        .stream()
-        .map(t -> CompletableFuture.supplyAsync(() -> t.skip1().concat(getPodStats(t.v2))
-            .concat(getPodPersitentVolumeClaim(t.v1, t.v2)), managedExecutor))
-        .map(CompletableFuture::join)
-        .map(PodStats::fromTuple)
-        .toList();
-
     List<Tuple2<StackGresCluster, Pod>> shardsPods = clusterScanner.getResourcesWithLabels(
         shardedCluster.getMetadata().getNamespace(),
         shardedClusterLabelFactory.shardsLabels(shardedCluster))
@@ -89,13 +81,11 @@ public class ShardedClusterStatsDtoFinder
             .map(pod -> Tuple.tuple(cluster, pod)))
         .toList();
 
-    List<PodStats> allShardsPodStats = shardsPods
-        .stream()
-        .map(t -> CompletableFuture.supplyAsync(() -> t.skip1().concat(getPodStats(t.v2))
-            .concat(getPodPersitentVolumeClaim(t.v1, t.v2)), managedExecutor))
-        .map(CompletableFuture::join)
-        .map(PodStats::fromTuple)
-        .toList();
+    List<PodStats> allPodStats = getAllPodStats(
+        Seq.seq(coordinatorPods).append(shardsPods).toList(), managedExecutor);
+    List<PodStats> allCoordinatorPodStats = allPodStats.subList(0, coordinatorPods.size());
+    List<PodStats> allShardsPodStats = allPodStats.subList(
+        coordinatorPods.size(), allPodStats.size());
 
     return shardedClusterStatsTransformer.toDtoWithAllPodStats(shardedCluster,
         allCoordinatorPodStats, allShardsPodStats);
@@ -0,0 +1,333 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.rest.auth;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.authorization.v1.ResourceRule;
+import io.fabric8.kubernetes.api.model.authorization.v1.SelfSubjectRulesReview;
+import io.fabric8.kubernetes.api.model.authorization.v1.SelfSubjectRulesReviewBuilder;
+import io.fabric8.kubernetes.api.model.authorization.v1.SubjectAccessReview;
+import io.fabric8.kubernetes.api.model.authorization.v1.SubjectAccessReviewBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+import io.stackgres.apiweb.app.KubernetesClientProvider;
+import io.stackgres.apiweb.config.WebApiProperty;
+import io.stackgres.apiweb.dto.PermissionsListDto;
+import io.stackgres.common.CdiUtil;
+import io.stackgres.common.kubernetesclient.ProxiedKubernetesClientProducer;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Evaluate the permissions a user has been granted for the resources the web console uses.
+ *
+ * <p>Namespaced permissions are evaluated with a single {@link SelfSubjectRulesReview} per
+ * namespace (impersonating the user), falling back to a {@link SubjectAccessReview} for each
+ * resource and verb when the rules returned are incomplete. Both reviews are done for the same
+ * user and groups. Reviews run concurrently, at most {@code stackgres.rbacMaxConcurrency} at the
+ * same time (shared among all requests), and results are cached per user and namespace for
+ * {@code stackgres.rbacCacheTtl} seconds. Cached results are invalidated as soon as a Role,
+ * RoleBinding, ClusterRole or ClusterRoleBinding changes.</p>
+ */
+@ApplicationScoped
+public class PermissionsReviewer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PermissionsReviewer.class);
+
+  private static final int DEFAULT_RBAC_CACHE_TTL = 30;
+
+  private static final int DEFAULT_RBAC_MAX_CONCURRENCY = 16;
+
+  record PermissionsKey(String user, String namespace) {
+  }
+
+  private final Supplier<KubernetesClient> clientSupplier;
+  private final Function<String, KubernetesClient> impersonatingClientFactory;
+  private final Executor executor;
+  private final Semaphore reviewPermits;
+  private final Cache<PermissionsKey, Map<String, List<String>>> permissionsCache;
+  private final boolean watchRbacChanges;
+  private final List<Watch> watches = new ArrayList<>();
+  private boolean closed = false;
+
+  @Inject
+  public PermissionsReviewer(
+      ProxiedKubernetesClientProducer clientProducer,
+      ManagedExecutor managedExecutor) {
+    this(
+        clientProducer::getClient,
+        user -> KubernetesClientProvider.impersonate(clientProducer.getClient(), user),
+        managedExecutor,
+        WebApiProperty.RBAC_MAX_CONCURRENCY.get()
+        .map(Integer::valueOf)
+        .orElse(DEFAULT_RBAC_MAX_CONCURRENCY),
+        Duration.ofSeconds(WebApiProperty.RBAC_CACHE_TTL.get()
+            .map(Integer::valueOf)
+            .orElse(DEFAULT_RBAC_CACHE_TTL)),
+        true);
+  }
+
+  public PermissionsReviewer(
+      Supplier<KubernetesClient> clientSupplier,
+      Function<String, KubernetesClient> impersonatingClientFactory,
+      Executor executor,
+      int maxConcurrency,
+      Duration cacheTtl,
+      boolean watchRbacChanges) {
+    this.clientSupplier = clientSupplier;
+    this.impersonatingClientFactory = impersonatingClientFactory;
+    this.executor = executor;
+    this.reviewPermits = new Semaphore(maxConcurrency);
+    this.permissionsCache = Caffeine.newBuilder()
+        .expireAfterWrite(cacheTtl)
+        .build();
+    this.watchRbacChanges = watchRbacChanges;
+  }
+
+  public PermissionsReviewer() {
+    CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
+    this.clientSupplier = null;
+    this.impersonatingClientFactory = null;
+    this.executor = null;
+    this.reviewPermits = null;
+    this.permissionsCache = null;
+    this.watchRbacChanges = false;
+  }
+
+  /**
+   * Return the permissions of the user for the specified cluster scoped and namespaced resources
+   * in each of the specified namespaces. Resources are in the form
+   * {@code <plural>[/<subresource>][.<group>]}.
+   */
+  public PermissionsListDto review(String user, List<String> namespaces,
+      List<String> unnamespacedResources, List<String> namespacedResources, List<String> verbs) {
+    startWatches();
+    CompletableFuture<Map<String, List<String>>> unnamespaced =
+        getPermissionsAsync(new PermissionsKey(user, null),
+            () -> reviewUnnamespaced(user, unnamespacedResources, verbs));
+    List<CompletableFuture<PermissionsListDto.Namespaced>> namespaced = namespaces.stream()
+        .map(namespace -> getPermissionsAsync(new PermissionsKey(user, namespace),
+            () -> reviewNamespace(user, namespace, namespacedResources, verbs))
+            .thenApply(resources -> new PermissionsListDto.Namespaced(namespace, resources)))
+        .toList();
+    return new PermissionsListDto(
+        unnamespaced.join(),
+        namespaced.stream()
+        .map(CompletableFuture::join)
+        .toList());
+  }
+
+  private CompletableFuture<Map<String, List<String>>> getPermissionsAsync(
+      PermissionsKey key, Supplier<Map<String, List<String>>> review) {
+    final Map<String, List<String>> cachedPermissions = permissionsCache.getIfPresent(key);
+    if (cachedPermissions != null) {
+      return CompletableFuture.completedFuture(cachedPermissions);
+    }
+    return CompletableFuture.supplyAsync(() -> reviewWithPermit(review), executor)
+        .whenComplete((permissions, ex) -> {
+          if (permissions != null) {
+            permissionsCache.put(key, permissions);
+          }
+        });
+  }
+
+  private Map<String, List<String>> reviewWithPermit(
+      Supplier<Map<String, List<String>>> review) {
+    try {
+      reviewPermits.acquire();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(ex);
+    }
+    try {
+      return review.get();
+    } finally {
+      reviewPermits.release();
+    }
+  }
+
+  private Map<String, List<String>> reviewUnnamespaced(
+      String user, List<String> resources, List<String> verbs) {
+    final KubernetesClient client = clientSupplier.get();
+    Map<String, List<String>> permissions = new HashMap<>();
+    for (String fullResourceName : resources) {
+      String[] resource = fullResourceName.split("\\.", 2);
+      permissions.put(resource[0], accessReview(client, user, null, resource[0],
+          resource.length == 2 ? resource[1] : "", verbs));
+    }
+    return permissions;
+  }
+
+  private Map<String, List<String>> reviewNamespace(
+      String user, String namespace, List<String> resources, List<String> verbs) {
+    SelfSubjectRulesReview rulesReview = impersonatingClientFactory.apply(user)
+        .authorization().v1().selfSubjectRulesReview()
+        .create(new SelfSubjectRulesReviewBuilder()
+            .withNewSpec()
+            .withNamespace(namespace)
+            .endSpec()
+            .build());
+    final boolean incomplete = rulesReview.getStatus() == null
+        || Boolean.TRUE.equals(rulesReview.getStatus().getIncomplete());
+    if (incomplete) {
+      LOGGER.debug("Rules of user {} in namespace {} are incomplete ({}),"
+          + " falling back to access reviews", user, namespace,
+          rulesReview.getStatus() == null ? null : rulesReview.getStatus().getEvaluationError());
+    }
+    final List<ResourceRule> rules = incomplete
+        ? List.of() : rulesReview.getStatus().getResourceRules();
+    final KubernetesClient client = incomplete ? clientSupplier.get() : null;
+    Map<String, List<String>> permissions = new HashMap<>();
+    for (String fullResourceName : resources) {
+      String[] resource = fullResourceName.split("\\.", 2);
+      String group = resource.length == 2 ? resource[1] : "";
+      if (incomplete) {
+        permissions.put(resource[0],
+            accessReview(client, user, namespace, resource[0], group, verbs));
+      } else {
+        permissions.put(resource[0], verbs.stream()
+            .filter(verb -> rules.stream()
+                .anyMatch(rule -> ruleMatches(rule, group, resource[0], verb)))
+            .toList());
+      }
+    }
+    return permissions;
+  }
+
+  /**
+   * Match a rule the same way the Kubernetes RBAC authorizer does. Rules restricted to some
+   * resource names do not grant access to the resource as a whole.
+   */
+  static boolean ruleMatches(ResourceRule rule, String group, String resource, String verb) {
+    if (rule.getResourceNames() != null && !rule.getResourceNames().isEmpty()) {
+      return false;
+    }
+    return matches(rule.getApiGroups(), group)
+        && matches(rule.getVerbs(), verb)
+        && (matches(rule.getResources(), resource)
+            || (resource.contains("/") && rule.getResources() != null
+                && rule.getResources().contains(
+                    "*" + resource.substring(resource.indexOf('/')))));
+  }
+
+  private static boolean matches(List<String> values, String value) {
+    return values != null && (values.contains("*") || values.contains(value));
+  }
+
+  private List<String> accessReview(KubernetesClient client, String user, String namespace,
+      String resource, String group, List<String> verbs) {
+    List<String> allowed = new ArrayList<>();
+    for (String verb : verbs) {
+      SubjectAccessReview review = new SubjectAccessReviewBuilder()
+          .withNewSpec()
+          .withUser(user)
+          .withGroups(KubernetesClientProvider.IMPERSONATED_GROUPS)
+          .withNewResourceAttributes()
+          .withNamespace(namespace)
+          .withResource(resource)
+          .withGroup(group)
+          .withVerb(verb)
+          .endResourceAttributes()
+          .endSpec()
+          .build();
+      review = client.authorization().v1().subjectAccessReview()
+          .create(review);
+
+      if (Boolean.TRUE.equals(review.getStatus().getAllowed())) {
+        allowed.add(verb);
+      }
+    }
+    return allowed;
+  }
+
+  private synchronized void startWatches() {
+    if (!watchRbacChanges || closed || !watches.isEmpty()) {
+      return;
+    }
+    final KubernetesClient client = clientSupplier.get();
+    try {
+      watches.add(client.rbac().roles().inAnyNamespace()
+          .watch(new InvalidatingWatcher<>(true)));
+      watches.add(client.rbac().roleBindings().inAnyNamespace()
+          .watch(new InvalidatingWatcher<>(true)));
+      watches.add(client.rbac().clusterRoles()
+          .watch(new InvalidatingWatcher<>(false)));
+      watches.add(client.rbac().clusterRoleBindings()
+          .watch(new InvalidatingWatcher<>(false)));
+    } catch (KubernetesClientException ex) {
+      LOGGER.warn("Can not watch RBAC changes, cached permissions will expire after their TTL",
+          ex);
+      closeWatches();
+    }
+  }
+
+  private synchronized void closeWatches() {
+    watches.forEach(Watch::close);
+    watches.clear();
+  }
+
+  private synchronized void restartWatches() {
+    closeWatches();
+    startWatches();
+  }
+
+  @PreDestroy
+  public synchronized void preDestroy() {
+    closed = true;
+    closeWatches();
+  }
+
+  class InvalidatingWatcher<T extends HasMetadata> implements Watcher<T> {
+    private final boolean namespaced;
+
+    InvalidatingWatcher(boolean namespaced) {
+      this.namespaced = namespaced;
+    }
+
+    @Override
+    public void eventReceived(Action action, T resource) {
+      if (action == Action.BOOKMARK) {
+        return;
+      }
+      if (namespaced) {
+        final String namespace = resource.getMetadata().getNamespace();
+        permissionsCache.asMap().keySet()
+            .removeIf(key -> Objects.equals(key.namespace(), namespace));
+      } else {
+        permissionsCache.invalidateAll();
+      }
+    }
+
+    @Override
+    public void onClose(WatcherException cause) {
+      LOGGER.debug("Watch of RBAC changes closed, restarting", cause);
+      permissionsCache.invalidateAll();
+      restartWatches();
+    }
+  }
+
+}
@@ -5,7 +5,6 @@
 
 package io.stackgres.apiweb.rest.auth;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -108,6 +107,9 @@ public class RbacResource {
   @Inject
   KubernetesClientProvider kubernetesClientProvider;
 
+  @Inject
+  PermissionsReviewer permissionsReviewer;
+
   @APIResponse(responseCode = "200", description = "OK",
       content = {@Content(
           mediaType = "application/json",
@@ -133,30 +135,28 @@ public class RbacResource {
     }
     LOGGER.debug("User to review access {}", impersonated);
     // Connect with the serviceaccount permissions
-    try (KubernetesClient client = kubernetesClientProvider.createDefault()) {
-      SubjectAccessReview review = new SubjectAccessReviewBuilder()
-          .withNewSpec()
-          .withUser(impersonated)
-          .withNewResourceAttributes()
-          .withNamespace(namespace)
-          .withGroup(group.orElse(CommonDefinition.GROUP))
-          .withResource(resource)
-          .withVerb(verb)
-          .endResourceAttributes()
-          .endSpec()
-          .build();
-
-      review = client.authorization().v1().subjectAccessReview()
-          .create(review);
-
-      LOGGER.debug("{}", review);
-
-      if (Boolean.TRUE.equals(review.getStatus().getAllowed())) {
-        return Response.ok(review.getStatus()).build();
-      } else {
-        return Response.status(Status.FORBIDDEN).entity(review.getStatus()).build();
-      }
-
+    KubernetesClient client = kubernetesClientProvider.createDefault();
+    SubjectAccessReview review = new SubjectAccessReviewBuilder()
+        .withNewSpec()
+        .withUser(impersonated)
+        .withNewResourceAttributes()
+        .withNamespace(namespace)
+        .withGroup(group.orElse(CommonDefinition.GROUP))
+        .withResource(resource)
+        .withVerb(verb)
+        .endResourceAttributes()
+        .endSpec()
+        .build();
+
+    review = client.authorization().v1().subjectAccessReview()
+        .create(review);
+
+    LOGGER.debug("{}", review);
+
+    if (Boolean.TRUE.equals(review.getStatus().getAllowed())) {
+      return Response.ok(review.getStatus()).build();
+    } else {
+      return Response.status(Status.FORBIDDEN).entity(review.getStatus()).build();
     }
   }
 
@@ -177,46 +177,24 @@ public class RbacResource {
     String impersonated = k8sUsername != null ? k8sUsername : identity.getPrincipal().getName();
     if (clusterRoleDisabled) {
       LOGGER.debug("ClusterRole are disabled, skipping review access for User {}", impersonated);
-    } else {
-      LOGGER.debug("User to review access {}", impersonated);
-    }
-    try (KubernetesClient client = kubernetesClientProvider.createDefault()) {
       return new PermissionsListDto(
-          buildUnnamespacedPermissionList(client, impersonated),
-          buildNamespacedPermissionList(client, impersonated));
-    }
-  }
-
-  private Map<String, List<String>> buildUnnamespacedPermissionList(
-      KubernetesClient client, String user) {
-    Map<String, List<String>> resourceUnamespace = new HashMap<>();
-
-    for (String rsUnnamespaced : UNNAMESPACED_RESOURCES) {
-      String[] resource = rsUnnamespaced.split("\\.", 2);
-      List<String> allowed = accessReview(client, user, null, resource[0],
-          resource.length == 2 ? resource[1] : "", getVerbs());
-      resourceUnamespace.put(resource[0], allowed);
+          allowAll(UNNAMESPACED_RESOURCES),
+          namespaces.get().stream()
+          .map(namespace -> new PermissionsListDto.Namespaced(
+              namespace, allowAll(NAMESPACED_RESOURCES)))
+          .toList());
     }
-
-    return resourceUnamespace;
+    LOGGER.debug("User to review access {}", impersonated);
+    return permissionsReviewer.review(impersonated, namespaces.get(),
+        UNNAMESPACED_RESOURCES, NAMESPACED_RESOURCES, getVerbs());
   }
 
-  private List<PermissionsListDto.Namespaced> buildNamespacedPermissionList(
-      KubernetesClient client, String user) {
-    List<PermissionsListDto.Namespaced> listNamespaced = new ArrayList<>();
-
-    for (String namespace : namespaces.get()) {
-      Map<String, List<String>> resourceNamespace = new HashMap<>();
-      for (String rsNamespaced : NAMESPACED_RESOURCES) {
-        String[] resource = rsNamespaced.split("\\.", 2);
-        List<String> allowed = accessReview(client, user, namespace, resource[0],
-            resource.length == 2 ? resource[1] : "", getVerbs());
-        resourceNamespace.put(resource[0], allowed);
-      }
-
-      listNamespaced.add(new PermissionsListDto.Namespaced(namespace, resourceNamespace));
+  private Map<String, List<String>> allowAll(List<String> resources) {
+    Map<String, List<String>> permissions = new HashMap<>();
+    for (String fullResourceName : resources) {
+      permissions.put(fullResourceName.split("\\.", 2)[0], getVerbs());
     }
-    return listNamespaced;
+    return permissions;
   }
 
   public static final List<String> getResourcesUnnamespaced() {
@@ -256,34 +234,4 @@ public class RbacResource {
     return List.of("get", "list", "create", "patch", "delete");
   }
 
-  private List<String> accessReview(KubernetesClient client, String user, String namespace,
-      String resource, String group, List<String> verbs) {
-    List<String> allowed = new ArrayList<>();
-    for (String verb : verbs) {
-      if (clusterRoleDisabled) {
-        allowed.add(verb);
-        continue;
-      }
-
-      SubjectAccessReview review = new SubjectAccessReviewBuilder()
-          .withNewSpec()
-          .withUser(user)
-          .withNewResourceAttributes()
-          .withNamespace(namespace)
-          .withResource(resource)
-          .withGroup(group)
-          .withVerb(verb)
-          .endResourceAttributes()
-          .endSpec()
-          .build();
-      review = client.authorization().v1().subjectAccessReview()
-          .create(review);
-
-      if (Boolean.TRUE.equals(review.getStatus().getAllowed())) {
-        allowed.add(verb);
-      }
-    }
-    return allowed;
-  }
-
 }
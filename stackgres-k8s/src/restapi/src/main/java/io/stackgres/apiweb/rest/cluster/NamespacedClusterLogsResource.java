@@ -5,11 +5,18 @@
 
 package io.stackgres.apiweb.rest.cluster;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import io.quarkus.security.Authenticated;
@@ -30,13 +37,16 @@ import jakarta.ws.rs.GET;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jooq.lambda.Unchecked;
 import org.jooq.lambda.tuple.Tuple;
 import org.jooq.lambda.tuple.Tuple2;
 
@@ -62,14 +72,25 @@ import org.jooq.lambda.tuple.Tuple2;
         schema = @Schema(implementation = ErrorResponse.class))})
 public class NamespacedClusterLogsResource {
 
+  public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+  private static final int STREAM_PAGE_RECORDS = 1000;
+
+  private static final Duration FOLLOW_POLL_INTERVAL = Duration.ofSeconds(2);
+
+  private static final Duration FOLLOW_MAX_DURATION = Duration.ofHours(1);
+
   private final CustomResourceFinder<ClusterDto> clusterFinder;
   private final DistributedLogsFetcher distributedLogsFetcher;
+  private final ObjectMapper objectMapper;
 
   @Inject
   public NamespacedClusterLogsResource(CustomResourceFinder<ClusterDto> clusterFinder,
-      DistributedLogsFetcher distributedLogsFetcher) {
+      DistributedLogsFetcher distributedLogsFetcher,
+      ObjectMapper objectMapper) {
     this.clusterFinder = clusterFinder;
     this.distributedLogsFetcher = distributedLogsFetcher;
+    this.objectMapper = objectMapper;
   }
 
   /**
@@ -105,11 +126,135 @@ public class NamespacedClusterLogsResource {
       @QueryParam("userName") List<String> userName,
       @QueryParam("databaseName") List<String> databaseName,
       @QueryParam("fromInclusive") Boolean fromInclusive) {
+    final int calculatedRecords = records != null ? records : 50;
+
+    DistributedLogsQueryParameters logs = buildQueryParameters(
+        namespace, name, calculatedRecords, from, to, sort, text,
+        logType, podName, role, errorLevel, userName, databaseName, fromInclusive);
+
+    return distributedLogsFetcher.logs(logs);
+  }
+
+  /**
+   * Stream distributed logs as newline delimited JSON {@code ClusterLogEntry} objects.
+   */
+  @APIResponse(responseCode = "200", description = "OK",
+      content = {@Content(
+          mediaType = NDJSON_MEDIA_TYPE,
+          schema = @Schema(implementation = ClusterLogEntryDto.class))})
+  @Operation(summary = "Stream a sgcluster's logs", description = """
+      Stream a sgcluster's logs as newline delimited JSON. Entries are read from the database
+       in pages using the log time and log time index of the last entry sent as the keyset, so
+       any number of records can be exported in constant memory. When `follow` is `true` the
+       entries are sorted in ascending order and new entries are sent as they are stored until
+       the client disconnects. If `from` is not specified in follow mode only the entries
+       stored after the request are sent.
+
+      ### RBAC permissions required
+
+      * sgclusters get
+      * secret get
+      * pod list
+      """)
+  @GET
+  @Path("{name}/logs/stream")
+  @Produces(NDJSON_MEDIA_TYPE)
+  public StreamingOutput streamLogs(
+      @PathParam("namespace") String namespace,
+      @PathParam("name") String name,
+      @QueryParam("records") Long records,
+      @QueryParam("from") String from,
+      @QueryParam("to") String to,
+      @QueryParam("sort") String sort,
+      @QueryParam("text") String text,
+      @QueryParam("logType") List<String> logType,
+      @QueryParam("podName") List<String> podName,
+      @QueryParam("role") List<String> role,
+      @QueryParam("errorLevel") List<String> errorLevel,
+      @QueryParam("userName") List<String> userName,
+      @QueryParam("databaseName") List<String> databaseName,
+      @QueryParam("fromInclusive") Boolean fromInclusive,
+      @QueryParam("follow") Boolean follow) {
+    final long totalRecords = records != null ? records : Long.MAX_VALUE;
+    final boolean isFollow = follow != null && follow;
+
+    if (totalRecords <= 0) {
+      throw new BadRequestException("records should be a positive number");
+    }
+
+    if (isFollow && sort != null && !sort.equals("asc")) {
+      throw new BadRequestException("sort only accept asc value when follow is true");
+    }
+
+    final DistributedLogsQueryParameters logs = buildQueryParameters(
+        namespace, name, STREAM_PAGE_RECORDS,
+        isFollow && from == null ? Instant.now().toString() : from,
+        to, isFollow ? "asc" : sort, text,
+        logType, podName, role, errorLevel, userName, databaseName, fromInclusive);
+
+    return output -> streamLogs(logs, totalRecords, isFollow, output);
+  }
+
+  private void streamLogs(DistributedLogsQueryParameters logs, long totalRecords,
+      boolean isFollow, OutputStream output) throws IOException {
+    final Instant followUntil = Instant.now().plus(FOLLOW_MAX_DURATION);
+    final ObjectWriter writer = objectMapper.writerFor(ClusterLogEntryDto.class);
+    DistributedLogsQueryParameters currentLogs = logs;
+    long remainingRecords = totalRecords;
+    try {
+      while (true) {
+        final int pageRecords = (int) Math.min(STREAM_PAGE_RECORDS, remainingRecords);
+        final AtomicInteger pageCount = new AtomicInteger(0);
+        final Optional<Tuple2<Instant, Integer>> last = distributedLogsFetcher.streamLogs(
+            ImmutableDistributedLogsQueryParameters.copyOf(currentLogs)
+            .withRecords(pageRecords),
+            Unchecked.consumer(entry -> {
+              output.write(writer.writeValueAsBytes(entry));
+              output.write('\n');
+              pageCount.incrementAndGet();
+            }));
+        output.flush();
+        remainingRecords -= pageCount.get();
+        if (remainingRecords <= 0) {
+          break;
+        }
+        if (pageCount.get() < pageRecords) {
+          if (!isFollow || Instant.now().isAfter(followUntil)) {
+            break;
+          }
+          Thread.sleep(FOLLOW_POLL_INTERVAL.toMillis());
+        }
+        if (last.isPresent()) {
+          currentLogs = ImmutableDistributedLogsQueryParameters.copyOf(currentLogs)
+              .withFromTimeAndIndex(last)
+              .withIsFromInclusive(false);
+        }
+      }
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private DistributedLogsQueryParameters buildQueryParameters(
+      String namespace,
+      String name,
+      int calculatedRecords,
+      String from,
+      String to,
+      String sort,
+      String text,
+      List<String> logType,
+      List<String> podName,
+      List<String> role,
+      List<String> errorLevel,
+      List<String> userName,
+      List<String> databaseName,
+      Boolean fromInclusive) {
     final ClusterDto cluster = clusterFinder.findByNameAndNamespace(name, namespace)
         .orElseThrow(NotFoundException::new);
 
-    final int calculatedRecords = records != null ? records : 50;
-
     if (calculatedRecords <= 0) {
       throw new BadRequestException("records should be a positive number");
     }
@@ -160,7 +305,7 @@ public class NamespacedClusterLogsResource {
       throw new BadRequestException("sort only accept asc or desc values");
     }
 
-    DistributedLogsQueryParameters logs = ImmutableDistributedLogsQueryParameters.builder()
+    return ImmutableDistributedLogsQueryParameters.builder()
         .cluster(cluster)
         .records(calculatedRecords)
         .fromTimeAndIndex(fromTuple)
@@ -171,8 +316,6 @@ public class NamespacedClusterLogsResource {
             .map(FullTextSearchQuery::new))
         .isFromInclusive(fromInclusive != null && fromInclusive)
         .build();
-
-    return distributedLogsFetcher.logs(logs);
   }
 
   private void addFilter(String key, List<String> values,
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.app;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.ConfigMapList;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
+import io.fabric8.kubernetes.api.model.NamespaceList;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare the latency percentiles (p50, p99, ...) of common GET requests served by concurrent
+ * requests to an HTTPS mock API server when each request builds its own impersonating client
+ * (as the REST API used to do) with using impersonating views over a shared client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class KubernetesClientProviderBenchmark {
+
+  private static final String USER = "benchmark";
+
+  KubernetesServer server;
+
+  Config config;
+
+  KubernetesClient sharedClient;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    server = new KubernetesServer(true, true);
+    server.before();
+    config = server.getClient().getConfiguration();
+    IntStream.range(0, 10).forEach(index -> server.getClient().namespaces()
+        .resource(new NamespaceBuilder()
+            .withNewMetadata().withName("namespace-" + index).endMetadata()
+            .build())
+        .create());
+    IntStream.range(0, 20).forEach(index -> server.getClient().configMaps()
+        .inNamespace("namespace-0")
+        .resource(new ConfigMapBuilder()
+            .withNewMetadata().withName("config-" + index).endMetadata()
+            .addToData("key", "value-" + index)
+            .build())
+        .create());
+    sharedClient = new KubernetesClientBuilder().withConfig(config).build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    sharedClient.close();
+    server.after();
+  }
+
+  private KubernetesClient createPerRequestClient() {
+    return new KubernetesClientBuilder()
+        .withConfig(new ConfigBuilder(config)
+            .withImpersonateUsername(USER)
+            .withImpersonateGroups("system:authenticated")
+            .build())
+        .build();
+  }
+
+  @Benchmark
+  public NamespaceList listNamespacesWithPerRequestClient() {
+    try (KubernetesClient client = createPerRequestClient()) {
+      return client.namespaces().list();
+    }
+  }
+
+  @Benchmark
+  public NamespaceList listNamespacesWithSharedClient() {
+    return KubernetesClientProvider.impersonate(sharedClient, USER).namespaces().list();
+  }
+
+  @Benchmark
+  public ConfigMapList listConfigMapsWithPerRequestClient() {
+    try (KubernetesClient client = createPerRequestClient()) {
+      return client.configMaps().inNamespace("namespace-0").list();
+    }
+  }
+
+  @Benchmark
+  public ConfigMapList listConfigMapsWithSharedClient() {
+    return KubernetesClientProvider.impersonate(sharedClient, USER)
+        .configMaps().inNamespace("namespace-0").list();
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(KubernetesClientProviderBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class KubernetesClientProviderTest {
+
+  private KubernetesServer server;
+  private KubernetesClient sharedClient;
+
+  @BeforeEach
+  void setUp() {
+    server = new KubernetesServer(true, true);
+    server.before();
+    sharedClient = new KubernetesClientBuilder()
+        .withConfig(server.getClient().getConfiguration())
+        .build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    sharedClient.close();
+    server.after();
+  }
+
+  @Test
+  void impersonatingClient_shouldSendImpersonationHeadersOnlyForItsRequests() throws Exception {
+    try (KubernetesClient client = KubernetesClientProvider.impersonate(sharedClient, "test")) {
+      client.namespaces().list();
+    }
+    RecordedRequest impersonatedRequest = server.getLastRequest();
+    sharedClient.namespaces().list();
+    RecordedRequest request = server.getLastRequest();
+
+    assertEquals("test", impersonatedRequest.getHeader("Impersonate-User"));
+    assertEquals("system:authenticated", impersonatedRequest.getHeader("Impersonate-Group"));
+    assertNull(request.getHeader("Impersonate-User"));
+  }
+
+}
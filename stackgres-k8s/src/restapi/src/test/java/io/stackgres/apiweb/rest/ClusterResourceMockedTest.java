@@ -21,6 +21,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -31,6 +32,7 @@ import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -253,6 +255,23 @@ class ClusterResourceMockedTest extends
     checkStatsDto(dto);
   }
 
+  @Test
+  void getOfAnExistingDtoStatsTwice_shouldExecInPodsOnlyOnce() {
+    clusterMocks();
+    mockPodExecutor();
+
+    when(finder.findByNameAndNamespace(getResourceName(), getResourceNamespace()))
+        .thenReturn(Optional.of(customResources.getItems().get(0)));
+
+    NamespacedClusterStatsResource clusterStatsResource = getClusterStatsResource();
+    clusterStatsResource.stats(getResourceNamespace(), getResourceName());
+    ClusterStatsDto dto =
+        clusterStatsResource.stats(getResourceNamespace(), getResourceName());
+
+    checkStatsDto(dto);
+    verify(podExecutor, times(1)).exec(any(), anyString(), any(String[].class));
+  }
+
   @Test
   void createClusterWithScriptReference_shouldNotFail() {
     dto = getClusterScriptReference();
@@ -787,7 +806,8 @@ class ClusterResourceMockedTest extends
     dtoFinder.setClusterTransformer(clusterTransformer);
     dtoFinder.setLabelFactory(labelFactory);
 
-    return new NamespacedClusterLogsResource(dtoFinder, distributedLogsFetcher);
+    return new NamespacedClusterLogsResource(dtoFinder, distributedLogsFetcher,
+        JsonUtil.jsonMapper());
   }
 
   @Override
@@ -2343,4 +2363,59 @@ class ClusterResourceMockedTest extends
     assertIterableEquals(logList, logs);
   }
 
+
+  @Test
+  void streamLogsShouldFetchPagesFromTheLastEntry() throws Exception {
+    clusterMocks();
+    when(finder.findByNameAndNamespace(getResourceName(), getResourceNamespace()))
+        .thenReturn(Optional.of(customResources.getItems().get(0)));
+    final Instant lastLogTime = Instant.now();
+    final List<DistributedLogsQueryParameters> pages = new ArrayList<>();
+    doAnswer(invocation -> {
+      DistributedLogsQueryParameters parameters = invocation.getArgument(0);
+      Consumer<ClusterLogEntryDto> consumer = invocation.getArgument(1);
+      pages.add(parameters);
+      Seq.range(0, parameters.getRecords())
+          .map(index -> {
+            ClusterLogEntryDto entry = new ClusterLogEntryDto();
+            entry.setLogTime(lastLogTime.toString());
+            entry.setLogTimeIndex(index);
+            return entry;
+          })
+          .forEach(consumer);
+      return Optional.of(Tuple.tuple(lastLogTime, pages.size()));
+    }).when(distributedLogsFetcher).streamLogs(any(), any());
+
+    Long records = 1500L;
+    String from = null;
+    String to = null;
+    String sort = "asc";
+    String text = null;
+    List<String> logType = null;
+    List<String> podName = null;
+    List<String> role = null;
+    List<String> errorLevel = null;
+    List<String> userName = null;
+    List<String> databaseName = null;
+    Boolean fromInclusive = null;
+    Boolean follow = null;
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    getClusterLogsResource().streamLogs(getResourceNamespace(), getResourceName(), records,
+        from, to, sort, text,
+        logType, podName, role, errorLevel, userName, databaseName, fromInclusive, follow)
+        .write(output);
+
+    assertEquals(2, pages.size());
+    assertEquals(1000, pages.get(0).getRecords());
+    assertEquals(Optional.empty(), pages.get(0).getFromTimeAndIndex());
+    assertTrue(pages.get(0).isSortAsc());
+    assertEquals(500, pages.get(1).getRecords());
+    assertEquals(Optional.of(Tuple.tuple(lastLogTime, 1)), pages.get(1).getFromTimeAndIndex());
+    assertFalse(pages.get(1).isFromInclusive());
+    List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+    assertEquals(1500, lines.size());
+    assertEquals(lastLogTime.toString(),
+        JsonUtil.jsonMapper().readValue(lines.get(0), ClusterLogEntryDto.class).getLogTime());
+  }
+
 }
@@ -6,16 +6,23 @@
 package io.stackgres.apiweb.rest;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
 
 import java.security.Principal;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import io.fabric8.kubernetes.api.model.authorization.v1.SelfSubjectRulesReview;
+import io.fabric8.kubernetes.api.model.authorization.v1.SelfSubjectRulesReviewBuilder;
 import io.fabric8.kubernetes.api.model.authorization.v1.SubjectAccessReview;
+import io.fabric8.kubernetes.api.model.authorization.v1.SubjectAccessReviewBuilder;
 import io.fabric8.kubernetes.api.model.authorization.v1.SubjectAccessReviewStatus;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.V1AuthorizationAPIGroupDSL;
@@ -25,14 +32,17 @@ import io.quarkus.security.identity.SecurityIdentity;
 import io.stackgres.apiweb.app.KubernetesClientProvider;
 import io.stackgres.apiweb.dto.PermissionsListDto;
 import io.stackgres.apiweb.dto.PermissionsListDto.Namespaced;
+import io.stackgres.apiweb.rest.auth.PermissionsReviewer;
 import io.stackgres.apiweb.rest.auth.RbacResource;
 import io.stackgres.apiweb.rest.misc.NamespaceResource;
 import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 class RbacResourceTest {
 
@@ -54,6 +64,10 @@ class RbacResourceTest {
   @Mock
   SubjectAccessReview review;
 
+  @Spy
+  PermissionsReviewer permissionsReviewer = new PermissionsReviewer(
+      () -> k8sClient, user -> k8sClient, Runnable::run, 4, Duration.ofSeconds(30), false);
+
   @InjectMocks
   RbacResource rbacResource = new RbacResource();
 
@@ -69,6 +83,9 @@ class RbacResourceTest {
   @Mock
   private SubjectAccessReviewStatus subjectReviewStatus;
 
+  @Mock
+  private InOutCreateable<SelfSubjectRulesReview, SelfSubjectRulesReview> inOutRulesReview;
+
   @BeforeEach
   public void setup() {
     MockitoAnnotations.openMocks(this);
@@ -78,6 +95,18 @@ class RbacResourceTest {
     given(v1AuthorizationApiGrouDsl.subjectAccessReview()).willReturn(inOutSubjectReview);
     given(inOutSubjectReview.create(any(SubjectAccessReview.class))).willReturn(review);
     given(review.getStatus()).willReturn(subjectReviewStatus);
+    given(v1AuthorizationApiGrouDsl.selfSubjectRulesReview()).willReturn(inOutRulesReview);
+    given(inOutRulesReview.create(any(SelfSubjectRulesReview.class)))
+        .willReturn(new SelfSubjectRulesReviewBuilder()
+            .withNewStatus()
+            .withIncomplete(false)
+            .addNewResourceRule()
+            .withApiGroups("*")
+            .withResources("*")
+            .withVerbs("get", "list")
+            .endResourceRule()
+            .endStatus()
+            .build());
     given(identity.getPrincipal()).willReturn(principal);
     given(identity.getPrincipal().getName()).willReturn("admin");
   }
@@ -112,6 +141,39 @@ class RbacResourceTest {
     assertNamespacedResources(permissions.namespaced());
   }
 
+  @Test
+  void givenIncompleteRules_shouldListNamespacedResourcesWithAccessReviewsOfTheSameSubject() {
+    given(inOutRulesReview.create(any(SelfSubjectRulesReview.class)))
+        .willReturn(new SelfSubjectRulesReviewBuilder()
+            .withNewStatus()
+            .withIncomplete(true)
+            .endStatus()
+            .build());
+    given(inOutSubjectReview.create(any(SubjectAccessReview.class)))
+        .willAnswer(invocation -> new SubjectAccessReviewBuilder(
+            invocation.<SubjectAccessReview>getArgument(0))
+            .withNewStatus()
+            .withAllowed(List.of("get", "list").contains(invocation
+                .<SubjectAccessReview>getArgument(0).getSpec().getResourceAttributes().getVerb()))
+            .endStatus()
+            .build());
+    given(namespaces.get()).willReturn(expectedNamespaces());
+
+    PermissionsListDto permissions = rbacResource.caniList();
+
+    assertNamespacedResources(permissions.namespaced());
+    ArgumentCaptor<SubjectAccessReview> reviews =
+        ArgumentCaptor.forClass(SubjectAccessReview.class);
+    verify(inOutSubjectReview, atLeastOnce()).create(reviews.capture());
+    assertTrue(reviews.getAllValues().stream()
+        .anyMatch(review -> expectedNamespaces().getFirst().equals(
+            review.getSpec().getResourceAttributes().getNamespace())));
+    for (SubjectAccessReview review : reviews.getAllValues()) {
+      assertEquals("admin", review.getSpec().getUser());
+      assertEquals(KubernetesClientProvider.IMPERSONATED_GROUPS, review.getSpec().getGroups());
+    }
+  }
+
   private List<String> expectedNamespaces() {
     return Arrays.asList("sgcluster");
   }
@@ -122,8 +184,10 @@ class RbacResourceTest {
         actualNamespaced.getFirst().namespace());
 
     Map<String, List<String>> resources = actualNamespaced.getFirst().resources();
+    assertEquals(expectedNamespacedResourceNames().size(), resources.size());
     for (Map.Entry<String, List<String>> resource : resources.entrySet()) {
       assertNamespacedResource(resource.getKey());
+      assertEquals(List.of("get", "list"), resource.getValue());
     }
   }
 
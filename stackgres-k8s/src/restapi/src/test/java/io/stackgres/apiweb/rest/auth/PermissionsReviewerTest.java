@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.rest.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import io.fabric8.kubernetes.api.model.authorization.v1.ResourceRule;
+import io.fabric8.kubernetes.api.model.authorization.v1.ResourceRuleBuilder;
+import io.fabric8.kubernetes.api.model.authorization.v1.SelfSubjectRulesReview;
+import io.fabric8.kubernetes.api.model.authorization.v1.SelfSubjectRulesReviewBuilder;
+import io.fabric8.kubernetes.api.model.authorization.v1.SubjectAccessReview;
+import io.fabric8.kubernetes.api.model.authorization.v1.SubjectAccessReviewBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.stackgres.apiweb.dto.PermissionsListDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PermissionsReviewerTest {
+
+  private static final List<String> VERBS = List.of("get", "list", "create");
+
+  private KubernetesClient client;
+  private PermissionsReviewer reviewer;
+
+  @BeforeEach
+  void setUp() {
+    client = mock(KubernetesClient.class, RETURNS_DEEP_STUBS);
+    reviewer = new PermissionsReviewer(
+        () -> client, user -> client, Runnable::run, 2, Duration.ofMinutes(1), false);
+    when(client.authorization().v1().subjectAccessReview().create(any(SubjectAccessReview.class)))
+        .thenAnswer(invocation -> {
+          SubjectAccessReview review = invocation.getArgument(0);
+          return new SubjectAccessReviewBuilder(review)
+              .withNewStatus()
+              .withAllowed(review.getSpec().getResourceAttributes().getVerb().equals("get"))
+              .endStatus()
+              .build();
+        });
+  }
+
+  private SelfSubjectRulesReview rulesReview(boolean incomplete, ResourceRule... rules) {
+    return new SelfSubjectRulesReviewBuilder()
+        .withNewStatus()
+        .withIncomplete(incomplete)
+        .withResourceRules(rules)
+        .endStatus()
+        .build();
+  }
+
+  @Test
+  void ruleMatches_shouldFollowRbacMatchingRules() {
+    ResourceRule podsRule = new ResourceRuleBuilder()
+        .withApiGroups("")
+        .withResources("pods")
+        .withVerbs("get", "list")
+        .build();
+    ResourceRule execRule = new ResourceRuleBuilder()
+        .withApiGroups("*")
+        .withResources("*/exec")
+        .withVerbs("*")
+        .build();
+    ResourceRule namedRule = new ResourceRuleBuilder()
+        .withApiGroups("stackgres.io")
+        .withResources("sgclusters")
+        .withResourceNames("test")
+        .withVerbs("get")
+        .build();
+
+    assertTrue(PermissionsReviewer.ruleMatches(podsRule, "", "pods", "get"));
+    assertFalse(PermissionsReviewer.ruleMatches(podsRule, "", "pods", "delete"));
+    assertFalse(PermissionsReviewer.ruleMatches(podsRule, "", "pods/exec", "get"));
+    assertTrue(PermissionsReviewer.ruleMatches(execRule, "", "pods/exec", "create"));
+    assertFalse(PermissionsReviewer.ruleMatches(execRule, "", "pods", "create"));
+    assertFalse(PermissionsReviewer.ruleMatches(namedRule, "stackgres.io", "sgclusters", "get"));
+  }
+
+  @Test
+  void review_shouldUseRulesReviewPerNamespaceAndCacheTheResult() {
+    when(client.authorization().v1().selfSubjectRulesReview()
+        .create(any(SelfSubjectRulesReview.class)))
+        .thenReturn(rulesReview(false, new ResourceRuleBuilder()
+            .withApiGroups("stackgres.io")
+            .withResources("sgclusters")
+            .withVerbs("get", "list")
+            .build()));
+
+    for (int index = 0; index < 2; index++) {
+      PermissionsListDto permissions = reviewer.review("test", List.of("ns-1", "ns-2"),
+          List.of("namespaces"), List.of("sgclusters.stackgres.io", "pods"), VERBS);
+
+      assertEquals(Map.of("namespaces", List.of("get")), permissions.unnamespaced());
+      assertEquals(List.of(
+          new PermissionsListDto.Namespaced("ns-1",
+              Map.of("sgclusters", List.of("get", "list"), "pods", List.of())),
+          new PermissionsListDto.Namespaced("ns-2",
+              Map.of("sgclusters", List.of("get", "list"), "pods", List.of()))),
+          permissions.namespaced());
+    }
+    verify(client.authorization().v1().selfSubjectRulesReview(), times(2))
+        .create(any(SelfSubjectRulesReview.class));
+    verify(client.authorization().v1().subjectAccessReview(), times(VERBS.size()))
+        .create(any(SubjectAccessReview.class));
+  }
+
+  @Test
+  void givenIncompleteRules_review_shouldFallBackToAccessReviews() {
+    when(client.authorization().v1().selfSubjectRulesReview()
+        .create(any(SelfSubjectRulesReview.class)))
+        .thenReturn(rulesReview(true));
+
+    PermissionsListDto permissions = reviewer.review("test", List.of("ns-1"),
+        List.of(), List.of("sgclusters.stackgres.io"), VERBS);
+
+    assertEquals(Map.of("sgclusters", List.of("get")),
+        permissions.namespaced().getFirst().resources());
+    verify(client.authorization().v1().subjectAccessReview(), times(VERBS.size()))
+        .create(argThat((SubjectAccessReview review) -> "ns-1".equals(
+            review.getSpec().getResourceAttributes().getNamespace())));
+  }
+
+}
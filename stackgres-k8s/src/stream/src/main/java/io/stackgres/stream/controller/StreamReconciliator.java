@@ -6,13 +6,15 @@
 package io.stackgres.stream.controller;
 
 import java.lang.management.ManagementFactory;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
+import javax.management.Attribute;
+import javax.management.AttributeList;
 import javax.management.InstanceNotFoundException;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
@@ -49,13 +51,20 @@ public class StreamReconciliator
 
   private static final Logger LOGGER = LoggerFactory.getLogger(StreamReconciliator.class);
 
+  private static final String SNAPSHOT_CONTEXT = "snapshot";
+  private static final String STREAMING_CONTEXT = "streaming";
+
   private final Metrics metrics;
   private final CustomResourceScheduler<StackGresStream> streamScheduler;
+  private final Map<String, StatusAttribute<StackGresStreamSnapshotStatus>> snapshotAttributes;
+  private final Map<String, StatusAttribute<StackGresStreamStreamingStatus>> streamingAttributes;
 
   @Inject
   public StreamReconciliator(Parameters parameters) {
     this.metrics = parameters.metrics;
     this.streamScheduler = parameters.streamScheduler;
+    this.snapshotAttributes = snapshotAttributes();
+    this.streamingAttributes = streamingAttributes();
   }
 
   public StreamReconciliator() {
@@ -63,6 +72,8 @@ public class StreamReconciliator
     CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
     this.metrics = null;
     this.streamScheduler = null;
+    this.snapshotAttributes = null;
+    this.streamingAttributes = null;
   }
 
   @SuppressFBWarnings(value = "REC_CATCH_EXCEPTION",
@@ -80,9 +91,8 @@ public class StreamReconciliator
     }
     StackGresStreamSnapshotStatus snapshotStatus = stream.getStatus().getSnapshot();
     setStatusMetrics(
-        stream,
         snapshotStatus,
-        StackGresStreamSnapshotStatus.class,
+        snapshotAttributes,
         "debezium.postgres:type=connector-metrics,context=snapshot,server="
             + SgClusterDebeziumEngineHandler.topicPrefix(stream),
         platformMBeanServer);
@@ -91,9 +101,8 @@ public class StreamReconciliator
     }
     StackGresStreamStreamingStatus streamingStatus = stream.getStatus().getStreaming();
     setStatusMetrics(
-        stream,
         streamingStatus,
-        StackGresStreamStreamingStatus.class,
+        streamingAttributes,
         "debezium.postgres:type=connector-metrics,context=streaming,server="
             + SgClusterDebeziumEngineHandler.topicPrefix(stream),
         platformMBeanServer);
@@ -105,57 +114,179 @@ public class StreamReconciliator
     stream.getStatus().getEvents().setTotalNumberOfEventsSent(metrics.getTotalNumberOfEventsSent());
     stream.getStatus().getEvents().setLastErrorSeen(metrics.getLastErrorSeen());
     stream.getStatus().getEvents().setTotalNumberOfErrorsSeen(metrics.getTotalNumberOfErrorsSeen());
+    if (metrics.getRestoreStatus() != null) {
+      stream.getStatus().setRestore(metrics.getRestoreStatus());
+    }
     streamScheduler.update(stream, Unchecked.consumer(
         currentStream -> currentStream.setStatus(stream.getStatus())));
     return new ReconciliationResult<Void>();
   }
 
-  private void setStatusMetrics(
-      StackGresStream currentStream,
-      Object statusSection,
-      Class<?> statusSectionClass,
+  private <T> void setStatusMetrics(
+      T statusSection,
+      Map<String, StatusAttribute<T>> statusAttributes,
       String mbeanName,
       MBeanServer platformMBeanServer)
       throws Exception {
+    final AttributeList attributes;
     try {
-      ObjectName sectionMetricsName = new ObjectName(mbeanName);
-      var sectionMetricsMBean = platformMBeanServer.getMBeanInfo(sectionMetricsName);
-      for (Field field : statusSectionClass.getDeclaredFields()) {
-        String attributeName = field.getName().substring(0, 1).toUpperCase(Locale.US)
-            + field.getName().substring(1);
-        String setterMethodName = "set" + attributeName;
-        Method setterMethod = statusSectionClass.getMethod(setterMethodName, field.getType());
-        for (var attribute : sectionMetricsMBean.getAttributes()) {
-          if (attribute.getName().equals(attributeName)) {
-            Object attributeValue = platformMBeanServer.getAttribute(sectionMetricsName, attributeName);
-            if (attributeValue instanceof String[] attributeValueStringArray) {
-              attributeValue = Arrays.asList(attributeValueStringArray);
-            } else if (attributeValue instanceof Map attributeValueMap) {
-              Map<?, ?> attributeValueMapGeneric = attributeValueMap;
-              attributeValue = Seq.<Object, Object>seq(attributeValueMapGeneric)
-                  .flatMap(t -> {
-                    if (t.v1 instanceof List keyList
-                        && t.v2 instanceof CompositeDataSupport cdsValues
-                        && cdsValues.getCompositeType().keySet().contains("value")) {
-                      return ((List<?>) keyList).stream()
-                          .map(key -> Tuple.tuple(key, cdsValues.get("value")));
-                    }
-                    return Seq.of(t.map1(Object::toString).map2(Object::toString));
-                  })
-                  .toMap(Tuple2::v1, Tuple2::v2);
-            }
-            setterMethod.invoke(statusSection, attributeValue);
-            if (attributeValue instanceof Number attributeValueNumber) {
-              metrics.gauge(attributeName, attributeValueNumber);
-            }
-            break;
-          }
-        }
-      }
+      attributes = platformMBeanServer.getAttributes(
+          new ObjectName(mbeanName), statusAttributes.keySet().toArray(String[]::new));
     } catch (InstanceNotFoundException ex) {
       LOGGER.debug("Error occurred while trying to retrieve MBean " + mbeanName, ex);
       return;
     }
+    for (Attribute attribute : attributes.asList()) {
+      StatusAttribute<T> statusAttribute = statusAttributes.get(attribute.getName());
+      if (statusAttribute == null) {
+        continue;
+      }
+      Object attributeValue = attribute.getValue();
+      if (attributeValue instanceof String[] attributeValueStringArray) {
+        attributeValue = Arrays.asList(attributeValueStringArray);
+      } else if (attributeValue instanceof Map attributeValueMap) {
+        Map<?, ?> attributeValueMapGeneric = attributeValueMap;
+        attributeValue = Seq.<Object, Object>seq(attributeValueMapGeneric)
+            .flatMap(t -> {
+              if (t.v1 instanceof List keyList
+                  && t.v2 instanceof CompositeDataSupport cdsValues
+                  && cdsValues.getCompositeType().keySet().contains("value")) {
+                return ((List<?>) keyList).stream()
+                    .map(key -> Tuple.tuple(key, cdsValues.get("value")));
+              }
+              return Seq.of(t.map1(Object::toString).map2(Object::toString));
+            })
+            .toMap(Tuple2::v1, Tuple2::v2);
+      }
+      statusAttribute.setter().accept(statusSection, attributeValue);
+      if (statusAttribute.gauge() != null
+          && attributeValue instanceof Number attributeValueNumber) {
+        statusAttribute.gauge().set(attributeValueNumber.longValue());
+      }
+    }
+  }
+
+  private Map<String, StatusAttribute<StackGresStreamSnapshotStatus>> snapshotAttributes() {
+    Map<String, StatusAttribute<StackGresStreamSnapshotStatus>> attributes =
+        new LinkedHashMap<>();
+    attribute(attributes, "LastEvent",
+        (status, value) -> status.setLastEvent(cast(value)));
+    gaugeAttribute(attributes, SNAPSHOT_CONTEXT, "MilliSecondsSinceLastEvent",
+        (status, value) -> status.setMilliSecondsSinceLastEvent(toLong(value)));
+    gaugeAttribute(attributes, SNAPSHOT_CONTEXT, "TotalNumberOfEventsSeen",
+        (status, value) -> status.setTotalNumberOfEventsSeen(toLong(value)));
+    gaugeAttribute(attributes, SNAPSHOT_CONTEXT, "NumberOfEventsFiltered",
+        (status, value) -> status.setNumberOfEventsFiltered(toLong(value)));
+    attribute(attributes, "CapturedTables",
+        (status, value) -> status.setCapturedTables(cast(value)));
+    gaugeAttribute(attributes, SNAPSHOT_CONTEXT, "QueueTotalCapacity",
+        (status, value) -> status.setQueueTotalCapacity(toInteger(value)));
+    gaugeAttribute(attributes, SNAPSHOT_CONTEXT, "QueueRemainingCapacity",
+        (status, value) -> status.setQueueRemainingCapacity(toInteger(value)));
+    gaugeAttribute(attributes, SNAPSHOT_CONTEXT, "TotalTableCount",
+        (status, value) -> status.setTotalTableCount(toInteger(value)));
+    gaugeAttribute(attributes, SNAPSHOT_CONTEXT, "RemainingTableCount",
+        (status, value) -> status.setRemainingTableCount(toInteger(value)));
+    attribute(attributes, "SnapshotRunning",
+        (status, value) -> status.setSnapshotRunning(cast(value)));
+    attribute(attributes, "SnapshotPaused",
+        (status, value) -> status.setSnapshotPaused(cast(value)));
+    attribute(attributes, "SnapshotAborted",
+        (status, value) -> status.setSnapshotAborted(cast(value)));
+    attribute(attributes, "SnapshotCompleted",
+        (status, value) -> status.setSnapshotCompleted(cast(value)));
+    gaugeAttribute(attributes, SNAPSHOT_CONTEXT, "SnapshotDurationInSeconds",
+        (status, value) -> status.setSnapshotDurationInSeconds(toLong(value)));
+    gaugeAttribute(attributes, SNAPSHOT_CONTEXT, "SnapshotPausedDurationInSeconds",
+        (status, value) -> status.setSnapshotPausedDurationInSeconds(toLong(value)));
+    attribute(attributes, "RowsScanned",
+        (status, value) -> status.setRowsScanned(cast(value)));
+    gaugeAttribute(attributes, SNAPSHOT_CONTEXT, "MaxQueueSizeInBytes",
+        (status, value) -> status.setMaxQueueSizeInBytes(toLong(value)));
+    gaugeAttribute(attributes, SNAPSHOT_CONTEXT, "CurrentQueueSizeInBytes",
+        (status, value) -> status.setCurrentQueueSizeInBytes(toLong(value)));
+    attribute(attributes, "ChunkId",
+        (status, value) -> status.setChunkId(cast(value)));
+    attribute(attributes, "ChunkFrom",
+        (status, value) -> status.setChunkFrom(cast(value)));
+    attribute(attributes, "ChunkTo",
+        (status, value) -> status.setChunkTo(cast(value)));
+    attribute(attributes, "TableFrom",
+        (status, value) -> status.setTableFrom(cast(value)));
+    attribute(attributes, "TableTo",
+        (status, value) -> status.setTableTo(cast(value)));
+    return attributes;
+  }
+
+  private Map<String, StatusAttribute<StackGresStreamStreamingStatus>> streamingAttributes() {
+    Map<String, StatusAttribute<StackGresStreamStreamingStatus>> attributes =
+        new LinkedHashMap<>();
+    attribute(attributes, "LastEvent",
+        (status, value) -> status.setLastEvent(cast(value)));
+    gaugeAttribute(attributes, STREAMING_CONTEXT, "MilliSecondsSinceLastEvent",
+        (status, value) -> status.setMilliSecondsSinceLastEvent(toLong(value)));
+    gaugeAttribute(attributes, STREAMING_CONTEXT, "TotalNumberOfEventsSeen",
+        (status, value) -> status.setTotalNumberOfEventsSeen(toLong(value)));
+    gaugeAttribute(attributes, STREAMING_CONTEXT, "TotalNumberOfCreateEventsSeen",
+        (status, value) -> status.setTotalNumberOfCreateEventsSeen(toLong(value)));
+    gaugeAttribute(attributes, STREAMING_CONTEXT, "TotalNumberOfUpdateEventsSeen",
+        (status, value) -> status.setTotalNumberOfUpdateEventsSeen(toLong(value)));
+    gaugeAttribute(attributes, STREAMING_CONTEXT, "TotalNumberOfDeleteEventsSeen",
+        (status, value) -> status.setTotalNumberOfDeleteEventsSeen(toLong(value)));
+    gaugeAttribute(attributes, STREAMING_CONTEXT, "NumberOfEventsFiltered",
+        (status, value) -> status.setNumberOfEventsFiltered(toLong(value)));
+    attribute(attributes, "CapturedTables",
+        (status, value) -> status.setCapturedTables(cast(value)));
+    gaugeAttribute(attributes, STREAMING_CONTEXT, "QueueTotalCapacity",
+        (status, value) -> status.setQueueTotalCapacity(toInteger(value)));
+    gaugeAttribute(attributes, STREAMING_CONTEXT, "QueueRemainingCapacity",
+        (status, value) -> status.setQueueRemainingCapacity(toInteger(value)));
+    attribute(attributes, "Connected",
+        (status, value) -> status.setConnected(cast(value)));
+    gaugeAttribute(attributes, STREAMING_CONTEXT, "MilliSecondsBehindSource",
+        (status, value) -> status.setMilliSecondsBehindSource(toLong(value)));
+    gaugeAttribute(attributes, STREAMING_CONTEXT, "NumberOfCommittedTransactions",
+        (status, value) -> status.setNumberOfCommittedTransactions(toLong(value)));
+    attribute(attributes, "SourceEventPosition",
+        (status, value) -> status.setSourceEventPosition(cast(value)));
+    attribute(attributes, "LastTransactionId",
+        (status, value) -> status.setLastTransactionId(cast(value)));
+    gaugeAttribute(attributes, STREAMING_CONTEXT, "MaxQueueSizeInBytes",
+        (status, value) -> status.setMaxQueueSizeInBytes(toLong(value)));
+    gaugeAttribute(attributes, STREAMING_CONTEXT, "CurrentQueueSizeInBytes",
+        (status, value) -> status.setCurrentQueueSizeInBytes(toLong(value)));
+    return attributes;
+  }
+
+  private <T> void attribute(Map<String, StatusAttribute<T>> attributes, String name,
+      BiConsumer<T, Object> setter) {
+    attributes.put(name, new StatusAttribute<>(name, setter, null));
+  }
+
+  private <T> void gaugeAttribute(Map<String, StatusAttribute<T>> attributes, String context,
+      String name, BiConsumer<T, Object> setter) {
+    attributes.put(name, new StatusAttribute<>(
+        name, setter, metrics.connectorGauge(context, name)));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> V cast(Object value) {
+    return (V) value;
+  }
+
+  private static Long toLong(Object value) {
+    return value instanceof Number number ? Long.valueOf(number.longValue()) : null;
+  }
+
+  private static Integer toInteger(Object value) {
+    return value instanceof Number number ? Integer.valueOf(number.intValue()) : null;
+  }
+
+  /**
+   * An attribute of the Debezium connector metrics MBean, the setter of the status field it is
+   * copied to and, for numeric attributes, the value holder of the gauge it is exported with.
+   */
+  private record StatusAttribute<T>(String name, BiConsumer<T, Object> setter, AtomicLong gauge) {
   }
 
   @Dependent
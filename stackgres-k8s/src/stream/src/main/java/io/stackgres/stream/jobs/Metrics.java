@@ -5,31 +5,57 @@
 
 package io.stackgres.stream.jobs;
 
-import java.util.Locale;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.stackgres.common.crd.sgstream.StackGresStreamRestoreStatus;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-import org.jooq.lambda.tuple.Tuple;
 
+/**
+ * Metrics of the stream updated concurrently by the Debezium engine and the sink threads. Values
+ * are kept in {@code LongAdder} and atomic fields so that updates never block, and meters are
+ * registered once (the per table meters the first time a table is seen) with precomputed names.
+ */
 @Singleton
 public class Metrics {
 
   private static final String STREAM_METRIC_PREFIX = "stream_";
 
   private final MeterRegistry registry;
+  private final LongAdder totalNumberOfEventsSent = new LongAdder();
+  private final LongAdder totalNumberOfErrorsSeen = new LongAdder();
+  private final AtomicInteger lastEventWasSentValue = new AtomicInteger(1);
+  private final Map<String, TableMetrics> tableMetrics = new ConcurrentHashMap<>();
+  private final Map<String, AtomicLong> connectorGauges = new ConcurrentHashMap<>();
 
-  private Boolean lastEventWasSent;
-  private String lastEventSent;
-  private long totalNumberOfEventsSent = 0L;
-  private String lastErrorSeen;
-  private long totalNumberOfErrorsSeen = 0L;
+  private volatile Boolean lastEventWasSent;
+  private volatile String lastEventSent;
+  private volatile String lastErrorSeen;
+  private volatile StackGresStreamRestoreStatus restoreStatus;
 
   @Inject
   public Metrics(MeterRegistry registry) {
     this.registry = registry;
+    Gauge.builder(STREAM_METRIC_PREFIX + "last_event_was_sent",
+        lastEventWasSentValue, AtomicInteger::get)
+        .register(registry);
+    Gauge.builder(STREAM_METRIC_PREFIX + "total_number_of_events_sent",
+        totalNumberOfEventsSent, LongAdder::sum)
+        .register(registry);
+    Gauge.builder(STREAM_METRIC_PREFIX + "total_number_of_errors_seen",
+        totalNumberOfErrorsSeen, LongAdder::sum)
+        .register(registry);
   }
 
   public Boolean isLastEventWasSent() {
@@ -37,7 +63,7 @@ public class Metrics {
   }
 
   public void setLastEventWasSent(Boolean lastEventWasSent) {
-    registry.gauge(STREAM_METRIC_PREFIX + "last_event_was_sent", lastEventWasSent == null || lastEventWasSent ? 1 : 0);
+    lastEventWasSentValue.set(lastEventWasSent == null || lastEventWasSent ? 1 : 0);
     this.lastEventWasSent = lastEventWasSent;
   }
 
@@ -50,12 +76,52 @@ public class Metrics {
   }
 
   public long getTotalNumberOfEventsSent() {
-    return totalNumberOfEventsSent;
+    return totalNumberOfEventsSent.sum();
   }
 
   public void incrementTotalNumberOfEventsSent(int size) {
-    totalNumberOfEventsSent = totalNumberOfEventsSent + size;
-    registry.gauge(STREAM_METRIC_PREFIX + "total_number_of_events_sent", totalNumberOfEventsSent);
+    totalNumberOfEventsSent.add(size);
+  }
+
+  /**
+   * Increment the number of events sent for each table and record the throughput (in events per
+   * second) and the sink latency of each table measured over the time it took to send the batch.
+   */
+  public void incrementTableEventsSent(Map<String, Long> eventsSentByTable, long elapsedNanos) {
+    final double elapsedSeconds = Math.max(elapsedNanos, 1L) / 1_000_000_000d;
+    eventsSentByTable.forEach((table, eventsSent) -> getTableMetrics(table)
+        .record(eventsSent, elapsedSeconds, elapsedNanos));
+  }
+
+  private TableMetrics getTableMetrics(String table) {
+    TableMetrics metrics = tableMetrics.get(table);
+    if (metrics == null) {
+      metrics = tableMetrics.computeIfAbsent(table, this::registerTableMetrics);
+    }
+    return metrics;
+  }
+
+  private TableMetrics registerTableMetrics(String table) {
+    final Tags tags = Tags.of("table", table);
+    final AtomicLong eventsPerSecond = new AtomicLong();
+    Gauge.builder(STREAM_METRIC_PREFIX + "table_events_per_second",
+        eventsPerSecond, AtomicLong::get)
+        .tags(tags)
+        .register(registry);
+    return new TableMetrics(
+        eventsPerSecond,
+        Counter.builder(STREAM_METRIC_PREFIX + "table_events_sent")
+            .tags(tags)
+            .register(registry),
+        DistributionSummary.builder(STREAM_METRIC_PREFIX + "table_throughput")
+            .baseUnit("events_per_second")
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(registry),
+        Timer.builder(STREAM_METRIC_PREFIX + "table_sink_latency")
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(registry));
   }
 
   public String getLastErrorSeen() {
@@ -67,23 +133,74 @@ public class Metrics {
   }
 
   public long getTotalNumberOfErrorsSeen() {
-    return totalNumberOfErrorsSeen;
+    return totalNumberOfErrorsSeen.sum();
   }
 
   public void incrementTotalNumberOfErrorsSeen() {
-    totalNumberOfErrorsSeen = totalNumberOfErrorsSeen + 1;
-    registry.gauge(STREAM_METRIC_PREFIX + "total_number_of_errors_seen", totalNumberOfErrorsSeen);
-  }
-
-  public void gauge(String attributeName, Number attributeValueNumber) {
-    String attributeNameNormalized = Pattern.compile(".")
-        .matcher(attributeName)
-        .results()
-        .map(result -> Tuple.tuple(result.group(), result.group().toLowerCase(Locale.US)))
-        .map(t -> t.v1.equals(t.v2) ? t.v1 : "_" + t.v2)
-        .collect(Collectors.joining())
-        .replaceAll("^_", "");
-    registry.gauge(STREAM_METRIC_PREFIX + attributeNameNormalized, attributeValueNumber);
+    totalNumberOfErrorsSeen.increment();
+  }
+
+  public StackGresStreamRestoreStatus getRestoreStatus() {
+    return restoreStatus;
+  }
+
+  public void setRestoreStatus(StackGresStreamRestoreStatus restoreStatus) {
+    this.restoreStatus = restoreStatus;
+  }
+
+  /**
+   * Register (only the first time) and return the value holder of the gauge for a Debezium
+   * connector attribute in the specified context (snapshot or streaming). The metric name is
+   * the attribute name in snake case prefixed by {@code stream_}.
+   */
+  public AtomicLong connectorGauge(String context, String attributeName) {
+    return connectorGauges.computeIfAbsent(context + "." + attributeName, key -> {
+      final AtomicLong value = new AtomicLong();
+      Gauge.builder(STREAM_METRIC_PREFIX + toSnakeCase(attributeName), value, AtomicLong::get)
+          .tags(Tags.of("context", context))
+          .register(registry);
+      return value;
+    });
+  }
+
+  private static String toSnakeCase(String attributeName) {
+    StringBuilder name = new StringBuilder(attributeName.length() + 8);
+    for (int index = 0; index < attributeName.length(); index++) {
+      char character = attributeName.charAt(index);
+      if (Character.isUpperCase(character)) {
+        if (index > 0) {
+          name.append('_');
+        }
+        name.append(Character.toLowerCase(character));
+      } else {
+        name.append(character);
+      }
+    }
+    return name.toString();
+  }
+
+  private static final class TableMetrics {
+
+    private final AtomicLong eventsPerSecond;
+    private final Counter eventsSentCounter;
+    private final DistributionSummary throughput;
+    private final Timer sinkLatency;
+
+    private TableMetrics(AtomicLong eventsPerSecond, Counter eventsSentCounter,
+        DistributionSummary throughput, Timer sinkLatency) {
+      this.eventsPerSecond = eventsPerSecond;
+      this.eventsSentCounter = eventsSentCounter;
+      this.throughput = throughput;
+      this.sinkLatency = sinkLatency;
+    }
+
+    private void record(long events, double elapsedSeconds, long elapsedNanos) {
+      final double eventsPerSecondInBatch = events / elapsedSeconds;
+      eventsSentCounter.increment(events);
+      eventsPerSecond.set(Math.round(eventsPerSecondInBatch));
+      throughput.record(eventsPerSecondInBatch);
+      sinkLatency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
   }
 
 }
@@ -0,0 +1,341 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.offset;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only log of offsets stored in segment files of a directory.
+ *
+ * <p>Each record is prefixed by its length and its CRC32C checksum and contains either the
+ * offsets updated by a group of appends or, at the beginning of each segment, a snapshot of all
+ * the offsets. Appends that arrive while a group is being written are written together in the
+ * next group with a single {@code fsync} (group commit). When a segment grows beyond the maximum
+ * size a new segment is started with a snapshot and the previous segments are deleted.
+ *
+ * <p>When the log is opened the records of each segment are read until the end of the segment or
+ * until a record is incomplete or its checksum does not match (a write torn by a crash), in which
+ * case the segment is truncated at the last valid record.
+ */
+public class OffsetSegmentLog implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OffsetSegmentLog.class);
+
+  private static final Pattern SEGMENT_PATTERN = Pattern.compile("^offsets-([0-9]{20})\\.log$");
+  private static final int RECORD_HEADER_SIZE = Integer.BYTES * 2;
+  private static final byte DELTA_RECORD = 0;
+  private static final byte SNAPSHOT_RECORD = 1;
+
+  private final Path directory;
+  private final long maxSegmentSize;
+  private final Map<ByteBuffer, ByteBuffer> offsets = new HashMap<>();
+  private final List<PendingAppend> pendingAppends = new ArrayList<>();
+  private boolean writing = false;
+
+  private FileChannel segment;
+  private long segmentSequence;
+  private long segmentSize;
+  private long segmentSnapshotSize;
+
+  public OffsetSegmentLog(Path directory, long maxSegmentSize) {
+    this.directory = directory;
+    this.maxSegmentSize = maxSegmentSize;
+  }
+
+  /**
+   * Read the segments, truncating any torn record, and return the recovered offsets.
+   */
+  public synchronized Map<ByteBuffer, ByteBuffer> open() throws IOException {
+    Files.createDirectories(directory);
+    final List<Path> segments = listSegments();
+    for (Path segmentPath : segments) {
+      readSegment(segmentPath);
+    }
+    if (segments.isEmpty()) {
+      segmentSequence = 0;
+      segment = openSegment(segmentSequence);
+      segmentSize = 0;
+      segmentSnapshotSize = 0;
+      syncDirectory();
+    } else {
+      Path lastSegment = segments.get(segments.size() - 1);
+      segmentSequence = sequence(lastSegment).orElseThrow();
+      segment = openSegment(segmentSequence);
+      segmentSize = segment.size();
+      segmentSnapshotSize = 0;
+    }
+    return new HashMap<>(offsets);
+  }
+
+  /**
+   * Append the offsets. The returned future completes once the offsets have been written and
+   * synced to disk together with the offsets of any other append of the same group.
+   */
+  public CompletableFuture<Void> append(Map<ByteBuffer, ByteBuffer> values) {
+    final PendingAppend pendingAppend = new PendingAppend(
+        new LinkedHashMap<>(values), new CompletableFuture<>());
+    synchronized (pendingAppends) {
+      pendingAppends.add(pendingAppend);
+      if (writing) {
+        return pendingAppend.future();
+      }
+      writing = true;
+    }
+    writeGroups();
+    return pendingAppend.future();
+  }
+
+  private void writeGroups() {
+    while (true) {
+      final List<PendingAppend> group;
+      synchronized (pendingAppends) {
+        if (pendingAppends.isEmpty()) {
+          writing = false;
+          return;
+        }
+        group = new ArrayList<>(pendingAppends);
+        pendingAppends.clear();
+      }
+      try {
+        final Map<ByteBuffer, ByteBuffer> groupValues = new LinkedHashMap<>();
+        group.forEach(pendingAppend -> groupValues.putAll(pendingAppend.values()));
+        writeGroup(groupValues);
+        group.forEach(pendingAppend -> pendingAppend.future().complete(null));
+      } catch (IOException | RuntimeException ex) {
+        group.forEach(pendingAppend -> pendingAppend.future().completeExceptionally(ex));
+      }
+    }
+  }
+
+  private synchronized void writeGroup(Map<ByteBuffer, ByteBuffer> values) throws IOException {
+    if (segment == null) {
+      throw new IOException("Offset segment log " + directory + " is not open");
+    }
+    if (segmentSize >= Math.max(maxSegmentSize, segmentSnapshotSize * 2)) {
+      rollSegment();
+    }
+    final ByteBuffer record = encodeRecord(DELTA_RECORD, values);
+    final int recordSize = record.remaining();
+    writeFully(segment, record);
+    segment.force(false);
+    segmentSize += recordSize;
+    offsets.putAll(values);
+  }
+
+  private void rollSegment() throws IOException {
+    final long previousSequence = segmentSequence;
+    final FileChannel nextSegment = openSegment(previousSequence + 1);
+    try {
+      final ByteBuffer snapshot = encodeRecord(SNAPSHOT_RECORD, offsets);
+      segmentSnapshotSize = snapshot.remaining();
+      writeFully(nextSegment, snapshot);
+      nextSegment.force(false);
+      syncDirectory();
+    } catch (IOException | RuntimeException ex) {
+      nextSegment.close();
+      throw ex;
+    }
+    segment.close();
+    segment = nextSegment;
+    segmentSequence = previousSequence + 1;
+    segmentSize = segmentSnapshotSize;
+    for (Path segmentPath : listSegments()) {
+      if (sequence(segmentPath).orElseThrow() < segmentSequence) {
+        Files.deleteIfExists(segmentPath);
+      }
+    }
+    syncDirectory();
+  }
+
+  private void readSegment(Path segmentPath) throws IOException {
+    try (FileChannel channel = FileChannel.open(segmentPath,
+        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      final long size = channel.size();
+      long position = 0;
+      final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+      while (position < size) {
+        final Optional<ByteBuffer> payload = readRecord(channel, position, size, header);
+        if (payload.isEmpty()) {
+          LOGGER.warn("Truncating offset segment {} at position {} of {} bytes after a torn"
+              + " or corrupted record", segmentPath, position, size);
+          channel.truncate(position);
+          channel.force(false);
+          break;
+        }
+        applyRecord(payload.get());
+        position += RECORD_HEADER_SIZE + payload.get().capacity();
+      }
+    }
+  }
+
+  private Optional<ByteBuffer> readRecord(FileChannel channel, long position, long size,
+      ByteBuffer header) throws IOException {
+    if (size - position < RECORD_HEADER_SIZE) {
+      return Optional.empty();
+    }
+    header.clear();
+    readFully(channel, header, position);
+    header.flip();
+    final int length = header.getInt();
+    final int checksum = header.getInt();
+    if (length <= 0 || length > size - position - RECORD_HEADER_SIZE) {
+      return Optional.empty();
+    }
+    final ByteBuffer payload = ByteBuffer.allocate(length);
+    readFully(channel, payload, position + RECORD_HEADER_SIZE);
+    payload.flip();
+    if (checksum(payload) != checksum) {
+      return Optional.empty();
+    }
+    return Optional.of(payload);
+  }
+
+  private void applyRecord(ByteBuffer payload) {
+    final byte type = payload.get();
+    if (type == SNAPSHOT_RECORD) {
+      offsets.clear();
+    }
+    final int count = payload.getInt();
+    for (int index = 0; index < count; index++) {
+      final ByteBuffer key = readBytes(payload);
+      final ByteBuffer value = readBytes(payload);
+      offsets.put(key, value);
+    }
+  }
+
+  static ByteBuffer encodeRecord(byte type, Map<ByteBuffer, ByteBuffer> values) {
+    int payloadSize = Byte.BYTES + Integer.BYTES;
+    for (Map.Entry<ByteBuffer, ByteBuffer> entry : values.entrySet()) {
+      payloadSize += Integer.BYTES * 2 + size(entry.getKey()) + size(entry.getValue());
+    }
+    final ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payloadSize);
+    record.position(RECORD_HEADER_SIZE);
+    record.put(type);
+    record.putInt(values.size());
+    for (Map.Entry<ByteBuffer, ByteBuffer> entry : values.entrySet()) {
+      writeBytes(record, entry.getKey());
+      writeBytes(record, entry.getValue());
+    }
+    final ByteBuffer payload = record.duplicate();
+    payload.position(RECORD_HEADER_SIZE);
+    payload.limit(record.position());
+    record.putInt(0, payloadSize);
+    record.putInt(Integer.BYTES, checksum(payload));
+    record.flip();
+    return record;
+  }
+
+  private static int size(ByteBuffer bytes) {
+    return bytes == null ? 0 : bytes.remaining();
+  }
+
+  private static void writeBytes(ByteBuffer record, ByteBuffer bytes) {
+    if (bytes == null) {
+      record.putInt(-1);
+      return;
+    }
+    record.putInt(bytes.remaining());
+    record.put(bytes.duplicate());
+  }
+
+  private static ByteBuffer readBytes(ByteBuffer payload) {
+    final int length = payload.getInt();
+    if (length < 0) {
+      return null;
+    }
+    final byte[] bytes = new byte[length];
+    payload.get(bytes);
+    return ByteBuffer.wrap(bytes);
+  }
+
+  private static int checksum(ByteBuffer payload) {
+    final CRC32C crc = new CRC32C();
+    crc.update(payload.duplicate());
+    return (int) crc.getValue();
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    long currentPosition = position;
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, currentPosition);
+      if (read < 0) {
+        throw new IOException("Unexpected end of offset segment");
+      }
+      currentPosition += read;
+    }
+  }
+
+  private FileChannel openSegment(long sequence) throws IOException {
+    return FileChannel.open(directory.resolve("offsets-%020d.log".formatted(sequence)),
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+  }
+
+  private List<Path> listSegments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(file -> sequence(file).isPresent())
+          .sorted((left, right) -> Long.compare(
+              sequence(left).orElseThrow(), sequence(right).orElseThrow()))
+          .toList();
+    }
+  }
+
+  private static Optional<Long> sequence(Path segmentPath) {
+    final Matcher matcher = SEGMENT_PATTERN.matcher(segmentPath.getFileName().toString());
+    if (!matcher.matches()) {
+      return Optional.empty();
+    }
+    return Optional.of(Long.parseLong(matcher.group(1)));
+  }
+
+  private void syncDirectory() {
+    try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      directoryChannel.force(true);
+    } catch (IOException ex) {
+      LOGGER.debug("Can not sync offset segments directory {}", directory, ex);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (segment != null) {
+      segment.close();
+      segment = null;
+    }
+  }
+
+  private record PendingAppend(
+      Map<ByteBuffer, ByteBuffer> values, CompletableFuture<Void> future) {
+  }
+
+}
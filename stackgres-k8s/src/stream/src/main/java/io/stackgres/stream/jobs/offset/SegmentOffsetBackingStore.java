@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.offset;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.runtime.WorkerConfig;
+import org.apache.kafka.connect.storage.MemoryOffsetBackingStore;
+import org.apache.kafka.connect.util.Callback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Offset backing store that keeps the offsets in memory and appends each update to an
+ * {@link OffsetSegmentLog} instead of rewriting the whole offsets file on each flush.
+ */
+public class SegmentOffsetBackingStore extends MemoryOffsetBackingStore {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SegmentOffsetBackingStore.class);
+
+  private WorkerConfig config;
+  private OffsetSegmentLog segmentLog;
+
+  @Override
+  public void configure(WorkerConfig config) {
+    super.configure(config);
+    this.config = config;
+    final String directory = StreamOffsetStorage.getConfig(
+        config, StreamOffsetStorage.SEGMENT_DIRECTORY_CONFIG)
+        .orElseThrow(() -> new ConnectException(
+            StreamOffsetStorage.SEGMENT_DIRECTORY_CONFIG + " is not configured"));
+    this.segmentLog = new OffsetSegmentLog(
+        Paths.get(directory),
+        StreamOffsetStorage.getConfig(config, StreamOffsetStorage.SEGMENT_MAX_BYTES_CONFIG)
+            .map(Long::valueOf)
+            .orElse(StreamOffsetStorage.DEFAULT_SEGMENT_MAX_BYTES));
+  }
+
+  @Override
+  public synchronized void start() {
+    super.start();
+    try {
+      Map<ByteBuffer, ByteBuffer> offsets = segmentLog.open();
+      if (offsets.isEmpty()) {
+        offsets = StreamOffsetStorage.readLegacyOffsets(config);
+        if (!offsets.isEmpty()) {
+          LOGGER.info("Importing {} offsets from legacy offsets file", offsets.size());
+          segmentLog.append(offsets).join();
+        }
+      }
+      data.putAll(offsets);
+    } catch (IOException ex) {
+      throw new ConnectException("Can not read offsets", ex);
+    } catch (CompletionException ex) {
+      throw new ConnectException("Can not import legacy offsets", ex.getCause());
+    }
+  }
+
+  @Override
+  public synchronized void stop() {
+    super.stop();
+    try {
+      segmentLog.close();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  @Override
+  public Future<Void> set(Map<ByteBuffer, ByteBuffer> values, Callback<Void> callback) {
+    return segmentLog.append(values)
+        .thenRunAsync(() -> data.putAll(values), executor)
+        .whenComplete((ignored, ex) -> {
+          if (callback != null) {
+            callback.onCompletion(
+                ex instanceof CompletionException ? ex.getCause() : ex, null);
+          }
+        });
+  }
+
+  @Override
+  public Set<Map<String, Object>> connectorPartitions(String connectorName) {
+    return Set.of();
+  }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.offset;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+
+import io.stackgres.common.StreamPath;
+import io.stackgres.common.crd.sgstream.StackGresStream;
+import io.stackgres.common.crd.sgstream.StreamTargetType;
+import org.apache.kafka.connect.json.JsonConverter;
+import org.apache.kafka.connect.json.JsonConverterConfig;
+import org.apache.kafka.connect.runtime.WorkerConfig;
+import org.apache.kafka.connect.util.SafeObjectInputStream;
+
+/**
+ * Configuration of the Debezium offset storage of a stream.
+ *
+ * <p>When the target is an SGCluster the offsets are written by the target in the same
+ * transaction as the batch of events they refer to (see {@link TransactionalOffsetBackingStore}).
+ * For any other target the offsets are kept in memory and appended to checksummed segments (see
+ * {@link SegmentOffsetBackingStore}).
+ */
+public final class StreamOffsetStorage {
+
+  public static final String OFFSET_STORAGE_CONFIG = "offset.storage";
+  public static final String LEGACY_FILE_CONFIG = "offset.storage.file.filename";
+  public static final String SEGMENT_DIRECTORY_CONFIG = "offset.storage.segment.directory";
+  public static final String SEGMENT_MAX_BYTES_CONFIG = "offset.storage.segment.max.bytes";
+
+  static final long DEFAULT_SEGMENT_MAX_BYTES = 1024 * 1024;
+
+  private static final JsonConverter KEY_CONVERTER = converter(true);
+  private static final JsonConverter VALUE_CONVERTER = converter(false);
+
+  private StreamOffsetStorage() {
+  }
+
+  public static boolean isTransactional(StackGresStream stream) {
+    return Objects.equals(
+        stream.getSpec().getTarget().getType(), StreamTargetType.SGCLUSTER.toString());
+  }
+
+  public static void configure(StackGresStream stream, Properties props) {
+    if (isTransactional(stream)) {
+      props.setProperty(OFFSET_STORAGE_CONFIG, TransactionalOffsetBackingStore.class.getName());
+    } else {
+      props.setProperty(OFFSET_STORAGE_CONFIG, SegmentOffsetBackingStore.class.getName());
+      props.setProperty(SEGMENT_DIRECTORY_CONFIG,
+          StreamPath.DEBEZIUM_OFFSET_SEGMENTS_PATH.path());
+    }
+    props.setProperty(LEGACY_FILE_CONFIG, StreamPath.DEBEZIUM_OFFSET_STORAGE_PATH.path());
+  }
+
+  /**
+   * Serialize the offset of a source partition in the same format used by the Debezium engine
+   * when it flushes offsets to the offset backing store.
+   */
+  public static Map.Entry<ByteBuffer, ByteBuffer> serialize(String engineName,
+      Map<String, ?> sourcePartition, Map<String, ?> sourceOffset) {
+    return Map.entry(
+        ByteBuffer.wrap(KEY_CONVERTER.fromConnectData(
+            engineName, null, List.of(engineName, sourcePartition))),
+        ByteBuffer.wrap(VALUE_CONVERTER.fromConnectData(
+            engineName, null, sourceOffset)));
+  }
+
+  private static JsonConverter converter(boolean isKey) {
+    final JsonConverter converter = new JsonConverter();
+    converter.configure(Map.of(
+        JsonConverterConfig.SCHEMAS_ENABLE_CONFIG, Boolean.FALSE.toString()), isKey);
+    return converter;
+  }
+
+  static Optional<String> getConfig(WorkerConfig config, String name) {
+    return Optional.ofNullable(config.originalsStrings().get(name))
+        .filter(value -> !value.isBlank());
+  }
+
+  /**
+   * Read the offsets stored by the {@code FileOffsetBackingStore} used by previous versions so
+   * that a stream can be resumed after an upgrade.
+   */
+  static Map<ByteBuffer, ByteBuffer> readLegacyOffsets(WorkerConfig config) throws IOException {
+    final Optional<Path> legacyFile = getConfig(config, LEGACY_FILE_CONFIG)
+        .map(Paths::get)
+        .filter(Files::exists);
+    if (legacyFile.isEmpty()) {
+      return Map.of();
+    }
+    try (InputStream inputStream = Files.newInputStream(legacyFile.get());
+        SafeObjectInputStream objectInputStream = new SafeObjectInputStream(inputStream)) {
+      final Map<?, ?> raw = (Map<?, ?>) objectInputStream.readObject();
+      final Map<ByteBuffer, ByteBuffer> offsets = new HashMap<>();
+      for (Map.Entry<?, ?> entry : raw.entrySet()) {
+        offsets.put(
+            entry.getKey() != null ? ByteBuffer.wrap((byte[]) entry.getKey()) : null,
+            entry.getValue() != null ? ByteBuffer.wrap((byte[]) entry.getValue()) : null);
+      }
+      return offsets;
+    } catch (ClassNotFoundException | ClassCastException ex) {
+      throw new IOException("Can not read legacy offsets file " + legacyFile.get(), ex);
+    }
+  }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.offset;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.runtime.WorkerConfig;
+import org.apache.kafka.connect.storage.MemoryOffsetBackingStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Offset backing store for targets that write the offset of each batch in the same transaction
+ * as the batch itself. The offsets flushed by the Debezium engine are only kept in memory (they
+ * are used to acknowledge the source) while the durable offsets are read from the target when the
+ * store is started, using the reader registered by the target.
+ */
+public class TransactionalOffsetBackingStore extends MemoryOffsetBackingStore {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(
+      TransactionalOffsetBackingStore.class);
+
+  private static volatile Callable<Map<ByteBuffer, ByteBuffer>> offsetsReader;
+
+  private WorkerConfig config;
+
+  public static void setOffsetsReader(Callable<Map<ByteBuffer, ByteBuffer>> offsetsReader) {
+    TransactionalOffsetBackingStore.offsetsReader = offsetsReader;
+  }
+
+  @Override
+  public void configure(WorkerConfig config) {
+    super.configure(config);
+    this.config = config;
+  }
+
+  @Override
+  public synchronized void start() {
+    super.start();
+    final Callable<Map<ByteBuffer, ByteBuffer>> reader = offsetsReader;
+    if (reader == null) {
+      throw new ConnectException("Offsets reader was not registered by the target");
+    }
+    try {
+      Map<ByteBuffer, ByteBuffer> offsets = reader.call();
+      if (offsets.isEmpty()) {
+        offsets = StreamOffsetStorage.readLegacyOffsets(config);
+        if (!offsets.isEmpty()) {
+          LOGGER.info("Resuming from {} offsets of legacy offsets file", offsets.size());
+        }
+      }
+      data.putAll(offsets);
+    } catch (Exception ex) {
+      throw new ConnectException("Can not read offsets", ex);
+    }
+  }
+
+  @Override
+  public Set<Map<String, Object>> connectorPartitions(String connectorName) {
+    return Set.of();
+  }
+
+}
@@ -30,10 +30,12 @@ import io.stackgres.common.resource.CustomResourceScheduler;
 import io.stackgres.common.resource.ResourceFinder;
 import io.stackgres.operatorframework.resource.ResourceUtil;
 import io.stackgres.stream.jobs.DebeziumUtil;
+import io.stackgres.stream.jobs.Metrics;
 import io.stackgres.stream.jobs.SourceEventHandler;
 import io.stackgres.stream.jobs.StreamDebeziumSignalActionProvider;
 import io.stackgres.stream.jobs.StreamExecutorService;
 import io.stackgres.stream.jobs.TargetEventConsumer;
+import io.stackgres.stream.jobs.offset.StreamOffsetStorage;
 import io.stackgres.stream.jobs.target.migration.StreamMigrationTableNamingStrategy;
 import jakarta.inject.Inject;
 import org.jooq.lambda.Unchecked;
@@ -56,6 +58,9 @@ public abstract class AbstractPostgresDebeziumEngineHandler implements SourceEve
   @Inject
   StreamExecutorService executorService;
 
+  @Inject
+  Metrics metrics;
+
   final ExecutorService executor = Executors.newSingleThreadExecutor(
       r -> new Thread(r, "DebeziumEngine"));
 
@@ -98,9 +103,7 @@ public abstract class AbstractPostgresDebeziumEngineHandler implements SourceEve
     final Properties props = new Properties();
     props.setProperty("name", name(stream));
     props.setProperty("topic.prefix", name(stream));
-    props.setProperty("offset.storage",
-        "org.apache.kafka.connect.storage.FileOffsetBackingStore");
-    props.setProperty("offset.storage.file.filename", StreamPath.DEBEZIUM_OFFSET_STORAGE_PATH.path());
+    StreamOffsetStorage.configure(stream, props);
     props.setProperty("database.history",
         "io.debezium.relational.history.FileDatabaseHistory");
     props.setProperty("database.history.file.filename", StreamPath.DEBEZIUM_DATABASE_HISTORY_PATH.path());
@@ -141,7 +144,7 @@ public abstract class AbstractPostgresDebeziumEngineHandler implements SourceEve
     }
     try {
       TombstoneDebeziumSignalAction tombstoneSignalAction = new TombstoneDebeziumSignalAction(
-          stream, streamScheduler, secretFinder, engine, streamCompleted);
+          stream, streamScheduler, secretFinder, metrics, engine, streamCompleted);
       StreamDebeziumSignalActionProvider.registerSignalAction(
           StreamDebeziumSignalActionProvider.TOMBSTONE_SIGNAL_TYPE, tombstoneSignalAction);
       executor.execute(engine);
@@ -36,8 +36,9 @@ import io.stackgres.common.patroni.StackGresPasswordKeys;
 import io.stackgres.common.resource.CustomResourceScheduler;
 import io.stackgres.common.resource.ResourceFinder;
 import io.stackgres.operatorframework.resource.ResourceUtil;
+import io.stackgres.stream.jobs.Metrics;
 import io.stackgres.stream.jobs.StreamDebeziumSignalActionProvider;
-import io.stackgres.stream.jobs.target.migration.postgres.SnapshotHelperQueries;
+import io.stackgres.stream.jobs.target.migration.ConstraintsAndIndexesRestorer;
 import org.hibernate.SessionFactory;
 import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
@@ -52,6 +53,7 @@ public class TombstoneDebeziumSignalAction implements SignalAction<Partition> {
   final StackGresStream stream;
   final CustomResourceScheduler<StackGresStream> streamScheduler;
   final ResourceFinder<Secret> secretFinder;
+  final Metrics metrics;
   final DebeziumEngine<?> engine;
   final CompletableFuture<Void> streamCompleted;
   volatile CompletableFuture<Void> tombstoneCompleted;
@@ -60,11 +62,13 @@ public class TombstoneDebeziumSignalAction implements SignalAction<Partition> {
       StackGresStream stream,
       CustomResourceScheduler<StackGresStream> streamScheduler,
       ResourceFinder<Secret> secretFinder,
+      Metrics metrics,
       DebeziumEngine<?> engine,
       CompletableFuture<Void> streamCompleted) {
     this.stream = stream;
     this.streamScheduler = streamScheduler;
     this.secretFinder = secretFinder;
+    this.metrics = metrics;
     this.engine = engine;
     this.streamCompleted = streamCompleted;
   }
@@ -124,6 +128,9 @@ public class TombstoneDebeziumSignalAction implements SignalAction<Partition> {
     );
     Condition.setTransitionTimes(conditions);
     currentStream.getStatus().setConditions(conditions);
+    if (metrics.getRestoreStatus() != null) {
+      currentStream.getStatus().setRestore(metrics.getRestoreStatus());
+    }
   }
 
   private void restoreTargetConstraints() {
@@ -171,24 +178,13 @@ public class TombstoneDebeziumSignalAction implements SignalAction<Partition> {
       LOGGER.info("Restoring constraints and indexes for target database on tombstone signal");
       try (
           SessionFactory sessionFactory = config.getHibernateConfiguration().buildSessionFactory();
-          StatelessSession session = sessionFactory.openStatelessSession();
           ) {
-        Transaction transaction = session.beginTransaction();
-        try {
-          session.createNativeQuery(
-              SnapshotHelperQueries.RESTORE_INDEXES.readSql(),
-              Object.class).executeUpdate();
-          session.createNativeQuery(
-              SnapshotHelperQueries.RESTORE_CONSTRAINTS.readSql(),
-              Object.class).executeUpdate();
-          transaction.commit();
-        } catch (RuntimeException ex) {
-          transaction.rollback();
-          throw ex;
-        } catch (Exception ex) {
-          transaction.rollback();
-          throw new RuntimeException(ex);
-        }
+        ConstraintsAndIndexesRestorer restorer = new ConstraintsAndIndexesRestorer(
+            sgCluster.map(StackGresStreamTargetSgCluster::getRestoreParallelism).orElse(1),
+            metrics::setRestoreStatus);
+        restorer.restoreIndexes(sessionFactory);
+        restorer.restoreConstraints(sessionFactory);
+        restorer.dropMigrationSchema(sessionFactory);
       }
     }
   }
@@ -5,20 +5,30 @@
 
 package io.stackgres.stream.jobs.target.cloudevent;
 
+import java.io.IOException;
 import java.net.URI;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import io.debezium.engine.ChangeEvent;
 import io.debezium.engine.DebeziumEngine.RecordCommitter;
 import io.debezium.engine.format.CloudEvents;
@@ -38,6 +48,7 @@ import jakarta.ws.rs.client.ClientBuilder;
 import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.client.Invocation;
 import jakarta.ws.rs.core.Response;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
 import org.jooq.lambda.Unchecked;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,12 +68,14 @@ public class StreamCloudEventHandler implements TargetEventHandler {
           CLOUDEVENT_TYPE_HEADER,
           CLOUDEVENT_SOURCE_HEADER);
 
+  static final String CLOUDEVENT_BATCH_CONTENT_TYPE = "application/cloudevents-batch+json";
+
   private static final Logger LOGGER = LoggerFactory.getLogger(StreamCloudEventHandler.class);
 
   @Inject
   Metrics metrics;
 
-  private final JsonMapper jsonMapper = new JsonMapper();
+  private final JsonFactory jsonFactory = new JsonFactory();
 
   @Override
   public CompletableFuture<Void> sendEvents(StackGresStream stream, SourceEventHandler sourceEventHandler) {
@@ -95,6 +108,18 @@ public class StreamCloudEventHandler implements TargetEventHandler {
         * 1000;
     var retryLimit = http
         .map(StackGresStreamTargetCloudEventHttp::getRetryLimit);
+    int batchSize = http
+        .map(StackGresStreamTargetCloudEventHttp::getBatchSize)
+        .orElse(1);
+    int maxInFlightRequests = http
+        .map(StackGresStreamTargetCloudEventHttp::getMaxInFlightRequests)
+        .orElse(1);
+    if (brokerClientBuilder instanceof ResteasyClientBuilder resteasyClientBuilder) {
+      // By default the client only keeps a single connection
+      resteasyClientBuilder
+          .connectionPoolSize(maxInFlightRequests)
+          .maxPooledPerRoute(maxInFlightRequests);
+    }
     Map<String, String> headers = http
         .map(StackGresStreamTargetCloudEventHttp::getHeaders)
         .stream()
@@ -107,16 +132,58 @@ public class StreamCloudEventHandler implements TargetEventHandler {
       handler = new RetryWithLimitHandler(
           baseUri, brokerClientBuilder.build(),
           retryBackoffDelay, retryLimit.get().intValue(),
-          headers);
+          headers, batchSize, maxInFlightRequests);
     } else {
       handler = new RetryHandler(
           baseUri, brokerClientBuilder.build(),
           retryBackoffDelay,
-          headers);
+          headers, batchSize, maxInFlightRequests);
     }
     return handler;
   }
 
+  /**
+   * Read the CloudEvent attributes that are sent as headers in binary content mode without
+   * parsing the whole event. Only top level fields are considered and parsing stops as soon as
+   * all the attributes are found.
+   */
+  CloudEventAttributes readCloudEventAttributes(String cloudEvent) throws IOException {
+    String id = null;
+    String specversion = null;
+    String type = null;
+    String source = null;
+    try (JsonParser parser = jsonFactory.createParser(cloudEvent)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IllegalArgumentException("CloudEvent is not a JSON object");
+      }
+      while ((id == null || specversion == null || type == null || source == null)
+          && parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String fieldName = parser.currentName();
+        final JsonToken token = parser.nextToken();
+        if (token.isStructStart()) {
+          parser.skipChildren();
+          continue;
+        }
+        switch (fieldName) {
+          case "id" -> id = parser.getValueAsString();
+          case "specversion" -> specversion = parser.getValueAsString();
+          case "type" -> type = parser.getValueAsString();
+          case "source" -> source = parser.getValueAsString();
+          default -> {
+          }
+        }
+      }
+    }
+    if (id == null || specversion == null || type == null || source == null) {
+      throw new IllegalArgumentException("CloudEvent is missing any of the required attributes"
+          + " id, specversion, type or source");
+    }
+    return new CloudEventAttributes(id, specversion, type, source);
+  }
+
+  record CloudEventAttributes(String id, String specversion, String type, String source) {
+  }
+
   protected class RetryWithLimitHandler extends RetryHandler {
 
     private final int retryLimit;
@@ -126,75 +193,157 @@ public class StreamCloudEventHandler implements TargetEventHandler {
         Client brokerClient,
         int retryBackoffDelay,
         int retryLimit,
-        Map<String, String> headers) {
-      super(baseUri, brokerClient, retryBackoffDelay, headers);
+        Map<String, String> headers,
+        int batchSize,
+        int maxInFlightRequests) {
+      super(baseUri, brokerClient, retryBackoffDelay, headers, batchSize, maxInFlightRequests);
       this.retryLimit = retryLimit;
     }
 
     @Override
-    protected void consumeEvent(ChangeEvent<String, String> changeEvent) {
-      RetryUtil.retryWithLimit(() -> sendCloudEvent(changeEvent), ex -> true,
+    protected void retry(Runnable send) {
+      RetryUtil.retryWithLimit(send, ex -> true,
           retryLimit, retryBackoffDelay, retryBackoffDelay, retryBackoffDelay);
     }
-    
+
   }
 
+  /**
+   * Send the change events to the endpoint retrying on errors.
+   *
+   * <p>Events are sent in units of {@code batchSize} events, each unit in its own request (using
+   * the binary content mode for a single event and the batched content mode otherwise). Up to
+   * {@code maxInFlightRequests} units are sent concurrently, but events are marked as processed
+   * strictly in order, so the committed offset never moves past an event that was not
+   * delivered.</p>
+   */
   protected class RetryHandler implements TargetEventConsumer<String> {
     final URI baseUri;
     final Client brokerClient;
     final int retryBackoffDelay;
     final Map<String, String> headers;
+    final int batchSize;
+    final int maxInFlightRequests;
+    final ExecutorService executorService;
 
     RetryHandler(
         URI baseUri,
         Client brokerClient,
         int retryBackoffDelay,
-        Map<String, String> headers) {
+        Map<String, String> headers,
+        int batchSize,
+        int maxInFlightRequests) {
       this.baseUri = baseUri;
       this.brokerClient = brokerClient;
       this.retryBackoffDelay = retryBackoffDelay;
       this.headers = headers;
+      this.batchSize = Math.max(1, batchSize);
+      this.maxInFlightRequests = Math.max(1, maxInFlightRequests);
+      if (this.maxInFlightRequests > 1) {
+        final AtomicInteger threadIndex = new AtomicInteger(0);
+        this.executorService = Executors.newFixedThreadPool(this.maxInFlightRequests, r -> {
+          Thread thread = new Thread(r,
+              getClass().getSimpleName() + "-" + threadIndex.getAndIncrement());
+          thread.setDaemon(true);
+          return thread;
+        });
+      } else {
+        this.executorService = null;
+      }
     }
 
     @Override
     public void consumeEvents(
         List<ChangeEvent<String, String>> changeEvents,
         RecordCommitter<ChangeEvent<String, String>> committer) {
-      for (var changeEvent : changeEvents) {
-        consumeEvent(changeEvent);
-        Unchecked.runnable(() -> committer.markProcessed(changeEvent)).run();
+      final List<List<ChangeEvent<String, String>>> units = new ArrayList<>(
+          (changeEvents.size() + batchSize - 1) / batchSize);
+      for (int index = 0; index < changeEvents.size(); index += batchSize) {
+        units.add(changeEvents.subList(index, Math.min(index + batchSize, changeEvents.size())));
+      }
+      if (executorService == null) {
+        for (var unit : units) {
+          consumeUnit(unit);
+          markProcessed(unit, committer);
+        }
+      } else {
+        final Deque<Map.Entry<List<ChangeEvent<String, String>>, Future<?>>> inFlight =
+            new ArrayDeque<>(maxInFlightRequests);
+        try {
+          for (var unit : units) {
+            if (inFlight.size() >= maxInFlightRequests) {
+              awaitAndMarkProcessed(inFlight.poll(), committer);
+            }
+            inFlight.add(Map.entry(unit, executorService.submit(() -> consumeUnit(unit))));
+          }
+          while (!inFlight.isEmpty()) {
+            awaitAndMarkProcessed(inFlight.poll(), committer);
+          }
+        } finally {
+          inFlight.forEach(entry -> entry.getValue().cancel(true));
+        }
       }
       Unchecked.runnable(() -> committer.markBatchFinished()).run();
     }
 
+    private void awaitAndMarkProcessed(
+        Map.Entry<List<ChangeEvent<String, String>>, Future<?>> entry,
+        RecordCommitter<ChangeEvent<String, String>> committer) {
+      try {
+        entry.getValue().get();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(ex);
+      } catch (ExecutionException ex) {
+        throw ex.getCause() instanceof RuntimeException rex
+            ? rex : new RuntimeException(ex.getCause());
+      }
+      markProcessed(entry.getKey(), committer);
+    }
+
+    private void markProcessed(
+        List<ChangeEvent<String, String>> unit,
+        RecordCommitter<ChangeEvent<String, String>> committer) {
+      for (var changeEvent : unit) {
+        Unchecked.runnable(() -> committer.markProcessed(changeEvent)).run();
+      }
+    }
+
+    private void consumeUnit(List<ChangeEvent<String, String>> unit) {
+      if (unit.size() == 1) {
+        consumeEvent(unit.get(0));
+      } else {
+        retry(() -> sendCloudEvents(unit));
+      }
+    }
+
     protected void consumeEvent(ChangeEvent<String, String> changeEvent) {
-      RetryUtil.retry(() -> sendCloudEvent(changeEvent), ex -> true,
+      retry(() -> sendCloudEvent(changeEvent));
+    }
+
+    protected void retry(Runnable send) {
+      RetryUtil.retry(send, ex -> true,
           retryBackoffDelay * 10 / 100, retryBackoffDelay, retryBackoffDelay * 10 / 100);
     }
 
     void sendCloudEvent(ChangeEvent<String, String> changeEvent) {
       try {
-        JsonNode recordNode = jsonMapper.readTree(changeEvent.value());
+        CloudEventAttributes attributes = readCloudEventAttributes(changeEvent.value());
         LOGGER.trace("ChangeEvent: id:{} specversion:{} type:{}, source:{}",
-            recordNode.get("id").asText(), recordNode.get("specversion").asText(),
-            recordNode.get("type").asText(), recordNode.get("source").asText());
+            attributes.id(), attributes.specversion(), attributes.type(), attributes.source());
         Invocation.Builder invocationBuilder = brokerClient.target(baseUri).request();
         headers.forEach(invocationBuilder::header);
         invocationBuilder
-            .header(CLOUDEVENT_ID_HEADER, recordNode.get("id").asText())
-            .header(CLOUDEVENT_SPECVERSION_HEADER, recordNode.get("specversion").asText())
-            .header(CLOUDEVENT_TYPE_HEADER, recordNode.get("type").asText())
-            .header(CLOUDEVENT_SOURCE_HEADER, recordNode.get("source").asText());
-        Response response = invocationBuilder
-            .post(Entity.json(changeEvent.value()));
-        if (response.getStatus() != 200) {
-          metrics.incrementTotalNumberOfErrorsSeen();
-          metrics.setLastEventWasSent(false);
-          throw new RuntimeException("Error " + response.getStatus()
-              + (response.isClosed() || !response.hasEntity() ? "" : ": " + response.readEntity(String.class)));
+            .header(CLOUDEVENT_ID_HEADER, attributes.id())
+            .header(CLOUDEVENT_SPECVERSION_HEADER, attributes.specversion())
+            .header(CLOUDEVENT_TYPE_HEADER, attributes.type())
+            .header(CLOUDEVENT_SOURCE_HEADER, attributes.source());
+        try (Response response = invocationBuilder
+            .post(Entity.json(changeEvent.value()))) {
+          checkResponse(response);
         }
         metrics.incrementTotalNumberOfEventsSent(1);
-        metrics.setLastEventSent(recordNode.get("id").asText());
+        metrics.setLastEventSent(attributes.id());
         metrics.setLastEventWasSent(true);
       } catch (RuntimeException ex) {
         metrics.incrementTotalNumberOfErrorsSeen();
@@ -206,7 +355,61 @@ public class StreamCloudEventHandler implements TargetEventHandler {
         throw new RuntimeException(ex);
       }
     }
+
+    void sendCloudEvents(List<ChangeEvent<String, String>> changeEvents) {
+      try {
+        // Events are already serialized in structured content mode so the batch is just a JSON
+        // array of them
+        StringBuilder batch = new StringBuilder(
+            changeEvents.stream().mapToInt(changeEvent -> changeEvent.value().length() + 1).sum()
+            + 1);
+        batch.append('[');
+        for (var changeEvent : changeEvents) {
+          if (batch.length() > 1) {
+            batch.append(',');
+          }
+          batch.append(changeEvent.value());
+        }
+        batch.append(']');
+        LOGGER.trace("Sending batch of {} ChangeEvents", changeEvents.size());
+        Invocation.Builder invocationBuilder = brokerClient.target(baseUri).request();
+        headers.forEach(invocationBuilder::header);
+        try (Response response = invocationBuilder
+            .post(Entity.entity(batch.toString(), CLOUDEVENT_BATCH_CONTENT_TYPE))) {
+          checkResponse(response);
+        }
+        metrics.incrementTotalNumberOfEventsSent(changeEvents.size());
+        metrics.setLastEventSent(
+            readCloudEventAttributes(changeEvents.get(changeEvents.size() - 1).value()).id());
+        metrics.setLastEventWasSent(true);
+      } catch (RuntimeException ex) {
+        metrics.incrementTotalNumberOfErrorsSeen();
+        metrics.setLastEventWasSent(false);
+        throw ex;
+      } catch (Exception ex) {
+        metrics.incrementTotalNumberOfErrorsSeen();
+        metrics.setLastEventWasSent(false);
+        throw new RuntimeException(ex);
+      }
+    }
+
+    private void checkResponse(Response response) {
+      if (response.getStatus() != 200) {
+        throw new RuntimeException("Error " + response.getStatus()
+            + (response.isClosed() || !response.hasEntity() ? "" : ": " + response.readEntity(String.class)));
+      }
+    }
+
+    @Override
+    public void close() throws Exception {
+      try {
+        if (executorService != null) {
+          executorService.shutdownNow();
+        }
+      } finally {
+        brokerClient.close();
+      }
+    }
   }
 
 }
-
@@ -0,0 +1,325 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.target.migration;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import io.stackgres.common.crd.sgstream.StackGresStreamRestoreStatus;
+import io.stackgres.stream.jobs.target.migration.postgres.SnapshotHelperQueries;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Restore the indexes and constraints of the target database stored in the
+ * {@code __migration__} schema before the snapshot using a pool of connections.
+ *
+ * <p>Definitions of the biggest tables are restored first so that the longest builds do not end
+ * up running alone at the end. Each definition is removed from the {@code __migration__} schema
+ * in the same transaction that restores it, so a failed definition can be retried (with a new
+ * connection) and a restarted stream only restores the remaining ones. Foreign keys are restored
+ * once all the other constraints (that may create the unique indexes they depend on) are
+ * restored.</p>
+ */
+public class ConstraintsAndIndexesRestorer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConstraintsAndIndexesRestorer.class);
+
+  private static final int MAX_RETRIES = 3;
+
+  private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+  record Definition(String statement, long tableBytes, boolean foreignKey) {
+  }
+
+  interface DefinitionExecutor extends AutoCloseable {
+    void execute(Definition definition) throws Exception;
+
+    @Override
+    void close();
+  }
+
+  private final int parallelism;
+  private final int maxRetries;
+  private final Duration retryDelay;
+  private final Consumer<StackGresStreamRestoreStatus> progressListener;
+  private final StackGresStreamRestoreStatus status = new StackGresStreamRestoreStatus();
+
+  /**
+   * Create the restorer.
+   *
+   * @param parallelism the number of connections used to restore definitions in parallel
+   * @param progressListener receive a copy of the status each time the progress changes
+   */
+  public ConstraintsAndIndexesRestorer(int parallelism,
+      Consumer<StackGresStreamRestoreStatus> progressListener) {
+    this(parallelism, MAX_RETRIES, RETRY_DELAY, progressListener);
+  }
+
+  ConstraintsAndIndexesRestorer(int parallelism, int maxRetries, Duration retryDelay,
+      Consumer<StackGresStreamRestoreStatus> progressListener) {
+    this.parallelism = Math.max(1, parallelism);
+    this.maxRetries = maxRetries;
+    this.retryDelay = retryDelay;
+    this.progressListener = progressListener;
+    this.status.setTotalIndexes(0);
+    this.status.setRestoredIndexes(0);
+    this.status.setTotalConstraints(0);
+    this.status.setRestoredConstraints(0);
+    this.status.setTotalBytes(0L);
+    this.status.setRestoredBytes(0L);
+    this.status.setRetries(0);
+  }
+
+  public void restoreIndexes(SessionFactory sessionFactory) {
+    final List<Definition> indexes = listDefinitions(
+        sessionFactory, SnapshotHelperQueries.LIST_INDEXES_TO_RESTORE);
+    LOGGER.info("Restore {} indexes for target database using {} connections",
+        indexes.size(), parallelism);
+    restore(indexes, false, () -> new SessionDefinitionExecutor(sessionFactory, "indexes"));
+  }
+
+  public void restoreConstraints(SessionFactory sessionFactory) {
+    final List<Definition> constraints = listDefinitions(
+        sessionFactory, SnapshotHelperQueries.LIST_CONSTRAINTS_TO_RESTORE);
+    LOGGER.info("Restore {} constraints for target database using {} connections",
+        constraints.size(), parallelism);
+    restore(constraints, true, () -> new SessionDefinitionExecutor(sessionFactory, "constraints"));
+  }
+
+  /**
+   * Drop the {@code __migration__} schema once all the indexes and constraints are restored.
+   */
+  public void dropMigrationSchema(SessionFactory sessionFactory) {
+    try (StatelessSession session = sessionFactory.openStatelessSession()) {
+      session.doWork(connection -> {
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("DROP SCHEMA IF EXISTS __migration__ CASCADE");
+        }
+      });
+    }
+  }
+
+  private List<Definition> listDefinitions(
+      SessionFactory sessionFactory, SnapshotHelperQueries query) {
+    try (StatelessSession session = sessionFactory.openStatelessSession()) {
+      return session.doReturningWork(connection -> {
+        final List<Definition> definitions = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+            ResultSet resultSet = statement.executeQuery(query.readSql())) {
+          while (resultSet.next()) {
+            definitions.add(new Definition(
+                resultSet.getString(1), resultSet.getLong(2), resultSet.getBoolean(3)));
+          }
+        }
+        return definitions;
+      });
+    }
+  }
+
+  void restore(List<Definition> definitions, boolean constraints,
+      Supplier<DefinitionExecutor> executorFactory) {
+    synchronized (status) {
+      if (constraints) {
+        status.setTotalConstraints(status.getTotalConstraints() + definitions.size());
+      } else {
+        status.setTotalIndexes(status.getTotalIndexes() + definitions.size());
+      }
+      status.setTotalBytes(status.getTotalBytes() + definitions.stream()
+          .mapToLong(Definition::tableBytes)
+          .sum());
+      notifyProgress();
+    }
+    final List<Definition> sortedDefinitions = definitions.stream()
+        .sorted(Comparator.comparingLong(Definition::tableBytes).reversed())
+        .toList();
+    restorePhase(sortedDefinitions.stream()
+        .filter(definition -> !definition.foreignKey())
+        .toList(), constraints, executorFactory);
+    restorePhase(sortedDefinitions.stream()
+        .filter(Definition::foreignKey)
+        .toList(), constraints, executorFactory);
+  }
+
+  private void restorePhase(List<Definition> definitions, boolean constraints,
+      Supplier<DefinitionExecutor> executorFactory) {
+    if (definitions.isEmpty()) {
+      return;
+    }
+    final Queue<Definition> pending = new ConcurrentLinkedQueue<>(definitions);
+    final List<Exception> failures = new CopyOnWriteArrayList<>();
+    final int workers = Math.min(parallelism, definitions.size());
+    final AtomicInteger threadIndex = new AtomicInteger(0);
+    final ExecutorService executorService = Executors.newFixedThreadPool(workers, r -> {
+      Thread thread = new Thread(r,
+          getClass().getSimpleName() + "-" + threadIndex.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      final List<Future<?>> futures = new ArrayList<>(workers);
+      for (int index = 0; index < workers; index++) {
+        futures.add(executorService.submit(
+            () -> restoreWorker(pending, failures, constraints, executorFactory)));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(ex);
+    } catch (ExecutionException ex) {
+      throw new RuntimeException(ex.getCause());
+    } finally {
+      executorService.shutdownNow();
+    }
+    if (!failures.isEmpty()) {
+      RuntimeException exception = new RuntimeException("Failed to restore " + failures.size()
+          + (constraints ? " constraints" : " indexes") + " for target database",
+          failures.get(0));
+      failures.stream().skip(1).forEach(exception::addSuppressed);
+      throw exception;
+    }
+  }
+
+  private void restoreWorker(Queue<Definition> pending, List<Exception> failures,
+      boolean constraints, Supplier<DefinitionExecutor> executorFactory) {
+    DefinitionExecutor executor = null;
+    try {
+      Definition definition;
+      while ((definition = pending.poll()) != null) {
+        for (int attempt = 0; ; attempt++) {
+          try {
+            if (executor == null) {
+              executor = executorFactory.get();
+            }
+            executor.execute(definition);
+            onRestored(definition, constraints);
+            break;
+          } catch (Exception ex) {
+            if (executor != null) {
+              executor.close();
+              executor = null;
+            }
+            if (attempt >= maxRetries) {
+              LOGGER.error("Failed to restore {}", definition.statement(), ex);
+              failures.add(ex);
+              break;
+            }
+            LOGGER.warn("Error while restoring {}, retrying", definition.statement(), ex);
+            onRetry();
+            Thread.sleep(retryDelay.toMillis() * (attempt + 1));
+          }
+        }
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      failures.add(ex);
+    } finally {
+      if (executor != null) {
+        executor.close();
+      }
+    }
+  }
+
+  private void onRestored(Definition definition, boolean constraints) {
+    synchronized (status) {
+      if (constraints) {
+        status.setRestoredConstraints(status.getRestoredConstraints() + 1);
+      } else {
+        status.setRestoredIndexes(status.getRestoredIndexes() + 1);
+      }
+      status.setRestoredBytes(status.getRestoredBytes() + definition.tableBytes());
+      notifyProgress();
+    }
+  }
+
+  private void onRetry() {
+    synchronized (status) {
+      status.setRetries(status.getRetries() + 1);
+      notifyProgress();
+    }
+  }
+
+  private void notifyProgress() {
+    StackGresStreamRestoreStatus progress = new StackGresStreamRestoreStatus();
+    progress.setTotalIndexes(status.getTotalIndexes());
+    progress.setRestoredIndexes(status.getRestoredIndexes());
+    progress.setTotalConstraints(status.getTotalConstraints());
+    progress.setRestoredConstraints(status.getRestoredConstraints());
+    progress.setTotalBytes(status.getTotalBytes());
+    progress.setRestoredBytes(status.getRestoredBytes());
+    progress.setRetries(status.getRetries());
+    progressListener.accept(progress);
+  }
+
+  static class SessionDefinitionExecutor implements DefinitionExecutor {
+    private final StatelessSession session;
+    private final String table;
+
+    SessionDefinitionExecutor(SessionFactory sessionFactory, String table) {
+      this.session = sessionFactory.openStatelessSession();
+      this.table = table;
+    }
+
+    @Override
+    public void execute(Definition definition) {
+      Transaction transaction = session.beginTransaction();
+      try {
+        session.doWork(connection -> {
+          try (Statement statement = connection.createStatement()) {
+            statement.execute(definition.statement());
+          }
+          try (PreparedStatement statement = connection.prepareStatement(
+              "DELETE FROM __migration__." + table + " WHERE statement = ?")) {
+            statement.setString(1, definition.statement());
+            statement.executeUpdate();
+          }
+        });
+        transaction.commit();
+      } catch (RuntimeException ex) {
+        try {
+          if (transaction.isActive()) {
+            transaction.rollback();
+          }
+        } catch (RuntimeException rex) {
+          ex.addSuppressed(rex);
+        }
+        throw ex;
+      }
+    }
+
+    @Override
+    public void close() {
+      try {
+        if (session.isOpen()) {
+          session.close();
+        }
+      } catch (RuntimeException ex) {
+        LOGGER.debug("Error while closing session", ex);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.target.migration;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Wraps a JDBC connection so that a sequence of transactions started and committed by code that
+ * manages its own transactions (like the Debezium JDBC sink) can be grouped in a single
+ * transaction that is committed only by {@link #commit()}.
+ *
+ * <p>Between {@link #begin()} and {@link #commit()} (or {@link #rollback()}) calls to
+ * {@code commit()} and {@code setAutoCommit()} on the wrapped connection are ignored while a call
+ * to {@code rollback()} is performed and makes the group fail on {@link #commit()}. Outside of a
+ * group the wrapped connection behaves as the original connection.
+ */
+class DeferredCommitConnection implements InvocationHandler, AutoCloseable {
+
+  private final Connection connection;
+  private final Connection proxy;
+  private boolean deferred = false;
+  private boolean rolledBack = false;
+
+  DeferredCommitConnection(Connection connection) {
+    this.connection = connection;
+    this.proxy = (Connection) Proxy.newProxyInstance(
+        DeferredCommitConnection.class.getClassLoader(),
+        new Class<?>[] { Connection.class },
+        this);
+  }
+
+  /**
+   * The connection to be used by code that manages its own transactions.
+   */
+  Connection getConnection() {
+    return proxy;
+  }
+
+  /**
+   * The original connection.
+   */
+  Connection getTargetConnection() {
+    return connection;
+  }
+
+  synchronized void begin() throws SQLException {
+    if (deferred) {
+      throw new IllegalStateException("Transaction already started");
+    }
+    connection.setAutoCommit(false);
+    deferred = true;
+    rolledBack = false;
+  }
+
+  synchronized void commit() throws SQLException {
+    if (!deferred) {
+      throw new IllegalStateException("Transaction not started");
+    }
+    deferred = false;
+    try {
+      if (rolledBack) {
+        connection.rollback();
+        throw new SQLException("Transaction was rolled back");
+      }
+      connection.commit();
+    } finally {
+      connection.setAutoCommit(true);
+    }
+  }
+
+  synchronized void rollback() throws SQLException {
+    if (!deferred) {
+      return;
+    }
+    deferred = false;
+    try {
+      connection.rollback();
+    } finally {
+      connection.setAutoCommit(true);
+    }
+  }
+
+  @Override
+  public synchronized Object invoke(Object proxy, Method method, Object[] args)
+      throws Throwable {
+    if (deferred) {
+      switch (method.getName()) {
+        case "commit":
+          if (method.getParameterCount() == 0) {
+            return null;
+          }
+          break;
+        case "setAutoCommit":
+          return null;
+        case "getAutoCommit":
+          return false;
+        case "rollback":
+          if (method.getParameterCount() == 0) {
+            rolledBack = true;
+            connection.rollback();
+            return null;
+          }
+          break;
+        case "close":
+          return null;
+        default:
+          break;
+      }
+    }
+    try {
+      return method.invoke(connection, args);
+    } catch (InvocationTargetException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  @Override
+  public void close() throws SQLException {
+    connection.close();
+  }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.target.migration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.debezium.pipeline.sink.spi.ChangeEventSink;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write a batch of records to the target using a set of {@link ChangeEventSink}s in parallel,
+ * each one with its own session. Records are partitioned by topic (that is the destination
+ * table) and, optionally, by key so that the records of the same row are always written in
+ * order by the same sink.
+ */
+public class ParallelChangeEventSink implements ChangeEventSink {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ParallelChangeEventSink.class);
+
+  private final List<? extends ChangeEventSink> sinks;
+  private final boolean partitionByKey;
+  private final ExecutorService executorService;
+
+  /**
+   * Create the parallel sink.
+   *
+   * @param sinks the sinks, each one is used by a single thread at a time
+   * @param partitionByKey when {@code true} the records of the same table are also partitioned
+   *     by key, this requires the tables to exist in the target since they could be created
+   *     concurrently otherwise
+   */
+  public ParallelChangeEventSink(List<? extends ChangeEventSink> sinks, boolean partitionByKey) {
+    if (sinks.isEmpty()) {
+      throw new IllegalArgumentException("At least one sink is required");
+    }
+    this.sinks = List.copyOf(sinks);
+    this.partitionByKey = partitionByKey;
+    final AtomicInteger threadIndex = new AtomicInteger(0);
+    this.executorService = Executors.newFixedThreadPool(sinks.size(), r -> {
+      Thread thread = new Thread(r,
+          getClass().getSimpleName() + "-" + threadIndex.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public int getParallelism() {
+    return sinks.size();
+  }
+
+  int partition(SinkRecord record) {
+    final int hash = partitionByKey
+        ? Objects.hash(record.topic(), record.key())
+        : Objects.hashCode(record.topic());
+    return Math.floorMod(hash, sinks.size());
+  }
+
+  /**
+   * Write the records waiting for all the sinks to complete. If any sink fails the first error
+   * is rethrown with the others added as suppressed.
+   */
+  @Override
+  public void execute(Collection<SinkRecord> records) {
+    final List<List<SinkRecord>> partitions = new ArrayList<>(sinks.size());
+    for (int index = 0; index < sinks.size(); index++) {
+      partitions.add(new ArrayList<>());
+    }
+    for (SinkRecord record : records) {
+      partitions.get(partition(record)).add(record);
+    }
+    final List<Future<?>> futures = new ArrayList<>(sinks.size());
+    for (int index = 0; index < sinks.size(); index++) {
+      final List<SinkRecord> partition = partitions.get(index);
+      if (partition.isEmpty()) {
+        continue;
+      }
+      final ChangeEventSink sink = sinks.get(index);
+      futures.add(executorService.submit(() -> sink.execute(partition)));
+    }
+    RuntimeException exception = null;
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        exception = addSuppressed(exception, new RuntimeException(ex));
+      } catch (ExecutionException ex) {
+        exception = addSuppressed(exception, ex.getCause() instanceof RuntimeException rex
+            ? rex : new RuntimeException(ex.getCause()));
+      }
+    }
+    if (exception != null) {
+      throw exception;
+    }
+  }
+
+  private RuntimeException addSuppressed(RuntimeException exception, RuntimeException ex) {
+    if (exception == null) {
+      return ex;
+    }
+    exception.addSuppressed(ex);
+    return exception;
+  }
+
+  @Override
+  public void close() throws Exception {
+    executorService.shutdown();
+    try {
+      if (!executorService.awaitTermination(20, TimeUnit.SECONDS)) {
+        LOGGER.warn("Timeout while waiting for parallel sinks to terminate");
+      }
+    } finally {
+      Exception exception = null;
+      for (ChangeEventSink sink : sinks) {
+        try {
+          sink.close();
+        } catch (Exception ex) {
+          if (exception == null) {
+            exception = ex;
+          } else {
+            exception.addSuppressed(ex);
+          }
+        }
+      }
+      if (exception != null) {
+        throw exception;
+      }
+    }
+  }
+
+}
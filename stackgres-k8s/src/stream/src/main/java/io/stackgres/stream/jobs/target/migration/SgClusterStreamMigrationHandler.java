@@ -5,7 +5,14 @@
 
 package io.stackgres.stream.jobs.target.migration;
 
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -47,6 +54,8 @@ import io.stackgres.stream.jobs.StreamDebeziumSignalActionProvider;
 import io.stackgres.stream.jobs.StreamTargetOperation;
 import io.stackgres.stream.jobs.TargetEventConsumer;
 import io.stackgres.stream.jobs.TargetEventHandler;
+import io.stackgres.stream.jobs.offset.StreamOffsetStorage;
+import io.stackgres.stream.jobs.offset.TransactionalOffsetBackingStore;
 import io.stackgres.stream.jobs.source.SgClusterDebeziumEngineHandler;
 import io.stackgres.stream.jobs.target.migration.postgres.SnapshotHelperQueries;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -108,8 +117,13 @@ public class SgClusterStreamMigrationHandler implements TargetEventHandler {
     boolean started = false;
     boolean snapshot = true;
     JdbcChangeEventSink changeEventSink;
+    ParallelChangeEventSink snapshotChangeEventSink;
+    final List<StatelessSession> snapshotSessions = new ArrayList<>();
     SessionFactory sessionFactory;
+    DeferredCommitConnection connection;
     StatelessSession session;
+    String storeOffsetSql;
+    String readOffsetsSql;
     DatabaseDialect databaseDialect;
     long counter = 0L;
     long lastLsn = 0L;
@@ -183,31 +197,65 @@ public class SgClusterStreamMigrationHandler implements TargetEventHandler {
       // Sync the code below with the code of the method
       // io.debezium.connector.jdbc.JdbcSinkConnectorTask.start(java.util.Map<String, String>)
       sessionFactory = config.getHibernateConfiguration().buildSessionFactory();
-      session = sessionFactory.openStatelessSession();
+      // The connection of the session is shared with the offset store so that the offset of
+      // each batch is committed in the same transaction as the batch itself
+      connection = new DeferredCommitConnection(Unchecked.supplier(
+          () -> DriverManager.getConnection(
+              props.getProperty("connection.url"), username, password)).get());
+      session = sessionFactory.withStatelessOptions()
+          .connection(connection.getConnection())
+          .openStatelessSession();
       databaseDialect = resolveDatabaseDialect(config, sessionFactory);
       QueryBinderResolver queryBinderResolver = new QueryBinderResolver();
       RecordWriter recordWriter = new RecordWriter(session, queryBinderResolver, config, databaseDialect);
 
       changeEventSink = new JdbcChangeEventSink(config, session, databaseDialect, recordWriter);
 
-      if (!Optional.ofNullable(stream.getSpec().getTarget()
-          .getSgCluster().getSkipDdlImport()).orElse(false)) {
+      final boolean skipDdlImport = Optional.ofNullable(stream.getSpec().getTarget()
+          .getSgCluster().getSkipDdlImport()).orElse(false);
+      final int snapshotParallelism = sgCluster
+          .map(StackGresStreamTargetSgCluster::getSnapshotParallelism)
+          .orElse(1);
+      if (snapshotParallelism > 1) {
+        LOGGER.info("Snapshot will be written using {} parallel sessions", snapshotParallelism);
+        final List<JdbcChangeEventSink> snapshotChangeEventSinks = new ArrayList<>(snapshotParallelism);
+        for (int index = 0; index < snapshotParallelism; index++) {
+          StatelessSession snapshotSession = sessionFactory.openStatelessSession();
+          snapshotSessions.add(snapshotSession);
+          snapshotChangeEventSinks.add(new JdbcChangeEventSink(config, snapshotSession, databaseDialect,
+              new RecordWriter(snapshotSession, queryBinderResolver, config, databaseDialect)));
+        }
+        // When DDL import is skipped tables are created on demand and could be created
+        // concurrently by different sessions if records of the same table were partitioned by key
+        snapshotChangeEventSink = new ParallelChangeEventSink(snapshotChangeEventSinks, !skipDdlImport);
+      }
+
+      if (!skipDdlImport) {
         importDdl(props, namespace, clusterName, clusterPort, clusterDatabase);
       } else {
         LOGGER.info("Import of DDL has been skipped as required by configuration");
       }
 
       storeAndDropConstraintsAndIndexes();
+
+      executeCommand(session, SnapshotHelperQueries.CREATE_OFFSETS.readSql());
+      storeOffsetSql = SnapshotHelperQueries.STORE_OFFSET.readSql();
+      readOffsetsSql = SnapshotHelperQueries.READ_OFFSETS.readSql();
+      TransactionalOffsetBackingStore.setOffsetsReader(this::readOffsets);
     }
 
     @Override
     public void close() throws Exception {
+      closeSnapshotChangeEventSink();
       if (changeEventSink != null) {
         changeEventSink.close();
       }
       if (session != null && session.isOpen()) {
         session.close();
       }
+      if (connection != null) {
+        connection.close();
+      }
       if (sessionFactory != null && sessionFactory.isOpen()) {
         sessionFactory.close();
       }
@@ -221,8 +269,6 @@ public class SgClusterStreamMigrationHandler implements TargetEventHandler {
       return databaseDialect;
     }
 
-    
-
     @Override
     public void consumeEvents(
         List<ChangeEvent<SourceRecord, SourceRecord>> changeEvents,
@@ -238,7 +284,7 @@ public class SgClusterStreamMigrationHandler implements TargetEventHandler {
         final Iterator<ChangeEvent<SourceRecord, SourceRecord>> changeEventIterator = changeEvents.iterator();
         final List<ChangeEvent<SourceRecord, SourceRecord>> committedChangeEvents = new ArrayList<>(changeEvents.size());
         final List<SinkRecord> sinkRecords = new ArrayList<>(changeEvents.size());
-        String lastSourceOffset = null;
+        SourceRecord lastSourceRecord = null;
         while (changeEventIterator.hasNext()) {
           ChangeEvent<SourceRecord, SourceRecord> changeEvent = changeEventIterator.next();
           final SourceRecord sourceRecord = changeEvent.value();
@@ -247,26 +293,24 @@ public class SgClusterStreamMigrationHandler implements TargetEventHandler {
               .map(Object::toString)
               .map(Boolean.TRUE.toString()::equals)
               .orElse(false)) {
-            snapshot = false;
             if (!sinkRecords.isEmpty()) {
-              changeEventSink.execute(sinkRecords);
+              executeSinkRecords(sinkRecords, lastSourceRecord);
               for (var committedChangeEvent : committedChangeEvents) {
                 Unchecked.runnable(() -> committer.markProcessed(committedChangeEvent)).run();
               }
               metrics.incrementTotalNumberOfEventsSent(sinkRecords.size());
-              metrics.setLastEventSent(lastSourceOffset);
+              metrics.setLastEventSent(sourceOffset(lastSourceRecord));
               metrics.setLastEventWasSent(true);
             }
+            snapshot = false;
             sinkRecords.clear();
             committedChangeEvents.clear();
+            closeSnapshotChangeEventSink();
             restoreIndexes();
           }
-          String sourceOffset = sourceRecord.sourceOffset()
-              .entrySet()
-              .stream()
-              .map(e -> e.getKey() + "=" + e.getValue().toString())
-              .collect(Collectors.joining(" "));
-          LOGGER.trace("SourceRecord: {}", sourceOffset);
+          if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("SourceRecord: {}", sourceOffset(sourceRecord));
+          }
           long lsn = Long.parseLong(sourceRecord.sourceOffset().get("lsn").toString());
           if (lastLsn != lsn) {
             lastLsn = lsn;
@@ -287,15 +331,15 @@ public class SgClusterStreamMigrationHandler implements TargetEventHandler {
               sourceRecord.headers());
           sinkRecords.add(sinkRecord);
           committedChangeEvents.add(changeEvent);
-          lastSourceOffset = sourceOffset;
+          lastSourceRecord = sourceRecord;
         }
-        changeEventSink.execute(sinkRecords);
+        executeSinkRecords(sinkRecords, lastSourceRecord);
         for (var committedChangeEvent : committedChangeEvents) {
           Unchecked.runnable(() -> committer.markProcessed(committedChangeEvent)).run();
         }
         Unchecked.runnable(() -> committer.markBatchFinished()).run();
         metrics.incrementTotalNumberOfEventsSent(sinkRecords.size());
-        metrics.setLastEventSent(lastSourceOffset);
+        metrics.setLastEventSent(sourceOffset(lastSourceRecord));
         metrics.setLastEventWasSent(true);
       } catch (RuntimeException ex) {
         metrics.incrementTotalNumberOfErrorsSeen();
@@ -308,6 +352,98 @@ public class SgClusterStreamMigrationHandler implements TargetEventHandler {
       }
     }
 
+    private String sourceOffset(SourceRecord sourceRecord) {
+      return sourceRecord.sourceOffset()
+          .entrySet()
+          .stream()
+          .map(e -> e.getKey() + "=" + e.getValue().toString())
+          .collect(Collectors.joining(" "));
+    }
+
+    private void executeSinkRecords(List<SinkRecord> sinkRecords, SourceRecord lastSourceRecord)
+        throws SQLException {
+      if (sinkRecords.isEmpty()) {
+        return;
+      }
+      final long start = System.nanoTime();
+      if (snapshot && snapshotChangeEventSink != null) {
+        // Parallel sessions can not share the transaction, the offset is stored after the batch
+        // has been written so that it will be written again after a failure (at-least-once)
+        snapshotChangeEventSink.execute(sinkRecords);
+        connection.begin();
+        try {
+          storeOffset(lastSourceRecord);
+          connection.commit();
+        } catch (SQLException | RuntimeException ex) {
+          connection.rollback();
+          throw ex;
+        }
+      } else {
+        connection.begin();
+        try {
+          changeEventSink.execute(sinkRecords);
+          storeOffset(lastSourceRecord);
+          connection.commit();
+        } catch (SQLException | RuntimeException ex) {
+          connection.rollback();
+          throw ex;
+        }
+      }
+      final long elapsed = System.nanoTime() - start;
+      metrics.incrementTableEventsSent(sinkRecords.stream()
+          .collect(Collectors.groupingBy(SinkRecord::topic, Collectors.counting())),
+          elapsed);
+    }
+
+    private void storeOffset(SourceRecord sourceRecord) throws SQLException {
+      final Map.Entry<ByteBuffer, ByteBuffer> offset = StreamOffsetStorage.serialize(
+          SgClusterDebeziumEngineHandler.name(stream),
+          sourceRecord.sourcePartition(),
+          sourceRecord.sourceOffset());
+      try (PreparedStatement statement = connection.getTargetConnection()
+          .prepareStatement(storeOffsetSql)) {
+        statement.setString(1, SgClusterDebeziumEngineHandler.name(stream));
+        statement.setBytes(2, offset.getKey().array());
+        statement.setBytes(3, offset.getValue().array());
+        statement.executeUpdate();
+      }
+    }
+
+    private Map<ByteBuffer, ByteBuffer> readOffsets() throws SQLException {
+      final Map<ByteBuffer, ByteBuffer> offsets = new HashMap<>();
+      final Connection targetConnection = connection.getTargetConnection();
+      try (PreparedStatement statement = targetConnection.prepareStatement(readOffsetsSql)) {
+        statement.setString(1, SgClusterDebeziumEngineHandler.name(stream));
+        try (ResultSet resultSet = statement.executeQuery()) {
+          while (resultSet.next()) {
+            offsets.put(
+                ByteBuffer.wrap(resultSet.getBytes(1)),
+                ByteBuffer.wrap(resultSet.getBytes(2)));
+          }
+        }
+      }
+      return offsets;
+    }
+
+    private void closeSnapshotChangeEventSink() throws Exception {
+      if (snapshotChangeEventSink == null) {
+        return;
+      }
+      LOGGER.info("Snapshot completed, closing {} parallel sessions",
+          snapshotChangeEventSink.getParallelism());
+      try {
+        snapshotChangeEventSink.close();
+      } finally {
+        snapshotChangeEventSink = null;
+        for (StatelessSession snapshotSession : snapshotSessions) {
+          if (snapshotSession.isOpen()) {
+            snapshotSession.close();
+          }
+        }
+        snapshotSessions.clear();
+      }
+    }
+
     @Override
     public boolean arrived(SignalPayload<Partition> signalPayload) throws InterruptedException {
       if (StreamDebeziumSignalActionProvider.COMMAND_SIGNAL_TYPE.equals(signalPayload.type)) {
@@ -432,8 +568,11 @@ public class SgClusterStreamMigrationHandler implements TargetEventHandler {
     }
 
     private void restoreIndexesSgCluster() {
-      LOGGER.info("Restore indexes for target database");
-      executeCommand(session, SnapshotHelperQueries.RESTORE_INDEXES.readSql());
+      new ConstraintsAndIndexesRestorer(
+          Optional.ofNullable(stream.getSpec().getTarget().getSgCluster().getRestoreParallelism())
+          .orElse(1),
+          metrics::setRestoreStatus)
+          .restoreIndexes(sessionFactory);
     }
   }
 
@@ -17,8 +17,13 @@ public enum SnapshotHelperQueries {
   DROP_INDEXES,
   RESTORE_CONSTRAINTS,
   RESTORE_INDEXES,
+  LIST_CONSTRAINTS_TO_RESTORE,
+  LIST_INDEXES_TO_RESTORE,
   AUTOVACUUM_DISABLE,
-  AUTOVACUUM_RESET;
+  AUTOVACUUM_RESET,
+  CREATE_OFFSETS,
+  STORE_OFFSET,
+  READ_OFFSETS;
 
   public String readSql() {
     String queryType = name().toLowerCase(Locale.ENGLISH);
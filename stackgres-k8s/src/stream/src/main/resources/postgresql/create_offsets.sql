@@ -0,0 +1,6 @@
+CREATE SCHEMA IF NOT EXISTS __migration__;
+CREATE TABLE IF NOT EXISTS __migration__.offsets (
+  name text NOT NULL,
+  key bytea NOT NULL,
+  value bytea,
+  PRIMARY KEY (name, key));
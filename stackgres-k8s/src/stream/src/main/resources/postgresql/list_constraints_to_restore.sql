@@ -0,0 +1,4 @@
+SELECT statement, COALESCE(pg_catalog.pg_total_relation_size(table_oid), 0) AS table_size,
+    COALESCE(constraint_type, 'f') = 'f' AS is_foreign_key
+  FROM __migration__.constraints
+  ORDER BY table_size DESC, statement;
@@ -0,0 +1 @@
+SELECT key, value FROM __migration__.offsets WHERE name = ?;
@@ -10,7 +10,8 @@ CREATE TABLE IF NOT EXISTS __migration__.indexes AS
       ELSE '' END
       || COALESCE(E'\n' || 'COMMENT ON INDEX ' || pg_catalog.quote_ident(pg_namespace.nspname) || '.'
       || pg_catalog.quote_ident(pg_class_index.relname) || ' IS ' || quote_literal(pg_description.description)
-      || ';', '') AS statement
+      || ';', '') AS statement,
+      pg_class_table.oid AS table_oid
     FROM pg_catalog.pg_index
       INNER JOIN pg_catalog.pg_class pg_class_table ON pg_class_table.oid = pg_index.indrelid
       INNER JOIN pg_catalog.pg_class pg_class_index ON pg_class_index.oid = pg_index.indexrelid
@@ -22,3 +23,4 @@ CREATE TABLE IF NOT EXISTS __migration__.indexes AS
       AND NOT EXISTS (SELECT * FROM pg_catalog.pg_constraint WHERE pg_constraint.conindid = pg_index.indexrelid)
       AND pg_namespace.nspname NOT IN ('pg_catalog', 'pg_toast', 'information_schema')
     ORDER BY pg_namespace.nspname DESC, pg_class_index.relname DESC;
+ALTER TABLE __migration__.indexes ADD COLUMN IF NOT EXISTS table_oid oid;
@@ -0,0 +1,2 @@
+INSERT INTO __migration__.offsets (name, key, value) VALUES (?, ?, ?)
+  ON CONFLICT (name, key) DO UPDATE SET value = EXCLUDED.value;
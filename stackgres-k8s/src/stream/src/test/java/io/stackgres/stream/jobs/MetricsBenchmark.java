@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Increment the stream metrics from multiple threads, as the Debezium engine and the sink threads
+ * do, and compare the {@code LongAdder} based {@link Metrics} with a synchronized implementation
+ * that registers the gauges on every update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class MetricsBenchmark {
+
+  private static final Map<String, Long> EVENTS_SENT_BY_TABLE = Map.of(
+      "public.customers", 8L, "public.orders", 32L, "public.order_lines", 88L);
+
+  Metrics metrics;
+
+  SynchronizedMetrics synchronizedMetrics;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    metrics = new Metrics(new SimpleMeterRegistry());
+    synchronizedMetrics = new SynchronizedMetrics(new SimpleMeterRegistry());
+  }
+
+  @Benchmark
+  public void incrementEventsSent() {
+    metrics.incrementTotalNumberOfEventsSent(1);
+    metrics.setLastEventWasSent(true);
+  }
+
+  @Benchmark
+  public void incrementEventsSentSynchronized() {
+    synchronizedMetrics.incrementTotalNumberOfEventsSent(1);
+    synchronizedMetrics.setLastEventWasSent(true);
+  }
+
+  @Benchmark
+  public void incrementTableEventsSent() {
+    metrics.incrementTableEventsSent(EVENTS_SENT_BY_TABLE, 1_000_000L);
+  }
+
+  @Benchmark
+  public void incrementTableEventsSentSynchronized() {
+    synchronizedMetrics.incrementTableEventsSent(EVENTS_SENT_BY_TABLE);
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(MetricsBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+  /**
+   * Baseline that updates plain fields under a lock and looks up (or registers) the meters on
+   * every update.
+   */
+  static class SynchronizedMetrics {
+
+    private final MeterRegistry registry;
+    private Boolean lastEventWasSent;
+    private long totalNumberOfEventsSent = 0L;
+
+    SynchronizedMetrics(MeterRegistry registry) {
+      this.registry = registry;
+    }
+
+    synchronized void setLastEventWasSent(Boolean lastEventWasSent) {
+      registry.gauge("stream_last_event_was_sent",
+          lastEventWasSent == null || lastEventWasSent ? 1 : 0);
+      this.lastEventWasSent = lastEventWasSent;
+    }
+
+    synchronized void incrementTotalNumberOfEventsSent(int size) {
+      totalNumberOfEventsSent = totalNumberOfEventsSent + size;
+      registry.gauge("stream_total_number_of_events_sent", totalNumberOfEventsSent);
+    }
+
+    synchronized void incrementTableEventsSent(Map<String, Long> eventsSentByTable) {
+      eventsSentByTable.forEach((table, eventsSent) -> registry
+          .counter("stream_table_events_sent", "table", table)
+          .increment(eventsSent));
+    }
+
+    synchronized Boolean isLastEventWasSent() {
+      return lastEventWasSent;
+    }
+  }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class MetricsTest {
+
+  @Test
+  void concurrentIncrements_shouldNotLoseUpdates() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Metrics metrics = new Metrics(registry);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      for (int thread = 0; thread < 8; thread++) {
+        executor.execute(() -> {
+          for (int increment = 0; increment < 1000; increment++) {
+            metrics.incrementTotalNumberOfEventsSent(2);
+            metrics.incrementTotalNumberOfErrorsSeen();
+          }
+        });
+      }
+    } finally {
+      executor.shutdown();
+      Assertions.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+    }
+    Assertions.assertEquals(16000, metrics.getTotalNumberOfEventsSent());
+    Assertions.assertEquals(8000, metrics.getTotalNumberOfErrorsSeen());
+    Assertions.assertEquals(16000,
+        registry.get("stream_total_number_of_events_sent").gauge().value());
+    Assertions.assertEquals(8000,
+        registry.get("stream_total_number_of_errors_seen").gauge().value());
+  }
+
+  @Test
+  void tableEventsSent_shouldRegisterMetersOnceAndRecordThroughputAndLatency() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Metrics metrics = new Metrics(registry);
+    metrics.incrementTableEventsSent(Map.of("public.test", 10L), 1_000_000_000L);
+    int meters = registry.getMeters().size();
+    metrics.incrementTableEventsSent(Map.of("public.test", 30L), 1_000_000_000L);
+    Assertions.assertEquals(meters, registry.getMeters().size());
+    Assertions.assertEquals(40, registry.get("stream_table_events_sent")
+        .tag("table", "public.test").counter().count());
+    Assertions.assertEquals(30, registry.get("stream_table_events_per_second")
+        .tag("table", "public.test").gauge().value());
+    Assertions.assertEquals(2, registry.get("stream_table_throughput")
+        .tag("table", "public.test").summary().count());
+    Assertions.assertEquals(2, registry.get("stream_table_sink_latency")
+        .tag("table", "public.test").timer().count());
+  }
+
+  @Test
+  void connectorGauge_shouldBeRegisteredOnceWithSnakeCaseName() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Metrics metrics = new Metrics(registry);
+    Assertions.assertSame(
+        metrics.connectorGauge("streaming", "MilliSecondsBehindSource"),
+        metrics.connectorGauge("streaming", "MilliSecondsBehindSource"));
+    metrics.connectorGauge("streaming", "MilliSecondsBehindSource").set(42);
+    Assertions.assertEquals(42, registry.get("stream_milli_seconds_behind_source")
+        .tag("context", "streaming").gauge().value());
+  }
+
+}
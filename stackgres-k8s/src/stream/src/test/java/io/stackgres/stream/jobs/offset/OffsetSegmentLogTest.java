@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.offset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OffsetSegmentLogTest {
+
+  @TempDir
+  Path directory;
+
+  private static ByteBuffer bytes(String value) {
+    return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Map<ByteBuffer, ByteBuffer> offset(int index) {
+    return Map.of(bytes("partition-" + (index % 3)), bytes("lsn-" + index));
+  }
+
+  private List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(file -> file.getFileName().toString().endsWith(".log"))
+          .sorted(Comparator.comparing(Path::toString))
+          .toList();
+    }
+  }
+
+  private Map<ByteBuffer, ByteBuffer> reopen(long maxSegmentSize) throws IOException {
+    try (OffsetSegmentLog log = new OffsetSegmentLog(directory, maxSegmentSize)) {
+      return log.open();
+    }
+  }
+
+  @Test
+  void givenAppendedOffsets_shouldRecoverTheLatestValues() throws Exception {
+    final Map<ByteBuffer, ByteBuffer> expected = new HashMap<>();
+    try (OffsetSegmentLog log = new OffsetSegmentLog(directory, 1024 * 1024)) {
+      assertTrue(log.open().isEmpty());
+      for (int index = 0; index < 10; index++) {
+        log.append(offset(index)).join();
+        expected.putAll(offset(index));
+      }
+    }
+
+    assertEquals(expected, reopen(1024 * 1024));
+  }
+
+  @Test
+  void givenANullValue_shouldRecoverIt() throws Exception {
+    final Map<ByteBuffer, ByteBuffer> values = new HashMap<>();
+    values.put(bytes("partition"), null);
+    try (OffsetSegmentLog log = new OffsetSegmentLog(directory, 1024 * 1024)) {
+      log.open();
+      log.append(Map.of(bytes("partition"), bytes("lsn"))).join();
+      log.append(values).join();
+    }
+
+    assertEquals(values, reopen(1024 * 1024));
+  }
+
+  @Test
+  void givenATornOrCorruptedLastRecord_shouldRecoverThePreviousRecords() throws Exception {
+    final Map<ByteBuffer, ByteBuffer> committed = new HashMap<>();
+    try (OffsetSegmentLog log = new OffsetSegmentLog(directory, 1024 * 1024)) {
+      log.open();
+      for (int index = 0; index < 5; index++) {
+        log.append(offset(index)).join();
+        committed.putAll(offset(index));
+      }
+    }
+    final Path segment = segments().get(0);
+    final byte[] content = Files.readAllBytes(segment);
+    final byte[] lastRecord = OffsetSegmentLog.encodeRecord((byte) 0, offset(5)).array();
+
+    for (int position = 0; position < lastRecord.length; position++) {
+      // Crash in the middle of the write of the last record
+      writeSegment(segment, content, lastRecord, position, false);
+      assertEquals(committed, reopen(1024 * 1024), "torn at " + position);
+      assertEquals(content.length, Files.size(segment));
+
+      // Last record written but corrupted
+      writeSegment(segment, content, lastRecord, position, true);
+      assertEquals(committed, reopen(1024 * 1024), "corrupted at " + position);
+      assertEquals(content.length, Files.size(segment));
+    }
+  }
+
+  private void writeSegment(Path segment, byte[] content, byte[] lastRecord, int position,
+      boolean corrupt) throws IOException {
+    final byte[] record = lastRecord.clone();
+    if (corrupt) {
+      record[position] = (byte) ~record[position];
+    }
+    try (FileChannel channel = FileChannel.open(segment,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      channel.write(ByteBuffer.wrap(content));
+      channel.write(ByteBuffer.wrap(record, 0, corrupt ? record.length : position));
+    }
+  }
+
+  @Test
+  void givenSegmentsBiggerThanTheMaximum_shouldRollAndDeleteOldSegments() throws Exception {
+    final Map<ByteBuffer, ByteBuffer> expected = new HashMap<>();
+    try (OffsetSegmentLog log = new OffsetSegmentLog(directory, 256)) {
+      log.open();
+      for (int index = 0; index < 100; index++) {
+        log.append(offset(index)).join();
+        expected.putAll(offset(index));
+      }
+    }
+
+    assertEquals(1, segments().size());
+    assertNotEquals("offsets-00000000000000000000.log",
+        segments().get(0).getFileName().toString());
+    assertEquals(expected, reopen(256));
+  }
+
+  @Test
+  void givenACrashWhileRollingTheSegment_shouldRecoverFromThePreviousSegment()
+      throws Exception {
+    final Map<ByteBuffer, ByteBuffer> committed = new HashMap<>();
+    try (OffsetSegmentLog log = new OffsetSegmentLog(directory, 1024 * 1024)) {
+      log.open();
+      for (int index = 0; index < 5; index++) {
+        log.append(offset(index)).join();
+        committed.putAll(offset(index));
+      }
+    }
+    final byte[] snapshot = OffsetSegmentLog.encodeRecord((byte) 1, committed).array();
+    final Path nextSegment = directory.resolve("offsets-00000000000000000001.log");
+
+    for (int position = 0; position < snapshot.length; position++) {
+      Files.write(nextSegment, Arrays.copyOf(snapshot, position));
+      assertEquals(committed, reopen(1024 * 1024), "torn snapshot at " + position);
+    }
+
+    // The log must be usable after the recovery
+    try (OffsetSegmentLog log = new OffsetSegmentLog(directory, 1024 * 1024)) {
+      log.open();
+      log.append(offset(5)).join();
+      committed.putAll(offset(5));
+    }
+    assertEquals(committed, reopen(1024 * 1024));
+  }
+
+  @Test
+  void givenConcurrentAppends_shouldCompleteAllOfThemAndRecoverTheirValues()
+      throws Exception {
+    final int threads = 8;
+    final int appendsPerThread = 200;
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    final Map<ByteBuffer, ByteBuffer> expected = new HashMap<>();
+    try (OffsetSegmentLog log = new OffsetSegmentLog(directory, 4096)) {
+      log.open();
+      final List<CompletableFuture<Void>> appends = new ArrayList<>();
+      for (int thread = 0; thread < threads; thread++) {
+        final int threadIndex = thread;
+        appends.add(CompletableFuture.runAsync(() -> {
+          for (int index = 0; index < appendsPerThread; index++) {
+            log.append(Map.of(
+                bytes("partition-" + threadIndex),
+                bytes("lsn-" + index)))
+                .join();
+          }
+        }, executor));
+        expected.put(bytes("partition-" + threadIndex), bytes("lsn-" + (appendsPerThread - 1)));
+      }
+      CompletableFuture.allOf(appends.toArray(CompletableFuture[]::new)).join();
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(expected, reopen(4096));
+  }
+
+}
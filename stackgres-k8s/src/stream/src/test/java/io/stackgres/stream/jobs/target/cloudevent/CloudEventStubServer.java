@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.target.cloudevent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToLongFunction;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local HTTP endpoint that accepts CloudEvents, optionally simulating the latency of a remote
+ * broker, and records the received requests.
+ */
+class CloudEventStubServer implements AutoCloseable {
+
+  record ReceivedRequest(String contentType, String cloudEventId, String body) {
+  }
+
+  private final HttpServer server;
+  private final ExecutorService executorService = Executors.newCachedThreadPool();
+  private final ToLongFunction<ReceivedRequest> latencyNanos;
+  private final boolean recordRequests;
+  private final List<ReceivedRequest> requests = new CopyOnWriteArrayList<>();
+  private final AtomicInteger inFlightRequests = new AtomicInteger(0);
+  private final AtomicInteger maxInFlightRequests = new AtomicInteger(0);
+
+  CloudEventStubServer(ToLongFunction<ReceivedRequest> latencyNanos, boolean recordRequests)
+      throws IOException {
+    this.latencyNanos = latencyNanos;
+    this.recordRequests = recordRequests;
+    this.server = HttpServer.create(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    this.server.createContext("/", this::handle);
+    this.server.setExecutor(executorService);
+    this.server.start();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    final int inFlight = inFlightRequests.incrementAndGet();
+    maxInFlightRequests.accumulateAndGet(inFlight, Math::max);
+    try (exchange; InputStream body = exchange.getRequestBody()) {
+      ReceivedRequest request = new ReceivedRequest(
+          exchange.getRequestHeaders().getFirst("Content-Type"),
+          exchange.getRequestHeaders().getFirst("ce-id"),
+          new String(body.readAllBytes(), StandardCharsets.UTF_8));
+      LockSupport.parkNanos(latencyNanos.applyAsLong(request));
+      if (recordRequests) {
+        requests.add(request);
+      }
+      exchange.sendResponseHeaders(200, -1);
+    } finally {
+      inFlightRequests.decrementAndGet();
+    }
+  }
+
+  URI getUri() {
+    return URI.create("http://" + server.getAddress().getHostString()
+        + ":" + server.getAddress().getPort() + "/");
+  }
+
+  List<ReceivedRequest> getRequests() {
+    return requests;
+  }
+
+  int getMaxInFlightRequests() {
+    return maxInFlightRequests.get();
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    server.stop(0);
+    executorService.shutdownNow();
+    executorService.awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+}
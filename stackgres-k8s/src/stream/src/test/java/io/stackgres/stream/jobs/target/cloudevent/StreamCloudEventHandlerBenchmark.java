@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.target.cloudevent;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import io.debezium.engine.ChangeEvent;
+import io.debezium.engine.DebeziumEngine.RecordCommitter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stackgres.common.crd.sgstream.StackGresStreamTargetCloudEventHttp;
+import io.stackgres.stream.jobs.Metrics;
+import io.stackgres.stream.jobs.target.cloudevent.StreamCloudEventHandler.RetryHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Send batches of change events to a local HTTP stub server that simulates the latency of a
+ * remote broker and compare the throughput (in events per second) of sending one event per
+ * request with the batched and pipelined modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamCloudEventHandlerBenchmark {
+
+  private static final int EVENTS = 512;
+
+  @Param({"1", "16", "128"})
+  int batchSize;
+
+  @Param({"1", "4", "16"})
+  int maxInFlightRequests;
+
+  @Param({"500"})
+  long latencyMicros;
+
+  CloudEventStubServer server;
+
+  RetryHandler handler;
+
+  List<ChangeEvent<String, String>> changeEvents;
+
+  RecordCommitter<ChangeEvent<String, String>> committer;
+
+  @SuppressWarnings("unchecked")
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    final long latencyNanos = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+    server = new CloudEventStubServer(request -> latencyNanos, false);
+    StreamCloudEventHandler streamCloudEventHandler = new StreamCloudEventHandler();
+    streamCloudEventHandler.metrics = new Metrics(new SimpleMeterRegistry());
+    StackGresStreamTargetCloudEventHttp http = new StackGresStreamTargetCloudEventHttp();
+    http.setUrl(server.getUri().toString());
+    http.setBatchSize(batchSize);
+    http.setMaxInFlightRequests(maxInFlightRequests);
+    handler = streamCloudEventHandler.createHandler(server.getUri(), Optional.of(http));
+    changeEvents = IntStream.range(0, EVENTS)
+        .mapToObj(this::changeEvent)
+        .toList();
+    committer = mock(RecordCommitter.class, withSettings().stubOnly());
+  }
+
+  @SuppressWarnings("unchecked")
+  private ChangeEvent<String, String> changeEvent(int id) {
+    ChangeEvent<String, String> changeEvent = mock(ChangeEvent.class, withSettings().stubOnly());
+    when(changeEvent.value()).thenReturn("{\"id\":\"" + id + "\",\"specversion\":\"1.0\","
+        + "\"type\":\"io.debezium.connector.postgresql.DataChangeEvent\","
+        + "\"source\":\"/debezium/postgresql/benchmark\",\"datacontenttype\":\"application/json\","
+        + "\"data\":{\"schema\":{\"type\":\"struct\"},\"payload\":{\"before\":null,"
+        + "\"after\":{\"id\":" + id + ",\"payload\":\"payload-" + id + "\"},\"op\":\"c\"}}}");
+    return changeEvent;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    handler.close();
+    server.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(EVENTS)
+  public void consumeEvents() {
+    handler.consumeEvents(changeEvents, committer);
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(StreamCloudEventHandlerBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.target.cloudevent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import io.debezium.engine.ChangeEvent;
+import io.debezium.engine.DebeziumEngine.RecordCommitter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stackgres.common.crd.sgstream.StackGresStreamTargetCloudEventHttp;
+import io.stackgres.stream.jobs.Metrics;
+import io.stackgres.stream.jobs.target.cloudevent.StreamCloudEventHandler.CloudEventAttributes;
+import io.stackgres.stream.jobs.target.cloudevent.StreamCloudEventHandler.RetryHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class StreamCloudEventHandlerTest {
+
+  private StreamCloudEventHandler handler;
+  private CloudEventStubServer server;
+
+  static String cloudEvent(int id) {
+    return "{\"data\":{\"id\":\"nested\",\"type\":[\"nested\"]},\"id\":\"" + id + "\","
+        + "\"specversion\":\"1.0\",\"type\":\"test\",\"source\":\"/test\"}";
+  }
+
+  @SuppressWarnings("unchecked")
+  static ChangeEvent<String, String> changeEvent(int id) {
+    ChangeEvent<String, String> changeEvent = mock(ChangeEvent.class);
+    when(changeEvent.value()).thenReturn(cloudEvent(id));
+    return changeEvent;
+  }
+
+  @BeforeEach
+  void setUp() {
+    handler = new StreamCloudEventHandler();
+    handler.metrics = new Metrics(new SimpleMeterRegistry());
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    if (server != null) {
+      server.close();
+    }
+  }
+
+  private RetryHandler createHandler(Integer batchSize, Integer maxInFlightRequests) {
+    StackGresStreamTargetCloudEventHttp http = new StackGresStreamTargetCloudEventHttp();
+    http.setUrl(server.getUri().toString());
+    http.setBatchSize(batchSize);
+    http.setMaxInFlightRequests(maxInFlightRequests);
+    return handler.createHandler(server.getUri(), Optional.of(http));
+  }
+
+  @Test
+  void readCloudEventAttributes_shouldIgnoreNestedFields() throws Exception {
+    CloudEventAttributes attributes = handler.readCloudEventAttributes(cloudEvent(1));
+
+    assertEquals(new CloudEventAttributes("1", "1.0", "test", "/test"), attributes);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void givenABatchSize_shouldSendEventsInBatchedContentModeAndCommitThemInOrder()
+      throws Exception {
+    server = new CloudEventStubServer(request -> 0L, true);
+    List<ChangeEvent<String, String>> changeEvents = IntStream.range(0, 7)
+        .mapToObj(StreamCloudEventHandlerTest::changeEvent)
+        .toList();
+    RecordCommitter<ChangeEvent<String, String>> committer = mock(RecordCommitter.class);
+
+    try (RetryHandler retryHandler = createHandler(3, null)) {
+      retryHandler.consumeEvents(changeEvents, committer);
+    }
+
+    assertEquals(3, server.getRequests().size());
+    server.getRequests().subList(0, 2).forEach(request -> assertTrue(request.contentType()
+        .startsWith(StreamCloudEventHandler.CLOUDEVENT_BATCH_CONTENT_TYPE)));
+    assertEquals("[" + cloudEvent(0) + "," + cloudEvent(1) + "," + cloudEvent(2) + "]",
+        server.getRequests().get(0).body());
+    // A remaining single event is sent in structured content mode
+    assertFalse(server.getRequests().get(2).contentType()
+        .startsWith(StreamCloudEventHandler.CLOUDEVENT_BATCH_CONTENT_TYPE));
+    assertEquals(cloudEvent(6), server.getRequests().get(2).body());
+    InOrder inOrder = inOrder(committer);
+    for (var changeEvent : changeEvents) {
+      inOrder.verify(committer).markProcessed(changeEvent);
+    }
+    inOrder.verify(committer).markBatchFinished();
+    assertEquals(7, handler.metrics.getTotalNumberOfEventsSent());
+    assertEquals("6", handler.metrics.getLastEventSent());
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void givenMaxInFlightRequests_shouldSendEventsConcurrentlyAndCommitThemInOrder()
+      throws Exception {
+    // Earlier events take longer so that responses are received out of order
+    server = new CloudEventStubServer(request -> TimeUnit.MILLISECONDS.toNanos(
+        50 - Integer.parseInt(request.cloudEventId()) * 2L), true);
+    List<ChangeEvent<String, String>> changeEvents = IntStream.range(0, 20)
+        .mapToObj(StreamCloudEventHandlerTest::changeEvent)
+        .toList();
+    RecordCommitter<ChangeEvent<String, String>> committer = mock(RecordCommitter.class);
+
+    try (RetryHandler retryHandler = createHandler(null, 4)) {
+      retryHandler.consumeEvents(changeEvents, committer);
+    }
+
+    assertEquals(20, server.getRequests().size());
+    assertTrue(server.getMaxInFlightRequests() > 1);
+    assertTrue(server.getMaxInFlightRequests() <= 4);
+    InOrder inOrder = inOrder(committer);
+    for (var changeEvent : changeEvents) {
+      inOrder.verify(committer).markProcessed(changeEvent);
+    }
+    inOrder.verify(committer).markBatchFinished();
+    assertEquals(20, handler.metrics.getTotalNumberOfEventsSent());
+  }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.target.migration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.stackgres.common.crd.sgstream.StackGresStreamRestoreStatus;
+import io.stackgres.stream.jobs.target.migration.ConstraintsAndIndexesRestorer.Definition;
+import io.stackgres.stream.jobs.target.migration.ConstraintsAndIndexesRestorer.DefinitionExecutor;
+import org.junit.jupiter.api.Test;
+
+class ConstraintsAndIndexesRestorerTest {
+
+  private final List<String> executed = new CopyOnWriteArrayList<>();
+  private final Map<String, AtomicInteger> failuresLeft = new ConcurrentHashMap<>();
+  private final AtomicInteger openedExecutors = new AtomicInteger(0);
+  private final Map<String, List<Integer>> executorsByStatement = new ConcurrentHashMap<>();
+  private final AtomicReference<StackGresStreamRestoreStatus> lastStatus =
+      new AtomicReference<>();
+
+  private DefinitionExecutor createExecutor() {
+    final int executorId = openedExecutors.incrementAndGet();
+    return new DefinitionExecutor() {
+      @Override
+      public void execute(Definition definition) {
+        executorsByStatement
+            .computeIfAbsent(definition.statement(), ignored -> new CopyOnWriteArrayList<>())
+            .add(executorId);
+        AtomicInteger failures = failuresLeft.get(definition.statement());
+        if (failures != null && failures.getAndDecrement() > 0) {
+          throw new IllegalStateException("deadlock detected");
+        }
+        executed.add(definition.statement());
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+  }
+
+  private ConstraintsAndIndexesRestorer createRestorer(int parallelism) {
+    return new ConstraintsAndIndexesRestorer(parallelism, 2, Duration.ZERO, lastStatus::set);
+  }
+
+  @Test
+  void givenDefinitions_shouldRestoreBiggestTablesFirstAndForeignKeysLast() {
+    List<Definition> definitions = List.of(
+        new Definition("fk_big", 1000L, true),
+        new Definition("small", 10L, false),
+        new Definition("big", 1000L, false),
+        new Definition("medium", 100L, false));
+
+    createRestorer(1).restore(definitions, true, this::createExecutor);
+
+    assertEquals(List.of("big", "medium", "small", "fk_big"), executed);
+    assertEquals(4, lastStatus.get().getTotalConstraints());
+    assertEquals(4, lastStatus.get().getRestoredConstraints());
+    assertEquals(0, lastStatus.get().getTotalIndexes());
+    assertEquals(2110L, lastStatus.get().getTotalBytes());
+    assertEquals(2110L, lastStatus.get().getRestoredBytes());
+    assertEquals(0, lastStatus.get().getRetries());
+  }
+
+  @Test
+  void givenAFailedDefinition_shouldRetryItWithANewExecutor() {
+    List<Definition> definitions = new ArrayList<>();
+    for (int index = 0; index < 20; index++) {
+      definitions.add(new Definition("index_" + index, index, false));
+    }
+    failuresLeft.put("index_5", new AtomicInteger(2));
+
+    createRestorer(4).restore(definitions, false, this::createExecutor);
+
+    assertEquals(20, executed.size());
+    assertEquals(20, lastStatus.get().getRestoredIndexes());
+    assertEquals(2, lastStatus.get().getRetries());
+    assertEquals(3, executorsByStatement.get("index_5").stream().distinct().count());
+    // Workers open their executor lazily, one may find no definition left
+    assertTrue(openedExecutors.get() <= 4 + 2);
+  }
+
+  @Test
+  void givenADefinitionThatFailsMoreThanMaxRetries_shouldRestoreTheOthersAndFail() {
+    List<Definition> definitions = List.of(
+        new Definition("broken", 100L, false),
+        new Definition("index", 10L, false));
+    failuresLeft.put("broken", new AtomicInteger(3));
+
+    ConstraintsAndIndexesRestorer restorer = createRestorer(2);
+    assertThrows(RuntimeException.class,
+        () -> restorer.restore(definitions, false, this::createExecutor));
+
+    assertEquals(List.of("index"), executed);
+    assertEquals(2, lastStatus.get().getTotalIndexes());
+    assertEquals(1, lastStatus.get().getRestoredIndexes());
+    assertEquals(2, lastStatus.get().getRetries());
+  }
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.target.migration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Random;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.stackgres.stream.jobs.offset.StreamOffsetStorage;
+import io.stackgres.stream.jobs.target.migration.postgres.SnapshotHelperQueries;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Crash injection tests of the transactional offset storage against a local Postgres. Run with:
+ * {@code mvn test -Dtest=DeferredCommitConnectionTest
+ * -Dstream.test.postgres.url=jdbc:postgresql://localhost:5432/postgres
+ * -Dstream.test.postgres.user=postgres -Dstream.test.postgres.password=postgres}
+ */
+@EnabledIfSystemProperty(named = "stream.test.postgres.url", matches = ".+")
+class DeferredCommitConnectionTest {
+
+  private static final String NAME = "deferred-commit-test";
+  private static final Map<String, String> PARTITION = Map.of("server", NAME);
+  private static final int TOTAL_ROWS = 2000;
+  private static final int BATCH_SIZE = 50;
+  private static final int FLUSH_SIZE = 10;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private Connection adminConnection;
+
+  private static Connection connect() throws SQLException {
+    return DriverManager.getConnection(
+        System.getProperty("stream.test.postgres.url"),
+        System.getProperty("stream.test.postgres.user"),
+        System.getProperty("stream.test.postgres.password"));
+  }
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    adminConnection = connect();
+    try (Statement statement = adminConnection.createStatement()) {
+      statement.execute(SnapshotHelperQueries.CREATE_OFFSETS.readSql());
+      statement.execute("DROP TABLE IF EXISTS public.deferred_commit_test");
+      statement.execute("CREATE TABLE public.deferred_commit_test (id int PRIMARY KEY)");
+      statement.execute("DELETE FROM __migration__.offsets WHERE name = '" + NAME + "'");
+    }
+  }
+
+  @AfterEach
+  void tearDown() throws SQLException {
+    try (Statement statement = adminConnection.createStatement()) {
+      statement.execute("DROP TABLE IF EXISTS public.deferred_commit_test");
+      statement.execute("DELETE FROM __migration__.offsets WHERE name = '" + NAME + "'");
+    } finally {
+      adminConnection.close();
+    }
+  }
+
+  /**
+   * Apply a batch the same way the Debezium JDBC sink does: with a transaction for each flush
+   * that is committed (or rolled back) through the wrapped connection.
+   */
+  private void applySinkBatch(Connection sinkConnection, int from, int to, Crash crash,
+      int crashRow, int backendPid) throws SQLException {
+    for (int flushStart = from; flushStart < to; flushStart += FLUSH_SIZE) {
+      sinkConnection.setAutoCommit(false);
+      try (PreparedStatement statement = sinkConnection.prepareStatement(
+          "INSERT INTO public.deferred_commit_test (id) VALUES (?)")) {
+        for (int id = flushStart; id < Math.min(flushStart + FLUSH_SIZE, to); id++) {
+          if (id == crashRow) {
+            if (crash == Crash.TERMINATE_DURING_SINK) {
+              terminate(backendPid);
+            } else if (crash == Crash.SINK_ROLLBACK) {
+              sinkConnection.rollback();
+              throw new SQLException("Injected sink failure");
+            }
+          }
+          statement.setInt(1, id);
+          statement.executeUpdate();
+        }
+      }
+      sinkConnection.commit();
+      sinkConnection.setAutoCommit(true);
+    }
+  }
+
+  private void storeOffset(Connection connection, int nextId) throws SQLException {
+    final Map.Entry<ByteBuffer, ByteBuffer> offset = StreamOffsetStorage.serialize(
+        NAME, PARTITION, Map.of("lsn", nextId));
+    try (PreparedStatement statement = connection.prepareStatement(
+        SnapshotHelperQueries.STORE_OFFSET.readSql())) {
+      statement.setString(1, NAME);
+      statement.setBytes(2, offset.getKey().array());
+      statement.setBytes(3, offset.getValue().array());
+      statement.executeUpdate();
+    }
+  }
+
+  private int readOffset(Connection connection) throws Exception {
+    try (PreparedStatement statement = connection.prepareStatement(
+        SnapshotHelperQueries.READ_OFFSETS.readSql())) {
+      statement.setString(1, NAME);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        if (!resultSet.next()) {
+          return 0;
+        }
+        final ByteBuffer expectedKey = StreamOffsetStorage.serialize(
+            NAME, PARTITION, Map.of()).getKey();
+        assertEquals(expectedKey, ByteBuffer.wrap(resultSet.getBytes(1)));
+        final int nextId = objectMapper.readTree(resultSet.getBytes(2)).get("lsn").asInt();
+        assertFalse(resultSet.next());
+        return nextId;
+      }
+    }
+  }
+
+  private int backendPid(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT pg_backend_pid()")) {
+      resultSet.next();
+      return resultSet.getInt(1);
+    }
+  }
+
+  private void terminate(int backendPid) throws SQLException {
+    try (PreparedStatement statement = adminConnection.prepareStatement(
+        "SELECT pg_terminate_backend(?)")) {
+      statement.setInt(1, backendPid);
+      statement.execute();
+    }
+  }
+
+  @Test
+  void givenCrashesAtRandomPoints_shouldApplyEachRowExactlyOnce() throws Exception {
+    final Random random = new Random(Long.getLong("stream.test.seed", 42L));
+    int crashes = 0;
+    int attempts = 0;
+    int nextId = -1;
+    while (nextId < TOTAL_ROWS) {
+      attempts++;
+      if (attempts > TOTAL_ROWS) {
+        fail("Too many attempts");
+      }
+      try (DeferredCommitConnection connection = new DeferredCommitConnection(connect())) {
+        final int backendPid = backendPid(connection.getTargetConnection());
+        nextId = readOffset(connection.getTargetConnection());
+        while (nextId < TOTAL_ROWS) {
+          final int to = Math.min(nextId + BATCH_SIZE, TOTAL_ROWS);
+          final Crash crash = Crash.values()[random.nextInt(Crash.values().length)];
+          final int crashRow = nextId + random.nextInt(to - nextId);
+          connection.begin();
+          try {
+            applySinkBatch(connection.getConnection(), nextId, to, crash, crashRow, backendPid);
+            if (crash == Crash.TERMINATE_BEFORE_OFFSET) {
+              terminate(backendPid);
+            }
+            storeOffset(connection.getTargetConnection(), to);
+            if (crash == Crash.TERMINATE_BEFORE_COMMIT) {
+              terminate(backendPid);
+            }
+            connection.commit();
+          } catch (SQLException ex) {
+            if ("23505".equals(ex.getSQLState())) {
+              fail("Row applied twice", ex);
+            }
+            try {
+              connection.rollback();
+            } catch (SQLException rex) {
+              ex.addSuppressed(rex);
+            }
+            throw ex;
+          }
+          nextId = to;
+          if (crash == Crash.TERMINATE_AFTER_COMMIT) {
+            terminate(backendPid);
+            throw new SQLException("Injected crash after commit");
+          }
+        }
+      } catch (SQLException ex) {
+        if ("23505".equals(ex.getSQLState())) {
+          fail("Row applied twice", ex);
+        }
+        crashes++;
+      }
+    }
+
+    assertTrue(crashes > 0);
+    try (Statement statement = adminConnection.createStatement();
+        ResultSet resultSet = statement.executeQuery(
+            "SELECT count(*), count(DISTINCT id), min(id), max(id)"
+            + " FROM public.deferred_commit_test")) {
+      resultSet.next();
+      assertEquals(TOTAL_ROWS, resultSet.getInt(1));
+      assertEquals(TOTAL_ROWS, resultSet.getInt(2));
+      assertEquals(0, resultSet.getInt(3));
+      assertEquals(TOTAL_ROWS - 1, resultSet.getInt(4));
+    }
+    assertEquals(TOTAL_ROWS, readOffset(adminConnection));
+  }
+
+  @Test
+  void givenASinkRollback_shouldNotCommitTheBatchNorTheOffset() throws Exception {
+    try (DeferredCommitConnection connection = new DeferredCommitConnection(connect())) {
+      connection.begin();
+      applySinkBatch(connection.getConnection(), 0, FLUSH_SIZE * 2, Crash.NONE, -1, -1);
+      assertFalse(connection.getConnection().getAutoCommit());
+      connection.getConnection().rollback();
+      storeOffset(connection.getTargetConnection(), FLUSH_SIZE * 2);
+      assertThrows(SQLException.class, connection::commit);
+      assertTrue(connection.getConnection().getAutoCommit());
+    }
+
+    try (Statement statement = adminConnection.createStatement();
+        ResultSet resultSet = statement.executeQuery(
+            "SELECT count(*) FROM public.deferred_commit_test")) {
+      resultSet.next();
+      assertEquals(0, resultSet.getInt(1));
+    }
+    assertEquals(0, readOffset(adminConnection));
+  }
+
+  private enum Crash {
+    NONE,
+    TERMINATE_DURING_SINK,
+    SINK_ROLLBACK,
+    TERMINATE_BEFORE_OFFSET,
+    TERMINATE_BEFORE_COMMIT,
+    TERMINATE_AFTER_COMMIT
+  }
+
+}
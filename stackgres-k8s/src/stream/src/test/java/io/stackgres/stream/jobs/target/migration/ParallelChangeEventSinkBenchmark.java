@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.target.migration;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import io.debezium.pipeline.sink.spi.ChangeEventSink;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Replay batches of synthetic snapshot {@link SourceRecord}s against an in-memory target that
+ * simulates the round trip of a JDBC batch and compare a single sink with
+ * {@link ParallelChangeEventSink}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelChangeEventSinkBenchmark {
+
+  private static final Schema KEY_SCHEMA = SchemaBuilder.struct()
+      .field("id", Schema.INT64_SCHEMA)
+      .build();
+
+  private static final Schema VALUE_SCHEMA = SchemaBuilder.struct()
+      .field("id", Schema.INT64_SCHEMA)
+      .field("payload", Schema.STRING_SCHEMA)
+      .build();
+
+  @Param({"1", "4", "8"})
+  int parallelism;
+
+  @Param({"8"})
+  int tables;
+
+  @Param({"2048"})
+  int batchSize;
+
+  @Param({"100"})
+  int rowsPerRoundTrip;
+
+  List<SinkRecord> batch;
+
+  ChangeEventSink sink;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    batch = IntStream.range(0, batchSize)
+        .mapToObj(this::sourceRecord)
+        .map(sourceRecord -> new SinkRecord(
+            sourceRecord.topic(),
+            0,
+            sourceRecord.keySchema(),
+            sourceRecord.key(),
+            sourceRecord.valueSchema(),
+            sourceRecord.value(),
+            Long.parseLong(sourceRecord.sourceOffset().get("lsn").toString()),
+            sourceRecord.timestamp(),
+            TimestampType.CREATE_TIME,
+            sourceRecord.headers()))
+        .toList();
+    Map<Object, Object> target = new ConcurrentHashMap<>();
+    List<InMemoryTargetSink> sinks = IntStream.range(0, parallelism)
+        .mapToObj(index -> new InMemoryTargetSink(target, rowsPerRoundTrip))
+        .toList();
+    sink = parallelism == 1 ? sinks.get(0) : new ParallelChangeEventSink(sinks, true);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    sink.close();
+  }
+
+  private SourceRecord sourceRecord(int index) {
+    Struct key = new Struct(KEY_SCHEMA).put("id", (long) index);
+    Struct value = new Struct(VALUE_SCHEMA)
+        .put("id", (long) index)
+        .put("payload", "payload-" + index);
+    return new SourceRecord(
+        Map.of("server", "benchmark"),
+        Map.of("lsn", index, "snapshot", "true"),
+        "benchmark.public.table_" + (index % tables),
+        null,
+        KEY_SCHEMA,
+        key,
+        VALUE_SCHEMA,
+        value,
+        System.currentTimeMillis());
+  }
+
+  @Benchmark
+  public void replaySnapshotBatch() {
+    sink.execute(batch);
+  }
+
+  /**
+   * Store the rows in a map and park the thread for each JDBC batch to simulate the round trip to
+   * the database.
+   */
+  static class InMemoryTargetSink implements ChangeEventSink {
+    final Map<Object, Object> target;
+    final int rowsPerRoundTrip;
+
+    InMemoryTargetSink(Map<Object, Object> target, int rowsPerRoundTrip) {
+      this.target = target;
+      this.rowsPerRoundTrip = rowsPerRoundTrip;
+    }
+
+    @Override
+    public void execute(Collection<SinkRecord> records) {
+      int rows = 0;
+      for (SinkRecord record : records) {
+        target.put(record.topic() + "." + record.key(), record.value());
+        if (++rows % rowsPerRoundTrip == 0) {
+          LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+      }
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(ParallelChangeEventSinkBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+}
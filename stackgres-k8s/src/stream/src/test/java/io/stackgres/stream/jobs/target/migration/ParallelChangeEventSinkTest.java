@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.target.migration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.debezium.pipeline.sink.spi.ChangeEventSink;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.junit.jupiter.api.Test;
+
+class ParallelChangeEventSinkTest {
+
+  static SinkRecord record(String table, int key, long offset) {
+    return new SinkRecord(table, 0, Schema.INT32_SCHEMA, key,
+        Schema.INT64_SCHEMA, offset, offset);
+  }
+
+  static class CollectingSink implements ChangeEventSink {
+    final List<SinkRecord> records = new ArrayList<>();
+
+    @Override
+    public void execute(Collection<SinkRecord> records) {
+      this.records.addAll(records);
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  @Test
+  void givenRecordsOfTheSameKey_shouldWriteThemInOrderWithTheSameSink() throws Exception {
+    List<CollectingSink> sinks = IntStream.range(0, 4)
+        .mapToObj(index -> new CollectingSink())
+        .toList();
+    List<SinkRecord> records = IntStream.range(0, 1000)
+        .mapToObj(offset -> record("table-" + (offset % 3), offset % 50, offset))
+        .toList();
+    try (ParallelChangeEventSink sink = new ParallelChangeEventSink(sinks, true)) {
+      sink.execute(records.subList(0, 500));
+      sink.execute(records.subList(500, 1000));
+    }
+
+    assertEquals(1000, sinks.stream().mapToInt(sink -> sink.records.size()).sum());
+    assertTrue(sinks.stream().filter(sink -> !sink.records.isEmpty()).count() > 1);
+    Map<String, List<Integer>> sinksByKey = records.stream()
+        .collect(Collectors.groupingBy(
+            record -> record.topic() + "." + record.key(),
+            Collectors.mapping(record -> IntStream.range(0, sinks.size())
+                .filter(index -> sinks.get(index).records.contains(record))
+                .findFirst()
+                .orElseThrow(), Collectors.toList())));
+    sinksByKey.values().forEach(indexes -> assertEquals(1, indexes.stream().distinct().count()));
+    for (CollectingSink sink : sinks) {
+      List<Long> offsets = sink.records.stream().map(SinkRecord::kafkaOffset).toList();
+      assertEquals(offsets.stream().sorted().toList(), offsets);
+    }
+  }
+
+  @Test
+  void givenPartitionByTable_shouldWriteRecordsOfTheSameTableWithTheSameSink() throws Exception {
+    List<CollectingSink> sinks = IntStream.range(0, 4)
+        .mapToObj(index -> new CollectingSink())
+        .toList();
+    List<SinkRecord> records = IntStream.range(0, 100)
+        .mapToObj(offset -> record("table-" + (offset % 3), offset, offset))
+        .toList();
+    try (ParallelChangeEventSink sink = new ParallelChangeEventSink(sinks, false)) {
+      sink.execute(records);
+    }
+
+    for (CollectingSink sink : sinks) {
+      assertTrue(sink.records.stream().map(SinkRecord::topic).distinct().count() <= 1);
+    }
+  }
+
+  @Test
+  void givenAFailingSink_shouldThrowTheError() throws Exception {
+    ChangeEventSink failingSink = new CollectingSink() {
+      @Override
+      public void execute(Collection<SinkRecord> records) {
+        throw new IllegalStateException("test");
+      }
+    };
+    try (ParallelChangeEventSink sink = new ParallelChangeEventSink(
+        List.of(failingSink, failingSink), true)) {
+      List<SinkRecord> records = IntStream.range(0, 100)
+          .mapToObj(offset -> record("table", offset, offset))
+          .toList();
+      assertThrows(IllegalStateException.class, () -> sink.execute(records));
+    }
+  }
+
+}
@@ -55,10 +55,14 @@ public interface JsonFixtureWithPaths {
 
   String PATRONI_CLUSTERS_JSON = "patroni/clusters.json";
 
+  String PATRONI_KUBERNETES_DCS_JSON = "patroni/kubernetes-dcs.json";
+
   String PATRONI_PATRONI_PRIMARY_JSON = "patroni/patroni-primary.json";
 
   String PATRONI_PATRONI_REPLICA_JSON = "patroni/patroni-replica.json";
 
+  String PATRONI_PATRONICTL_LIST_JSON = "patroni/patronictl-list.json";
+
   String PROMETHEUS_PROMETHEUS_LIST_JSON = "prometheus/prometheus_list.json";
 
   String SECRET_AUTHENTICATION_JSON = "secret/authentication.json";